@@ -0,0 +1,14 @@
+package egovframework.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링 설정 클래스
+ * 조회수 버퍼 반영 등 주기 작업(@Scheduled) 활성화
+ * 스케줄러 스레드 수는 spring.task.scheduling.pool.size (기본 1개면 한 작업이 늦어질 때 세션 폐기 동기화 등 모든 주기 작업이 멈춤)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
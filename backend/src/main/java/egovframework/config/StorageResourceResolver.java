@@ -0,0 +1,98 @@
+package egovframework.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 업로드 파일 정적 리소스 조회
+ * 요청 경로를 저장소 키로 보고 FileStorage에서 찾는다. (로컬 저장소는 파일 리소스로 반환하여 기존 전송 경로 유지)
+ */
+public class StorageResourceResolver implements ResourceResolver {
+
+    private final FileStorage fileStorage;
+
+    public StorageResourceResolver(FileStorage fileStorage) {
+        this.fileStorage = fileStorage;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+            List<? extends Resource> locations, ResourceResolverChain chain) {
+        // 숨김 항목(임시파일, 격리 파일)은 노출하지 않음
+        if (requestPath.isEmpty() || requestPath.startsWith(".") || requestPath.contains("/.")) {
+            return null;
+        }
+        try {
+            File local = fileStorage.localFile(requestPath);
+            if (local != null) {
+                return local.isFile() ? new FileSystemResource(local) : null;
+            }
+            StorageObjectVO object = fileStorage.stat(requestPath);
+            return object != null ? new StorageResource(fileStorage, object) : null;
+        } catch (IllegalArgumentException | IOException e) {
+            // 저장소 경로를 벗어난 키 또는 조회 실패
+            return null;
+        }
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return resourcePath;
+    }
+
+    /**
+     * 저장소 객체 리소스 (크기·수정시각은 조회 시점 값 사용)
+     */
+    private static final class StorageResource extends AbstractResource {
+        private final FileStorage fileStorage;
+        private final StorageObjectVO object;
+
+        private StorageResource(FileStorage fileStorage, StorageObjectVO object) {
+            this.fileStorage = fileStorage;
+            this.object = object;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getFilename() {
+            return object.getName();
+        }
+
+        @Override
+        public long contentLength() {
+            return object.getLength();
+        }
+
+        @Override
+        public long lastModified() {
+            return object.getLastModified();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return fileStorage.get(object.getKey());
+        }
+
+        @Override
+        public String getDescription() {
+            return "저장소 객체 [" + fileStorage.getType() + ":" + object.getKey() + "]";
+        }
+    }
+}
@@ -1,28 +1,28 @@
 package egovframework.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import egovframework.survey.service.FileStorage;
+
 /**
  * 웹 설정 클래스
  * 파일 업로드된 이미지를 정적 리소스로 서빙하기 위한 설정
+ * 파일은 FileStorage(로컬 또는 S3 호환 저장소)에서 찾으므로 어느 노드에서든 같은 파일을 응답한다.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Value("${file.upload.path}")
-    private String uploadPath;
+    @Autowired
+    private FileStorage fileStorage;
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // 업로드된 파일을 정적 리소스로 서빙
-        registry.addResourceHandler("/api/uploads/**")
-                .addResourceLocations("file:" + uploadPath);
-                
-        // Railway 환경에서 /tmp/uploads/ 경로 추가 매핑
-        registry.addResourceHandler("/api/files/**")
-                .addResourceLocations("file:/tmp/uploads/");
+        // 업로드된 파일을 정적 리소스로 서빙 (/api/files/**는 Railway 환경의 기존 경로 호환)
+        registry.addResourceHandler("/api/uploads/**", "/api/files/**")
+                .resourceChain(false)
+                .addResolver(new StorageResourceResolver(fileStorage));
     }
 }
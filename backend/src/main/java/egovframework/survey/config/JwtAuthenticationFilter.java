@@ -1,5 +1,6 @@
 package egovframework.survey.config;
 
+import egovframework.survey.service.TokenRevocationService;
 import egovframework.survey.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,6 +22,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -31,15 +35,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String userId = jwtUtil.getUserIdFromToken(token);
-                    String authorityCode = jwtUtil.getAuthorityCodeFromToken(token);
-                    
+                // 서명 검증은 요청당 한 번 (최근 검증한 토큰은 캐시에서 바로 반환)
+                JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+                // 폐기된 세션의 토큰은 만료 전이라도 인증하지 않음 (메모리 확인, DB 조회 없음)
+                if (verified != null && !tokenRevocationService.isRevoked(verified.getSessionId())) {
                     // 권한 코드를 ROLE_ 형식으로 변환
-                    String role = "ROLE_" + authorityCode;
+                    String role = "ROLE_" + verified.getAuthorityCode();
                     
+                    // 인증 주체는 토큰 클레임으로 만든 LoginUserVO (getName()은 사용자ID)
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userId, null, Collections.singletonList(new SimpleGrantedAuthority(role))
+                            verified.getPrincipal(), null, Collections.singletonList(new SimpleGrantedAuthority(role))
                     );
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -1,12 +1,28 @@
 package egovframework.survey.controller;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import egovframework.survey.service.JwtKeyService;
+import egovframework.survey.service.LoginRejectedException;
+import egovframework.survey.service.LoginThrottleService;
+import egovframework.survey.service.RefreshTokenService;
 import egovframework.survey.service.UserService;
 import egovframework.survey.vo.EgovResponseVO;
 import egovframework.survey.vo.LoginRequestVO;
 import egovframework.survey.vo.LoginResponseVO;
+import egovframework.survey.vo.RefreshTokenRequestVO;
 import egovframework.survey.vo.EmplyrInfoVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,10 +37,26 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtKeyService jwtKeyService;
+
+    @Value("${jwt.jwks.max-age-seconds:300}")
+    private long jwksMaxAgeSeconds;
+
     @PostMapping("/login")
-    @Operation(summary = "로그인", description = "업무사용자 로그인을 처리합니다.")
-    public EgovResponseVO<LoginResponseVO> login(@RequestBody LoginRequestVO loginRequest) {
+    @Operation(summary = "로그인", description = "업무사용자 로그인을 처리합니다. 시도 횟수 초과·요청 폭주 시 429와 Retry-After 헤더를 반환합니다.")
+    public ResponseEntity<EgovResponseVO<LoginResponseVO>> login(@RequestBody LoginRequestVO loginRequest,
+            HttpServletRequest request) {
         try {
+            // IP별·(사용자ID, IP)별 시도 횟수 제한 (비밀번호 검증 전에 확인)
+            loginThrottleService.acquire(loginRequest.getUserId(), request.getRemoteAddr());
+            
             // 업무사용자 ID와 비밀번호로 인증
             EmplyrInfoVO emplyrInfo = userService.getUserByIdAndPassword(
                 loginRequest.getUserId(), 
@@ -32,33 +64,28 @@ public class AuthController {
             );
             
             if (emplyrInfo == null) {
-                return EgovResponseVO.error("사용자 정보가 일치하지 않습니다.");
+                // 검증에 실패한 시도만 사용자ID·IP 한도에서 차감
+                loginThrottleService.onLoginFailed(loginRequest.getUserId(), request.getRemoteAddr());
+                return ResponseEntity.ok(EgovResponseVO.error("사용자 정보가 일치하지 않습니다."));
             }
             
             // 사용자 상태 확인
             if (!"A".equals(emplyrInfo.getEmplyrSttusCode())) {
                 String statusMessage = getStatusMessage(emplyrInfo.getEmplyrSttusCode());
-                return EgovResponseVO.error("로그인이 불가능한 상태입니다: " + statusMessage);
+                return ResponseEntity.ok(EgovResponseVO.error("로그인이 불가능한 상태입니다: " + statusMessage));
             }
             
-            // JWT 토큰 생성
-            String accessToken = userService.generateToken(emplyrInfo);
+            // 세션(리프레시 토큰) 발급 후 세션ID를 담은 액세스 토큰 생성
+            RefreshTokenService.IssuedToken issued = refreshTokenService.issue(emplyrInfo.getEmplyrId());
+            String accessToken = userService.generateToken(emplyrInfo, issued.getSessionId());
             
-            // 응답 생성
-            LoginResponseVO response = new LoginResponseVO();
-            response.setAccessToken(accessToken);
-            response.setUserId(emplyrInfo.getEmplyrId());
-            response.setUserNm(emplyrInfo.getUserNm());
-            response.setAuthorityCode(emplyrInfo.getAuthorCode());
-            response.setAuthorityNm(emplyrInfo.getAuthorNm());
-            response.setEsntlId(emplyrInfo.getEsntlId());
-            response.setEmailAdres(emplyrInfo.getEmailAdres());
-            response.setOfcpsNm(emplyrInfo.getOfcpsNm());
-            response.setExpiresIn(3600); // 1시간
-            
-            return EgovResponseVO.success(response);
+            return ResponseEntity.ok(EgovResponseVO.success(toLoginResponse(emplyrInfo, accessToken, issued)));
+        } catch (LoginRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(EgovResponseVO.error(e.getMessage()));
         } catch (Exception e) {
-            return EgovResponseVO.error("로그인 처리 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.ok(EgovResponseVO.error("로그인 처리 중 오류가 발생했습니다: " + e.getMessage()));
         }
     }
 
@@ -73,7 +100,11 @@ public class AuthController {
             
             String token = authorization.replace("Bearer ", "");
             String emplyrId = userService.getEmplyrIdFromToken(token);
+            if (emplyrId == null) {
+                return EgovResponseVO.error("유효하지 않은 토큰입니다.");
+            }
             
+            // 사용자 정보 캐시에서 조회
             EmplyrInfoVO emplyrInfo = userService.getUserById(emplyrId);
             if (emplyrInfo == null) {
                 return EgovResponseVO.error("사용자 정보를 찾을 수 없습니다.");
@@ -106,41 +137,66 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    @Operation(summary = "토큰 갱신", description = "유효한 토큰을 새로운 토큰으로 갱신합니다.")
-    @SecurityRequirement(name = "bearerAuth")
-    public EgovResponseVO<LoginResponseVO> refreshToken(@RequestHeader("Authorization") String authorization) {
+    @Operation(summary = "토큰 갱신", description = "리프레시 토큰으로 새 액세스 토큰과 새 리프레시 토큰을 발급합니다. 사용한 리프레시 토큰은 폐기되며, 다시 사용하면 세션 전체가 폐기됩니다.")
+    public EgovResponseVO<LoginResponseVO> refreshToken(@RequestBody RefreshTokenRequestVO refreshRequest) {
         try {
-            if (authorization == null || !authorization.startsWith("Bearer ")) {
-                return EgovResponseVO.error("유효하지 않은 Authorization 헤더입니다.");
+            RefreshTokenService.IssuedToken issued = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+            if (issued == null) {
+                return EgovResponseVO.error("유효하지 않은 리프레시 토큰입니다. 다시 로그인해주세요.");
             }
             
-            String token = authorization.replace("Bearer ", "");
-            String emplyrId = userService.getEmplyrIdFromToken(token);
-            
-            EmplyrInfoVO emplyrInfo = userService.getUserById(emplyrId);
+            // 사용자 정보 캐시에서 조회
+            EmplyrInfoVO emplyrInfo = userService.getUserById(issued.getEmplyrId());
             if (emplyrInfo == null || !"A".equals(emplyrInfo.getEmplyrSttusCode())) {
+                refreshTokenService.revokeSession(issued.getRefreshToken());
                 return EgovResponseVO.error("토큰 갱신이 불가능합니다.");
             }
             
-            // 새 토큰 생성
-            String newAccessToken = userService.generateToken(emplyrInfo);
-            
-            LoginResponseVO response = new LoginResponseVO();
-            response.setAccessToken(newAccessToken);
-            response.setUserId(emplyrInfo.getEmplyrId());
-            response.setUserNm(emplyrInfo.getUserNm());
-            response.setAuthorityCode(emplyrInfo.getAuthorCode());
-            response.setAuthorityNm(emplyrInfo.getAuthorNm());
-            response.setEsntlId(emplyrInfo.getEsntlId());
-            response.setEmailAdres(emplyrInfo.getEmailAdres());
-            response.setOfcpsNm(emplyrInfo.getOfcpsNm());
-            response.setExpiresIn(3600);
+            // 새 토큰 생성 (같은 세션ID 유지)
+            String newAccessToken = userService.generateToken(emplyrInfo, issued.getSessionId());
             
-            return EgovResponseVO.success(response);
+            return EgovResponseVO.success(toLoginResponse(emplyrInfo, newAccessToken, issued));
         } catch (Exception e) {
             return EgovResponseVO.error("토큰 갱신 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "로그아웃", description = "리프레시 토큰의 세션을 폐기합니다. 같은 세션의 액세스 토큰도 모든 노드에서 거절됩니다.")
+    public EgovResponseVO<Boolean> logout(@RequestBody RefreshTokenRequestVO logoutRequest) {
+        try {
+            return EgovResponseVO.success(refreshTokenService.revokeSession(logoutRequest.getRefreshToken()));
+        } catch (Exception e) {
+            return EgovResponseVO.error("로그아웃 처리 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping({"/.well-known/jwks.json", "/jwks.json"})
+    @Operation(summary = "JWT 공개키 목록", description = "ES256 서명 검증용 공개키를 JWKS 형식으로 반환합니다 (/auth/jwks.json은 별칭). 활성화 예정 키를 포함하며, HS256 모드에서는 빈 목록입니다.")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwksMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .body(Collections.singletonMap("keys", jwtKeyService.getJwks()));
+    }
+    
+    /**
+     * 로그인·토큰 갱신 응답 생성
+     */
+    private LoginResponseVO toLoginResponse(EmplyrInfoVO emplyrInfo, String accessToken, RefreshTokenService.IssuedToken issued) {
+        LoginResponseVO response = new LoginResponseVO();
+        response.setAccessToken(accessToken);
+        response.setUserId(emplyrInfo.getEmplyrId());
+        response.setUserNm(emplyrInfo.getUserNm());
+        response.setAuthorityCode(emplyrInfo.getAuthorCode());
+        response.setAuthorityNm(emplyrInfo.getAuthorNm());
+        response.setEsntlId(emplyrInfo.getEsntlId());
+        response.setEmailAdres(emplyrInfo.getEmailAdres());
+        response.setOfcpsNm(emplyrInfo.getOfcpsNm());
+        response.setExpiresIn(userService.getAccessTokenExpiresIn());
+        response.setRefreshToken(issued.getRefreshToken());
+        response.setRefreshExpiresIn(issued.getExpiresIn());
+        return response;
+    }
     
     /**
      * 업무사용자 상태코드에 따른 메시지 반환
@@ -1,5 +1,14 @@
 package egovframework.survey.controller;
 
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsFileDownloadService;
+import egovframework.survey.service.BbsFileJobService;
+import egovframework.survey.service.BbsFileLayoutMigrationService;
+import egovframework.survey.service.BbsFileReconcileService;
+import egovframework.survey.service.BbsFileStoreService;
+import egovframework.survey.service.BbsFileUploadService;
+import egovframework.survey.service.BbsImageCacheService;
+import egovframework.survey.service.BbsImageVariantService;
 import egovframework.survey.service.BbsService;
 import egovframework.survey.service.UserService;
 import egovframework.survey.vo.*;
@@ -13,24 +22,24 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import egovframework.survey.mapper.FileMapper;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.fileupload.FileCountLimitExceededException;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 
 /**
  * 게시판 관리 Controller (전자정부 표준)
@@ -50,6 +59,33 @@ public class BbsController {
     @Autowired
     private FileMapper fileMapper;
     
+    @Autowired
+    private BbsCacheService bbsCacheService;
+    
+    @Autowired
+    private BbsFileUploadService bbsFileUploadService;
+    
+    @Autowired
+    private BbsFileDownloadService bbsFileDownloadService;
+    
+    @Autowired
+    private BbsImageVariantService bbsImageVariantService;
+    
+    @Autowired
+    private BbsFileStoreService bbsFileStoreService;
+    
+    @Autowired
+    private BbsFileLayoutMigrationService bbsFileLayoutMigrationService;
+    
+    @Autowired
+    private BbsFileReconcileService bbsFileReconcileService;
+    
+    @Autowired
+    private BbsImageCacheService bbsImageCacheService;
+    
+    @Autowired
+    private BbsFileJobService bbsFileJobService;
+    
     // 파일 업로드 기본 경로 - 프로젝트 밖에 저장 (환경변수 또는 기본값)
     @Value("${file.upload.path}")
     private String uploadPath;
@@ -240,7 +276,7 @@ public class BbsController {
     
     // ===== 게시글 관리 =====
     
-    @Operation(summary = "게시글 목록 조회", description = "특정 게시판의 게시글 목록을 페이징하여 조회합니다.")
+    @Operation(summary = "게시글 목록 조회", description = "특정 게시판의 게시글 목록을 페이징하여 조회합니다. paginationType=CURSOR인 경우 응답의 nextCursor를 cursor로 전달하여 다음 페이지를 조회합니다.")
     @GetMapping("/{bbsId}/boards")
     @ResponseBody
     public EgovResponseVO<List<BbsVO>> getBbsList(
@@ -269,12 +305,21 @@ public class BbsController {
         // searchVO에 변환된 정렬 필드 설정
         searchVO.setSortField(convertedSortField);
         
+        // 커서 페이징은 인덱스로 탐색 가능한 정렬만 지원
+        if (searchVO.isCursorPagination()) {
+            if (!"FRST_REGIST_PNTTM".equals(convertedSortField) && !"NTT_ID".equals(convertedSortField)) {
+                return EgovResponseVO.error("커서 페이징은 FRST_REGIST_PNTTM, NTT_ID 정렬만 지원합니다.");
+            }
+            searchVO.setSortOrder("ASC".equalsIgnoreCase(searchVO.getSortOrder()) ? "ASC" : "DESC");
+        }
+        
         System.out.println("BbsSearchVO 설정 완료:");
         System.out.println("  - bbsId: " + searchVO.getBbsId());
         System.out.println("  - pageIndex: " + searchVO.getPageIndex());
         System.out.println("  - pageSize: " + searchVO.getPageSize());
         System.out.println("  - sortField: " + searchVO.getSortField());
         System.out.println("  - sortOrder: " + searchVO.getSortOrder());
+        System.out.println("  - paginationType: " + searchVO.getPaginationType());
         
         try {
             Map<String, Object> result = bbsService.selectBbsList(searchVO);
@@ -385,23 +430,26 @@ public class BbsController {
             String currentUserId = authentication.getName();
             System.out.println("현재 로그인한 사용자 ID: " + currentUserId);
             
-            // 사용자 정보 조회하여 작성자명 설정
-            try {
-                EmplyrInfoVO currentUser = userService.getUserById(currentUserId);
-                if (currentUser != null) {
-                    bbsVO.setFrstRegisterId(currentUserId);   // 최초등록자ID
-                    bbsVO.setNtcrnNm(currentUser.getUserNm()); // 작성자명
-                    System.out.println("작성자 정보 설정: ID=" + currentUserId + ", 이름=" + currentUser.getUserNm());
-                } else {
-                    System.out.println("사용자 정보를 찾을 수 없습니다: " + currentUserId);
-                    bbsVO.setFrstRegisterId(currentUserId);   // 최초등록자ID
-                    bbsVO.setNtcrnNm(currentUserId);          // 사용자명이 없으면 ID 사용
+            // 작성자명은 토큰에 담긴 사용자명 사용 (이전 형식 토큰이면 사용자 정보 캐시에서 조회)
+            bbsVO.setFrstRegisterId(currentUserId);   // 최초등록자ID
+            String userNm = null;
+            if (authentication.getPrincipal() instanceof LoginUserVO) {
+                userNm = ((LoginUserVO) authentication.getPrincipal()).getUserNm();
+            }
+            if (userNm == null) {
+                try {
+                    EmplyrInfoVO currentUser = userService.getUserById(currentUserId);
+                    if (currentUser != null) {
+                        userNm = currentUser.getUserNm();
+                    } else {
+                        System.out.println("사용자 정보를 찾을 수 없습니다: " + currentUserId);
+                    }
+                } catch (Exception e) {
+                    System.out.println("사용자 정보 조회 중 오류: " + e.getMessage());
                 }
-            } catch (Exception e) {
-                System.out.println("사용자 정보 조회 중 오류: " + e.getMessage());
-                bbsVO.setFrstRegisterId(currentUserId);   // 최초등록자ID
-                bbsVO.setNtcrnNm(currentUserId);          // 오류 시 ID 사용
             }
+            bbsVO.setNtcrnNm(userNm != null ? userNm : currentUserId); // 작성자명 (없으면 ID 사용)
+            System.out.println("작성자 정보 설정: ID=" + currentUserId + ", 이름=" + bbsVO.getNtcrnNm());
         } else {
             System.out.println("인증된 사용자 정보가 없습니다.");
         }
@@ -464,7 +512,7 @@ public class BbsController {
                         }
                         
                         // 다중이미지를 게시물의 atchFileId 그룹으로 이동
-                        processMultiImagesForCreate(atchFileId, bbsVO.getMultiImageIds(), bbsVO.getMultiImageNames(), bbsVO.getMultiImageOrder());
+                        processMultiImagesForCreate(bbsId, atchFileId, bbsVO.getMultiImageIds(), bbsVO.getMultiImageNames(), bbsVO.getMultiImageOrder());
                         System.out.println("다중이미지 처리 완료");
                     } catch (Exception e) {
                         System.out.println("다중이미지 처리 중 오류: " + e.getMessage());
@@ -474,6 +522,9 @@ public class BbsController {
                 
                 System.out.println("=== 게시글 등록 후 이미지 처리 완료 ===");
                 
+                // 이미지 파생본(게시판 권장 크기, 목록 썸네일) 사전 생성
+                bbsImageVariantService.warmUp(bbsVO.getAtchFileId());
+                
                 // 🚨 게시물 목록 캐시 무효화 (목록 갱신을 위해)
                 System.out.println("게시물 목록 캐시 무효화: bbsId=" + bbsId);
                 
@@ -704,6 +755,9 @@ public class BbsController {
                 }
                 System.out.println("=== 다중이미지 처리 완료 ===");
                 
+                // 이미지 파생본(게시판 권장 크기, 목록 썸네일) 사전 생성
+                bbsImageVariantService.warmUp(bbsVO.getAtchFileId());
+                
                 // 🚨 게시물 목록 캐시 무효화 (목록 갱신을 위해)
                 System.out.println("게시물 목록 캐시 무효화: bbsId=" + bbsId);
                 
@@ -762,112 +816,58 @@ public class BbsController {
         System.out.println("representImageName: " + representImageName);
         
         try {
-            // 1. 기존 대표이미지가 있다면 삭제
-            boolean hasExistingImage = fileMapper.existsImageByType(atchFileId, "REPRESENTATIVE");
-            if (hasExistingImage) {
-                System.out.println("기존 대표이미지 발견, 삭제 중...");
-                FileVO existingImage = fileMapper.selectRepresentativeImage(atchFileId);
-                if (existingImage != null) {
-                    // 기존 물리적 파일 삭제
-                    String existingFilePath = existingImage.getFileStreCours() + "/" + existingImage.getStreFileNm();
-                    File existingFile = new File(existingFilePath);
-                    if (existingFile.exists()) {
-                        boolean deleted = existingFile.delete();
-                        System.out.println("기존 파일 삭제 결과: " + deleted);
-                    }
-                    // DB에서 기존 대표이미지 삭제
-                    fileMapper.deleteImageByType(atchFileId, "REPRESENTATIVE");
-                    System.out.println("기존 대표이미지 DB 삭제 완료");
-                }
-            }
+            // 1. 새 대표이미지 정보로 FileVO 생성 (파일순번은 등록 시 결정, 기존 대표이미지가 있으면 그 행을 교체)
+            FileVO fileVO = new FileVO();
+            fileVO.setAtchFileId(atchFileId);
             
-                                // 2. 새 대표이미지 정보로 FileVO 생성
-                    FileVO fileVO = new FileVO();
-                    fileVO.setAtchFileId(atchFileId);
-                    
-                    // 기존 파일들의 최대 FILE_SN + 1을 사용하여 중복 방지
-                    Long nextFileSn = getNextFileSn(atchFileId);
-                    System.out.println("다음 사용 가능한 FILE_SN: " + nextFileSn);
-                    fileVO.setFileSn(nextFileSn);
-                    
-                    fileVO.setFileStreCours(getUploadDir());
-                    fileVO.setStreFileNm(representImageId); // representImageId를 저장 파일명으로 사용
-                    fileVO.setOrignlFileNm(representImageName);
-                    fileVO.setFileExtsn(getFileExtension(representImageName));
-                    fileVO.setFileCn("REPRESENTATIVE"); // 대표이미지로 설정
-                    
-                    // 디버깅: 파일명 매핑 확인
-                    System.out.println("=== 파일명 매핑 디버깅 ===");
-                    System.out.println("representImageId: " + representImageId);
-                    System.out.println("representImageName: " + representImageName);
-                    System.out.println("streFileNm: " + fileVO.getStreFileNm());
-                    System.out.println("orignlFileNm: " + fileVO.getOrignlFileNm());
-                    System.out.println("업로드 디렉토리: " + getUploadDir());
-                    System.out.println("=== 파일명 매핑 디버깅 끝 ===");
+            // representImageId를 저장 파일명으로 사용 (저장소 파일이면 해시도 기록하여 참조수에 포함)
+            bbsFileStoreService.linkStoredFile(fileVO, representImageId);
+            fileVO.setOrignlFileNm(representImageName);
+            fileVO.setFileExtsn(getFileExtension(representImageName));
+            fileVO.setFileCn("REPRESENTATIVE"); // 대표이미지로 설정
+            
+            // 디버깅: 파일명 매핑 확인
+            System.out.println("=== 파일명 매핑 디버깅 ===");
+            System.out.println("representImageId: " + representImageId);
+            System.out.println("representImageName: " + representImageName);
+            System.out.println("streFileNm: " + fileVO.getStreFileNm());
+            System.out.println("orignlFileNm: " + fileVO.getOrignlFileNm());
+            System.out.println("업로드 디렉토리: " + getUploadDir());
+            System.out.println("=== 파일명 매핑 디버깅 끝 ===");
             
             // 파일 크기 설정 (프론트엔드에서 전달받은 크기 사용)
             if (representImageSize != null && representImageSize > 0) {
                 fileVO.setFileSize(representImageSize);
                 System.out.println("프론트엔드에서 전달받은 파일 크기 사용: " + representImageSize + " bytes");
             } else {
-                // 실제 파일이 존재하는지 확인하고 크기 설정 (fallback)
-                String fullFilePath = getUploadDir() + "/" + representImageId;
-                File physicalFile = new File(fullFilePath);
-                if (physicalFile.exists()) {
-                    fileVO.setFileSize(physicalFile.length());
-                    System.out.println("대표이미지 파일 존재 확인: " + fullFilePath + " (크기: " + physicalFile.length() + " bytes)");
+                // 저장소에 파일이 존재하는지 확인하고 크기 설정 (fallback)
+                StorageObjectVO stored = bbsFileStoreService.stat(fileVO);
+                if (stored != null) {
+                    fileVO.setFileSize(stored.getLength());
+                    System.out.println("대표이미지 파일 존재 확인: " + stored.getKey() + " (크기: " + stored.getLength() + " bytes)");
                 } else {
                     fileVO.setFileSize(0L);
-                    System.out.println("⚠️ 대표이미지 파일이 존재하지 않음: " + fullFilePath);
+                    System.out.println("⚠️ 대표이미지 파일이 존재하지 않음: " + fileVO.getStreFileNm());
                 }
             }
             
             System.out.println("새 대표이미지 FileVO 생성 완료:");
             System.out.println("  - atchFileId: " + fileVO.getAtchFileId());
-            System.out.println("  - fileSn: " + fileVO.getFileSn());
             System.out.println("  - streFileNm: " + fileVO.getStreFileNm());
             System.out.println("  - orignlFileNm: " + fileVO.getOrignlFileNm());
             System.out.println("  - fileCn: " + fileVO.getFileCn());
             
-                                // 3. DB에 저장
-            // 먼저 COMTNFILE 마스터 레코드가 존재하는지 확인
-            try {
-                // COMTNFILE 마스터 테이블에서 직접 확인 (selectFileList가 아닌)
-                boolean masterExists = fileMapper.existsFileMaster(atchFileId);
-                if (!masterExists) {
-                    System.out.println("COMTNFILE 마스터 레코드가 없음, 새로 생성");
-                    
-                    // COMTNFILE 마스터 레코드 생성
-                    FileVO masterFileVO = new FileVO();
-                    masterFileVO.setAtchFileId(atchFileId);
-                    int masterResult = fileMapper.insertFile(masterFileVO);
-                    if (masterResult > 0) {
-                        System.out.println("COMTNFILE 마스터 레코드 생성 성공");
-                    } else {
-                        System.out.println("COMTNFILE 마스터 레코드 생성 실패");
-                        throw new RuntimeException("COMTNFILE 마스터 레코드 생성에 실패했습니다.");
-                    }
-                } else {
-                    System.out.println("COMTNFILE 마스터 레코드 이미 존재");
-                }
-                
-                // COMTNFILEDETAIL 상세 레코드 등록
-                int detailResult = fileMapper.insertFileDetail(fileVO);
-                if (detailResult > 0) {
-                    System.out.println("대표이미지 DB 저장 성공");
-                } else {
-                    System.out.println("대표이미지 DB 저장 실패");
-                    throw new RuntimeException("대표이미지 DB 저장에 실패했습니다.");
-                }
-            } catch (Exception e) {
-                System.out.println("대표이미지 DB 저장 중 오류: " + e.getMessage());
-                throw e;
-            }
+            // 2. DB에 저장 (마스터 확인과 대표이미지 upsert를 한 트랜잭션에서 처리, 교체된 기존 파일은 커밋 후 정리)
+            bbsFileUploadService.replaceImageByType(fileVO);
+            System.out.println("대표이미지 DB 저장 성공");
             
         } catch (Exception e) {
             System.out.println("processRepresentativeImage 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
             throw e;
+        } finally {
+            // 파일 구성이 바뀌었으므로 게시글 상세 캐시 무효화
+            bbsCacheService.evictBbsByAtchFileId(atchFileId);
         }
     }
     
@@ -898,36 +898,12 @@ public class BbsController {
         System.out.println("✅ 파라미터 유효성 검사 통과");
         
         try {
-            // 1. 기존 메인화면이미지가 있다면 삭제
-            boolean hasExistingImage = fileMapper.existsImageByType(atchFileId, "MAIN_IMAGE");
-            if (hasExistingImage) {
-                System.out.println("기존 메인화면이미지 발견, 삭제 중...");
-                FileVO existingImage = fileMapper.selectMainImage(atchFileId);
-                if (existingImage != null) {
-                    // 기존 물리적 파일 삭제
-                    String existingFilePath = existingImage.getFileStreCours() + "/" + existingImage.getStreFileNm();
-                    File existingFile = new File(existingFilePath);
-                    if (existingFile.exists()) {
-                        boolean deleted = existingFile.delete();
-                        System.out.println("기존 파일 삭제 결과: " + deleted);
-                    }
-                    // DB에서 기존 메인화면이미지 삭제
-                    fileMapper.deleteImageByType(atchFileId, "MAIN_IMAGE");
-                    System.out.println("기존 메인화면이미지 DB 삭제 완료");
-                }
-            }
-            
-            // 2. 새 메인화면이미지 정보로 FileVO 생성
+            // 1. 새 메인화면이미지 정보로 FileVO 생성 (파일순번은 등록 시 결정, 기존 메인화면이미지가 있으면 그 행을 교체)
             FileVO fileVO = new FileVO();
             fileVO.setAtchFileId(atchFileId);
             
-            // 기존 파일들의 최대 FILE_SN + 1을 사용하여 중복 방지
-            Long nextFileSn = getNextFileSn(atchFileId);
-            System.out.println("다음 사용 가능한 FILE_SN: " + nextFileSn);
-            fileVO.setFileSn(nextFileSn);
-            
-            fileVO.setFileStreCours(getUploadDir());
-            fileVO.setStreFileNm(mainImageId); // mainImageId를 저장 파일명으로 사용
+            // mainImageId를 저장 파일명으로 사용 (저장소 파일이면 해시도 기록하여 참조수에 포함)
+            bbsFileStoreService.linkStoredFile(fileVO, mainImageId);
             fileVO.setOrignlFileNm(mainImageName);
             fileVO.setFileExtsn(getFileExtension(mainImageName));
             fileVO.setFileCn("MAIN_IMAGE"); // 메인화면이미지로 설정
@@ -946,64 +922,34 @@ public class BbsController {
                 fileVO.setFileSize(mainImageSize);
                 System.out.println("프론트엔드에서 전달받은 파일 크기 사용: " + mainImageSize + " bytes");
             } else {
-                // 실제 파일이 존재하는지 확인하고 크기 설정 (fallback)
-                String fullFilePath = getUploadDir() + "/" + mainImageId;
-                File physicalFile = new File(fullFilePath);
-                if (physicalFile.exists()) {
-                    fileVO.setFileSize(physicalFile.length());
-                    System.out.println("메인화면이미지 파일 존재 확인: " + fullFilePath + " (크기: " + physicalFile.length() + " bytes)");
+                // 저장소에 파일이 존재하는지 확인하고 크기 설정 (fallback)
+                StorageObjectVO stored = bbsFileStoreService.stat(fileVO);
+                if (stored != null) {
+                    fileVO.setFileSize(stored.getLength());
+                    System.out.println("메인화면이미지 파일 존재 확인: " + stored.getKey() + " (크기: " + stored.getLength() + " bytes)");
                 } else {
                     fileVO.setFileSize(0L);
-                    System.out.println("⚠️ 메인화면이미지 파일이 존재하지 않음: " + fullFilePath);
+                    System.out.println("⚠️ 메인화면이미지 파일이 존재하지 않음: " + fileVO.getStreFileNm());
                 }
             }
             
             System.out.println("새 메인화면이미지 FileVO 생성 완료:");
             System.out.println("  - atchFileId: " + fileVO.getAtchFileId());
-            System.out.println("  - fileSn: " + fileVO.getFileSn());
             System.out.println("  - streFileNm: " + fileVO.getStreFileNm());
             System.out.println("  - orignlFileNm: " + fileVO.getOrignlFileNm());
             System.out.println("  - fileCn: " + fileVO.getFileCn());
             
-            // 3. DB에 저장
-            // 먼저 COMTNFILE 마스터 레코드가 존재하는지 확인
-            try {
-                // COMTNFILE 마스터 테이블에서 직접 확인 (selectFileList가 아닌)
-                boolean masterExists = fileMapper.existsFileMaster(atchFileId);
-                if (!masterExists) {
-                    System.out.println("COMTNFILE 마스터 레코드가 없음, 새로 생성");
-                    
-                    // COMTNFILE 마스터 레코드 생성
-                    FileVO masterFileVO = new FileVO();
-                    masterFileVO.setAtchFileId(atchFileId);
-                    int masterResult = fileMapper.insertFile(masterFileVO);
-                    if (masterResult > 0) {
-                        System.out.println("COMTNFILE 마스터 레코드 생성 성공");
-                    } else {
-                        System.out.println("COMTNFILE 마스터 레코드 생성 실패");
-                        throw new RuntimeException("COMTNFILE 마스터 레코드 생성에 실패했습니다.");
-                    }
-                } else {
-                    System.out.println("COMTNFILE 마스터 레코드 이미 존재");
-                }
-                
-                // COMTNFILEDETAIL 상세 레코드 등록
-                int detailResult = fileMapper.insertFileDetail(fileVO);
-                if (detailResult > 0) {
-                    System.out.println("메인화면이미지 DB 저장 성공");
-                } else {
-                    System.out.println("메인화면이미지 DB 저장 실패");
-                    throw new RuntimeException("메인화면이미지 DB 저장에 실패했습니다.");
-                }
-            } catch (Exception e) {
-                System.out.println("메인화면이미지 DB 저장 중 오류: " + e.getMessage());
-                throw e;
-            }
+            // 2. DB에 저장 (마스터 확인과 메인화면이미지 upsert를 한 트랜잭션에서 처리, 교체된 기존 파일은 커밋 후 정리)
+            bbsFileUploadService.replaceImageByType(fileVO);
+            System.out.println("메인화면이미지 DB 저장 성공");
             
         } catch (Exception e) {
             System.out.println("processMainImage 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
             throw e;
+        } finally {
+            // 파일 구성이 바뀌었으므로 게시글 상세 캐시 무효화
+            bbsCacheService.evictBbsByAtchFileId(atchFileId);
         }
     }
     
@@ -1017,39 +963,6 @@ public class BbsController {
         return "";
     }
     
-    /**
-     * 다음 사용 가능한 FILE_SN 조회
-     */
-    private Long getNextFileSn(String atchFileId) {
-        try {
-            // 기존 파일들의 최대 FILE_SN 조회
-            List<FileVO> existingFiles = fileMapper.selectFileList(atchFileId);
-            if (existingFiles == null || existingFiles.isEmpty()) {
-                System.out.println("기존 파일이 없음, FILE_SN = 1 반환");
-                return 1L; // 파일이 없으면 1부터 시작
-            }
-            
-            System.out.println("기존 파일 목록:");
-            for (FileVO file : existingFiles) {
-                System.out.println("  - FILE_SN: " + file.getFileSn() + ", FILE_CN: " + file.getFileCn() + ", 파일명: " + file.getOrignlFileNm());
-            }
-            
-            // 최대 FILE_SN 찾기
-            Long maxFileSn = existingFiles.stream()
-                .mapToLong(FileVO::getFileSn)
-                .max()
-                .orElse(0L);
-            
-            Long nextFileSn = maxFileSn + 1;
-            System.out.println("최대 FILE_SN: " + maxFileSn + ", 다음 FILE_SN: " + nextFileSn);
-            
-            return nextFileSn; // 최대값 + 1 반환
-        } catch (Exception e) {
-            System.out.println("getNextFileSn 중 오류 발생: " + e.getMessage());
-            // 오류 발생 시 안전하게 1 반환
-            return 1L;
-        }
-    }
     // ===== 파일 관리 =====
     
     @Operation(summary = "파일 업로드", description = "게시글에 첨부할 파일을 업로드합니다.")
@@ -1063,76 +976,23 @@ public class BbsController {
         }
         
         try {
-            // 업로드 디렉토리 생성
-            File uploadDir = new File(getUploadDir());
-            if (!uploadDir.exists()) {
-                uploadDir.mkdirs();
-            }
-            
             // 새로운 atchFileId 생성
             String atchFileId = "FILE_" + System.currentTimeMillis();
             List<FileVO> uploadedFileList = new ArrayList<>();
 
-            // COMTNFILE 마스터는 1회만 등록
-            FileVO master = new FileVO();
-            master.setAtchFileId(atchFileId);
-            int masterInserted = fileMapper.insertFile(master);
-            if (masterInserted <= 0) {
-                return EgovResponseVO.error("파일 마스터 생성에 실패했습니다.");
-            }
-            
-            for (int i = 0; i < files.length; i++) {
-                MultipartFile file = files[i];
+            for (MultipartFile file : files) {
                 if (!file.isEmpty()) {
-                    // 파일명 생성 (중복 방지)
-                    String originalFileName = file.getOriginalFilename();
-                    String fileExtension = "";
-                    if (originalFileName != null && originalFileName.contains(".")) {
-                        fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-                    }
-                    String storedFileName = System.currentTimeMillis() + "_" + i + fileExtension;
-                    
-                    // 파일 시스템에 저장
-                    Path filePath = Paths.get(getUploadDir(), storedFileName);
-                    Files.copy(file.getInputStream(), filePath);
-                    
-                    // FileVO 객체 생성 및 DB 저장
-                    FileVO fileVO = new FileVO();
-                    fileVO.setAtchFileId(atchFileId);
-                    fileVO.setFileSn((long) (i + 1)); // 파일 순번 (1부터 시작) - Long 타입으로 변환
-                    fileVO.setFileStreCours(getUploadDir());
-                    fileVO.setStreFileNm(storedFileName);
-                    fileVO.setOrignlFileNm(originalFileName);
-                    fileVO.setFileExtsn(fileExtension.replace(".", ""));
-                    // 파일 용도에 따라 FILE_CN 설정
-                    switch (usageType) {
-                        case "CONTENT_IMAGE":
-                            fileVO.setFileCn("CONTENT_IMAGE"); // 게시물 내용 이미지
-                            break;
-                        case "REPRESENTATIVE":
-                            fileVO.setFileCn("REPRESENTATIVE"); // 대표이미지 사전 업로드
-                            break;
-                        case "MAIN_IMAGE":
-                            fileVO.setFileCn("MAIN_IMAGE"); // 메인화면이미지 사전 업로드
-                            break;
-                        case "MULTI_IMAGE":
-                            fileVO.setFileCn("MULTI_IMAGE"); // 다중이미지 사전 업로드
-                            break;
-                        default:
-                            fileVO.setFileCn("ATTACHMENT"); // 일반 첨부파일
-                    }
-                    fileVO.setFileSize((long) file.getSize()); // Long 타입으로 변환
-                    
-                    // 2. COMTNFILEDETAIL 상세 테이블에 등록 (마스터는 이미 생성됨)
-                    int detailResult = fileMapper.insertFileDetail(fileVO);
-                    if (detailResult > 0) {
-                        uploadedFileList.add(fileVO);
-                        System.out.println("파일 DB 저장 성공: " + originalFileName);
-                    } else {
-                        System.out.println("파일 상세 DB 저장 실패: " + originalFileName);
-                    }
+                    // 내용 해시 이름으로 저장 (같은 내용이 이미 있으면 새로 저장하지 않음)
+                    FileVO fileVO = bbsFileStoreService.store(file);
+                    uploadedFileList.add(fileVO);
+                    System.out.println("파일 저장 성공: " + file.getOriginalFilename());
                 }
             }
+            
+            // COMTNFILE 마스터와 COMTNFILEDETAIL 상세를 한 트랜잭션에서 일괄 등록
+            // (파일 순번은 1부터 순차 부여, FILE_CN은 파일 용도에 따라 설정)
+            bbsFileUploadService.registerFiles(atchFileId, true, usageType, uploadedFileList, null);
+            System.out.println("파일 DB 일괄 저장 성공: " + uploadedFileList.size() + "건");
         
             Map<String, Object> result = new HashMap<>();
             result.put("atchFileId", atchFileId);
@@ -1169,57 +1029,24 @@ public class BbsController {
         }
         
         try {
-            // 기존 파일 그룹의 최대 파일 순번 조회
-            Long maxFileSn = fileMapper.selectNextFileSn(atchFileId);
-            if (maxFileSn == null) maxFileSn = 1L;
-            
-            // 업로드 디렉토리 생성
-            File uploadDir = new File(getUploadDir());
-            if (!uploadDir.exists()) {
-                uploadDir.mkdirs();
-            }
-            
             List<FileVO> uploadedFileList = new ArrayList<>();
             
-            for (int i = 0; i < files.length; i++) {
-                MultipartFile file = files[i];
+            for (MultipartFile file : files) {
                 if (!file.isEmpty()) {
-                    // 파일명 생성 (중복 방지)
-                    String originalFileName = file.getOriginalFilename();
-                    String fileExtension = "";
-                    if (originalFileName != null && originalFileName.contains(".")) {
-                        fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-                    }
-                    String storedFileName = System.currentTimeMillis() + "_" + i + fileExtension;
-                    
-                    // 파일 시스템에 저장
-                    Path filePath = Paths.get(getUploadDir(), storedFileName);
-                    Files.copy(file.getInputStream(), filePath);
-                    
-                    // FileVO 객체 생성 및 DB 저장
-                    FileVO fileVO = new FileVO();
-                    fileVO.setAtchFileId(atchFileId); // 기존 atchFileId 사용
-                    fileVO.setFileSn(maxFileSn + i); // 기존 순번 다음부터 시작
-                    fileVO.setFileStreCours(getUploadDir());
-                    fileVO.setStreFileNm(storedFileName);
-                    fileVO.setOrignlFileNm(originalFileName);
-                    fileVO.setFileExtsn(fileExtension.replace(".", ""));
-                    // 파일 용도에 따라 FILE_CN 설정 (기존 그룹에 추가되는 파일은 ATTACHMENT로 처리)
-                    fileVO.setFileCn(usageType != null ? usageType : "ATTACHMENT");
-                    fileVO.setFileSize((long) file.getSize()); // Long 타입으로 변환
-                    
-                    // DB에 파일 정보 저장 (기존 그룹이므로 COMTNFILEDETAIL만 등록)
-                    // 기존 그룹에 파일 추가 시에는 COMTNFILE 마스터는 이미 존재하므로 COMTNFILEDETAIL만 등록
-                    int detailResult = fileMapper.insertFileDetail(fileVO);
-                    if (detailResult > 0) {
-                        uploadedFileList.add(fileVO);
-                        System.out.println("기존 그룹에 파일 추가 성공: " + originalFileName);
-            } else {
-                        System.out.println("기존 그룹에 파일 상세 DB 저장 실패: " + originalFileName);
-                    }
+                    // 내용 해시 이름으로 저장 (같은 내용이 이미 있으면 새로 저장하지 않음)
+                    FileVO fileVO = bbsFileStoreService.store(file);
+                    uploadedFileList.add(fileVO);
+                    System.out.println("기존 그룹에 추가할 파일 저장 성공: " + file.getOriginalFilename());
                 }
             }
             
+            // 기존 순번 다음부터 순차 부여하여 COMTNFILEDETAIL에 일괄 등록 (마스터가 없으면 함께 생성)
+            bbsFileUploadService.registerFiles(atchFileId, false, usageType, uploadedFileList, null);
+            
+            if (!uploadedFileList.isEmpty()) {
+                bbsCacheService.evictBbsByAtchFileId(atchFileId);
+            }
+            
             Map<String, Object> result = new HashMap<>();
             result.put("atchFileId", atchFileId); // 기존 atchFileId 반환
             result.put("uploadedFiles", uploadedFileList);
@@ -1242,6 +1069,36 @@ public class BbsController {
         }
     }
     
+    @Operation(summary = "파일 스트리밍 업로드", description = "멀티파트 본문을 임시파일 없이 읽어 업로드 경로에 바로 기록합니다. "
+            + "게시판의 첨부가능파일숫자/첨부가능파일사이즈를 넘으면 즉시 중단하고 413을 반환합니다. "
+            + "usageType, atchFileId(기존 그룹에 추가 시) 필드는 files 파트보다 먼저 전송해야 합니다.")
+    @PostMapping(value = "/{bbsId}/files/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseBody
+    public ResponseEntity<EgovResponseVO<Map<String, Object>>> uploadFilesStreaming(
+            @Parameter(description = "게시판ID") @PathVariable String bbsId,
+            HttpServletRequest request) {
+        
+        try {
+            return ResponseEntity.ok(EgovResponseVO.success(bbsFileUploadService.uploadStreaming(bbsId, request)));
+        } catch (FileUploadBase.SizeException | FileCountLimitExceededException e) {
+            System.out.println("스트리밍 업로드 제한 초과: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(EgovResponseVO.error(e.getMessage()));
+        } catch (FileUploadBase.FileUploadIOException e) {
+            // 요청 전체 크기 초과는 스트림 읽기 중 IOException으로 감싸져 전달됨
+            System.out.println("스트리밍 업로드 제한 초과: " + e.getCause().getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(EgovResponseVO.error(e.getCause().getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(EgovResponseVO.error(e.getMessage()));
+        } catch (IOException | FileUploadException e) {
+            System.out.println("스트리밍 업로드 중 오류: " + e.getMessage());
+            return ResponseEntity.badRequest().body(EgovResponseVO.error("파일 업로드 중 오류가 발생했습니다: " + e.getMessage()));
+        } catch (Exception e) {
+            System.out.println("스트리밍 업로드 중 예외 발생: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body(EgovResponseVO.error("파일 업로드 중 예외가 발생했습니다: " + e.getMessage()));
+        }
+    }
+    
     @Operation(summary = "파일 목록 조회", description = "첨부파일 ID로 파일 목록을 조회합니다.")
     @GetMapping("/files/{atchFileId}")
     @ResponseBody
@@ -1267,69 +1124,103 @@ public class BbsController {
         }
     }
     
-    @Operation(summary = "이미지 조회", description = "첨부파일 ID와 파일순번으로 이미지를 조회합니다.")
+    @Operation(summary = "파일 후처리 작업 조회", description = "업로드 후 썸네일 생성·메타데이터 추출·해시 검증 작업의 상태와 결과를 조회합니다. "
+            + "파일별 요약 상태는 파일 목록의 processSttus(PROCESSING/READY/FAILED)로도 확인할 수 있습니다.")
+    @GetMapping("/files/{atchFileId}/jobs")
+    @ResponseBody
+    public EgovResponseVO<List<FileJobVO>> getFileJobList(
+            @Parameter(description = "첨부파일ID") @PathVariable String atchFileId) {
+        try {
+            return EgovResponseVO.success(bbsFileJobService.selectFileJobList(atchFileId));
+        } catch (Exception e) {
+            System.out.println("파일 후처리 작업 조회 중 오류: " + e.getMessage());
+            return EgovResponseVO.error("파일 후처리 작업 조회 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+    
+    @Operation(summary = "이미지 조회", description = "첨부파일 ID와 파일순번으로 이미지를 조회합니다. "
+            + "variant(thumb|represent|main|multi)를 지정하면 게시판 권장 크기로 줄인 파생본을 응답합니다. "
+            + "ETag/Last-Modified 조건부 요청(304)과 Range 요청(206)을 지원합니다.")
     @GetMapping("/images/{atchFileId}/{fileSn}")
-    public ResponseEntity<Resource> getImage(
+    public void getImage(
             @Parameter(description = "첨부파일ID") @PathVariable String atchFileId,
-            @Parameter(description = "파일순번") @PathVariable Long fileSn) {
+            @Parameter(description = "파일순번") @PathVariable Long fileSn,
+            @Parameter(description = "파생본 (thumb, represent, main, multi)") @RequestParam(required = false) String variant,
+            HttpServletRequest request,
+            HttpServletResponse response) {
         
         try {
-            System.out.println("=== 이미지 조회 요청 ===");
-            System.out.println("원본 atchFileId: " + atchFileId);
-            System.out.println("fileSn: " + fileSn);
-            
             // atchFileId에서 공백 제거
             String cleanAtchFileId = atchFileId.trim();
-            System.out.println("정리된 atchFileId: " + cleanAtchFileId);
-            
-            // 1. 파일 정보 조회
-            List<FileVO> fileList = fileMapper.selectFileList(cleanAtchFileId);
-            FileVO targetFile = null;
-            
-            for (FileVO file : fileList) {
-                if (file.getFileSn().equals(fileSn)) {
-                    targetFile = file;
-                    break;
-                }
-            }
-            
-            if (targetFile == null) {
-                System.out.println("파일을 찾을 수 없음: atchFileId=" + atchFileId + ", fileSn=" + fileSn);
-                return ResponseEntity.notFound().build();
-            }
             
-            // 2. 실제 파일 경로 생성 (이중 슬래시 방지)
-            String filePath = targetFile.getFileStreCours();
-            if (!filePath.endsWith("/")) {
-                filePath += "/";
+            if (variant != null && !variant.isEmpty() && !bbsImageVariantService.isSupportedVariant(variant)) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                return;
             }
-            filePath += targetFile.getStreFileNm();
-            File file = new File(filePath);
-            
-            System.out.println("파일 경로: " + filePath);
-            System.out.println("파일 존재 여부: " + file.exists());
-            
-            if (!file.exists()) {
-                System.out.println("물리적 파일이 존재하지 않음: " + filePath);
-                return ResponseEntity.notFound().build();
+            String variantName = variant != null && !variant.isEmpty() ? variant : null;
+            
+            // 1. 전송 정보 조회 (캐시 적중 시 DB 조회·파일 확인 생략)
+            CachedFileVO image = bbsImageCacheService.getImage(cleanAtchFileId, fileSn, variantName,
+                    () -> loadImage(cleanAtchFileId, fileSn, variantName));
+            if (image == null) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
             
-            // 3. 파일 확장자에 따른 Content-Type 설정
-            String contentType = getContentType(targetFile.getFileExtsn());
-            
-            // 4. 파일 리소스 반환
-            Resource resource = new FileSystemResource(file);
-            
-            System.out.println("이미지 조회 성공: " + targetFile.getOrignlFileNm());
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(resource);
+            // 2. 자주 조회되는 작은 이미지는 메모리의 본문으로 전송 (조건부/Range 요청 처리)
+            ByteBuffer content = bbsImageCacheService.getContent(image);
+            bbsFileDownloadService.sendFile(image, content, null, request, response);
                     
         } catch (Exception e) {
             System.out.println("이미지 조회 중 오류: " + e.getMessage());
             e.printStackTrace();
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+    
+    /**
+     * 이미지 전송 정보 확인 (파일 상세 조회 → 실제 위치 확인 → 파생본 대체)
+     * @return 파일 정보나 물리 파일이 없으면 null
+     */
+    private CachedFileVO loadImage(String atchFileId, Long fileSn, String variant) {
+        System.out.println("=== 이미지 조회 (캐시 미적중): atchFileId=" + atchFileId + ", fileSn=" + fileSn + ", variant=" + variant + " ===");
+        
+        // 1. 파일 정보 조회
+        FileVO targetFile = fileMapper.selectFileDetail(atchFileId, fileSn);
+        if (targetFile == null) {
+            System.out.println("파일을 찾을 수 없음: atchFileId=" + atchFileId + ", fileSn=" + fileSn);
+            return null;
+        }
+        
+        try {
+            // 2. 저장소 위치 확인 (저장 레이아웃 이전 중이면 샤드/평면 키도 확인)
+            StorageObjectVO stored = bbsFileStoreService.stat(targetFile);
+            if (stored == null) {
+                System.out.println("물리적 파일이 존재하지 않음: " + targetFile.getStreFileNm());
+                return null;
+            }
+            
+            // 3. 파생본 요청 시 파생본으로 대체 (생성 불가·지연 시 원본, 이 경우 캐시하지 않고 다음 요청에서 다시 확인)
+            String fileExtsn = targetFile.getFileExtsn();
+            boolean cacheable = true;
+            if (variant != null) {
+                StorageObjectVO variantObject = bbsImageVariantService.resolveVariant(targetFile, stored, variant);
+                if (!variantObject.getKey().equals(stored.getKey())) {
+                    stored = variantObject;
+                    fileExtsn = getFileExtension(variantObject.getName());
+                } else {
+                    cacheable = false;
+                }
+            }
+            
+            // 4. 파일 확장자에 따른 Content-Type 설정, 크기·수정시각·ETag 정리
+            CachedFileVO image = bbsFileDownloadService.describe(targetFile, stored, getContentType(fileExtsn));
+            image.setCacheable(cacheable);
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
     
@@ -1356,24 +1247,13 @@ public class BbsController {
             
             System.out.println("삭제할 대표이미지: " + representativeImage.getOrignlFileNm());
             
-            // 2. 물리적 파일 삭제
-            String filePath = representativeImage.getFileStreCours();
-            if (!filePath.endsWith("/")) {
-                filePath += "/";
-            }
-            filePath += representativeImage.getStreFileNm();
-            
-            File file = new File(filePath);
-            if (file.exists()) {
-                boolean deleted = file.delete();
-                System.out.println("물리적 파일 삭제 결과: " + deleted + " (경로: " + filePath + ")");
-            } else {
-                System.out.println("물리적 파일이 존재하지 않음: " + filePath);
-            }
-            
-            // 3. DB에서 대표이미지 삭제
+            // 2. DB에서 대표이미지 삭제
             int deleteResult = fileMapper.deleteImageByType(cleanAtchFileId, "REPRESENTATIVE");
             System.out.println("DB 삭제 결과: " + deleteResult);
+            bbsCacheService.evictBbsByAtchFileId(cleanAtchFileId);
+            
+            // 3. 물리적 파일 정리 (저장소 파일은 참조수 0이 되면 GC, 기존 파일은 다른 참조가 없을 때만 삭제)
+            bbsFileStoreService.release(representativeImage);
             
             // 4. 게시물의 atchFileId를 null로 업데이트 (대표이미지만 있는 경우)
             // TODO: 게시물 ID도 필요하므로 이 부분은 별도 API로 처리하거나 수정 필요
@@ -1411,24 +1291,13 @@ public class BbsController {
             
             System.out.println("삭제할 메인화면이미지: " + mainImage.getOrignlFileNm());
             
-            // 2. 물리적 파일 삭제
-            String filePath = mainImage.getFileStreCours();
-            if (!filePath.endsWith("/")) {
-                filePath += "/";
-            }
-            filePath += mainImage.getStreFileNm();
-            
-            File file = new File(filePath);
-            if (file.exists()) {
-                boolean deleted = file.delete();
-                System.out.println("물리적 파일 삭제 결과: " + deleted + " (경로: " + filePath + ")");
-            } else {
-                System.out.println("물리적 파일이 존재하지 않음: " + filePath);
-            }
-            
-            // 3. DB에서 메인화면이미지 삭제
+            // 2. DB에서 메인화면이미지 삭제
             int deleteResult = fileMapper.deleteImageByType(cleanAtchFileId, "MAIN_IMAGE");
             System.out.println("DB 삭제 결과: " + deleteResult);
+            bbsCacheService.evictBbsByAtchFileId(cleanAtchFileId);
+            
+            // 3. 물리적 파일 정리 (저장소 파일은 참조수 0이 되면 GC, 기존 파일은 다른 참조가 없을 때만 삭제)
+            bbsFileStoreService.release(mainImage);
             
             System.out.println("=== 메인화면이미지 삭제 완료 ===");
             return EgovResponseVO.success("메인화면이미지가 삭제되었습니다.");
@@ -1466,16 +1335,20 @@ public class BbsController {
         }
     }
     
-    @Operation(summary = "파일 다운로드", description = "특정 파일을 다운로드합니다.")
+    @Operation(summary = "파일 다운로드", description = "특정 파일을 다운로드합니다. "
+            + "Range 요청(단일/다중 구간 206)과 If-Range로 끊긴 다운로드를 이어받을 수 있습니다.")
     @GetMapping("/files/{atchFileId}/{fileSn}/download")
-    public ResponseEntity<Resource> downloadFile(
+    public void downloadFile(
             @Parameter(description = "첨부파일ID") @PathVariable String atchFileId,
-            @Parameter(description = "파일순번") @PathVariable Long fileSn) {
+            @Parameter(description = "파일순번") @PathVariable Long fileSn,
+            HttpServletRequest request,
+            HttpServletResponse response) {
         
         try {
             System.out.println("=== 파일 다운로드 요청 ===");
             System.out.println("atchFileId: " + atchFileId);
             System.out.println("fileSn: " + fileSn);
+            System.out.println("Range: " + request.getHeader(HttpHeaders.RANGE));
             
             // atchFileId에서 공백 제거
             String cleanAtchFileId = atchFileId.trim();
@@ -1485,7 +1358,8 @@ public class BbsController {
             FileVO fileInfo = fileMapper.selectFileDetail(cleanAtchFileId, fileSn);
             if (fileInfo == null) {
                 System.out.println("파일을 찾을 수 없음");
-                return ResponseEntity.notFound().build();
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
             
             System.out.println("다운로드할 파일 정보:");
@@ -1493,41 +1367,63 @@ public class BbsController {
             System.out.println("  - 저장 파일명: " + fileInfo.getStreFileNm());
             System.out.println("  - 저장 경로: " + fileInfo.getFileStreCours());
             
-            // 2. 물리적 파일 경로 생성
-            String filePath = fileInfo.getFileStreCours();
-            if (!filePath.endsWith("/")) {
-                filePath += "/";
-            }
-            filePath += fileInfo.getStreFileNm();
-            
-            System.out.println("전체 파일 경로: " + filePath);
+            // 2. 저장소 위치 확인 (저장 레이아웃 이전 중이면 샤드/평면 키도 확인)
+            StorageObjectVO stored = bbsFileStoreService.stat(fileInfo);
             
             // 3. 파일 존재 확인
-            File file = new File(filePath);
-            if (!file.exists()) {
-                System.out.println("물리적 파일이 존재하지 않음: " + filePath);
-                return ResponseEntity.notFound().build();
+            if (stored == null) {
+                System.out.println("물리적 파일이 존재하지 않음: " + fileInfo.getStreFileNm());
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
+            System.out.println("저장소 키: " + stored.getKey());
             
-            // 4. 파일 리소스 생성
-            Path path = file.toPath();
-            Resource resource = new FileSystemResource(path);
-            
-            // 5. Content-Type 결정
+            // 4. Content-Type 결정
             String contentType = getContentType(fileInfo.getFileExtsn());
             
-            // 6. 다운로드 응답 생성
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                    "attachment; filename=\"" + 
-                    new String(fileInfo.getOrignlFileNm().getBytes("UTF-8"), "ISO-8859-1") + "\"")
-                .body(resource);
+            // 5. 다운로드 응답 (조건부/Range 요청 처리)
+            String contentDisposition = "attachment; filename=\"" + 
+                    new String(fileInfo.getOrignlFileNm().getBytes("UTF-8"), "ISO-8859-1") + "\"";
+            bbsFileDownloadService.sendFile(fileInfo, stored, contentType, contentDisposition, request, response);
                 
         } catch (Exception e) {
             System.out.println("파일 다운로드 중 오류: " + e.getMessage());
             e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+    
+    @Operation(summary = "첨부파일 일괄 다운로드(ZIP)", description = "게시물의 첨부파일 그룹 전체를 ZIP으로 묶어 다운로드합니다. "
+            + "임시파일 없이 바로 전송하며, 이미 압축된 형식(jpg, png, zip, pdf 등)은 다시 압축하지 않습니다.")
+    @GetMapping("/files/{atchFileId}/zip")
+    public void downloadZip(
+            @Parameter(description = "첨부파일ID") @PathVariable String atchFileId,
+            HttpServletResponse response) {
+        
+        try {
+            // atchFileId에서 공백 제거
+            String cleanAtchFileId = atchFileId.trim();
+            
+            // 1. 첨부파일 목록 일괄 조회 (이미지 용도 파일 제외)
+            List<FileVO> files = fileMapper.selectAttachmentFiles(cleanAtchFileId);
+            if (files == null || files.isEmpty()) {
+                System.out.println("ZIP 다운로드할 첨부파일이 없음: " + cleanAtchFileId);
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            
+            // 2. ZIP 스트리밍 전송
+            System.out.println("=== 첨부파일 ZIP 다운로드: " + cleanAtchFileId + " (" + files.size() + "건) ===");
+            bbsFileDownloadService.sendZip(files, cleanAtchFileId + ".zip", response);
+                
+        } catch (Exception e) {
+            System.out.println("ZIP 다운로드 중 오류: " + e.getMessage());
+            e.printStackTrace();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
     
@@ -1563,19 +1459,10 @@ public class BbsController {
             int deleteResult = fileMapper.deleteFile(cleanAtchFileId, fileSn);
             if (deleteResult > 0) {
                 System.out.println("DB에서 파일 정보 삭제 성공");
+                bbsCacheService.evictBbsByAtchFileId(cleanAtchFileId);
                 
-                // 3. 파일 시스템에서 물리적 파일 삭제
-                String filePath = fileInfo.getFileStreCours() + "/" + fileInfo.getStreFileNm();
-                File physicalFile = new File(filePath);
-                if (physicalFile.exists()) {
-                    if (physicalFile.delete()) {
-                        System.out.println("물리적 파일 삭제 성공: " + filePath);
-                    } else {
-                        System.out.println("물리적 파일 삭제 실패: " + filePath);
-                    }
-                } else {
-                    System.out.println("물리적 파일이 존재하지 않음: " + filePath);
-                }
+                // 3. 물리적 파일 정리 (저장소 파일은 참조수 0이 되면 GC, 기존 파일은 다른 참조가 없을 때만 삭제)
+                bbsFileStoreService.release(fileInfo);
                 
                 System.out.println("=== 파일 삭제 완료 ===");
                 return EgovResponseVO.success("파일이 성공적으로 삭제되었습니다.");
@@ -1677,6 +1564,83 @@ public class BbsController {
         }
     }
     
+    // ===== 캐시 관리 =====
+    
+    @Operation(summary = "게시판 캐시 통계 조회", description = "게시판 캐시와 이미지 캐시의 건수, 적중/미적중 수, 적중률, 이미지 본문 메모리 사용량을 조회합니다.")
+    @GetMapping("/cache/stats")
+    @ResponseBody
+    public EgovResponseVO<Map<String, Object>> getCacheStats() {
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>(bbsCacheService.getStats());
+            stats.put("image", bbsImageCacheService.getStats());
+            return EgovResponseVO.success(stats);
+        } catch (Exception e) {
+            return EgovResponseVO.error("캐시 통계 조회 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+    
+    // ===== 파일 저장소 관리 =====
+    
+    @Operation(summary = "업로드 저장 레이아웃 이전 시작", description = "업로드 경로의 평면 파일을 샤드 디렉토리로 옮기는 백그라운드 작업을 시작합니다. "
+            + "중단 후 다시 시작하면 남은 파일부터 이어서 처리합니다.")
+    @PostMapping("/files/layout-migration")
+    @ResponseBody
+    public EgovResponseVO<Map<String, Object>> startFileLayoutMigration() {
+        try {
+            if (!bbsFileLayoutMigrationService.start()) {
+                return EgovResponseVO.error("이미 실행 중이거나 샤드 레이아웃(file.upload.layout=sharded)이 아닙니다.");
+            }
+            return EgovResponseVO.success(bbsFileLayoutMigrationService.getStatus());
+        } catch (Exception e) {
+            return EgovResponseVO.error("업로드 저장 레이아웃 이전 시작 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+    
+    @Operation(summary = "업로드 저장 레이아웃 이전 중단", description = "현재 파일까지 처리한 뒤 이전 작업을 중단합니다.")
+    @DeleteMapping("/files/layout-migration")
+    @ResponseBody
+    public EgovResponseVO<Map<String, Object>> stopFileLayoutMigration() {
+        bbsFileLayoutMigrationService.stop();
+        return EgovResponseVO.success(bbsFileLayoutMigrationService.getStatus());
+    }
+    
+    @Operation(summary = "업로드 저장 레이아웃 이전 상태 조회", description = "이전 작업의 실행 여부와 이전/실패 건수를 조회합니다.")
+    @GetMapping("/files/layout-migration")
+    @ResponseBody
+    public EgovResponseVO<Map<String, Object>> getFileLayoutMigrationStatus() {
+        return EgovResponseVO.success(bbsFileLayoutMigrationService.getStatus());
+    }
+    
+    @Operation(summary = "첨부파일 고아 점검 실행", description = "행이 없는 파일, 파일이 없는 행, 게시글에 연결되지 않은 업로드 그룹을 "
+            + "배치 단위로 점검·정리하는 백그라운드 작업을 시작합니다.")
+    @PostMapping("/files/reconcile")
+    @ResponseBody
+    public EgovResponseVO<Map<String, Object>> runFileReconcile() {
+        if (!bbsFileReconcileService.runAsync()) {
+            return EgovResponseVO.error("첨부파일 고아 점검이 이미 실행 중입니다.");
+        }
+        return EgovResponseVO.success(bbsFileReconcileService.getStats());
+    }
+    
+    @Operation(summary = "첨부파일 고아 점검 지표 조회", description = "진행 중/직전 실행 결과와 누적 지표(격리·삭제 건수, 회수 바이트)를 조회합니다.")
+    @GetMapping("/files/reconcile/stats")
+    @ResponseBody
+    public EgovResponseVO<Map<String, Object>> getFileReconcileStats() {
+        return EgovResponseVO.success(bbsFileReconcileService.getStats());
+    }
+    
+    @Operation(summary = "파일 후처리 작업 큐 지표 조회", description = "유형·상태별 작업 수와 이 노드의 실행 중/완료/재시도/실패 건수를 조회합니다.")
+    @GetMapping("/files/jobs/stats")
+    @ResponseBody
+    public EgovResponseVO<Map<String, Object>> getFileJobStats() {
+        try {
+            return EgovResponseVO.success(bbsFileJobService.getStats());
+        } catch (Exception e) {
+            System.out.println("파일 후처리 작업 큐 지표 조회 중 오류: " + e.getMessage());
+            return EgovResponseVO.error("파일 후처리 작업 큐 지표 조회 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+    
     // ===== 구분 코드 관리 =====
     
     @Operation(summary = "게시판 구분 코드 목록 조회", description = "게시판에서 사용할 수 있는 구분 코드 목록을 조회합니다.")
@@ -1817,9 +1781,10 @@ public class BbsController {
      */
     /**
      * 게시물 작성 시 다중이미지 처리 메서드
-     * 업로드된 다중이미지를 게시물의 atchFileId 그룹으로 이동
+     * 사전 업로드 응답의 업로드 토큰(첨부파일ID_파일순번)으로 원본 파일을 한 번에 조회하여
+     * 게시물의 atchFileId 그룹으로 복사한다. (파일 테이블 크기와 무관하게 PK 조회 1회)
      */
-    private void processMultiImagesForCreate(String targetAtchFileId, List<String> imageIds, List<String> imageNames, List<Integer> imageOrder) {
+    private void processMultiImagesForCreate(String bbsId, String targetAtchFileId, List<String> imageIds, List<String> imageNames, List<Integer> imageOrder) {
         System.out.println("=== processMultiImagesForCreate 시작 ===");
         System.out.println("targetAtchFileId: " + targetAtchFileId);
         System.out.println("imageIds: " + imageIds);
@@ -1831,76 +1796,64 @@ public class BbsController {
             return;
         }
         
-        if (imageNames == null) imageNames = new ArrayList<>();
         if (imageOrder == null) imageOrder = new ArrayList<>();
         
+        // 1. 업로드 토큰을 (첨부파일ID, 파일순번) 키로 변환
+        List<FileVO> fileKeys = new ArrayList<>();
+        for (String imageId : imageIds) {
+            FileVO fileKey = FileVO.fromUploadToken(imageId);
+            if (fileKey != null) {
+                fileKeys.add(fileKey);
+            } else {
+                System.out.println("업로드 토큰 형식이 아님, 건너뜀: " + imageId);
+            }
+        }
+        if (fileKeys.isEmpty()) {
+            System.out.println("처리할 다중이미지가 없음 - 처리 완료");
+            return;
+        }
+        
+        // 2. 원본 파일 일괄 조회 후 토큰별로 매핑
+        Map<String, FileVO> sourceFiles = new HashMap<>();
+        for (FileVO file : fileMapper.selectFileDetailsByKeys(fileKeys)) {
+            sourceFiles.put(file.getUploadToken(), file);
+        }
+        
+        // 3. 새로운 atchFileId 그룹에 복사할 상세 목록 구성
+        List<FileVO> newFiles = new ArrayList<>();
         for (int i = 0; i < imageIds.size(); i++) {
             String imageId = imageIds.get(i);
-            String imageName = (i < imageNames.size()) ? imageNames.get(i) : imageId;
             Integer order = (i < imageOrder.size()) ? imageOrder.get(i) : (i + 1);
             
-            if (imageId == null || imageId.trim().isEmpty()) continue;
-            
-            System.out.println("다중이미지 처리: " + imageName + " (순서: " + order + ")");
-            
-            try {
-                // 1. 기존 다중이미지 파일 정보 조회 (파일명으로 찾기)
-                List<FileVO> allFiles = fileMapper.selectAllFiles(); // 모든 파일 조회
-                FileVO sourceFile = null;
-                
-                for (FileVO file : allFiles) {
-                    if (file.getOrignlFileNm() != null && file.getOrignlFileNm().equals(imageName)) {
-                        sourceFile = file;
-                        break;
-                    }
-                }
-                
-                if (sourceFile == null) {
-                    System.out.println("다중이미지 파일을 찾을 수 없음: " + imageName);
-                    continue;
-                }
-                
-                System.out.println("다중이미지 파일 발견: " + sourceFile.getAtchFileId() + "/" + sourceFile.getFileSn());
-                
-                // 2. 새로운 atchFileId 그룹에 복사
-                FileVO newFileVO = new FileVO();
-                newFileVO.setAtchFileId(targetAtchFileId);
-                
-                // 기존 파일들의 최대 FILE_SN + 1을 사용
-                Long nextFileSn = getNextFileSn(targetAtchFileId);
-                newFileVO.setFileSn(nextFileSn);
-                
-                newFileVO.setFileStreCours(sourceFile.getFileStreCours());
-                newFileVO.setStreFileNm(sourceFile.getStreFileNm());
-                newFileVO.setOrignlFileNm(sourceFile.getOrignlFileNm());
-                newFileVO.setFileExtsn(sourceFile.getFileExtsn());
-                newFileVO.setFileCn("MULTI_IMAGE");
-                newFileVO.setFileSize(sourceFile.getFileSize());
-                newFileVO.setFileOrder(order != null ? order.longValue() : (long)(i + 1));
-                
-                // 3. COMTNFILE 마스터 레코드 확인 및 생성
-                boolean masterExists = fileMapper.existsFileMaster(targetAtchFileId);
-                if (!masterExists) {
-                    FileVO masterFileVO = new FileVO();
-                    masterFileVO.setAtchFileId(targetAtchFileId);
-                    fileMapper.insertFile(masterFileVO);
-                    System.out.println("COMTNFILE 마스터 레코드 생성: " + targetAtchFileId);
-                }
-                
-                // 4. COMTNFILEDETAIL 상세 레코드 등록
-                int detailResult = fileMapper.insertFileDetail(newFileVO);
-                if (detailResult > 0) {
-                    System.out.println("다중이미지 DB 저장 성공: " + imageName + " (FILE_SN: " + nextFileSn + ")");
-                } else {
-                    System.out.println("다중이미지 DB 저장 실패: " + imageName);
-                }
-                
-            } catch (Exception e) {
-                System.out.println("다중이미지 처리 중 오류: " + e.getMessage());
-                e.printStackTrace();
+            FileVO fileKey = FileVO.fromUploadToken(imageId);
+            FileVO sourceFile = fileKey != null ? sourceFiles.get(fileKey.getUploadToken()) : null;
+            if (sourceFile == null) {
+                System.out.println("다중이미지 파일을 찾을 수 없음: " + imageId);
+                continue;
             }
+            
+            System.out.println("다중이미지 처리: " + sourceFile.getOrignlFileNm() + " (순서: " + order + ")");
+            
+            FileVO newFileVO = new FileVO();
+            newFileVO.setFileStreCours(sourceFile.getFileStreCours());
+            newFileVO.setStreFileNm(sourceFile.getStreFileNm());
+            newFileVO.setFileHash(sourceFile.getFileHash()); // 같은 저장소 파일 참조 (참조수 증가)
+            newFileVO.setOrignlFileNm(sourceFile.getOrignlFileNm());
+            newFileVO.setFileExtsn(sourceFile.getFileExtsn());
+            newFileVO.setFileCn("MULTI_IMAGE");
+            newFileVO.setFileSize(sourceFile.getFileSize());
+            newFileVO.setFileOrder(order != null ? order.longValue() : (long)(i + 1));
+            newFiles.add(newFileVO);
+        }
+        
+        // 4. 마스터 확인·생성과 COMTNFILEDETAIL 상세 등록을 한 트랜잭션에서 일괄 처리 (파일 순번은 기존 최대값 다음부터)
+        if (!newFiles.isEmpty()) {
+            bbsFileUploadService.registerFiles(targetAtchFileId, false, "MULTI_IMAGE", newFiles, bbsId);
+            System.out.println("다중이미지 DB 일괄 저장 성공: " + newFiles.size() + "건");
         }
         
+        // 파일 구성이 바뀌었으므로 게시글 상세 캐시 무효화
+        bbsCacheService.evictBbsByAtchFileId(targetAtchFileId);
         System.out.println("=== processMultiImagesForCreate 끝 ===");
     }
 
@@ -1979,5 +1932,7 @@ public class BbsController {
                 }
             }
         }
+        // 파일 구성이 바뀌었으므로 게시글 상세 캐시 무효화
+        bbsCacheService.evictBbsByAtchFileId(atchFileId);
         System.out.println("=== processMultiImages 끝 ===");
     }} 
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Mapper;
 
 import egovframework.survey.vo.BbsMstVO;
 import egovframework.survey.vo.BbsVO;
+import egovframework.survey.vo.BbsViewCountVO;
 import egovframework.survey.vo.BbsMstSearchVO;
 import egovframework.survey.vo.BbsSearchVO;
 import egovframework.survey.vo.CommentVO;
@@ -23,13 +24,18 @@ public interface BbsMapper {
     
     // 게시글 관련
     List<BbsVO> selectBbsList(BbsSearchVO searchVO);
+    List<BbsVO> selectBbsListFullText(BbsSearchVO searchVO);
+    List<BbsVO> selectBbsListByCursor(BbsSearchVO searchVO);
     int selectBbsListTotCnt(BbsSearchVO searchVO);
+    String selectBbsListTotCntEstimate(BbsSearchVO searchVO);
     BbsVO selectBbs(String bbsId, int nttId);
     int insertBbs(BbsVO bbsVO);
     int updateBbs(BbsVO bbsVO);
     int deleteBbs(String bbsId, Long nttId);
     int updateBbsAtchFileId(int nttId, String atchFileId);
+    String selectBbsIdByAtchFileId(String atchFileId);
     int updateRdcnt(String bbsId, int nttId);
+    int updateRdcntBatch(List<BbsViewCountVO> viewCounts);
     
     // 댓글 관련
     List<CommentVO> selectCommentList(String bbsId, int nttId);
@@ -0,0 +1,64 @@
+package egovframework.survey.mapper;
+
+import egovframework.survey.vo.FileJobVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 첨부파일 후처리 작업 큐 MyBatis Mapper 인터페이스 (COMTNFILEJOB)
+ */
+@Mapper
+public interface FileJobMapper {
+
+    /**
+     * 작업 다건 등록 (다중 행 INSERT 1회)
+     */
+    int insertFileJobs(@Param("jobs") List<FileJobVO> jobs);
+
+    /**
+     * 실행 시각이 된 대기 작업을 유형별로 선점 (FOR UPDATE SKIP LOCKED, 상태를 RUNNING으로 변경하고 시도횟수 증가)
+     */
+    List<FileJobVO> claimFileJobs(@Param("jobTy") String jobTy, @Param("lockOwner") String lockOwner,
+            @Param("limit") int limit);
+
+    /**
+     * 작업 완료 (선점한 작업자인 경우만)
+     */
+    int completeFileJob(@Param("jobId") Long jobId, @Param("lockOwner") String lockOwner,
+            @Param("resultCn") String resultCn);
+
+    /**
+     * 작업 실패 (시도횟수가 남으면 지연 후 재시도 대기, 아니면 FAILED)
+     */
+    int failFileJob(@Param("jobId") Long jobId, @Param("lockOwner") String lockOwner,
+            @Param("resultCn") String resultCn, @Param("maxAttempts") int maxAttempts,
+            @Param("retryDelaySeconds") long retryDelaySeconds);
+
+    /**
+     * 처리 시간이 초과된 RUNNING 작업을 대기 상태로 되돌림 (작업자 비정상 종료 등)
+     */
+    int releaseExpiredFileJobs(@Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 보관 기간이 지난 완료 작업 삭제
+     */
+    int deleteFinishedFileJobs(@Param("retentionDays") long retentionDays);
+
+    /**
+     * 파일 상세의 후처리상태를 작업 상태로부터 갱신 (실패 있음 → FAILED, 남은 작업 있음 → PROCESSING, 그 외 READY)
+     */
+    int updateFileProcessSttus(@Param("atchFileId") String atchFileId, @Param("fileSn") Long fileSn);
+
+    /**
+     * 파일 그룹의 작업 목록 조회
+     */
+    List<FileJobVO> selectFileJobList(@Param("atchFileId") String atchFileId);
+
+    /**
+     * 유형·상태별 작업 수 조회 (운영 통계, JOB_TY / JOB_STTUS / JOB_CNT)
+     */
+    List<Map<String, Object>> selectFileJobStats();
+}
@@ -18,6 +18,11 @@ public interface FileMapper {
      */
     List<FileVO> selectFileList(@Param("atchFileId") String atchFileId);
     
+    /**
+     * 여러 첨부파일ID의 첨부파일 목록 일괄 조회 (목록 화면 N+1 조회 방지)
+     */
+    List<FileVO> selectFileListByAtchFileIds(@Param("atchFileIds") List<String> atchFileIds);
+    
     /**
      * 첨부파일 상세 조회 (COMTNFILE + COMTNFILEDETAIL 조인)
      */
@@ -38,6 +43,11 @@ public interface FileMapper {
      */
     int deleteFileAll(@Param("atchFileId") String atchFileId);
     
+    /**
+     * 첨부파일 마스터 삭제 (COMTNFILE, 상세를 먼저 삭제한 뒤 호출)
+     */
+    int deleteFileMaster(@Param("atchFileId") String atchFileId);
+    
     /**
      * 첨부파일ID로 다음 파일순번 조회 (COMTNFILEDETAIL에서 조회)
      */
@@ -83,6 +93,22 @@ public interface FileMapper {
      */
     int insertFileDetail(FileVO fileVO);
     
+    /**
+     * 첨부파일 상세 다건 등록 (COMTNFILEDETAIL, 다중 행 INSERT 1회)
+     */
+    int insertFileDetails(@Param("files") List<FileVO> files);
+    
+    /**
+     * 첨부파일 마스터가 없을 때만 등록 (COMTNFILE, 등록 시 1 반환)
+     */
+    int insertFileMasterIfAbsent(@Param("atchFileId") String atchFileId);
+    
+    /**
+     * 대표/메인 이미지 등록 또는 교체 (FILE_CN 기준 upsert 1회)
+     * @return 교체된 기존 이미지 (새로 등록된 경우 null)
+     */
+    FileVO upsertImageByType(FileVO fileVO);
+    
     /**
      * 대표이미지 조회
      */
@@ -119,7 +145,62 @@ public interface FileMapper {
     int updateFileOrder(FileVO fileVO);
     
     /**
-     * 모든 파일 목록 조회 (다중이미지 처리용)
+     * (첨부파일ID, 파일순번) 키 목록으로 파일 상세 일괄 조회 (업로드 토큰 확인용)
+     */
+    List<FileVO> selectFileDetailsByKeys(@Param("fileKeys") List<FileVO> fileKeys);
+    
+    /**
+     * 이미지 크기 기록 (업로드 후처리 메타데이터 추출)
+     */
+    int updateFileImageSize(@Param("atchFileId") String atchFileId, @Param("fileSn") Long fileSn,
+            @Param("imageWidth") Integer imageWidth, @Param("imageHeight") Integer imageHeight);
+    
+    /**
+     * 내용 주소 저장소 파일 등록, 이미 있으면 갱신 시각만 연장 (COMTNFILEBLOB)
+     */
+    int upsertFileBlob(FileVO fileVO);
+    
+    /**
+     * 참조가 없고 유예 기간이 지난 저장소 파일 조회 (FOR UPDATE SKIP LOCKED)
+     */
+    List<FileVO> selectUnreferencedBlobsForUpdate(@Param("graceSeconds") long graceSeconds, @Param("limit") int limit);
+    
+    /**
+     * 저장소 파일 삭제 (참조가 없는 경우만)
+     */
+    int deleteFileBlob(@Param("fileHash") String fileHash);
+    
+    /**
+     * 같은 저장파일명을 가리키는 기존(해시 없는) 파일 상세 수
+     */
+    int selectLegacyFileRefCount(@Param("streFileNm") String streFileNm);
+    
+    /**
+     * 저장파일명이 같은 파일 상세의 파일저장경로 변경 (저장 레이아웃 이전)
+     */
+    int updateFileDetailStreCours(@Param("streFileNm") String streFileNm, @Param("fileStreCours") String fileStreCours);
+    
+    /**
+     * 저장소 파일의 파일저장경로 변경 (저장 레이아웃 이전)
+     */
+    int updateFileBlobStreCours(@Param("fileHash") String fileHash, @Param("fileStreCours") String fileStreCours);
+    
+    /**
+     * 저장파일명 목록 중 파일 상세 또는 저장소 파일 행이 있는 이름 조회 (고아 파일 점검)
+     */
+    List<String> selectKnownStreFileNms(@Param("streFileNms") List<String> streFileNms);
+    
+    /**
+     * (첨부파일ID, 파일순번) 순 키셋 페이지로 파일 상세 조회 (고아 행 점검)
+     */
+    List<FileVO> selectFileDetailPage(@Param("afterAtchFileId") String afterAtchFileId,
+            @Param("afterFileSn") Long afterFileSn, @Param("limit") int limit);
+    
+    /**
+     * 게시글에 연결되지 않은 채 유예 기간이 지난 파일 그룹 조회 (사전 업로드 후 버려진 그룹, 삭제된 게시글의 그룹)
+     * 본문 URL로만 참조되는 본문 이미지(CONTENT_IMAGE) 그룹은 제외
      */
-    List<FileVO> selectAllFiles();
-} 
\ No newline at end of file
+    List<String> selectStagedAtchFileIds(@Param("afterAtchFileId") String afterAtchFileId,
+            @Param("stagedGraceHours") long stagedGraceHours, @Param("deletedPostGraceDays") long deletedPostGraceDays,
+            @Param("limit") int limit);
+}
@@ -0,0 +1,36 @@
+package egovframework.survey.mapper;
+
+import egovframework.survey.vo.JwtKeyVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * JWT 서명 키 MyBatis Mapper 인터페이스 (COMTNJWTKEY)
+ */
+@Mapper
+public interface JwtKeyMapper {
+
+    /**
+     * 알고리즘별 키 목록 (활성화 순)
+     */
+    List<JwtKeyVO> selectJwtKeyList(@Param("algorithm") String algorithm);
+
+    /**
+     * 키 등록 잠금 (pg_advisory_xact_lock, 트랜잭션이 끝날 때 해제)
+     */
+    int lockJwtKeyRotation();
+
+    /**
+     * 교체 주기가 된 경우에만 새 키 등록 (lockJwtKeyRotation과 같은 트랜잭션에서 호출해야 여러 노드가 동시에 시도해도 주기당 1건)
+     * 첫 키는 즉시 활성화하고, 이후 키는 prepublishSeconds 뒤에 활성화 (그 전까지 JWKS에만 공개)
+     */
+    int insertJwtKeyIfDue(@Param("key") JwtKeyVO key, @Param("rotationSeconds") long rotationSeconds,
+            @Param("prepublishSeconds") long prepublishSeconds);
+
+    /**
+     * 키 삭제 (검증 보관 기간이 지난 키)
+     */
+    int deleteJwtKey(@Param("kid") String kid);
+}
@@ -0,0 +1,62 @@
+package egovframework.survey.mapper;
+
+import egovframework.survey.vo.RefreshTokenVO;
+import egovframework.survey.vo.RevokedTokenVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 리프레시 토큰·폐기 토큰 MyBatis Mapper 인터페이스 (COMTNREFRESHTOKEN, COMTNREVOKEDTOKEN)
+ */
+@Mapper
+public interface TokenMapper {
+
+    /**
+     * 리프레시 토큰 등록
+     */
+    int insertRefreshToken(RefreshTokenVO refreshToken);
+
+    /**
+     * 리프레시 토큰 조회 (행 잠금, 같은 토큰의 동시 갱신을 직렬화)
+     */
+    RefreshTokenVO selectRefreshTokenForUpdate(@Param("tokenId") String tokenId);
+
+    /**
+     * 리프레시 토큰 교체 표시 (아직 교체·폐기되지 않은 경우만)
+     */
+    int updateRefreshTokenReplaced(@Param("tokenId") String tokenId, @Param("replacedBy") String replacedBy,
+            @Param("replacedDt") LocalDateTime replacedDt);
+
+    /**
+     * 세션(토큰 계열)의 리프레시 토큰 전체 폐기
+     */
+    int revokeRefreshTokenFamily(@Param("familyId") String familyId);
+
+    /**
+     * 사용자의 유효한 리프레시 토큰 전체 폐기 (고유ID 기준), 폐기된 세션ID 반환
+     */
+    List<String> revokeRefreshTokensByEsntlId(@Param("esntlId") String esntlId);
+
+    /**
+     * 폐기 세션 등록 (이미 있으면 보관만료일시만 연장)
+     */
+    int insertRevokedToken(@Param("tokenId") String tokenId, @Param("expireDt") LocalDateTime expireDt);
+
+    /**
+     * 지정 시각 이후 폐기된 세션 중 보관만료 전인 것 (노드 증분 동기화)
+     */
+    List<RevokedTokenVO> selectRevokedTokensSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 보관만료된 폐기 세션 삭제
+     */
+    int deleteExpiredRevokedTokens();
+
+    /**
+     * 만료 후 보관 기간이 지난 리프레시 토큰 삭제
+     */
+    int deleteExpiredRefreshTokens(@Param("retentionDays") long retentionDays);
+}
@@ -18,14 +18,6 @@ public interface UserMapper {
      */
     EmplyrInfoVO selectUserById(@Param("emplyrId") String emplyrId);
     
-    /**
-     * 업무사용자 ID와 비밀번호로 사용자 정보 조회 (로그인용)
-     * @param emplyrId 업무사용자ID
-     * @param password 비밀번호
-     * @return 업무사용자정보
-     */
-    EmplyrInfoVO selectUserByIdAndPassword(@Param("emplyrId") String emplyrId, @Param("password") String password);
-    
     /**
      * 사용자 권한명 조회
      * @param emplyrId 업무사용자ID
@@ -0,0 +1,51 @@
+package egovframework.survey.service;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import egovframework.survey.vo.BbsMstVO;
+import egovframework.survey.vo.BbsVO;
+
+/**
+ * 게시판 캐시 서비스
+ * 변경이 드문 게시판 마스터(COMTNBBSMST)와 조회가 집중되는 게시글 상세(게시글 + 파일 구성)를
+ * 읽기 통과(read-through) 방식으로 캐시한다.
+ */
+public interface BbsCacheService {
+    
+    String BBS_MST_CACHE = "bbsMst";
+    
+    // 게시글 상세 캐시 (키: 게시판ID:게시글ID)
+    String BBS_DETAIL_CACHE = "bbsDetail";
+    
+    // 게시글 상세 캐시 - 게시글ID 기준 무효화 전파용
+    String BBS_DETAIL_NTT_CACHE = "bbsDetail.ntt";
+    
+    // 게시글 상세 캐시 - 첨부파일ID 기준 무효화 전파용
+    String BBS_DETAIL_FILE_CACHE = "bbsDetail.file";
+    
+    // 게시판 마스터 조회 (캐시 미적중 시 DB 조회, 반환 객체는 캐시와 공유되므로 수정 금지)
+    BbsMstVO selectBbsMst(String bbsId);
+    
+    // 게시판 마스터 캐시 무효화 (트랜잭션 커밋 후 적용, 다른 노드로 전파)
+    void evictBbsMst(String bbsId);
+    
+    // 게시글 상세 조회 (캐시 미적중 시 loader로 조회, 같은 키의 동시 미적중은 한 번만 조회)
+    // 반환 객체는 호출자별 복사본이므로 수정 가능
+    BbsVO selectBbs(String bbsId, long nttId, Supplier<BbsVO> loader);
+    
+    // 게시글 상세 캐시 무효화 (트랜잭션 커밋 후 적용, 다른 노드로 전파)
+    void evictBbs(String bbsId, long nttId);
+    
+    // 게시글ID 기준 상세 캐시 무효화 (게시판ID를 모르는 경우)
+    void evictBbsByNttId(long nttId);
+    
+    // 첨부파일 그룹을 사용하는 게시글 상세 캐시 무효화 (파일 추가/삭제, 이미지 처리 시)
+    void evictBbsByAtchFileId(String atchFileId);
+    
+    // 다른 노드에서 전파된 무효화 적용 (로컬 캐시만 무효화)
+    void onRemoteInvalidation(String cacheName, String key);
+    
+    // 캐시 통계
+    Map<String, Object> getStats();
+}
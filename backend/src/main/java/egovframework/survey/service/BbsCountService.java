@@ -0,0 +1,28 @@
+package egovframework.survey.service;
+
+import egovframework.survey.vo.BbsMstSearchVO;
+import egovframework.survey.vo.BbsSearchVO;
+import egovframework.survey.vo.PaginationInfo;
+
+/**
+ * 게시글/게시판 마스터 목록 총건수 서비스
+ * 목록 조회마다 COUNT(*)를 실행하지 않도록 게시판별 정확 카운터와 단기 TTL 캐시를 제공한다.
+ */
+public interface BbsCountService {
+    
+    // 게시판별 정확 카운터 무효화 전파용 캐시 이름 (키: 게시판ID, null이면 전체)
+    String BBS_COUNT_CACHE = "bbsCount";
+    
+    // 총건수 조회 (PaginationInfo에 총건수와 추정값 여부 설정)
+    void applyBbsListCount(BbsSearchVO searchVO, PaginationInfo paginationInfo);
+    void applyBbsMstListCount(BbsMstSearchVO searchVO, PaginationInfo paginationInfo);
+    
+    // 변경 반영 (트랜잭션 커밋 후 적용)
+    void onBbsInserted(String bbsId);
+    void onBbsUpdated(String bbsId);
+    void onBbsDeleted(String bbsId);
+    void onBbsMstChanged();
+    
+    // 다른 노드에서 전파된 등록/삭제 반영 (해당 게시판 카운터를 버리고 다음 조회에서 DB 재적재, null이면 전체)
+    void onRemoteInvalidation(String bbsId);
+}
@@ -0,0 +1,37 @@
+package egovframework.survey.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import egovframework.survey.vo.CachedFileVO;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 게시판 첨부파일/이미지 전송 서비스
+ * 조건부 요청(ETag, Last-Modified)과 Range 요청(206 Partial Content)을 처리한다.
+ * 파일 그룹은 임시파일 없이 ZIP으로 묶어 바로 전송한다.
+ */
+public interface BbsFileDownloadService {
+    
+    // 저장소 객체 전송 (304/206/416/200 응답을 요청 헤더에 따라 결정, contentDisposition이 null이면 생략)
+    void sendFile(FileVO fileInfo, StorageObjectVO object, String contentType, String contentDisposition,
+            HttpServletRequest request, HttpServletResponse response) throws IOException;
+    
+    // 확인된 파일 정보로 전송 (content가 있으면 메모리에서, 없으면 저장소에서 본문 전송, 크기·수정시각을 다시 확인하지 않음)
+    void sendFile(CachedFileVO cachedFile, ByteBuffer content, String contentDisposition,
+            HttpServletRequest request, HttpServletResponse response) throws IOException;
+    
+    // 전송할 저장소 객체의 크기·수정시각·ETag 정리
+    CachedFileVO describe(FileVO fileInfo, StorageObjectVO object, String contentType);
+    
+    // 파일 목록을 ZIP으로 스트리밍 전송 (이미 압축된 형식은 STORED, 물리 파일이 없는 항목은 건너뜀)
+    void sendZip(List<FileVO> files, String zipFileName, HttpServletResponse response) throws IOException;
+    
+    // 강한 ETag 생성 (첨부파일ID, 파일순번, 크기, 수정시각 기준)
+    String createETag(FileVO fileInfo, StorageObjectVO object);
+}
@@ -0,0 +1,34 @@
+package egovframework.survey.service;
+
+import java.util.List;
+import java.util.Map;
+
+import egovframework.survey.vo.FileJobVO;
+import egovframework.survey.vo.FileVO;
+
+/**
+ * 첨부파일 업로드 후처리 작업 큐 서비스
+ * 업로드 요청은 파일 저장과 상세 등록까지만 하고, 썸네일·메타데이터·해시 검증은 작업 행(COMTNFILEJOB)으로 등록하여
+ * 백그라운드 작업자가 유형별 동시 실행 수 안에서 처리한다. 작업 행은 DB에 있으므로 재시작 후에도 이어서 처리된다.
+ */
+public interface BbsFileJobService {
+
+    String JOB_CHECKSUM = "CHECKSUM";
+    String JOB_METADATA = "METADATA";
+    String JOB_THUMBNAIL = "THUMBNAIL";
+
+    String STTUS_PROCESSING = "PROCESSING";
+    String STTUS_READY = "READY";
+    String STTUS_FAILED = "FAILED";
+
+    // 파일들의 후처리 작업 등록 (파일 상세 등록과 같은 트랜잭션에서 호출, 첨부파일ID·순번이 정해진 뒤)
+    // 각 FileVO의 후처리상태를 설정하고(대상 작업이 없으면 null), 커밋 후 작업자를 깨운다.
+    // bbsId: 업로드 시 게시판을 알 수 있으면 지정 (이미지 권장 크기 확인용, 없으면 게시글 연결 후 조회)
+    void enqueue(List<FileVO> files, String bbsId);
+
+    // 파일 그룹의 후처리 작업 목록
+    List<FileJobVO> selectFileJobList(String atchFileId);
+
+    // 작업 큐 지표 (유형·상태별 작업 수, 이 노드의 처리 건수)
+    Map<String, Object> getStats();
+}
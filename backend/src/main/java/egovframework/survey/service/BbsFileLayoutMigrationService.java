@@ -0,0 +1,20 @@
+package egovframework.survey.service;
+
+import java.util.Map;
+
+/**
+ * 업로드 저장 레이아웃 이전 서비스
+ * 업로드 경로 바로 아래의 평면 파일을 샤드 디렉토리로 옮기고 FILE_STRE_COURS를 갱신한다.
+ * 이전 중에도 조회 경로는 기록된 경로 → 샤드 경로 → 평면 경로 순으로 찾으므로 서비스를 계속 제공한다.
+ */
+public interface BbsFileLayoutMigrationService {
+    
+    // 백그라운드 이전 시작 (이미 실행 중이거나 샤드 레이아웃이 아니면 false)
+    boolean start();
+    
+    // 현재 배치까지 처리 후 중단 (다시 시작하면 남은 평면 파일부터 이어서 처리)
+    void stop();
+    
+    // 진행 상태 (실행 여부, 이전/실패 건수, 시작·종료 시각 등)
+    Map<String, Object> getStatus();
+}
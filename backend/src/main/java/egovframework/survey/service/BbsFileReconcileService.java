@@ -0,0 +1,17 @@
+package egovframework.survey.service;
+
+import java.util.Map;
+
+/**
+ * 첨부파일 고아 점검·정리 서비스
+ * 업로드 디렉토리와 파일 테이블을 정렬된 배치 단위로 대조하여
+ * 행이 없는 파일, 파일이 없는 행, 게시글에 연결되지 않은 채 오래된 사전 업로드 그룹을 찾아 격리 또는 삭제한다.
+ */
+public interface BbsFileReconcileService {
+    
+    // 점검 1회 실행 (이미 실행 중이면 false, 비동기 실행)
+    boolean runAsync();
+    
+    // 직전/진행 중 실행 결과와 누적 지표 (회수 바이트 등)
+    Map<String, Object> getStats();
+}
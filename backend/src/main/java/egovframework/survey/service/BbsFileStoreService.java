@@ -0,0 +1,41 @@
+package egovframework.survey.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.fileupload.FileUploadException;
+import org.springframework.web.multipart.MultipartFile;
+
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 첨부파일 내용 주소 저장소 서비스
+ * 파일 내용의 SHA-256 해시를 저장파일명으로 사용하여 같은 내용은 한 번만 저장하고,
+ * 참조수(COMTNFILEBLOB.REF_CNT)가 0이 된 파일은 백그라운드 GC로 삭제한다.
+ * 실제 파일은 FileStorage(로컬 파일시스템 또는 S3 호환 저장소)에 둔다.
+ */
+public interface BbsFileStoreService {
+
+    // 스트림을 해시 계산과 함께 저장 (maxFileSize 초과 시 FileUploadBase.FileSizeLimitExceededException)
+    // 반환값: 파일저장경로/저장파일명/파일내용해시/파일크기/원파일명/확장자가 채워진 FileVO (첨부파일ID·순번은 호출측에서 지정)
+    FileVO store(InputStream in, String originalFileName, long maxFileSize) throws IOException, FileUploadException;
+
+    // 멀티파트 파일 저장 (컨테이너 임시파일을 이동한 뒤 읽기만 하여 해시 계산)
+    FileVO store(MultipartFile file) throws IOException;
+
+    // 이미 저장된 파일을 가리키는 파일 상세 정보 설정 (사전 업로드 파일을 게시물 그룹에 연결할 때)
+    void linkStoredFile(FileVO fileVO, String streFileNm);
+
+    // 파일 상세가 가리키는 저장소 객체 (레이아웃 이전 중에는 샤드/평면 키도 확인, 없으면 null)
+    StorageObjectVO stat(FileVO fileVO) throws IOException;
+
+    // 저장본을 다시 읽어 파일내용해시와 일치하는지 확인 (해시 없는 기존 파일은 true, 저장본이 없으면 NoSuchFileException)
+    boolean verify(FileVO fileVO) throws IOException;
+
+    // 파일 상세 삭제 후 물리 파일 정리 (저장소 파일은 GC에 맡기고, 기존 방식 파일은 참조가 없을 때만 삭제)
+    void release(FileVO fileVO);
+
+    // 참조가 없는 저장소 파일 삭제 (삭제 건수 반환)
+    int collectGarbage();
+}
@@ -0,0 +1,32 @@
+package egovframework.survey.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.fileupload.FileUploadException;
+
+import egovframework.survey.vo.FileVO;
+
+/**
+ * 게시판 첨부파일 업로드 서비스
+ * 멀티파트 본문을 도착하는 순서대로 읽어 각 파일을 최종 경로에 한 번만 기록하고,
+ * 요청 단위의 파일 정보는 한 트랜잭션에서 일괄 등록한다.
+ */
+public interface BbsFileUploadService {
+    
+    // 스트리밍 업로드 (게시판 첨부 제한 초과 시 FileUploadBase.SizeException / FileCountLimitExceededException)
+    // 폼 필드: usageType(파일 용도), atchFileId(기존 그룹에 추가 시) - files 파트보다 먼저 전송해야 함
+    Map<String, Object> uploadStreaming(String bbsId, HttpServletRequest request) throws IOException, FileUploadException;
+    
+    // 저장된 파일들의 상세 정보 일괄 등록 (마스터 등록과 다중 행 INSERT를 한 트랜잭션에서 처리)
+    // newGroup: 새 그룹이면 마스터를 생성하고 1번부터, 아니면 마스터가 없을 때만 생성하고 다음 순번부터 부여
+    // usageType은 FILE_CN 값으로 변환 (이미 FILE_CN이 지정된 파일은 그대로 사용)
+    // 썸네일·메타데이터·해시 검증은 같은 트랜잭션에서 후처리 작업으로 등록 (bbsId: 알 수 있으면 지정, 없으면 null)
+    void registerFiles(String atchFileId, boolean newGroup, String usageType, List<FileVO> files, String bbsId);
+    
+    // 대표/메인 이미지 등록 또는 교체 (마스터 확인과 용도별 upsert를 한 트랜잭션에서 처리, 교체된 기존 파일은 커밋 후 정리)
+    void replaceImageByType(FileVO fileVO);
+}
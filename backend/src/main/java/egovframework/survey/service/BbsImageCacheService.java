@@ -0,0 +1,31 @@
+package egovframework.survey.service;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import egovframework.survey.vo.CachedFileVO;
+
+/**
+ * 게시판 이미지 캐시 서비스
+ * 1단계: (첨부파일ID, 파일순번, 파생본)별 전송 정보(파일 상세, 실제 위치, 크기, 수정시각, ETag) 캐시
+ * 2단계: 자주 조회되는 작은 이미지 본문을 크기 제한 오프힙 버퍼에 보관 (조회 빈도 기반 적재·제거)
+ * 두 단계 모두 적중하면 DB 조회와 저장소 확인 없이 응답한다.
+ */
+public interface BbsImageCacheService {
+
+    // 이미지 전송 정보 조회 (미적중 시 loader로 확인, null이거나 캐시 불가 결과는 저장하지 않음)
+    CachedFileVO getImage(String atchFileId, Long fileSn, String variant, Supplier<CachedFileVO> loader);
+
+    // 캐시된 이미지 본문 (읽기 전용, 없거나 적재 대상이 아니면 null)
+    ByteBuffer getContent(CachedFileVO image);
+
+    // 첨부파일 그룹의 이미지 전송 정보 무효화
+    void evictByAtchFileId(String atchFileId);
+
+    // 전체 무효화 (저장 레이아웃 이전 등 파일 위치가 바뀐 경우)
+    void clear();
+
+    // 캐시 통계 (단계별 적중률, 본문 메모리 사용량)
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,36 @@
+package egovframework.survey.service;
+
+import java.io.IOException;
+
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 게시판 이미지 파생본(썸네일/리사이즈) 서비스
+ * 게시판 마스터의 이미지 권장 크기에 맞춘 파생본을 저장소의 원본 옆 키에 생성해 두고 재사용한다.
+ */
+public interface BbsImageVariantService {
+    
+    String VARIANT_THUMB = "thumb";
+    String VARIANT_REPRESENT = "represent";
+    String VARIANT_MAIN = "main";
+    String VARIANT_MULTI = "multi";
+    
+    // 지원하는 파생본 이름인지 확인
+    boolean isSupportedVariant(String variant);
+    
+    // 파생본 조회 (없으면 작업 풀에서 생성 후 대기, 생성 불가·지연 시 원본 반환)
+    StorageObjectVO resolveVariant(FileVO fileInfo, StorageObjectVO original, String variant) throws IOException;
+    
+    // 파생본을 호출 스레드에서 생성 (업로드 후처리 작업용, 이미 있으면 그대로 반환, 대상 형식·크기 설정이 없으면 null)
+    StorageObjectVO createVariant(FileVO fileInfo, String variant) throws IOException;
+    
+    // 원본 이미지의 너비·높이 (헤더만 읽음, 읽을 수 없는 형식이면 null)
+    int[] readImageSize(StorageObjectVO original) throws IOException;
+    
+    // 원본 키의 파생본 삭제 (원본 물리 삭제 시)
+    void deleteVariants(String originalKey) throws IOException;
+    
+    // 파일 그룹의 이미지 파생본을 미리 생성 (비동기, 작업 풀이 가득 차면 건너뜀)
+    void warmUp(String atchFileId);
+}
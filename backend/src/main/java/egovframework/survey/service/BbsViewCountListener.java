@@ -0,0 +1,19 @@
+package egovframework.survey.service;
+
+/**
+ * 조회수 일괄 반영 리스너
+ * 버퍼에 누적된 조회수 증가분을 DB에 반영하기 전과 반영(커밋)된 직후 게시글별로 호출된다.
+ */
+public interface BbsViewCountListener {
+
+    // 조회수 증가분 반영 시작 (UPDATE 실행 전)
+    default void onViewCountFlushing(String bbsId, long nttId) {
+    }
+
+    // 조회수 증가분 반영 완료 (커밋 후, 반영 중 증가분에서 빠지는 것과 같은 단계에서 호출되므로 버퍼 서비스를 다시 호출하지 않음)
+    void onViewCountFlushed(String bbsId, long nttId, long delta);
+
+    // 조회수 증가분 반영 실패 (증가분은 반영 중으로 남아 다음 주기에 재시도)
+    default void onViewCountFlushFailed(String bbsId, long nttId) {
+    }
+}
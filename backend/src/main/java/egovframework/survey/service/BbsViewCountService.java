@@ -0,0 +1,17 @@
+package egovframework.survey.service;
+
+/**
+ * 게시글 조회수 버퍼 서비스
+ * 조회마다 UPDATE를 실행하지 않고 메모리에 누적한 증가분을 주기적으로 일괄 반영한다.
+ */
+public interface BbsViewCountService {
+    
+    // 조회수 1 증가 (메모리 누적)
+    void increment(String bbsId, long nttId);
+    
+    // 아직 DB에 반영되지 않은 조회수 증가분
+    long getPendingCount(String bbsId, long nttId);
+    
+    // 누적된 증가분을 DB에 일괄 반영하고 반영 건수 반환
+    int flush();
+}
@@ -0,0 +1,14 @@
+package egovframework.survey.service;
+
+/**
+ * 캐시 무효화 전파 훅 (선택)
+ * 다중 노드 운영 시 Redis Pub/Sub, PostgreSQL LISTEN/NOTIFY 등으로 구현하여 빈으로 등록하면
+ * 로컬 캐시 무효화가 다른 노드로 전파된다. 수신 측은 BbsCacheService.onRemoteInvalidation을 호출한다.
+ * (게시판별 게시글 건수(bbsCount)도 같은 경로로 전파되어 BbsCountService로 전달된다)
+ * 빈이 없으면 단일 노드로 간주하여 로컬 캐시만 무효화한다.
+ */
+public interface CacheInvalidationHook {
+    
+    // 무효화 전파 (cacheName: 캐시 이름, key: 무효화 키, null이면 전체)
+    void publish(String cacheName, String key);
+}
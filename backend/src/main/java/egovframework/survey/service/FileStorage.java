@@ -0,0 +1,54 @@
+package egovframework.survey.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 첨부파일 저장소 (file.storage.type으로 구현 선택)
+ * - local: 업로드 경로의 로컬 파일시스템 (단일 노드)
+ * - s3: S3 호환 객체 저장소 (AWS S3, MinIO 등, 여러 노드가 같은 버킷 공유)
+ * 키는 업로드 경로 기준 상대 경로(예: ab/cd/{저장파일명})이며, 구분자는 "/"를 사용한다.
+ */
+public interface FileStorage {
+
+    String TYPE_LOCAL = "local";
+    String TYPE_S3 = "s3";
+
+    // 저장소 종류 (local, s3)
+    String getType();
+
+    // 로컬 임시파일을 키 위치에 저장 (같은 키가 있으면 덮어씀, 원본 임시파일은 이동되거나 그대로 남을 수 있음)
+    void put(String key, Path source) throws IOException;
+
+    // 전체 내용 읽기 (없으면 NoSuchFileException)
+    InputStream get(String key) throws IOException;
+
+    // 구간 읽기 (offset부터 length바이트, 없으면 NoSuchFileException)
+    InputStream get(String key, long offset, long length) throws IOException;
+
+    // 삭제 (없으면 무시, 로컬 저장소는 빈 디렉토리 키도 삭제)
+    void delete(String key) throws IOException;
+
+    // 존재 여부
+    boolean exists(String key) throws IOException;
+
+    // 크기·수정시각 조회 (없으면 null)
+    StorageObjectVO stat(String key) throws IOException;
+
+    // 다른 키로 이동 (같은 키가 있으면 덮어씀)
+    void move(String sourceKey, String targetKey) throws IOException;
+
+    // 접두어로 시작하는 항목 나열 (recursive=false면 접두어 디렉토리 바로 아래 항목과 하위 디렉토리만, visitor가 false를 반환하면 중단)
+    void list(String prefix, boolean recursive, Predicate<StorageObjectVO> visitor) throws IOException;
+
+    // 키의 로컬 파일 (로컬 저장소만, 그 외 null, sendfile 등 파일 기반 전송에 사용)
+    File localFile(String key);
+
+    // 업로드 임시파일 디렉토리 (로컬 저장소는 업로드 경로와 같은 파일시스템, 그 외는 로컬 작업 디렉토리)
+    Path getTempDirectory() throws IOException;
+}
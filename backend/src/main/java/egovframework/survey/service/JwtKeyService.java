@@ -0,0 +1,48 @@
+package egovframework.survey.service;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT 비대칭 서명 키 서비스 (jwt.signing.algorithm=ES256)
+ * 키 목록은 DB(COMTNJWTKEY)에서 공유하고, 각 노드는 공개키를 미리 파싱해 kid별로 보관한다.
+ * 주기적으로 키를 교체하며, 새 키는 활성화 전에 JWKS로 먼저 공개하고 이전 키는 발급된 토큰이 만료될 때까지 유지한다.
+ * HS256 모드에서는 키를 만들거나 조회하지 않는다.
+ */
+public interface JwtKeyService {
+
+    // 비대칭 서명 사용 여부
+    boolean isAsymmetric();
+
+    // 서명에 사용할 현재 키 (키가 없으면 생성)
+    SigningKey getSigningKey();
+
+    // kid의 검증용 공개키 (모르는 kid면 null)
+    PublicKey getPublicKey(String kid);
+
+    // JWKS 형식의 공개키 목록 (활성화 예정 키 포함, HS256 모드면 빈 목록)
+    List<Map<String, Object>> getJwks();
+
+    /**
+     * 서명 키 (kid + 개인키)
+     */
+    final class SigningKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+
+        public SigningKey(String kid, PrivateKey privateKey) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package egovframework.survey.service;
+
+/**
+ * 로그인 요청 거절 (시도 횟수 제한 초과 또는 비밀번호 검증 작업 풀 포화)
+ * 컨트롤러에서 429 응답과 Retry-After 헤더로 변환한다.
+ */
+public class LoginRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public LoginRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    // 재시도까지 대기할 시간(초, 최소 1)
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
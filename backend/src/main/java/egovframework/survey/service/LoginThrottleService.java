@@ -0,0 +1,17 @@
+package egovframework.survey.service;
+
+/**
+ * 로그인 시도 횟수 제한 서비스
+ * 클라이언트 IP별 토큰 버킷으로 시도를 제한하여, 무차별 대입이나 계정 대입 공격이
+ * 비밀번호 검증(BCrypt) 작업 풀을 차지하기 전에 걸러낸다.
+ * 사용자ID별 한도는 (사용자ID, IP) 단위로 실패한 시도만 차감하여, 다른 사람이 특정 사용자를 잠그지 못하게 한다.
+ */
+public interface LoginThrottleService {
+
+    // 로그인 시도 1회 차감 (IP 버킷 차감 후, 해당 IP에서 그 사용자ID의 실패 한도가 남았는지 확인)
+    // 한도를 넘으면 LoginRejectedException (재시도 가능 시각까지의 대기시간 포함)
+    void acquire(String userId, String clientIp);
+
+    // 비밀번호 검증 실패 1회 기록 (사용자ID·IP 버킷 차감)
+    void onLoginFailed(String userId, String clientIp);
+}
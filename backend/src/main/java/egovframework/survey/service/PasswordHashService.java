@@ -0,0 +1,13 @@
+package egovframework.survey.service;
+
+/**
+ * 비밀번호 해시 검증 서비스
+ * BCrypt 검증은 요청 스레드가 아닌 크기가 정해진 전용 작업 풀에서 실행한다.
+ * 로그인이 몰려도 CPU를 쓰는 스레드 수는 작업 풀 크기로 제한되고, 대기 큐가 가득 차면 즉시 거절하여
+ * 게시판 등 다른 API 요청의 처리 스레드와 CPU를 남겨 둔다.
+ */
+public interface PasswordHashService {
+
+    // 평문 비밀번호와 저장된 해시 비교 (작업 풀 포화·대기시간 초과 시 LoginRejectedException)
+    boolean matches(String rawPassword, String encodedPassword);
+}
@@ -0,0 +1,57 @@
+package egovframework.survey.service;
+
+/**
+ * 리프레시 토큰 서비스
+ * 로그인 1회가 하나의 세션(토큰 계열)이 되며, 리프레시 토큰은 사용할 때마다 새 토큰으로 교체된다.
+ * 이미 교체·폐기된 토큰이 다시 제출되면 탈취로 보고 세션 전체를 폐기한다.
+ * 세션ID는 액세스 토큰의 sid 클레임으로 들어가 TokenRevocationService로 폐기 여부를 확인한다.
+ */
+public interface RefreshTokenService {
+
+    // 새 세션 발급 (로그인)
+    IssuedToken issue(String emplyrId);
+
+    // 리프레시 토큰 교체 (유효하지 않거나 재사용된 토큰이면 null, 재사용이면 세션 전체 폐기)
+    IssuedToken rotate(String refreshToken);
+
+    // 리프레시 토큰이 속한 세션 폐기 (로그아웃, 토큰을 알 수 없으면 false)
+    boolean revokeSession(String refreshToken);
+
+    // 사용자의 모든 세션 폐기 (사용 중지·비밀번호 변경 시)
+    void revokeUserSessions(String esntlId);
+
+    /**
+     * 발급된 리프레시 토큰
+     */
+    final class IssuedToken {
+        private final String refreshToken;
+        private final String sessionId;
+        private final String emplyrId;
+        private final long expiresIn;
+
+        public IssuedToken(String refreshToken, String sessionId, String emplyrId, long expiresIn) {
+            this.refreshToken = refreshToken;
+            this.sessionId = sessionId;
+            this.emplyrId = emplyrId;
+            this.expiresIn = expiresIn;
+        }
+
+        // 클라이언트에 전달할 토큰 (토큰ID.비밀값)
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public String getEmplyrId() {
+            return emplyrId;
+        }
+
+        // 만료까지 남은 시간(초)
+        public long getExpiresIn() {
+            return expiresIn;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package egovframework.survey.service;
+
+/**
+ * 토큰(세션) 폐기 목록 서비스
+ * 폐기된 세션ID를 DB(COMTNREVOKEDTOKEN)에 기록하고, 각 노드는 Bloom 필터 + 정확한 집합으로 메모리에 보관한다.
+ * 요청 처리 중 확인(isRevoked)은 DB를 조회하지 않으며, 다른 노드의 폐기는 주기적 증분 동기화로 반영된다.
+ */
+public interface TokenRevocationService {
+
+    // 폐기 여부 (Bloom 필터에서 없으면 바로 false, 있으면 정확한 집합으로 확인)
+    boolean isRevoked(String tokenId);
+
+    // 세션 폐기 (호출 트랜잭션에서 DB 기록, 커밋 후 이 노드 메모리에 즉시 반영)
+    void revoke(String tokenId);
+}
@@ -36,6 +36,20 @@ public interface UserService {
      */
     String generateToken(EmplyrInfoVO emplyrInfo);
     
+    /**
+     * 세션ID를 포함한 JWT 토큰 생성 (세션 폐기 시 만료 전이라도 거절됨)
+     * @param emplyrInfo 업무사용자정보
+     * @param sessionId 세션ID (리프레시 토큰 계열)
+     * @return JWT 토큰
+     */
+    String generateToken(EmplyrInfoVO emplyrInfo, String sessionId);
+    
+    /**
+     * 액세스 토큰 유효시간
+     * @return 유효시간(초)
+     */
+    long getAccessTokenExpiresIn();
+    
     /**
      * JWT 토큰에서 업무사용자ID 추출
      * @param token JWT 토큰
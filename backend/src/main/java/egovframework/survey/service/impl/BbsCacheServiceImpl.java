@@ -0,0 +1,334 @@
+package egovframework.survey.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsCountService;
+import egovframework.survey.service.BbsImageCacheService;
+import egovframework.survey.service.BbsViewCountListener;
+import egovframework.survey.service.CacheInvalidationHook;
+import egovframework.survey.util.LocalCache;
+import egovframework.survey.util.TransactionUtil;
+import egovframework.survey.vo.BbsMstVO;
+import egovframework.survey.vo.BbsVO;
+
+/**
+ * 게시판 캐시 서비스 구현
+ * - 게시판 마스터: 건수 제한 TTL 캐시, 등록/수정/삭제 시 커밋 후 무효화
+ *   조회 도중 무효화되었으면 결과를 캐시하지 않는다 (LocalCache 기준, 커밋 전 값이 TTL 동안 남지 않도록)
+ * - 게시글 상세: 건수 제한 TTL 캐시, 같은 키의 동시 미적중은 한 번만 조회(single-flight)
+ *   무효화는 해당 키의 진행 중 조회에만 표시하고, 조회 도중 자기 키(또는 결과의 첨부파일ID)가 무효화되었으면 결과를 캐시하지 않는다.
+ *   조회수는 반영된 증가분만큼 캐시 값을 그 자리에서 보정하고, 반영(UPDATE) 중에 겹친 조회만 캐시하지 않는다.
+ *   (다른 노드의 캐시는 TTL 만료로 갱신)
+ * - 다중 노드: CacheInvalidationHook 빈이 있으면 무효화를 다른 노드로 전파 (수신한 게시글 건수 무효화는 BbsCountService로 전달)
+ * - 첨부파일ID 기준 무효화는 이미지 캐시의 전송 정보에도 적용
+ */
+@Service
+public class BbsCacheServiceImpl implements BbsCacheService, BbsViewCountListener {
+
+    @Autowired
+    private BbsMapper bbsMapper;
+
+    @Autowired(required = false)
+    private CacheInvalidationHook cacheInvalidationHook;
+
+    @Autowired
+    private BbsImageCacheService bbsImageCacheService;
+
+    @Autowired
+    private BbsCountService bbsCountService;
+
+    @Value("${bbs.cache.mst.ttl-seconds:600}")
+    private long bbsMstTtlSeconds;
+
+    @Value("${bbs.cache.mst.max-size:500}")
+    private int bbsMstMaxSize;
+
+    @Value("${bbs.cache.detail.ttl-seconds:60}")
+    private long bbsDetailTtlSeconds;
+
+    @Value("${bbs.cache.detail.max-size:1000}")
+    private int bbsDetailMaxSize;
+
+    @Value("${bbs.cache.detail.load-wait-ms:3000}")
+    private long bbsDetailLoadWaitMs;
+
+    private LocalCache<String, BbsMstVO> bbsMstCache;
+
+    private LocalCache<String, BbsVO> bbsDetailCache;
+
+    /** 진행 중인 게시글 상세 조회 (키별 1건) */
+    private final Map<String, DetailLoad> bbsDetailLoads = new ConcurrentHashMap<>();
+
+    /** 조회수를 DB에 반영 중인 게시글 상세 키 (이 사이에 읽은 조회수는 반영 전후를 알 수 없음) */
+    private final Set<String> viewCountFlushingKeys = ConcurrentHashMap.newKeySet();
+
+    /** 첨부파일ID 기준 무효화 순번 (진행 중 조회는 시작 시점 순번 이후의 무효화만 확인) */
+    private final AtomicLong fileInvalidationSeq = new AtomicLong();
+
+    /** 첨부파일ID → 마지막 무효화 순번 (진행 중 조회가 시작되기 전 항목은 정리) */
+    private final Map<String, Long> fileInvalidations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        bbsMstCache = new LocalCache<>(bbsMstTtlSeconds * 1000, bbsMstMaxSize);
+        bbsDetailCache = new LocalCache<>(bbsDetailTtlSeconds * 1000, bbsDetailMaxSize);
+    }
+
+    @Override
+    public BbsMstVO selectBbsMst(String bbsId) {
+        if (bbsId == null) {
+            return null;
+        }
+        return bbsMstCache.get(bbsId, bbsMapper::selectBbsMst);
+    }
+
+    @Override
+    public void evictBbsMst(String bbsId) {
+        evictAfterCommit(BBS_MST_CACHE, bbsId);
+    }
+
+    @Override
+    public BbsVO selectBbs(String bbsId, long nttId, Supplier<BbsVO> loader) {
+        String key = detailKey(bbsId, nttId);
+        BbsVO cached = bbsDetailCache.get(key);
+        if (cached != null) {
+            return cached.copy();
+        }
+
+        DetailLoad load = new DetailLoad(fileInvalidationSeq.get());
+        DetailLoad running = bbsDetailLoads.putIfAbsent(key, load);
+        if (running != null) {
+            // 다른 요청이 조회 중이면 그 결과를 공유
+            return awaitLoad(running.future, loader);
+        }
+
+        try {
+            // 등록 후 확인해야 조회수 반영 시작과 엇갈리지 않음 (반영 시작은 표시 후 진행 중 조회를 확인)
+            if (viewCountFlushingKeys.contains(key)) {
+                load.stale = true;
+            }
+            // 직전 조회 완료와 경합한 경우 캐시 재확인
+            BbsVO loaded = bbsDetailCache.get(key);
+            if (loaded == null) {
+                loaded = loader.get();
+                if (loaded != null && isCurrent(load, loaded)) {
+                    bbsDetailCache.put(key, loaded);
+                    // 저장 직후 무효화가 끼어들었으면 되돌림
+                    if (!isCurrent(load, loaded)) {
+                        bbsDetailCache.invalidate(key);
+                    }
+                }
+            }
+            load.future.complete(loaded);
+            return loaded != null ? loaded.copy() : null;
+        } catch (RuntimeException e) {
+            load.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            bbsDetailLoads.remove(key, load);
+        }
+    }
+
+    @Override
+    public void evictBbs(String bbsId, long nttId) {
+        evictAfterCommit(BBS_DETAIL_CACHE, detailKey(bbsId, nttId));
+    }
+
+    @Override
+    public void evictBbsByNttId(long nttId) {
+        evictAfterCommit(BBS_DETAIL_NTT_CACHE, String.valueOf(nttId));
+    }
+
+    @Override
+    public void evictBbsByAtchFileId(String atchFileId) {
+        if (atchFileId == null || atchFileId.trim().isEmpty()) {
+            return;
+        }
+        evictAfterCommit(BBS_DETAIL_FILE_CACHE, atchFileId.trim());
+    }
+
+    /**
+     * 조회수 반영 시작: 해당 게시글의 진행 중 조회와 반영 완료 전까지 시작되는 조회는 캐시하지 않음
+     * (반영 전후 어느 DB 값을 읽었는지 알 수 없으므로)
+     */
+    @Override
+    public void onViewCountFlushing(String bbsId, long nttId) {
+        String key = detailKey(bbsId, nttId);
+        viewCountFlushingKeys.add(key);
+        detach(bbsDetailLoads.remove(key));
+    }
+
+    /**
+     * 조회수 반영 후 캐시된 게시글의 조회수를 그 자리에서 보정 (반영 시작 전에 캐시된 값은 반영 전 DB 값)
+     */
+    @Override
+    public void onViewCountFlushed(String bbsId, long nttId, long delta) {
+        String key = detailKey(bbsId, nttId);
+        bbsDetailCache.replace(key, bbs -> {
+            BbsVO updated = bbs.copy();
+            updated.setRdcnt((int) ((bbs.getRdcnt() != null ? bbs.getRdcnt() : 0) + delta));
+            return updated;
+        });
+        viewCountFlushingKeys.remove(key);
+    }
+
+    @Override
+    public void onViewCountFlushFailed(String bbsId, long nttId) {
+        viewCountFlushingKeys.remove(detailKey(bbsId, nttId));
+    }
+
+    @Override
+    public void onRemoteInvalidation(String cacheName, String key) {
+        if (BbsCountService.BBS_COUNT_CACHE.equals(cacheName)) {
+            bbsCountService.onRemoteInvalidation(key);
+            return;
+        }
+        invalidateLocal(cacheName, key);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(BBS_MST_CACHE, bbsMstCache.getStats());
+        Map<String, Object> detailStats = bbsDetailCache.getStats();
+        detailStats.put("inFlightLoads", bbsDetailLoads.size());
+        detailStats.put("fileInvalidations", fileInvalidations.size());
+        stats.put(BBS_DETAIL_CACHE, detailStats);
+        return stats;
+    }
+
+    private BbsVO awaitLoad(CompletableFuture<BbsVO> running, Supplier<BbsVO> loader) {
+        try {
+            BbsVO loaded = running.get(bbsDetailLoadWaitMs, TimeUnit.MILLISECONDS);
+            return loaded != null ? loaded.copy() : null;
+        } catch (TimeoutException e) {
+            // 조회가 지연되면 대기하지 않고 직접 조회 (캐시하지 않음)
+            System.err.println("게시글 상세 캐시 조회 대기 시간 초과, 직접 조회합니다.");
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("게시글 상세 조회 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private void evictAfterCommit(String cacheName, String key) {
+        TransactionUtil.runAfterCommit(() -> {
+            invalidateLocal(cacheName, key);
+            if (cacheInvalidationHook != null) {
+                try {
+                    cacheInvalidationHook.publish(cacheName, key);
+                } catch (Exception e) {
+                    // 전파 실패 시 다른 노드는 TTL 만료로 갱신됨
+                    System.err.println("캐시 무효화 전파 실패: " + cacheName + "/" + key + " - " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void invalidateLocal(String cacheName, String key) {
+        if (BBS_MST_CACHE.equals(cacheName)) {
+            if (key == null) {
+                bbsMstCache.clear();
+            } else {
+                bbsMstCache.invalidate(key);
+            }
+            return;
+        }
+        if (!cacheName.startsWith(BBS_DETAIL_CACHE)) {
+            return;
+        }
+
+        // 진행 중 조회 분리(무효화 표시) → 캐시 항목 제거 순으로 처리해야 이전 조회 결과가 다시 저장되지 않음
+        if (key == null) {
+            bbsDetailLoads.keySet().forEach(k -> detach(bbsDetailLoads.remove(k)));
+            bbsDetailCache.clear();
+            if (BBS_DETAIL_FILE_CACHE.equals(cacheName)) {
+                bbsImageCacheService.clear();
+            }
+        } else if (BBS_DETAIL_CACHE.equals(cacheName)) {
+            detach(bbsDetailLoads.remove(key));
+            bbsDetailCache.invalidate(key);
+        } else if (BBS_DETAIL_NTT_CACHE.equals(cacheName)) {
+            String suffix = ":" + key;
+            bbsDetailLoads.keySet().stream().filter(k -> k.endsWith(suffix))
+                    .forEach(k -> detach(bbsDetailLoads.remove(k)));
+            bbsDetailCache.invalidateIf(k -> k.endsWith(suffix));
+        } else if (BBS_DETAIL_FILE_CACHE.equals(cacheName)) {
+            // 진행 중 조회는 첨부파일ID를 조회가 끝나야 알 수 있으므로 순번만 기록하고, 결과의 첨부파일ID로 캐시 여부 판단
+            invalidateFile(key);
+            bbsDetailCache.invalidateEntriesIf((k, bbs) ->
+                    bbs.getAtchFileId() != null && key.equals(bbs.getAtchFileId().trim()));
+            bbsImageCacheService.evictByAtchFileId(key);
+        }
+    }
+
+    /**
+     * 첨부파일ID 무효화 순번 기록 (진행 중인 어떤 조회보다 먼저 기록된 항목은 더 이상 필요 없으므로 정리)
+     */
+    private void invalidateFile(String atchFileId) {
+        long oldest = fileInvalidationSeq.get();
+        for (DetailLoad load : bbsDetailLoads.values()) {
+            oldest = Math.min(oldest, load.startFileSeq);
+        }
+        long floor = oldest;
+        fileInvalidations.values().removeIf(seq -> seq <= floor);
+        fileInvalidations.put(atchFileId, fileInvalidationSeq.incrementAndGet());
+    }
+
+    // 조회 시작 후 자기 키 또는 결과의 첨부파일ID가 무효화되지 않았는지
+    private boolean isCurrent(DetailLoad load, BbsVO loaded) {
+        if (load.stale) {
+            return false;
+        }
+        if (loaded.getAtchFileId() == null) {
+            return true;
+        }
+        Long seq = fileInvalidations.get(loaded.getAtchFileId().trim());
+        return seq == null || seq <= load.startFileSeq;
+    }
+
+    private static void detach(DetailLoad load) {
+        if (load != null) {
+            load.stale = true;
+        }
+    }
+
+    private static String detailKey(String bbsId, long nttId) {
+        return bbsId + ":" + nttId;
+    }
+
+    /**
+     * 진행 중인 게시글 상세 조회 (같은 키의 요청은 future를 공유)
+     */
+    private static final class DetailLoad {
+        private final CompletableFuture<BbsVO> future = new CompletableFuture<>();
+        private final long startFileSeq;
+        private volatile boolean stale;
+
+        private DetailLoad(long startFileSeq) {
+            this.startFileSeq = startFileSeq;
+        }
+    }
+}
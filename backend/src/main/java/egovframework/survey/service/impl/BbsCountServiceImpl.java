@@ -0,0 +1,277 @@
+package egovframework.survey.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.service.BbsCountService;
+import egovframework.survey.service.CacheInvalidationHook;
+import egovframework.survey.util.LocalCache;
+import egovframework.survey.util.TransactionUtil;
+import egovframework.survey.vo.BbsMstSearchVO;
+import egovframework.survey.vo.BbsSearchVO;
+import egovframework.survey.vo.PaginationInfo;
+
+/**
+ * 게시글/게시판 마스터 목록 총건수 서비스 구현
+ * - 검색 조건이 없는 게시판 목록: 게시판별 정확 카운터 (등록/삭제 시 커밋 후 증감, 주기적으로 DB 재동기화)
+ *   DB에서 적재하는 동안 같은 게시판에 등록/삭제가 진행 중이었거나 반영됐으면 적재값을 게시하지 않음 (중복·누락 방지)
+ * - 다중 노드: CacheInvalidationHook 빈이 있으면 등록/삭제한 게시판ID를 전파하고, 수신 노드는 그 게시판 카운터를 버린 뒤
+ *   다음 조회에서 DB로 다시 적재 (증감값 대신 무효화를 전파하므로 메시지 중복·유실이 건수를 어긋나게 하지 않음)
+ *   빈이 없으면 단일 노드 기준이며, 다른 노드의 변경은 재동기화 주기 안에 반영된다.
+ * - 검색 조건이 있는 목록: 정규화한 검색 조건을 키로 하는 단기 TTL 캐시
+ * - 추정 모드 사용 시: 플래너 예상 행수가 임계값 이상이면 COUNT(*) 대신 추정값 사용
+ */
+@Service
+public class BbsCountServiceImpl implements BbsCountService {
+
+    @Autowired
+    private BbsMapper bbsMapper;
+
+    @Autowired(required = false)
+    private CacheInvalidationHook cacheInvalidationHook;
+
+    @Value("${bbs.count.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${bbs.count.cache-max-size:1000}")
+    private int cacheMaxSize;
+
+    @Value("${bbs.count.exact-resync-seconds:300}")
+    private long exactResyncSeconds;
+
+    @Value("${bbs.count.estimate.enabled:false}")
+    private boolean estimateEnabled;
+
+    @Value("${bbs.count.estimate.threshold:100000}")
+    private long estimateThreshold;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** 게시판ID → 정확 카운터 */
+    private final Map<String, BoardCounter> boardCounters = new ConcurrentHashMap<>();
+
+    /** 게시판ID → 등록/삭제 진행 상태 (카운터 적재 결과 게시 여부 판단) */
+    private final Map<String, BoardChanges> boardChanges = new ConcurrentHashMap<>();
+
+    private LocalCache<String, CountValue> bbsListCountCache;
+    private LocalCache<String, Integer> bbsMstListCountCache;
+
+    @PostConstruct
+    public void init() {
+        bbsListCountCache = new LocalCache<>(cacheTtlSeconds * 1000, cacheMaxSize);
+        bbsMstListCountCache = new LocalCache<>(cacheTtlSeconds * 1000, cacheMaxSize);
+    }
+
+    @Override
+    public void applyBbsListCount(BbsSearchVO searchVO, PaginationInfo paginationInfo) {
+        if (searchVO.getBbsId() != null && !searchVO.getBbsId().isEmpty() && !hasBbsSearchCondition(searchVO)) {
+            paginationInfo.setTotalRecordCount(exactBoardCount(searchVO.getBbsId()));
+            paginationInfo.setTotalRecordCountEstimated(false);
+            return;
+        }
+
+        CountValue countValue = bbsListCountCache.get(bbsListCountKey(searchVO), key -> countBbsList(searchVO));
+        paginationInfo.setTotalRecordCount(countValue.count);
+        paginationInfo.setTotalRecordCountEstimated(countValue.estimated);
+    }
+
+    @Override
+    public void applyBbsMstListCount(BbsMstSearchVO searchVO, PaginationInfo paginationInfo) {
+        String key = normalize(searchVO.getSearchKeyword()) + "|" + normalize(searchVO.getSearchUseAt())
+                + "|" + normalize(searchVO.getSearchBbsType()) + "|" + normalize(searchVO.getSearchReplyPosbl())
+                + "|" + normalize(searchVO.getSearchFileAtchPosbl());
+        Integer count = bbsMstListCountCache.get(key, k -> bbsMapper.selectBbsMstListTotCnt(searchVO));
+        paginationInfo.setTotalRecordCount(count);
+        paginationInfo.setTotalRecordCountEstimated(false);
+    }
+
+    @Override
+    public void onBbsInserted(String bbsId) {
+        adjustBoardCount(bbsId, 1);
+    }
+
+    @Override
+    public void onBbsUpdated(String bbsId) {
+        TransactionUtil.runAfterCommit(() -> evictBbsListCounts(bbsId));
+    }
+
+    @Override
+    public void onBbsDeleted(String bbsId) {
+        adjustBoardCount(bbsId, -1);
+    }
+
+    @Override
+    public void onBbsMstChanged() {
+        TransactionUtil.runAfterCommit(() -> {
+            bbsMstListCountCache.clear();
+            // 게시판 삭제 시 게시글도 함께 삭제되므로(ON DELETE CASCADE) 게시글 카운트도 초기화
+            boardCounters.clear();
+            bbsListCountCache.clear();
+            publish(null);
+        });
+    }
+
+    /**
+     * 다른 노드의 등록/삭제 반영
+     * 변경 번호를 먼저 올려 이 노드에서 진행 중인 적재(원격 커밋 이전 값일 수 있음)가 게시되지 않게 한 뒤 카운터를 버린다.
+     */
+    @Override
+    public void onRemoteInvalidation(String bbsId) {
+        if (bbsId == null) {
+            bbsMstListCountCache.clear();
+            boardCounters.clear();
+            bbsListCountCache.clear();
+            return;
+        }
+        boardChanges.computeIfAbsent(bbsId, k -> new BoardChanges()).stamp.incrementAndGet();
+        boardCounters.remove(bbsId);
+        evictBbsListCounts(bbsId);
+    }
+
+    /**
+     * 등록/삭제 건수 반영
+     * 호출(커밋 전)부터 트랜잭션 종료까지 진행 중으로 표시하고, 커밋 후 카운터 증감과 함께 변경 번호를 올린다.
+     */
+    private void adjustBoardCount(String bbsId, int delta) {
+        BoardChanges changes = boardChanges.computeIfAbsent(bbsId, k -> new BoardChanges());
+        changes.pending.incrementAndGet();
+        TransactionUtil.runAfterCommit(() -> {
+            boardCounters.computeIfPresent(bbsId, (k, counter) -> {
+                counter.count.addAndGet(delta);
+                return counter;
+            });
+            changes.stamp.incrementAndGet();
+            evictBbsListCounts(bbsId);
+            publish(bbsId);
+        });
+        TransactionUtil.runAfterCompletion(changes.pending::decrementAndGet);
+    }
+
+    /**
+     * 게시판별 정확 카운터 조회
+     * 최초 조회 시 또는 재동기화 주기가 지나면 DB에서 다시 적재하여 누적 오차를 바로잡는다.
+     * 적재 중 커밋된 변경은 DB 값에 포함됐는지 알 수 없으므로, 적재 시작 후 변경 번호가 바뀌었거나
+     * 진행 중인 변경이 있으면 이번 값만 반환하고 게시하지 않는다 (다음 조회에서 다시 적재).
+     */
+    private int exactBoardCount(String bbsId) {
+        long now = System.currentTimeMillis();
+        BoardCounter counter = boardCounters.get(bbsId);
+        if (counter == null || now - counter.loadedAt > exactResyncSeconds * 1000) {
+            BoardChanges changes = boardChanges.computeIfAbsent(bbsId, k -> new BoardChanges());
+            long stamp = changes.stamp.get();
+            BbsSearchVO countVO = new BbsSearchVO();
+            countVO.setBbsId(bbsId);
+            BoardCounter loaded = new BoardCounter(bbsMapper.selectBbsListTotCnt(countVO), now);
+            boardCounters.compute(bbsId, (k, current) ->
+                    changes.pending.get() == 0 && changes.stamp.get() == stamp ? loaded : current);
+            counter = loaded;
+        }
+        return Math.max(counter.count.get(), 0);
+    }
+
+    /**
+     * 검색 조건 총건수 조회 (추정 모드에서는 예상 행수가 임계값 이상이면 추정값 사용)
+     */
+    private CountValue countBbsList(BbsSearchVO searchVO) {
+        if (estimateEnabled) {
+            Long estimated = estimateBbsListCount(searchVO);
+            if (estimated != null && estimated >= estimateThreshold) {
+                return new CountValue((int) Math.min(estimated, Integer.MAX_VALUE), true);
+            }
+        }
+        return new CountValue(bbsMapper.selectBbsListTotCnt(searchVO), false);
+    }
+
+    private Long estimateBbsListCount(BbsSearchVO searchVO) {
+        try {
+            String plan = bbsMapper.selectBbsListTotCntEstimate(searchVO);
+            JsonNode planRows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return planRows.isMissingNode() ? null : planRows.asLong();
+        } catch (Exception e) {
+            System.err.println("게시글 건수 추정 실패, 정확 건수로 조회: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean hasBbsSearchCondition(BbsSearchVO searchVO) {
+        return (searchVO.getSearchKeyword() != null && !searchVO.getSearchKeyword().isEmpty())
+                || !"ALL".equals(normalize(searchVO.getSearchNtceAt()))
+                || !"ALL".equals(normalize(searchVO.getSearchExposureYn()))
+                || !"ALL".equals(normalize(searchVO.getSearchCategory()));
+    }
+
+    /**
+     * 검색 조건 캐시 키 (게시판ID로 시작하여 게시판 단위 무효화 가능)
+     * 정렬·페이지 값은 건수에 영향이 없으므로 제외한다.
+     */
+    private String bbsListCountKey(BbsSearchVO searchVO) {
+        String keyword = searchVO.getSearchKeyword() != null ? searchVO.getSearchKeyword() : "";
+        return (searchVO.getBbsId() != null ? searchVO.getBbsId() : "") + "|" + searchVO.getSearchMode() + "|" + keyword
+                + "|" + normalize(searchVO.getSearchNtceAt()) + "|" + normalize(searchVO.getSearchExposureYn())
+                + "|" + normalize(searchVO.getSearchCategory());
+    }
+
+    // 다른 노드로 게시판 카운터 무효화 전파 (실패 시 다른 노드는 재동기화 주기 안에 반영)
+    private void publish(String bbsId) {
+        if (cacheInvalidationHook == null) {
+            return;
+        }
+        try {
+            cacheInvalidationHook.publish(BBS_COUNT_CACHE, bbsId);
+        } catch (Exception e) {
+            System.err.println("게시글 건수 무효화 전파 실패: " + bbsId + " - " + e.getMessage());
+        }
+    }
+
+    private void evictBbsListCounts(String bbsId) {
+        String prefix = (bbsId != null ? bbsId : "") + "|";
+        // 해당 게시판 조건과 전체 게시판(게시판ID 없음) 조건 무효화
+        bbsListCountCache.invalidateIf(key -> key.startsWith(prefix) || key.startsWith("|"));
+    }
+
+    /**
+     * 매퍼의 조건 처리와 동일하게 null/빈 값은 ALL(조건 없음)로 정규화
+     */
+    private static String normalize(String value) {
+        return value == null || value.isEmpty() ? "ALL" : value;
+    }
+
+    private static final class BoardCounter {
+        private final AtomicInteger count;
+        private final long loadedAt;
+
+        private BoardCounter(int count, long loadedAt) {
+            this.count = new AtomicInteger(count);
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class BoardChanges {
+        /** 커밋 전~트랜잭션 종료 전인 등록/삭제 수 */
+        private final AtomicInteger pending = new AtomicInteger();
+        /** 커밋 후 반영된 등록/삭제 수 */
+        private final AtomicLong stamp = new AtomicLong();
+    }
+
+    private static final class CountValue {
+        private final int count;
+        private final boolean estimated;
+
+        private CountValue(int count, boolean estimated) {
+            this.count = count;
+            this.estimated = estimated;
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package egovframework.survey.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.annotation.PostConstruct;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import egovframework.survey.service.BbsFileDownloadService;
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.util.FileStoreLayout;
+import egovframework.survey.vo.CachedFileVO;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 게시판 첨부파일/이미지 전송 서비스 구현
+ * - ETag/Last-Modified 발급, If-None-Match/If-Modified-Since 일치 시 304
+ * - Range: 단일 구간 206, 다중 구간 206 multipart/byteranges, 만족 불가 시 416
+ * - If-Range가 현재 ETag/수정시각과 다르면 Range를 무시하고 전체 전송
+ * - 본문 전송: 로컬 저장소는 Tomcat sendfile 지원 시 커널 전송, 아니면 FileChannel.transferTo로 필요한 구간만 전송
+ *   그 외 저장소는 필요한 구간만 구간 읽기로 받아 전송
+ *   메모리에 캐시된 본문이 주어지면 저장소를 읽지 않고 해당 구간을 그대로 기록
+ * - ZIP: 응답 스트림에 바로 기록 (임시파일 없음, 고정 크기 버퍼 1개 재사용)
+ *   이미 압축된 형식은 STORED로 넣어 재압축하지 않는다. STORED는 항목 헤더에 CRC가 필요하므로
+ *   파일을 한 번 읽어 CRC를 계산한 뒤 다시 읽어 기록한다. (두 번째 읽기는 대부분 페이지 캐시에서 처리)
+ *   로컬이 아닌 저장소는 두 번 내려받지 않도록 무압축 수준(0)의 DEFLATED로 넣는다.
+ */
+@Service
+public class BbsFileDownloadServiceImpl implements BbsFileDownloadService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final int ZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private FileStoreLayout fileStoreLayout;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    /** 다중 Range 요청 시 허용하는 최대 구간 수 (초과 시 Range 무시) */
+    @Value("${bbs.download.max-ranges:16}")
+    private int maxRanges;
+
+    /** ZIP 압축 수준 (0~9, -1: 기본값) */
+    @Value("${bbs.download.zip.level:-1}")
+    private int zipLevel;
+
+    /** 압축하지 않고 STORED로 넣을 확장자 (쉼표 구분) */
+    @Value("${bbs.download.zip.stored-extensions:jpg,jpeg,png,gif,webp,zip,7z,rar,gz,pdf,mp3,mp4,docx,xlsx,pptx,hwpx}")
+    private String storedExtensions;
+
+    private Set<String> storedExtensionSet;
+
+    @PostConstruct
+    public void init() {
+        storedExtensionSet = Arrays.stream(storedExtensions.split(","))
+                .map(ext -> ext.trim().toLowerCase(Locale.ROOT))
+                .filter(ext -> !ext.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void sendFile(FileVO fileInfo, StorageObjectVO object, String contentType, String contentDisposition,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        sendFile(describe(fileInfo, object, contentType), null, contentDisposition, request, response);
+    }
+
+    @Override
+    public void sendFile(CachedFileVO cachedFile, ByteBuffer content, String contentDisposition,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String contentType = cachedFile.getContentType();
+        long length = cachedFile.getLength();
+        long lastModified = cachedFile.getLastModified();
+        String etag = cachedFile.getEtag();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+
+        // 1. 조건부 요청 (If-None-Match가 있으면 If-Modified-Since는 무시)
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (contentDisposition != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+
+        // 2. Range 해석 (If-Range 불일치, 형식 오류, 구간 과다 시 전체 전송)
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        List<long[]> ranges = null;
+        if (rangeHeader != null && isIfRangeSatisfied(request, etag, lastModified)) {
+            ranges = parseRanges(rangeHeader, length);
+            if (ranges != null && ranges.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+
+        boolean headOnly = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        // 3. 전체 전송
+        if (ranges == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!headOnly) {
+                transfer(request, response, cachedFile, content, 0, length);
+            }
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        // 4. 단일 구간
+        if (ranges.size() == 1) {
+            long[] range = ranges.get(0);
+            long rangeLength = range[1] - range[0] + 1;
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range[0] + "-" + range[1] + "/" + length);
+            response.setContentLengthLong(rangeLength);
+            if (!headOnly) {
+                transfer(request, response, cachedFile, content, range[0], rangeLength);
+            }
+            return;
+        }
+
+        // 5. 다중 구간 (multipart/byteranges, 구간별 헤더 크기까지 포함해 Content-Length 계산)
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>();
+        long contentLength = 0;
+        for (long[] range : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + range[0] + "-" + range[1] + "/" + length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.ISO_8859_1);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + (range[1] - range[0] + 1);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        contentLength += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (headOnly) {
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        if (content != null) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                out.write(partHeaders.get(i));
+                writeRegion(content, range[0], range[1] - range[0] + 1, target);
+            }
+        } else if (cachedFile.getLocalFile() != null) {
+            try (FileChannel channel = FileChannel.open(cachedFile.getLocalFile().toPath(), StandardOpenOption.READ)) {
+                for (int i = 0; i < ranges.size(); i++) {
+                    long[] range = ranges.get(i);
+                    out.write(partHeaders.get(i));
+                    transferRegion(channel, range[0], range[1] - range[0] + 1, target);
+                }
+            }
+        } else {
+            byte[] buffer = new byte[ZIP_BUFFER_SIZE];
+            for (int i = 0; i < ranges.size(); i++) {
+                long[] range = ranges.get(i);
+                out.write(partHeaders.get(i));
+                try (InputStream in = fileStorage.get(cachedFile.getStorageKey(), range[0], range[1] - range[0] + 1)) {
+                    copy(in, out, buffer);
+                }
+            }
+        }
+        out.write(closing);
+        out.flush();
+    }
+
+    @Override
+    public void sendZip(List<FileVO> files, String zipFileName, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                + new String(zipFileName.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1) + "\"");
+
+        byte[] buffer = new byte[ZIP_BUFFER_SIZE];
+        Set<String> entryNames = new HashSet<>();
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(response.getOutputStream(), ZIP_BUFFER_SIZE),
+                StandardCharsets.UTF_8)) {
+            zip.setLevel(zipLevel);
+            boolean local = FileStorage.TYPE_LOCAL.equals(fileStorage.getType());
+            for (FileVO fileInfo : files) {
+                StorageObjectVO object = fileStoreLayout.locate(fileStorage, fileInfo);
+                if (object == null) {
+                    // 응답이 이미 시작되었으므로 없는 파일은 건너뜀
+                    System.err.println("ZIP 다운로드: 물리적 파일이 없어 제외 - " + fileInfo.getStreFileNm());
+                    continue;
+                }
+                ZipEntry entry = new ZipEntry(uniqueEntryName(fileInfo.getOrignlFileNm(), entryNames));
+                entry.setTime(object.getLastModified());
+                boolean compressed = isStoredExtension(fileInfo.getFileExtsn());
+                if (compressed && local) {
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(object.getLength());
+                    entry.setCompressedSize(object.getLength());
+                    entry.setCrc(crc32(object.getKey(), buffer));
+                } else {
+                    zip.setLevel(compressed ? Deflater.NO_COMPRESSION : zipLevel);
+                }
+                zip.putNextEntry(entry);
+                try (InputStream in = fileStorage.get(object.getKey())) {
+                    copy(in, zip, buffer);
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
+    @Override
+    public CachedFileVO describe(FileVO fileInfo, StorageObjectVO object, String contentType) {
+        long length = object.getLength();
+        long lastModified = object.getLastModified();
+        return new CachedFileVO(fileInfo, object.getKey(), fileStorage.localFile(object.getKey()), contentType, length,
+                lastModified / 1000 * 1000, createETag(fileInfo, length, lastModified));
+    }
+
+    @Override
+    public String createETag(FileVO fileInfo, StorageObjectVO object) {
+        return createETag(fileInfo, object.getLength(), object.getLastModified());
+    }
+
+    private static String createETag(FileVO fileInfo, long length, long lastModified) {
+        String source = fileInfo.getAtchFileId().trim() + ":" + fileInfo.getFileSn() + ":" + length + ":" + lastModified;
+        return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * If-None-Match / If-Modified-Since 검사
+     */
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // 약한 비교 (W/ 접두어 무시)
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if ("*".equals(tag) || etag.equals(tag.startsWith("W/") ? tag.substring(2) : tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * If-Range 검사 (없으면 통과, ETag는 강한 비교, 날짜는 수정시각과 정확히 일치해야 함)
+     */
+    private boolean isIfRangeSatisfied(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag.equals(ifRange);
+        }
+        long date = getDateHeader(request, HttpHeaders.IF_RANGE);
+        return date != -1 && date == lastModified;
+    }
+
+    private long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Range 헤더 해석
+     * @return null: Range 무시(형식 오류, 구간 과다), 빈 목록: 만족 가능한 구간 없음(416), 그 외: 정렬·병합된 구간
+     */
+    static List<long[]> parseRanges(String rangeHeader, long length, int maxRanges) {
+        if (!rangeHeader.startsWith("bytes=")) {
+            return null;
+        }
+        String[] specs = rangeHeader.substring("bytes=".length()).split(",");
+        if (specs.length > maxRanges) {
+            return null;
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for (String spec : specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            try {
+                if (first.isEmpty()) {
+                    // 접미 구간: 마지막 N바이트
+                    long suffix = Long.parseLong(last);
+                    if (suffix <= 0) {
+                        continue;
+                    }
+                    start = Math.max(0, length - suffix);
+                    end = length - 1;
+                } else {
+                    start = Long.parseLong(first);
+                    end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                    if (!last.isEmpty() && Long.parseLong(last) < start) {
+                        return null;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (start < 0) {
+                return null;
+            }
+            if (start >= length || end < start) {
+                // 만족 불가 구간은 제외
+                continue;
+            }
+            ranges.add(new long[] {start, end});
+        }
+
+        // 겹치거나 맞닿은 구간 병합 (같은 바이트를 중복 전송하지 않음)
+        ranges.sort(Comparator.comparingLong(r -> r[0]));
+        List<long[]> merged = new ArrayList<>();
+        for (long[] range : ranges) {
+            long[] previous = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (previous != null && range[0] <= previous[1] + 1) {
+                previous[1] = Math.max(previous[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private List<long[]> parseRanges(String rangeHeader, long length) {
+        return parseRanges(rangeHeader, length, maxRanges);
+    }
+
+    /**
+     * 단일 구간 전송 (캐시된 본문이 있으면 메모리에서, sendfile 지원 시 컨테이너에 위임)
+     */
+    private void transfer(HttpServletRequest request, HttpServletResponse response, CachedFileVO cachedFile, ByteBuffer content,
+            long start, long length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        if (content != null) {
+            OutputStream out = response.getOutputStream();
+            writeRegion(content, start, length, Channels.newChannel(out));
+            out.flush();
+            return;
+        }
+        File file = cachedFile.getLocalFile();
+        OutputStream out;
+        if (file == null) {
+            // 로컬이 아닌 저장소: 필요한 구간만 읽어 전송
+            out = response.getOutputStream();
+            try (InputStream in = fileStorage.get(cachedFile.getStorageKey(), start, length)) {
+                copy(in, out, new byte[ZIP_BUFFER_SIZE]);
+            }
+            out.flush();
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        out = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            transferRegion(channel, start, length, Channels.newChannel(out));
+        }
+        out.flush();
+    }
+
+    private boolean isStoredExtension(String fileExtsn) {
+        return fileExtsn != null && storedExtensionSet.contains(fileExtsn.toLowerCase(Locale.ROOT));
+    }
+
+    private long crc32(String key, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = fileStorage.get(key)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * ZIP 항목 이름 (경로 구분자 제거, 같은 이름은 "이름 (2).확장자" 형식으로 구분)
+     */
+    static String uniqueEntryName(String originalFileName, Set<String> usedNames) {
+        String name = originalFileName != null ? originalFileName.replaceAll("[\\\\/:]", "_").trim() : "";
+        if (name.isEmpty() || ".".equals(name) || "..".equals(name)) {
+            name = "file";
+        }
+        String candidate = name;
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int i = 2; !usedNames.add(candidate.toLowerCase(Locale.ROOT)); i++) {
+            candidate = base + " (" + i + ")" + extension;
+        }
+        return candidate;
+    }
+
+    private static void copy(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private void writeRegion(ByteBuffer content, long start, long length, WritableByteChannel target) throws IOException {
+        // 공유 버퍼의 위치를 바꾸지 않도록 복제본으로 구간 지정
+        ByteBuffer region = content.duplicate();
+        region.limit((int) (start + length));
+        region.position((int) start);
+        while (region.hasRemaining()) {
+            target.write(region);
+        }
+    }
+
+    private void transferRegion(FileChannel channel, long start, long length, WritableByteChannel target) throws IOException {
+        long position = start;
+        long remaining = length;
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+}
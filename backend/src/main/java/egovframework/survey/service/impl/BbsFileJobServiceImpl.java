@@ -0,0 +1,486 @@
+package egovframework.survey.service.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.mapper.FileJobMapper;
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsFileJobService;
+import egovframework.survey.service.BbsFileStoreService;
+import egovframework.survey.service.BbsImageVariantService;
+import egovframework.survey.util.TransactionUtil;
+import egovframework.survey.vo.BbsMstVO;
+import egovframework.survey.vo.FileJobVO;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 첨부파일 업로드 후처리 작업 큐 서비스 구현
+ * - 등록: 파일 상세와 같은 트랜잭션에서 파일별 작업 행 다중 INSERT (요청 스레드는 DB 쓰기 1회만 추가)
+ *   CHECKSUM: 내용 해시가 있는 파일, METADATA·THUMBNAIL: 이미지 파일
+ * - 선점: 디스패처 스레드 1개가 유형별 남은 동시 실행 수만큼만 FOR UPDATE SKIP LOCKED로 선점하여 작업 풀에 넘김
+ *   (메모리에 쌓이는 작업은 작업 풀 크기 이하, 나머지는 테이블에서 대기) 커밋 직후·작업 종료 시 깨우고, 그 외에는 주기적으로 확인
+ * - 실패: 시도횟수에 비례한 지연 후 재시도, 최대 시도 후 FAILED (해시 불일치 등 재시도해도 같은 실패는 바로 FAILED)
+ * - 복구: 선점 후 처리 시간이 지난 RUNNING 작업(작업자 종료 등)은 대기 상태로 회수
+ * - 상태: 작업 종료마다 파일 상세의 후처리상태(PROCESSING/READY/FAILED)를 작업 상태로부터 갱신
+ */
+@Service
+public class BbsFileJobServiceImpl implements BbsFileJobService {
+
+    private static final List<String> JOB_TYPES = Arrays.asList(JOB_CHECKSUM, JOB_METADATA, JOB_THUMBNAIL);
+
+    /** 메타데이터 추출·썸네일 대상 (ImageIO로 읽을 수 있는 형식) */
+    private static final List<String> IMAGE_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif", "bmp");
+
+    /** 처리결과 컬럼 길이 */
+    private static final int RESULT_MAX_LENGTH = 1000;
+
+    @Autowired
+    private FileJobMapper fileJobMapper;
+
+    @Autowired
+    private FileMapper fileMapper;
+
+    @Autowired
+    private BbsMapper bbsMapper;
+
+    @Autowired
+    private BbsCacheService bbsCacheService;
+
+    @Autowired
+    private BbsFileStoreService bbsFileStoreService;
+
+    @Autowired
+    private BbsImageVariantService bbsImageVariantService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${bbs.file.job.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bbs.file.job.workers:4}")
+    private int workers;
+
+    @Value("${bbs.file.job.concurrency:CHECKSUM:2,METADATA:2,THUMBNAIL:1}")
+    private String concurrency;
+
+    @Value("${bbs.file.job.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+
+    @Value("${bbs.file.job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${bbs.file.job.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    @Value("${bbs.file.job.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${bbs.file.job.retention-days:7}")
+    private long retentionDays;
+
+    /** 선점 작업자 식별자 (pid@host + 기동별 난수) */
+    private final String lockOwner = ManagementFactory.getRuntimeMXBean().getName() + ":"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    /** 유형별 동시 실행 수 (0이면 해당 유형은 등록하지 않음) */
+    private final Map<String, Integer> limits = new LinkedHashMap<>();
+    private final Map<String, Semaphore> typePermits = new LinkedHashMap<>();
+    private Semaphore workerPermits;
+
+    private ScheduledExecutorService dispatcher;
+    private ThreadPoolExecutor executor;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    /** 이 노드의 처리 건수 (프로세스 기동 이후) */
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder retriedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        Map<String, Integer> configured = parseConcurrency(concurrency);
+        for (String jobTy : JOB_TYPES) {
+            limits.put(jobTy, configured.getOrDefault(jobTy, 1));
+            typePermits.put(jobTy, new Semaphore(limits.get(jobTy)));
+        }
+        workerPermits = new Semaphore(Math.max(1, workers));
+        if (!enabled) {
+            System.out.println("첨부파일 후처리 작업 큐 비활성화 (bbs.file.job.enabled=false)");
+            return;
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        // 선점 수를 작업자 수로 제한하므로 큐는 작업자 수 이상 쌓이지 않음
+        executor = new ThreadPoolExecutor(Math.max(1, workers), Math.max(1, workers), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bbs-file-job-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bbs-file-job-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        System.out.println("첨부파일 후처리 작업 큐 시작: 작업자 " + workers + ", 동시 실행 " + limits + ", 작업자ID " + lockOwner);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher == null) {
+            return;
+        }
+        dispatcher.shutdownNow();
+        executor.shutdown();
+        try {
+            // 진행 중 작업이 끝나지 않으면 처리 시간 초과 후 다른 노드(또는 재시작 후)가 회수
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void enqueue(List<FileVO> files, String bbsId) {
+        if (!enabled || files.isEmpty()) {
+            return;
+        }
+        List<FileJobVO> jobs = new ArrayList<>();
+        for (FileVO file : files) {
+            int before = jobs.size();
+            if (file.getFileHash() != null && isActive(JOB_CHECKSUM)) {
+                jobs.add(new FileJobVO(file.getAtchFileId(), file.getFileSn(), JOB_CHECKSUM, bbsId));
+            }
+            if (isImage(file.getFileExtsn())) {
+                if (isActive(JOB_METADATA)) {
+                    jobs.add(new FileJobVO(file.getAtchFileId(), file.getFileSn(), JOB_METADATA, bbsId));
+                }
+                if (isActive(JOB_THUMBNAIL)) {
+                    jobs.add(new FileJobVO(file.getAtchFileId(), file.getFileSn(), JOB_THUMBNAIL, bbsId));
+                }
+            }
+            file.setProcessSttus(jobs.size() > before ? STTUS_PROCESSING : null);
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+        if (fileJobMapper.insertFileJobs(jobs) != jobs.size()) {
+            throw new IllegalStateException("첨부파일 후처리 작업 등록에 실패했습니다.");
+        }
+        // 커밋 전에는 작업 행이 보이지 않으므로 커밋 후 디스패처를 깨움
+        TransactionUtil.runAfterCommit(this::wakeUp);
+    }
+
+    @Override
+    public List<FileJobVO> selectFileJobList(String atchFileId) {
+        if (atchFileId == null || atchFileId.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return fileJobMapper.selectFileJobList(atchFileId.trim());
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("lockOwner", lockOwner);
+        Map<String, Object> running = new LinkedHashMap<>();
+        typePermits.forEach((jobTy, permits) -> running.put(jobTy, limitOf(jobTy) - permits.availablePermits()));
+        stats.put("running", running);
+        stats.put("completed", completedCount.sum());
+        stats.put("retried", retriedCount.sum());
+        stats.put("failed", failedCount.sum());
+        stats.put("jobs", fileJobMapper.selectFileJobStats());
+        return stats;
+    }
+
+    /**
+     * 처리 시간 초과 작업 회수 및 오래된 완료 작업 삭제
+     */
+    @Scheduled(fixedDelayString = "${bbs.file.job.maintenance-interval-ms:60000}", initialDelayString = "${bbs.file.job.maintenance-interval-ms:60000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int released = fileJobMapper.releaseExpiredFileJobs(leaseSeconds);
+            if (released > 0) {
+                System.out.println("처리 시간 초과 후처리 작업 회수: " + released + "건");
+                wakeUp();
+            }
+            int purged = fileJobMapper.deleteFinishedFileJobs(retentionDays);
+            if (purged > 0) {
+                System.out.println("보관 기간이 지난 후처리 작업 삭제: " + purged + "건");
+            }
+        } catch (Exception e) {
+            System.err.println("첨부파일 후처리 작업 정리 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 디스패처 깨우기 (이미 예약된 깨우기가 있으면 합침)
+     */
+    private void wakeUp() {
+        if (dispatcher == null || !wakeUpPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> {
+                wakeUpPending.set(false);
+                dispatch();
+            });
+        } catch (RuntimeException e) {
+            // 종료 중
+            wakeUpPending.set(false);
+        }
+    }
+
+    /**
+     * 유형별 남은 실행 수만큼 선점하여 작업 풀에 전달 (디스패처 스레드에서만 실행)
+     * 허가는 디스패처만 획득하고 작업자는 반납만 하므로, 확인한 수만큼은 대기 없이 획득된다.
+     */
+    void dispatch() {
+        for (String jobTy : JOB_TYPES) {
+            Semaphore permits = typePermits.get(jobTy);
+            int limit = Math.min(permits.availablePermits(), workerPermits.availablePermits());
+            if (limit <= 0) {
+                continue;
+            }
+            List<FileJobVO> jobs;
+            try {
+                jobs = fileJobMapper.claimFileJobs(jobTy, lockOwner, limit);
+            } catch (Exception e) {
+                System.err.println("첨부파일 후처리 작업 선점 실패: " + jobTy + " - " + e.getMessage());
+                return;
+            }
+            for (FileJobVO job : jobs) {
+                permits.acquireUninterruptibly();
+                workerPermits.acquireUninterruptibly();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            execute(job);
+                        } finally {
+                            permits.release();
+                            workerPermits.release();
+                            wakeUp();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // 종료 중 (선점한 작업은 처리 시간 초과 후 회수)
+                    permits.release();
+                    workerPermits.release();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 작업 1건 처리 후 결과와 파일 후처리상태를 한 트랜잭션에서 반영
+     */
+    void execute(FileJobVO job) {
+        String atchFileId = job.getAtchFileId().trim();
+        String result;
+        boolean retryable = true;
+        boolean success;
+        try {
+            FileVO file = fileMapper.selectFileDetail(atchFileId, job.getFileSn());
+            if (file == null) {
+                result = "파일 상세 없음 (삭제됨)";
+            } else if (JOB_CHECKSUM.equals(job.getJobTy())) {
+                result = verifyChecksum(file);
+            } else if (JOB_METADATA.equals(job.getJobTy())) {
+                result = extractMetadata(file, job.getBbsId());
+            } else if (JOB_THUMBNAIL.equals(job.getJobTy())) {
+                result = createThumbnails(file);
+            } else {
+                throw new JobRejectedException("알 수 없는 작업 유형입니다: " + job.getJobTy());
+            }
+            success = true;
+        } catch (JobRejectedException e) {
+            result = e.getMessage();
+            retryable = false;
+            success = false;
+        } catch (Exception e) {
+            result = e.getClass().getSimpleName() + ": " + e.getMessage();
+            success = false;
+        }
+
+        String resultCn = result != null && result.length() > RESULT_MAX_LENGTH ? result.substring(0, RESULT_MAX_LENGTH) : result;
+        boolean finalFailure = !success && (!retryable || (job.getAttemptCnt() != null ? job.getAttemptCnt() : 1) >= maxAttempts);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int updated = success
+                        ? fileJobMapper.completeFileJob(job.getJobId(), lockOwner, resultCn)
+                        : fileJobMapper.failFileJob(job.getJobId(), lockOwner, resultCn, retryable ? maxAttempts : 0, retryDelaySeconds);
+                if (updated > 0) {
+                    fileJobMapper.updateFileProcessSttus(atchFileId, job.getFileSn());
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("첨부파일 후처리 결과 반영 실패: " + job + " - " + e.getMessage());
+            return;
+        }
+
+        if (success) {
+            completedCount.increment();
+        } else if (finalFailure) {
+            failedCount.increment();
+            System.err.println("첨부파일 후처리 실패: " + job + " - " + resultCn);
+        } else {
+            retriedCount.increment();
+            System.out.println("첨부파일 후처리 재시도 예정: " + job + " - " + resultCn);
+        }
+        // 후처리상태·이미지 크기가 바뀌었으므로 게시글 상세 캐시 무효화
+        bbsCacheService.evictBbsByAtchFileId(atchFileId);
+    }
+
+    /**
+     * 저장본 해시 검증 (업로드 시 계산한 해시와 저장소에 실제 기록된 내용 비교)
+     */
+    private String verifyChecksum(FileVO file) throws Exception {
+        if (!bbsFileStoreService.verify(file)) {
+            throw new JobRejectedException("저장본 해시 불일치: " + file.getStreFileNm());
+        }
+        return "해시 일치";
+    }
+
+    /**
+     * 이미지 크기 추출 및 게시판 권장 크기 확인 (권장 크기보다 작으면 결과에 기록)
+     */
+    private String extractMetadata(FileVO file, String bbsId) throws Exception {
+        StorageObjectVO original = bbsFileStoreService.stat(file);
+        if (original == null) {
+            throw new IllegalStateException("저장소 파일이 없습니다: " + file.getStreFileNm());
+        }
+        int[] size = bbsImageVariantService.readImageSize(original);
+        if (size == null) {
+            throw new JobRejectedException("이미지 크기를 읽을 수 없습니다: " + file.getOrignlFileNm());
+        }
+        fileMapper.updateFileImageSize(file.getAtchFileId(), file.getFileSn(), size[0], size[1]);
+
+        String result = size[0] + "x" + size[1];
+        int[] recommended = recommendedSize(file, bbsId);
+        if (recommended != null && (size[0] < recommended[0] || size[1] < recommended[1])) {
+            result += " (게시판 권장 크기 " + recommended[0] + "x" + recommended[1] + "보다 작음)";
+        }
+        return result;
+    }
+
+    /**
+     * 목록 썸네일과 용도별 파생본 생성 (게시판을 아직 알 수 없으면 썸네일만)
+     */
+    private String createThumbnails(FileVO file) throws Exception {
+        List<String> created = new ArrayList<>();
+        String roleVariant = "REPRESENTATIVE".equals(file.getFileCn()) ? BbsImageVariantService.VARIANT_REPRESENT
+                : "MAIN_IMAGE".equals(file.getFileCn()) ? BbsImageVariantService.VARIANT_MAIN
+                : "MULTI_IMAGE".equals(file.getFileCn()) ? BbsImageVariantService.VARIANT_MULTI : null;
+        for (String variant : new String[] {BbsImageVariantService.VARIANT_THUMB, roleVariant}) {
+            if (variant != null && bbsImageVariantService.createVariant(file, variant) != null) {
+                created.add(variant);
+            }
+        }
+        return created.isEmpty() ? "파생본 대상 아님" : "파생본 생성: " + String.join(", ", created);
+    }
+
+    /**
+     * 파일 용도에 해당하는 게시판 이미지 권장 크기 (게시판을 알 수 없거나 설정이 없으면 null)
+     */
+    private int[] recommendedSize(FileVO file, String bbsId) {
+        String targetBbsId = bbsId != null ? bbsId : bbsMapper.selectBbsIdByAtchFileId(file.getAtchFileId().trim());
+        BbsMstVO bbsMst = targetBbsId != null ? bbsCacheService.selectBbsMst(targetBbsId) : null;
+        if (bbsMst == null) {
+            return null;
+        }
+        Integer width = null;
+        Integer height = null;
+        if ("REPRESENTATIVE".equals(file.getFileCn())) {
+            width = bbsMst.getRepresentImageWidth();
+            height = bbsMst.getRepresentImageHeight();
+        } else if ("MAIN_IMAGE".equals(file.getFileCn())) {
+            width = bbsMst.getMainImageWidth();
+            height = bbsMst.getMainImageHeight();
+        } else if ("MULTI_IMAGE".equals(file.getFileCn())) {
+            width = bbsMst.getMultiImageWidth();
+            height = bbsMst.getMultiImageHeight();
+        }
+        if (width == null || height == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        return new int[] {width, height};
+    }
+
+    private boolean isActive(String jobTy) {
+        return limitOf(jobTy) > 0;
+    }
+
+    private int limitOf(String jobTy) {
+        return limits.getOrDefault(jobTy, 0);
+    }
+
+    private static boolean isImage(String fileExtsn) {
+        return fileExtsn != null && IMAGE_EXTENSIONS.contains(fileExtsn.toLowerCase());
+    }
+
+    /**
+     * 유형별 동시 실행 수 설정 파싱 (예: CHECKSUM:2,METADATA:2,THUMBNAIL:1, 잘못된 항목은 무시)
+     */
+    static Map<String, Integer> parseConcurrency(String value) {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        if (value == null) {
+            return limits;
+        }
+        for (String entry : value.split(",")) {
+            int idx = entry.indexOf(':');
+            if (idx <= 0) {
+                continue;
+            }
+            try {
+                limits.put(entry.substring(0, idx).trim().toUpperCase(), Math.max(0, Integer.parseInt(entry.substring(idx + 1).trim())));
+            } catch (NumberFormatException e) {
+                System.err.println("후처리 동시 실행 수 설정 무시: " + entry);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * 재시도해도 결과가 같은 실패 (해시 불일치, 읽을 수 없는 이미지 등)
+     */
+    private static final class JobRejectedException extends Exception {
+        private JobRejectedException(String message) {
+            super(message);
+        }
+    }
+}
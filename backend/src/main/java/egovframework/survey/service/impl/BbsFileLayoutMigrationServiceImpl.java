@@ -0,0 +1,213 @@
+package egovframework.survey.service.impl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsFileLayoutMigrationService;
+import egovframework.survey.service.BbsImageCacheService;
+import egovframework.survey.service.BbsImageVariantService;
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.util.FileStoreLayout;
+
+/**
+ * 업로드 저장 레이아웃 이전 서비스 구현
+ * - 저장소 최상위의 평면 파일을 배치 단위로 나열 → 파일별로 DB 경로를 먼저 샤드로 갱신 → 샤드 키로 이동 (로컬 저장소는 원자적 이동)
+ *   (DB 갱신 후 이동 전 사이의 조회는 평면 경로 후보로 찾고, 중단되어도 평면에 남은 파일부터 다시 처리)
+ * - 배치마다 정해진 시간 쉬어 디스크·DB 부하를 제한
+ * - 파생본은 옮기지 않고 삭제 (다음 요청 시 샤드 디렉토리에 다시 생성)
+ * - 배치마다 이미지 캐시를 비워 옮겨진 파일의 예전 경로로 전송하지 않도록 함
+ */
+@Service
+public class BbsFileLayoutMigrationServiceImpl implements BbsFileLayoutMigrationService {
+
+    /** 이미지 파생본 파일명 ({저장파일명}.{파생본}.{너비}x{높이}.{확장자}) */
+    private static final Pattern VARIANT_NAME = Pattern.compile(".+\\.(thumb|represent|main|multi)\\.\\d+x\\d+\\.(jpg|png)");
+
+    @Autowired
+    private FileMapper fileMapper;
+
+    @Autowired
+    private BbsImageVariantService bbsImageVariantService;
+
+    @Autowired
+    private BbsImageCacheService bbsImageCacheService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FileStoreLayout fileStoreLayout;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${file.upload.layout.migration.auto-start:false}")
+    private boolean autoStart;
+
+    @Value("${file.upload.layout.migration.batch-size:200}")
+    private int batchSize;
+
+    @Value("${file.upload.layout.migration.batch-delay-ms:1000}")
+    private long batchDelayMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopRequested;
+    private volatile Thread worker;
+
+    private final AtomicLong migratedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String lastError;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (autoStart) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    @Override
+    public boolean start() {
+        if (!fileStoreLayout.isSharded() || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        stopRequested = false;
+        migratedCount.set(0);
+        failedCount.set(0);
+        lastError = null;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+
+        Thread thread = new Thread(this::run, "file-layout-migration");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public void stop() {
+        stopRequested = true;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("layout", fileStoreLayout.isSharded() ? FileStoreLayout.LAYOUT_SHARDED : FileStoreLayout.LAYOUT_FLAT);
+        status.put("running", running.get());
+        status.put("migrated", migratedCount.get());
+        status.put("failed", failedCount.get());
+        status.put("batchSize", batchSize);
+        status.put("batchDelayMs", batchDelayMs);
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void run() {
+        // 이번 실행에서 실패한 파일은 다시 나열되어도 건너뜀
+        Set<String> failed = new HashSet<>();
+        System.out.println("=== 업로드 저장 레이아웃 이전 시작: " + fileStorage.getType() + " " + fileStoreLayout.getRootPath() + " ===");
+        try {
+            while (!stopRequested) {
+                List<String> batch = listFlatFiles(failed);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (String streFileNm : batch) {
+                    if (stopRequested) {
+                        break;
+                    }
+                    if (!migrate(streFileNm)) {
+                        failed.add(streFileNm);
+                    }
+                }
+                // 캐시된 이미지 경로가 옮겨진 파일을 가리키지 않도록 배치마다 비움
+                bbsImageCacheService.clear();
+                System.out.println("업로드 저장 레이아웃 이전 진행: 이전 " + migratedCount.get() + "건, 실패 " + failedCount.get() + "건");
+                Thread.sleep(batchDelayMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            lastError = e.getMessage();
+            System.err.println("업로드 저장 레이아웃 이전 중단: " + e.getMessage());
+        } finally {
+            finishedAt = LocalDateTime.now();
+            worker = null;
+            running.set(false);
+            System.out.println("=== 업로드 저장 레이아웃 이전 종료: 이전 " + migratedCount.get() + "건, 실패 " + failedCount.get() + "건 ===");
+        }
+    }
+
+    /**
+     * 저장소 최상위의 이전 대상 파일을 최대 배치 크기만큼 나열
+     * 나열하는 동안 파일을 옮기지 않도록 배치마다 목록을 새로 읽는다.
+     */
+    private List<String> listFlatFiles(Set<String> failed) throws IOException {
+        List<String> batch = new ArrayList<>();
+        fileStorage.list("", false, object -> {
+            String name = object.getName();
+            if (object.isDirectory() || name.startsWith(".") || failed.contains(name) || VARIANT_NAME.matcher(name).matches()) {
+                return true;
+            }
+            batch.add(name);
+            return batch.size() < batchSize;
+        });
+        return batch;
+    }
+
+    /**
+     * 파일 1건 이전 (DB 경로 갱신 → 파생본 삭제 → 샤드 키로 이동)
+     */
+    private boolean migrate(String streFileNm) {
+        String directory = fileStoreLayout.directoryFor(streFileNm);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                fileMapper.updateFileDetailStreCours(streFileNm, directory);
+                if (FileStoreLayout.isBlobName(streFileNm)) {
+                    fileMapper.updateFileBlobStreCours(streFileNm, directory);
+                }
+            });
+            bbsImageVariantService.deleteVariants(streFileNm);
+            fileStorage.move(streFileNm, fileStoreLayout.keyFor(streFileNm));
+            migratedCount.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            lastError = streFileNm + ": " + e.getMessage();
+            System.err.println("업로드 파일 이전 실패: " + streFileNm + " - " + e.getMessage());
+            return false;
+        }
+    }
+}
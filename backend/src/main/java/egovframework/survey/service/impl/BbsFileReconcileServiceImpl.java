@@ -0,0 +1,513 @@
+package egovframework.survey.service.impl;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsFileReconcileService;
+import egovframework.survey.service.BbsFileStoreService;
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 첨부파일 고아 점검·정리 서비스 구현
+ * 1. 사전 업로드 그룹: 게시글에 연결되지 않은 채 유예 시간이 지난 그룹(삭제된 게시글은 유예 일수 후)의 행 보고 또는 삭제
+ *    본문 이미지(FILE_CN=CONTENT_IMAGE) 그룹은 본문 URL로만 참조되므로 대상에서 제외
+ *    → 저장소 파일은 참조수 감소 후 저장소 GC가, 기존 파일은 다른 참조가 없을 때 즉시 삭제
+ * 2. 행 없는 파일: 저장소 최상위의 평면 파일은 나열 순서대로, 샤드 디렉토리는 이름순으로 배치 단위 대조
+ *    (메모리는 배치 크기와 말단 디렉토리 크기로 제한) → 유예 시간이 지난 파일을 격리/삭제
+ *    부모 원본이 없는 이미지 파생본과 오래된 임시파일(실패한 부분 기록)은 바로 삭제
+ * 3. 파일 없는 행: (첨부파일ID, 파일순번) 키셋 페이지로 대조 → 보고 또는 삭제
+ * 4. 보관 기간이 지난 격리 파일 삭제
+ * 배치마다 정해진 시간 쉬며, 실행별·누적 지표(회수 바이트 등)는 getStats로 조회한다.
+ */
+@Service
+public class BbsFileReconcileServiceImpl implements BbsFileReconcileService {
+
+    public static final String ACTION_REPORT = "report";
+    public static final String ACTION_QUARANTINE = "quarantine";
+    public static final String ACTION_DELETE = "delete";
+
+    private static final String FILE_CN_CONTENT_IMAGE = "CONTENT_IMAGE";
+    private static final String QUARANTINE_DIR = ".quarantine";
+    private static final DateTimeFormatter QUARANTINE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern SHARD_NAME = Pattern.compile("[0-9a-f]{2}");
+    private static final Pattern VARIANT_NAME = Pattern.compile("(.+)\\.(thumb|represent|main|multi)\\.\\d+x\\d+\\.(jpg|png)");
+
+    @Autowired
+    private FileMapper fileMapper;
+
+    @Autowired
+    private BbsFileStoreService bbsFileStoreService;
+
+    @Autowired
+    private BbsCacheService bbsCacheService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${file.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.reconcile.orphan-action:quarantine}")
+    private String orphanAction;
+
+    @Value("${file.reconcile.missing-row-action:report}")
+    private String missingRowAction;
+
+    @Value("${file.reconcile.staged-action:report}")
+    private String stagedAction;
+
+    @Value("${file.reconcile.batch-size:500}")
+    private int batchSize;
+
+    @Value("${file.reconcile.batch-delay-ms:200}")
+    private long batchDelayMs;
+
+    @Value("${file.reconcile.orphan-grace-hours:24}")
+    private long orphanGraceHours;
+
+    @Value("${file.reconcile.staged-grace-hours:24}")
+    private long stagedGraceHours;
+
+    @Value("${file.reconcile.deleted-post-grace-days:30}")
+    private long deletedPostGraceDays;
+
+    @Value("${file.reconcile.quarantine-retention-days:7}")
+    private long quarantineRetentionDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RunStats currentRun;
+    private volatile RunStats lastRun;
+
+    /** 누적 지표 (프로세스 기동 이후) */
+    private final RunStats totals = new RunStats();
+    private final LongAdder runCount = new LongAdder();
+
+    /**
+     * 정기 실행 (배치마다 쉬는 긴 작업이므로 스케줄러 스레드를 점유하지 않도록 별도 스레드로 넘김)
+     */
+    @Scheduled(cron = "${file.reconcile.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            runAsync();
+        }
+    }
+
+    @Override
+    public boolean runAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::run, "file-reconcile");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.get());
+        stats.put("orphanAction", orphanAction);
+        stats.put("missingRowAction", missingRowAction);
+        stats.put("stagedAction", stagedAction);
+        stats.put("runs", runCount.sum());
+        RunStats current = currentRun;
+        RunStats last = lastRun;
+        stats.put("currentRun", current != null ? current.toMap() : null);
+        stats.put("lastRun", last != null ? last.toMap() : null);
+        stats.put("totals", totals.toMap());
+        return stats;
+    }
+
+    void run() {
+        RunStats stats = new RunStats();
+        currentRun = stats;
+        System.out.println("=== 첨부파일 고아 점검 시작 ===");
+        try {
+            reconcileStagedGroups(stats);
+            reconcileFiles(stats);
+            reconcileRows(stats);
+            purgeQuarantine(stats);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.error = "중단됨";
+        } catch (Exception e) {
+            stats.error = e.getMessage();
+            System.err.println("첨부파일 고아 점검 중 오류: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            stats.finishedAt = LocalDateTime.now();
+            totals.addAll(stats);
+            runCount.increment();
+            lastRun = stats;
+            currentRun = null;
+            running.set(false);
+            System.out.println("=== 첨부파일 고아 점검 종료: " + stats.toMap() + " ===");
+        }
+    }
+
+    // ===== 1. 사전 업로드 그룹 =====
+
+    private void reconcileStagedGroups(RunStats stats) throws InterruptedException {
+        String after = null;
+        while (true) {
+            List<String> atchFileIds = fileMapper.selectStagedAtchFileIds(after, stagedGraceHours, deletedPostGraceDays, batchSize);
+            if (atchFileIds.isEmpty()) {
+                return;
+            }
+            for (String rawAtchFileId : atchFileIds) {
+                String atchFileId = rawAtchFileId.trim();
+                List<FileVO> files = fileMapper.selectFileList(atchFileId);
+                if (files.stream().anyMatch(file -> FILE_CN_CONTENT_IMAGE.equals(file.getFileCn()))) {
+                    // 조회 이후 본문 이미지가 추가된 그룹 (본문에서만 참조되므로 게시글 연결 여부로 판단할 수 없음)
+                    continue;
+                }
+                stats.add("stagedGroups", 1);
+                stats.add("stagedFiles", files.size());
+                for (FileVO file : files) {
+                    stats.add("stagedBytes", file.getFileSize() != null ? file.getFileSize() : 0L);
+                }
+                if (!ACTION_DELETE.equals(stagedAction)) {
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    fileMapper.deleteFileAll(atchFileId);
+                    fileMapper.deleteFileMaster(atchFileId);
+                });
+                bbsCacheService.evictBbsByAtchFileId(atchFileId);
+                for (FileVO file : files) {
+                    bbsFileStoreService.release(file);
+                }
+                stats.add("stagedGroupsDeleted", 1);
+            }
+            if (atchFileIds.size() < batchSize) {
+                return;
+            }
+            after = atchFileIds.get(atchFileIds.size() - 1);
+            Thread.sleep(batchDelayMs);
+        }
+    }
+
+    // ===== 2. 행 없는 파일 =====
+
+    private void reconcileFiles(RunStats stats) throws IOException, InterruptedException {
+        long cutoff = System.currentTimeMillis() - orphanGraceHours * 3600_000L;
+
+        // 평면 파일: 전체를 모아 정렬하지 않고 나열 순서대로 배치 처리 (처리 중 이동/삭제된 항목은 다시 나오지 않음)
+        List<String> shardDirs = new ArrayList<>();
+        List<StorageObjectVO> batch = new ArrayList<>();
+        fileStorage.list("", false, object -> {
+            if (object.isDirectory()) {
+                if (SHARD_NAME.matcher(object.getName()).matches()) {
+                    shardDirs.add(object.getKey());
+                }
+                return true;
+            }
+            batch.add(object);
+            return batch.size() < batchSize || flushBatch(batch, cutoff, stats);
+        });
+        checkInterrupted();
+        processFileBatch(batch, cutoff, stats);
+
+        // 샤드 디렉토리: 1단계·2단계 이름순, 말단 디렉토리 안에서는 파일명순
+        Collections.sort(shardDirs);
+        for (String shard : shardDirs) {
+            List<String> leaves = new ArrayList<>();
+            fileStorage.list(shard, false, object -> {
+                if (object.isDirectory() && SHARD_NAME.matcher(object.getName()).matches()) {
+                    leaves.add(object.getKey());
+                }
+                return true;
+            });
+            Collections.sort(leaves);
+            for (String leaf : leaves) {
+                List<StorageObjectVO> files = new ArrayList<>();
+                fileStorage.list(leaf, false, object -> {
+                    if (!object.isDirectory()) {
+                        files.add(object);
+                    }
+                    return true;
+                });
+                files.sort(Comparator.comparing(StorageObjectVO::getKey));
+                for (int from = 0; from < files.size(); from += batchSize) {
+                    processFileBatch(files.subList(from, Math.min(from + batchSize, files.size())), cutoff, stats);
+                }
+            }
+        }
+
+        cleanTempFiles(fileStorage.getTempDirectory(), cutoff, stats);
+    }
+
+    /**
+     * 나열 중 가득 찬 배치 처리 (중단 요청 시 나열도 중단)
+     */
+    private boolean flushBatch(List<StorageObjectVO> batch, long cutoff, RunStats stats) {
+        try {
+            processFileBatch(batch, cutoff, stats);
+            batch.clear();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void processFileBatch(List<StorageObjectVO> files, long cutoff, RunStats stats) throws InterruptedException {
+        if (files.isEmpty()) {
+            return;
+        }
+        Map<String, StorageObjectVO> candidates = new LinkedHashMap<>();
+        List<StorageObjectVO> variants = new ArrayList<>();
+        for (StorageObjectVO file : files) {
+            String name = file.getName();
+            stats.add("scannedFiles", 1);
+            if (name.startsWith(".")) {
+                continue;
+            }
+            if (VARIANT_NAME.matcher(name).matches()) {
+                variants.add(file);
+            } else {
+                candidates.put(name, file);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> known = new HashSet<>(fileMapper.selectKnownStreFileNms(new ArrayList<>(candidates.keySet())));
+            for (Map.Entry<String, StorageObjectVO> entry : candidates.entrySet()) {
+                if (!known.contains(entry.getKey()) && entry.getValue().getLastModified() < cutoff) {
+                    handleOrphan(entry.getValue(), stats);
+                }
+            }
+        }
+
+        // 원본이 없는 파생본은 다시 만들 수 있으므로 바로 삭제
+        for (StorageObjectVO variant : variants) {
+            Matcher matcher = VARIANT_NAME.matcher(variant.getName());
+            try {
+                if (matcher.matches() && variant.getLastModified() < cutoff
+                        && !fileStorage.exists(variant.siblingKey(matcher.group(1)))) {
+                    stats.add("staleVariantFiles", 1);
+                    deleteAndCount(variant, stats);
+                }
+            } catch (IOException e) {
+                stats.add("errors", 1);
+                System.err.println("파생본 원본 확인 실패: " + variant.getKey() + " - " + e.getMessage());
+            }
+        }
+        Thread.sleep(batchDelayMs);
+    }
+
+    private void handleOrphan(StorageObjectVO file, RunStats stats) {
+        try {
+            stats.add("orphanFiles", 1);
+            stats.add("orphanBytes", file.getLength());
+            if (ACTION_DELETE.equals(orphanAction)) {
+                deleteAndCount(file, stats);
+            } else if (ACTION_QUARANTINE.equals(orphanAction)) {
+                String quarantine = QUARANTINE_DIR + "/" + LocalDate.now().format(QUARANTINE_DATE) + "/" + file.getName();
+                fileStorage.move(file.getKey(), quarantine);
+                stats.add("quarantinedFiles", 1);
+                stats.add("bytesQuarantined", file.getLength());
+            }
+        } catch (NoSuchFileException e) {
+            // 점검 중 저장소 GC 등으로 이미 삭제됨
+        } catch (IOException e) {
+            stats.add("errors", 1);
+            System.err.println("고아 파일 정리 실패: " + file.getKey() + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 노드 로컬 임시 디렉토리의 오래된 임시파일(실패한 부분 기록) 삭제
+     */
+    private void cleanTempFiles(Path tempDir, long cutoff, RunStats stats) throws IOException {
+        if (!Files.isDirectory(tempDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(tempDir)) {
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry) && isOlderThan(entry, cutoff)) {
+                    stats.add("staleTempFiles", 1);
+                    deleteAndCount(entry, stats);
+                }
+            }
+        }
+    }
+
+    // ===== 3. 파일 없는 행 =====
+
+    private void reconcileRows(RunStats stats) throws IOException, InterruptedException {
+        String afterAtchFileId = null;
+        Long afterFileSn = null;
+        while (true) {
+            List<FileVO> page = fileMapper.selectFileDetailPage(afterAtchFileId, afterFileSn, batchSize);
+            if (page.isEmpty()) {
+                return;
+            }
+            for (FileVO file : page) {
+                stats.add("scannedRows", 1);
+                if (file.getStreFileNm() != null && bbsFileStoreService.stat(file) != null) {
+                    continue;
+                }
+                stats.add("missingFileRows", 1);
+                if (ACTION_DELETE.equals(missingRowAction)) {
+                    String atchFileId = file.getAtchFileId().trim();
+                    stats.add("deletedRows", fileMapper.deleteFile(atchFileId, file.getFileSn()));
+                    bbsCacheService.evictBbsByAtchFileId(atchFileId);
+                } else {
+                    System.out.println("파일 없는 첨부파일 행: " + file.getAtchFileId().trim() + "/" + file.getFileSn()
+                            + " (" + file.getFileStreCours() + "/" + file.getStreFileNm() + ")");
+                }
+            }
+            if (page.size() < batchSize) {
+                return;
+            }
+            FileVO last = page.get(page.size() - 1);
+            afterAtchFileId = last.getAtchFileId();
+            afterFileSn = last.getFileSn();
+            Thread.sleep(batchDelayMs);
+        }
+    }
+
+    // ===== 4. 격리 파일 보관 기간 =====
+
+    private void purgeQuarantine(RunStats stats) throws IOException {
+        List<StorageObjectVO> dayDirs = new ArrayList<>();
+        fileStorage.list(QUARANTINE_DIR + "/", false, object -> {
+            if (object.isDirectory()) {
+                dayDirs.add(object);
+            }
+            return true;
+        });
+        dayDirs.sort(Comparator.comparing(StorageObjectVO::getKey));
+        LocalDate expiry = LocalDate.now().minusDays(quarantineRetentionDays);
+        for (StorageObjectVO dayDir : dayDirs) {
+            LocalDate day;
+            try {
+                day = LocalDate.parse(dayDir.getName(), QUARANTINE_DATE);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+            if (!day.isBefore(expiry)) {
+                continue;
+            }
+            fileStorage.list(dayDir.getKey(), true, file -> {
+                stats.add("purgedQuarantineFiles", 1);
+                deleteAndCount(file, stats);
+                return true;
+            });
+            // 로컬 저장소의 빈 날짜 디렉토리 삭제 (객체 저장소는 해당 없음)
+            fileStorage.delete(QUARANTINE_DIR + "/" + dayDir.getName());
+        }
+    }
+
+    // ===== 공통 =====
+
+    private void deleteAndCount(StorageObjectVO file, RunStats stats) {
+        try {
+            fileStorage.delete(file.getKey());
+            stats.add("deletedFiles", 1);
+            stats.add("bytesReclaimed", file.getLength());
+        } catch (IOException e) {
+            stats.add("errors", 1);
+            System.err.println("파일 삭제 실패: " + file.getKey() + " - " + e.getMessage());
+        }
+    }
+
+    private void deleteAndCount(Path file, RunStats stats) {
+        try {
+            long size = Files.size(file);
+            if (Files.deleteIfExists(file)) {
+                stats.add("deletedFiles", 1);
+                stats.add("bytesReclaimed", size);
+            }
+        } catch (NoSuchFileException e) {
+            // 이미 삭제됨
+        } catch (IOException e) {
+            stats.add("errors", 1);
+            System.err.println("파일 삭제 실패: " + file + " - " + e.getMessage());
+        }
+    }
+
+    private static boolean isOlderThan(Path file, long cutoffMillis) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < cutoffMillis;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * 실행 1회의 지표 (항목별 건수·바이트)
+     */
+    private static final class RunStats {
+        private final Map<String, LongAdder> counters = new LinkedHashMap<>();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private RunStats() {
+            for (String key : new String[] {"stagedGroups", "stagedGroupsDeleted", "stagedFiles", "stagedBytes",
+                    "scannedFiles", "orphanFiles", "orphanBytes", "quarantinedFiles", "bytesQuarantined",
+                    "staleVariantFiles", "staleTempFiles", "purgedQuarantineFiles", "deletedFiles", "bytesReclaimed",
+                    "scannedRows", "missingFileRows", "deletedRows", "errors"}) {
+                counters.put(key, new LongAdder());
+            }
+        }
+
+        private void add(String key, long value) {
+            counters.get(key).add(value);
+        }
+
+        private void addAll(RunStats other) {
+            other.counters.forEach((key, value) -> add(key, value.sum()));
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            counters.forEach((key, value) -> map.put(key, value.sum()));
+            map.put("error", error);
+            return map;
+        }
+    }
+}
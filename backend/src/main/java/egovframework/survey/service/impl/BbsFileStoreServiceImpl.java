@@ -0,0 +1,317 @@
+package egovframework.survey.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsFileStoreService;
+import egovframework.survey.service.BbsImageVariantService;
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.util.FileStoreLayout;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 첨부파일 내용 주소 저장소 서비스 구현
+ * - 저장: 저장소의 임시 디렉토리에 기록하면서 SHA-256 계산 → 같은 해시 파일이 있으면 임시파일 삭제, 없으면 저장소에 반영
+ *   (로컬 저장소는 원자적 이동, S3 저장소는 업로드) 저장 키는 FileStoreLayout이 정한다. (sharded: 해시 앞 2+2자리 하위 디렉토리)
+ * - 참조수: COMTNFILEDETAIL.FILE_HASH 트리거가 파일 상세 등록/삭제와 같은 트랜잭션에서 REF_CNT 유지
+ * - GC: 참조수 0 상태로 유예 기간이 지난 행을 잠근 채 물리 파일·파생본 삭제 후 행 삭제
+ *   저장 시 행의 갱신 시각을 먼저 연장하므로, 업로드 중인 파일은 유예 기간 동안 GC 대상이 되지 않는다.
+ * - 해시 컬럼이 없는 기존 파일은 같은 저장파일명을 가리키는 행이 남아 있지 않을 때만 즉시 삭제
+ */
+@Service
+public class BbsFileStoreServiceImpl implements BbsFileStoreService {
+
+    @Autowired
+    private FileMapper fileMapper;
+
+    @Autowired
+    private BbsImageVariantService bbsImageVariantService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FileStoreLayout fileStoreLayout;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${bbs.upload.transfer-chunk-size:1048576}")
+    private long transferChunkSize;
+
+    @Value("${bbs.file.blob.gc-grace-seconds:3600}")
+    private long gcGraceSeconds;
+
+    @Value("${bbs.file.blob.gc-batch-size:100}")
+    private int gcBatchSize;
+
+    /** 이미 저장된 내용이라 새로 저장하지 않은 건수 */
+    private final LongAdder dedupCount = new LongAdder();
+
+    @Override
+    public FileVO store(InputStream in, String originalFileName, long maxFileSize) throws IOException, FileUploadException {
+        MessageDigest digest = newDigest();
+        Path temp = newTempPath();
+        try {
+            long fileSize = transferToFile(new DigestInputStream(in, digest), temp, maxFileSize, originalFileName);
+            return commit(temp, toHex(digest.digest()), fileSize, originalFileName);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public FileVO store(MultipartFile file) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temp = newTempPath();
+        try {
+            // 컨테이너 임시파일을 이동 (같은 파일시스템이면 재기록 없음) 후 읽기만 하여 해시 계산
+            file.transferTo(temp);
+            byte[] buffer = new byte[8192];
+            try (InputStream in = new DigestInputStream(Files.newInputStream(temp), digest)) {
+                while (in.read(buffer) != -1) {
+                    // 읽는 동안 digest 갱신
+                }
+            }
+            return commit(temp, toHex(digest.digest()), Files.size(temp), file.getOriginalFilename());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void linkStoredFile(FileVO fileVO, String streFileNm) {
+        fileVO.setStreFileNm(streFileNm);
+        // 저장소 파일이면 해시를 함께 기록하여 참조수에 포함
+        if (FileStoreLayout.isBlobName(streFileNm)) {
+            fileVO.setFileStreCours(fileStoreLayout.directoryFor(streFileNm));
+            fileVO.setFileHash(streFileNm);
+        } else {
+            // 기존 파일은 실제 위치(평면 또는 이전된 샤드)를 그대로 기록
+            FileVO probe = new FileVO();
+            probe.setStreFileNm(streFileNm);
+            StorageObjectVO stored = null;
+            try {
+                stored = fileStoreLayout.locate(fileStorage, probe);
+            } catch (IOException e) {
+                System.err.println("저장 위치 확인 실패, 업로드 경로로 기록: " + streFileNm + " - " + e.getMessage());
+            }
+            fileVO.setFileStreCours(stored != null ? fileStoreLayout.directoryOfKey(stored.getKey()) : fileStoreLayout.getRootPath());
+            fileVO.setFileHash(null);
+        }
+    }
+
+    @Override
+    public StorageObjectVO stat(FileVO fileVO) throws IOException {
+        return fileStoreLayout.locate(fileStorage, fileVO);
+    }
+
+    @Override
+    public boolean verify(FileVO fileVO) throws IOException {
+        if (fileVO.getFileHash() == null) {
+            return true;
+        }
+        StorageObjectVO stored = stat(fileVO);
+        if (stored == null) {
+            throw new NoSuchFileException(fileVO.getStreFileNm());
+        }
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new DigestInputStream(fileStorage.get(stored.getKey()), digest)) {
+            while (in.read(buffer) != -1) {
+                // 읽는 동안 digest 갱신
+            }
+        }
+        return fileVO.getFileHash().equals(toHex(digest.digest()));
+    }
+
+    @Override
+    public void release(FileVO fileVO) {
+        if (fileVO == null || fileVO.getStreFileNm() == null) {
+            return;
+        }
+        if (fileVO.getFileHash() != null) {
+            // 참조수는 트리거가 감소시키고, 0이 되면 GC가 삭제
+            return;
+        }
+        int remaining = fileMapper.selectLegacyFileRefCount(fileVO.getStreFileNm());
+        if (remaining > 0) {
+            System.out.println("다른 파일 정보가 참조 중이라 물리 파일 유지: " + fileVO.getStreFileNm() + " (참조 " + remaining + "건)");
+            return;
+        }
+        try {
+            StorageObjectVO stored = fileStoreLayout.locate(fileStorage, fileVO);
+            if (stored == null) {
+                System.out.println("삭제할 물리적 파일이 없음: " + fileVO.getStreFileNm());
+                return;
+            }
+            bbsImageVariantService.deleteVariants(stored.getKey());
+            fileStorage.delete(stored.getKey());
+            System.out.println("물리적 파일 삭제 완료 (키: " + stored.getKey() + ")");
+        } catch (IOException e) {
+            System.err.println("물리적 파일 삭제 실패: " + fileVO.getStreFileNm() + " - " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bbs.file.blob.gc-interval-ms:600000}", initialDelayString = "${bbs.file.blob.gc-interval-ms:600000}")
+    public void scheduledCollectGarbage() {
+        int collected = collectGarbage();
+        if (collected > 0) {
+            System.out.println("첨부파일 저장소 GC: " + collected + "건 삭제 (중복 제거 누적 " + dedupCount.sum() + "건)");
+        }
+    }
+
+    @Override
+    public int collectGarbage() {
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> collectBatch());
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            // 배치가 가득 차지 않았거나 삭제 실패가 섞였으면 다음 주기로 넘김
+            if (count < gcBatchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * 한 배치의 참조 없는 저장소 파일 삭제
+     * 행 잠금을 잡은 상태에서 파일을 지우므로, 같은 내용의 업로드는 커밋 후 새 행을 만들고 파일을 다시 기록한다.
+     */
+    private int collectBatch() {
+        List<FileVO> blobs = fileMapper.selectUnreferencedBlobsForUpdate(gcGraceSeconds, gcBatchSize);
+        int deleted = 0;
+        for (FileVO blob : blobs) {
+            try {
+                StorageObjectVO stored = fileStoreLayout.locate(fileStorage, blob);
+                if (stored != null) {
+                    bbsImageVariantService.deleteVariants(stored.getKey());
+                    fileStorage.delete(stored.getKey());
+                }
+            } catch (IOException e) {
+                System.err.println("저장소 파일 삭제 실패: " + blob.getStreFileNm() + " - " + e.getMessage());
+                continue;
+            }
+            deleted += fileMapper.deleteFileBlob(blob.getFileHash());
+        }
+        return deleted;
+    }
+
+    /**
+     * 임시파일을 해시 이름의 저장소 파일로 반영
+     * 행의 갱신 시각을 먼저 연장한 뒤 파일을 확인해야 GC와 겹쳐도 파일이 사라지지 않는다.
+     */
+    private FileVO commit(Path temp, String fileHash, long fileSize, String originalFileName) throws IOException {
+        String directory = fileStoreLayout.directoryFor(fileHash);
+        String key = fileStoreLayout.keyFor(fileHash);
+
+        FileVO fileVO = new FileVO();
+        fileVO.setFileHash(fileHash);
+        fileVO.setFileStreCours(directory);
+        fileVO.setStreFileNm(fileHash);
+        fileVO.setFileSize(fileSize);
+        fileMapper.upsertFileBlob(fileVO);
+
+        // 레이아웃 이전 전의 위치에 같은 내용이 있으면 기록 대신 이동만 하고 경로 갱신
+        StorageObjectVO existing = fileStoreLayout.locate(fileStorage, fileVO);
+        boolean present = existing != null && existing.getLength() == fileSize;
+        if (present && !existing.getKey().equals(key)) {
+            fileStorage.move(existing.getKey(), key);
+            transactionTemplate.executeWithoutResult(status -> {
+                fileMapper.updateFileDetailStreCours(fileHash, directory);
+                fileMapper.updateFileBlobStreCours(fileHash, directory);
+            });
+        }
+
+        if (present) {
+            dedupCount.increment();
+            System.out.println("같은 내용의 파일이 있어 저장 생략: " + originalFileName + " (" + fileHash + ")");
+        } else {
+            fileStorage.put(key, temp);
+        }
+
+        String fileExtension = "";
+        if (originalFileName != null && originalFileName.contains(".")) {
+            fileExtension = originalFileName.substring(originalFileName.lastIndexOf(".") + 1);
+        }
+        fileVO.setOrignlFileNm(originalFileName);
+        fileVO.setFileExtsn(fileExtension);
+        return fileVO;
+    }
+
+    /**
+     * 스트림을 파일에 기록하면서 크기 제한 검사
+     * transferFrom 단위를 남은 허용량 + 1 이하로 제한하여 초과분을 거의 기록하지 않고 중단한다.
+     */
+    private long transferToFile(InputStream in, Path target, long maxFileSize, String originalFileName)
+            throws IOException, FileUploadException {
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long position = 0;
+            while (true) {
+                long count = Math.min(transferChunkSize, maxFileSize - position + 1);
+                long transferred = channel.transferFrom(source, position, count);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                if (position > maxFileSize) {
+                    FileUploadBase.FileSizeLimitExceededException e = new FileUploadBase.FileSizeLimitExceededException(
+                            "파일 크기가 첨부 가능한 크기(" + maxFileSize + " bytes)를 초과했습니다: " + originalFileName,
+                            position, maxFileSize);
+                    e.setFileName(originalFileName);
+                    throw e;
+                }
+            }
+            return position;
+        }
+    }
+
+    /**
+     * 저장소 임시 디렉토리의 임시파일 경로 (로컬 저장소는 업로드 경로와 같은 파일시스템이라 원자적 이동 가능)
+     */
+    private Path newTempPath() throws IOException {
+        return fileStorage.getTempDirectory().resolve(UUID.randomUUID().toString());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package egovframework.survey.service.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.fileupload.FileCountLimitExceededException;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.fileupload.util.Streams;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsFileJobService;
+import egovframework.survey.service.BbsFileStoreService;
+import egovframework.survey.service.BbsFileUploadService;
+import egovframework.survey.vo.BbsMstVO;
+import egovframework.survey.vo.FileVO;
+
+/**
+ * 게시판 첨부파일 스트리밍 업로드 서비스 구현
+ * - 컨테이너 임시파일 없이 파트 스트림을 내용 주소 저장소에 기록 (해시 계산, 같은 내용은 한 번만 저장)
+ * - 게시판 마스터의 첨부가능파일숫자/첨부가능파일사이즈를 읽는 도중에 검사하여 초과 즉시 중단
+ * - 업로드 중에는 DB 커넥션을 잡지 않고, 모든 파일 기록 후 한 트랜잭션으로 파일 정보 등록
+ *   (마스터 등록 + 다중 행 INSERT 1회, 파일 수와 관계없이 왕복 횟수 고정)
+ * - 썸네일·메타데이터·해시 검증은 같은 트랜잭션에서 후처리 작업으로 등록하고 응답은 바로 반환
+ *   (응답 시간은 받은 바이트 수에만 비례, 파일별 진행 상태는 FileVO.processSttus)
+ * - 대표/메인 이미지는 FILE_CN 기준 upsert 한 문장으로 교체
+ * - 실패 시 이번 요청에서 기록한 파일은 참조되지 않으므로 저장소 GC가 정리
+ */
+@Service
+public class BbsFileUploadServiceImpl implements BbsFileUploadService {
+
+    @Autowired
+    private FileMapper fileMapper;
+
+    @Autowired
+    private BbsCacheService bbsCacheService;
+
+    @Autowired
+    private BbsFileStoreService bbsFileStoreService;
+
+    @Autowired
+    private BbsFileJobService bbsFileJobService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${file.upload.path}")
+    private String uploadPath;
+
+    @Value("${spring.servlet.multipart.max-request-size:50MB}")
+    private DataSize maxRequestSize;
+
+    @Value("${bbs.upload.default-max-file-count:5}")
+    private int defaultMaxFileCount;
+
+    @Value("${bbs.upload.default-max-file-size:10485760}")
+    private long defaultMaxFileSize;
+
+    @Override
+    public Map<String, Object> uploadStreaming(String bbsId, HttpServletRequest request) throws IOException, FileUploadException {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("multipart/form-data 요청이 아닙니다.");
+        }
+        BbsMstVO bbsMst = bbsCacheService.selectBbsMst(bbsId);
+        if (bbsMst == null) {
+            throw new IllegalArgumentException("게시판을 찾을 수 없습니다.");
+        }
+        int maxFileCount = bbsMst.getAtchPosblFileNumber() != null && bbsMst.getAtchPosblFileNumber() > 0
+                ? bbsMst.getAtchPosblFileNumber() : defaultMaxFileCount;
+        long maxFileSize = bbsMst.getAtchPosblFileSize() != null && bbsMst.getAtchPosblFileSize() > 0
+                ? bbsMst.getAtchPosblFileSize().longValue() : defaultMaxFileSize;
+
+        // 팩토리 없이 생성하면 파트를 임시파일로 저장하지 않는 스트리밍 모드
+        ServletFileUpload upload = new ServletFileUpload();
+        upload.setHeaderEncoding(StandardCharsets.UTF_8.name());
+        upload.setSizeMax(maxRequestSize.toBytes());
+
+        Path uploadDir = Paths.get(uploadPath);
+        Files.createDirectories(uploadDir);
+
+        String usageType = "ATTACHMENT";
+        String atchFileId = null;
+        List<FileVO> uploadedFileList = new ArrayList<>();
+        FileItemIterator items = upload.getItemIterator(request);
+        while (items.hasNext()) {
+            FileItemStream item = items.next();
+            if (item.isFormField()) {
+                String value = Streams.asString(item.openStream(), StandardCharsets.UTF_8.name());
+                if ("usageType".equals(item.getFieldName()) && !value.trim().isEmpty()) {
+                    usageType = value.trim();
+                } else if ("atchFileId".equals(item.getFieldName()) && !value.trim().isEmpty()) {
+                    atchFileId = value.trim();
+                }
+                continue;
+            }
+            String originalFileName = item.getName();
+            if (originalFileName == null || originalFileName.isEmpty()) {
+                continue;
+            }
+            if (uploadedFileList.size() >= maxFileCount) {
+                throw new FileCountLimitExceededException("첨부 가능한 파일 수(" + maxFileCount + "개)를 초과했습니다.", maxFileCount);
+            }
+
+            // 내용 해시 이름으로 저장 (같은 내용이 이미 있으면 새로 저장하지 않음)
+            FileVO fileVO = bbsFileStoreService.store(item.openStream(), originalFileName, maxFileSize);
+            uploadedFileList.add(fileVO);
+        }
+
+        if (uploadedFileList.isEmpty()) {
+            throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+        }
+
+        String targetAtchFileId = atchFileId != null ? atchFileId : "FILE_" + System.currentTimeMillis();
+        boolean newGroup = atchFileId == null;
+        registerFiles(targetAtchFileId, newGroup, usageType, uploadedFileList, bbsId);
+        if (!newGroup) {
+            bbsCacheService.evictBbsByAtchFileId(targetAtchFileId);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("atchFileId", targetAtchFileId);
+        result.put("uploadedFiles", uploadedFileList);
+        result.put("uploadDir", uploadPath);
+        result.put("message", "파일 업로드 및 DB 저장 완료");
+
+        System.out.println("=== 스트리밍 파일 업로드 완료 ===");
+        System.out.println("bbsId: " + bbsId + ", atchFileId: " + targetAtchFileId + ", 파일 수: " + uploadedFileList.size());
+        return result;
+    }
+
+    /**
+     * 파일 용도를 FILE_CN 값으로 변환 (알 수 없는 값은 일반 첨부파일)
+     */
+    private static String toFileCn(String usageType) {
+        if (usageType == null) {
+            return "ATTACHMENT";
+        }
+        switch (usageType) {
+            case "CONTENT_IMAGE":
+            case "REPRESENTATIVE":
+            case "MAIN_IMAGE":
+            case "MULTI_IMAGE":
+                return usageType;
+            default:
+                return "ATTACHMENT";
+        }
+    }
+
+    @Override
+    public void registerFiles(String atchFileId, boolean newGroup, String usageType, List<FileVO> files, String bbsId) {
+        String fileCn = toFileCn(usageType);
+        transactionTemplate.executeWithoutResult(status -> {
+            long nextFileSn = 1L;
+            if (newGroup) {
+                FileVO master = new FileVO();
+                master.setAtchFileId(atchFileId);
+                if (fileMapper.insertFile(master) <= 0) {
+                    throw new IllegalStateException("파일 마스터 생성에 실패했습니다.");
+                }
+            } else if (fileMapper.insertFileMasterIfAbsent(atchFileId) == 0) {
+                Long selected = fileMapper.selectNextFileSn(atchFileId);
+                nextFileSn = selected != null ? selected : 1L;
+            }
+            if (files.isEmpty()) {
+                return;
+            }
+            for (FileVO fileVO : files) {
+                fileVO.setAtchFileId(atchFileId);
+                fileVO.setFileSn(nextFileSn++);
+                if (fileVO.getFileCn() == null) {
+                    fileVO.setFileCn(fileCn);
+                }
+            }
+            // 후처리 작업 등록 (각 파일의 후처리상태가 정해지므로 상세보다 먼저)
+            bbsFileJobService.enqueue(files, bbsId);
+            if (fileMapper.insertFileDetails(files) != files.size()) {
+                throw new IllegalStateException("파일 상세 DB 저장에 실패했습니다.");
+            }
+        });
+    }
+
+    @Override
+    public void replaceImageByType(FileVO fileVO) {
+        if (!"REPRESENTATIVE".equals(fileVO.getFileCn()) && !"MAIN_IMAGE".equals(fileVO.getFileCn())) {
+            throw new IllegalArgumentException("대표/메인 이미지만 교체할 수 있습니다: " + fileVO.getFileCn());
+        }
+        FileVO previous = transactionTemplate.execute(status -> {
+            fileMapper.insertFileMasterIfAbsent(fileVO.getAtchFileId());
+            return fileMapper.upsertImageByType(fileVO);
+        });
+        // 같은 파일로 다시 저장한 경우가 아니면 기존 물리 파일 정리 (다른 행이 참조 중이면 유지)
+        if (previous != null && !Objects.equals(previous.getStreFileNm(), fileVO.getStreFileNm())) {
+            bbsFileStoreService.release(previous);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package egovframework.survey.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.service.BbsImageCacheService;
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.util.LocalCache;
+import egovframework.survey.vo.CachedFileVO;
+
+/**
+ * 게시판 이미지 캐시 서비스 구현
+ * - 전송 정보: 건수 제한 TTL 캐시, 파일 그룹 변경 시 게시글 상세 캐시와 함께 무효화
+ * - 본문: 저장소 키별 direct ByteBuffer (로컬 저장소는 파일에서, 그 외 저장소는 스트림으로 적재), 전체 바이트 상한 안에서 조회 빈도가 가장 낮은 항목부터 제거
+ *   전송 정보가 min-hits 이상 조회된 작은 이미지만 적재하고, 제거될 항목보다 빈도가 높을 때만 적재한다.
+ *   빈도는 주기적으로 절반으로 줄여 예전에 많이 조회된 이미지가 계속 남지 않도록 한다.
+ *   같은 키라도 크기·수정시각이 다르면 다른 내용으로 보고 다시 적재한다.
+ * - 본문 버퍼는 JVM 힙 밖에 할당되므로 max-bytes는 -XX:MaxDirectMemorySize 안에서 정한다.
+ */
+@Service
+public class BbsImageCacheServiceImpl implements BbsImageCacheService {
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${bbs.image.cache.meta-ttl-seconds:300}")
+    private long metaTtlSeconds;
+
+    @Value("${bbs.image.cache.meta-max-size:5000}")
+    private int metaMaxSize;
+
+    @Value("${bbs.image.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${bbs.image.cache.max-entry-bytes:524288}")
+    private long maxEntryBytes;
+
+    @Value("${bbs.image.cache.min-hits:2}")
+    private int minHits;
+
+    private LocalCache<String, CachedFileVO> metaCache;
+
+    /** 본문 캐시 (키: 저장소 키) */
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    private final LongAdder contentHits = new LongAdder();
+    private final LongAdder contentMisses = new LongAdder();
+    private final LongAdder admissions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        metaCache = new LocalCache<>(metaTtlSeconds * 1000, metaMaxSize);
+    }
+
+    @Override
+    public CachedFileVO getImage(String atchFileId, Long fileSn, String variant, Supplier<CachedFileVO> loader) {
+        String key = metaKey(atchFileId, fileSn, variant);
+        CachedFileVO image = metaCache.get(key);
+        if (image == null) {
+            image = loader.get();
+            if (image == null || !image.isCacheable()) {
+                return image;
+            }
+            metaCache.put(key, image);
+        }
+        image.getHitCount().incrementAndGet();
+        return image;
+    }
+
+    @Override
+    public ByteBuffer getContent(CachedFileVO image) {
+        String key = image.getStorageKey();
+        Slot slot = slots.get(key);
+        if (slot != null && slot.matches(image)) {
+            slot.frequency.incrementAndGet();
+            contentHits.increment();
+            return slot.content.duplicate();
+        }
+        contentMisses.increment();
+        if (!image.isCacheable() || image.getLength() > maxEntryBytes || image.getLength() > maxBytes
+                || image.getHitCount().get() < minHits) {
+            return null;
+        }
+        return admit(key, image, slot);
+    }
+
+    @Override
+    public void evictByAtchFileId(String atchFileId) {
+        if (atchFileId == null) {
+            return;
+        }
+        String prefix = atchFileId.trim() + ":";
+        metaCache.invalidateIf(k -> k.startsWith(prefix));
+        // 본문은 키·크기·수정시각이 같으면 내용도 같으므로 그대로 두고 빈도 감소로 정리
+    }
+
+    @Override
+    public synchronized void clear() {
+        metaCache.clear();
+        slots.clear();
+        usedBytes.set(0);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("meta", metaCache.getStats());
+
+        long hitCount = contentHits.sum();
+        long missCount = contentMisses.sum();
+        long requestCount = hitCount + missCount;
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("entries", slots.size());
+        content.put("usedBytes", usedBytes.get());
+        content.put("maxBytes", maxBytes);
+        content.put("maxEntryBytes", maxEntryBytes);
+        content.put("hitCount", hitCount);
+        content.put("missCount", missCount);
+        content.put("hitRate", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        content.put("admissions", admissions.sum());
+        content.put("rejections", rejections.sum());
+        content.put("evictions", evictions.sum());
+        stats.put("content", content);
+        return stats;
+    }
+
+    /**
+     * 조회 빈도 감쇠 (적재된 본문의 빈도를 절반으로, 전송 정보의 빈도는 TTL 만료로 초기화)
+     */
+    @Scheduled(fixedDelayString = "${bbs.image.cache.decay-interval-ms:60000}")
+    public void decayFrequencies() {
+        for (Slot slot : slots.values()) {
+            slot.frequency.updateAndGet(f -> f >> 1);
+        }
+    }
+
+    /**
+     * 본문 적재
+     * 파일은 잠금 밖에서 읽고, 공간 확보와 등록만 잠금 안에서 처리한다.
+     */
+    private ByteBuffer admit(String key, CachedFileVO image, Slot stale) {
+        int frequency = image.getHitCount().get();
+        if (!hasRoomFor(image.getLength(), frequency, stale)) {
+            rejections.increment();
+            return null;
+        }
+
+        ByteBuffer content = ByteBuffer.allocateDirect((int) image.getLength());
+        try (ReadableByteChannel channel = openContent(image)) {
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // 파일 끝까지 읽기
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        if (content.hasRemaining()) {
+            // 확인 후 파일이 바뀐 경우
+            return null;
+        }
+        content.flip();
+        ByteBuffer readOnly = content.asReadOnlyBuffer();
+
+        synchronized (this) {
+            Slot current = slots.get(key);
+            if (current != null && current.matches(image)) {
+                return current.content.duplicate();
+            }
+            if (current != null) {
+                removeSlot(key, current);
+            }
+            if (!makeRoom(image.getLength(), frequency)) {
+                rejections.increment();
+                return null;
+            }
+            slots.put(key, new Slot(image.getLength(), image.getLastModified(), readOnly, frequency));
+            usedBytes.addAndGet(image.getLength());
+            admissions.increment();
+        }
+        return readOnly.duplicate();
+    }
+
+    private ReadableByteChannel openContent(CachedFileVO image) throws IOException {
+        if (image.getLocalFile() != null) {
+            return FileChannel.open(image.getLocalFile().toPath(), StandardOpenOption.READ);
+        }
+        InputStream in = fileStorage.get(image.getStorageKey());
+        return Channels.newChannel(in);
+    }
+
+    /**
+     * 적재 전 사전 확인 (잠금 없이 대략 판단, 파일을 읽을 가치가 있는지만 본다)
+     */
+    private boolean hasRoomFor(long length, int frequency, Slot stale) {
+        long free = maxBytes - usedBytes.get() + (stale != null ? stale.length : 0);
+        if (free >= length) {
+            return true;
+        }
+        Slot victim = findVictim();
+        return victim != null && victim.frequency.get() < frequency;
+    }
+
+    /**
+     * 빈도가 낮은 항목부터 제거하여 공간 확보 (제거할 항목의 빈도가 새 항목 이상이면 포기)
+     */
+    private boolean makeRoom(long length, int frequency) {
+        while (usedBytes.get() + length > maxBytes) {
+            Map.Entry<String, Slot> victim = null;
+            for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+                if (victim == null || entry.getValue().frequency.get() < victim.getValue().frequency.get()) {
+                    victim = entry;
+                }
+            }
+            if (victim == null || victim.getValue().frequency.get() >= frequency) {
+                return false;
+            }
+            removeSlot(victim.getKey(), victim.getValue());
+            evictions.increment();
+        }
+        return true;
+    }
+
+    private Slot findVictim() {
+        Slot victim = null;
+        for (Slot slot : slots.values()) {
+            if (victim == null || slot.frequency.get() < victim.frequency.get()) {
+                victim = slot;
+            }
+        }
+        return victim;
+    }
+
+    private void removeSlot(String key, Slot slot) {
+        if (slots.remove(key, slot)) {
+            usedBytes.addAndGet(-slot.length);
+        }
+    }
+
+    private static String metaKey(String atchFileId, Long fileSn, String variant) {
+        return atchFileId + ":" + fileSn + ":" + (variant != null ? variant : "");
+    }
+
+    /**
+     * 적재된 본문 1건
+     */
+    private static final class Slot {
+        private final long length;
+        private final long lastModified;
+        private final ByteBuffer content;
+        private final AtomicInteger frequency;
+
+        private Slot(long length, long lastModified, ByteBuffer content, int frequency) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.content = content;
+            this.frequency = new AtomicInteger(frequency);
+        }
+
+        private boolean matches(CachedFileVO image) {
+            return length == image.getLength() && lastModified == image.getLastModified();
+        }
+    }
+}
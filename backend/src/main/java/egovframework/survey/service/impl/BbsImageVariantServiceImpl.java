@@ -0,0 +1,455 @@
+package egovframework.survey.service.impl;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsImageVariantService;
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.util.FileStoreLayout;
+import egovframework.survey.util.LocalCache;
+import egovframework.survey.vo.BbsMstVO;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 게시판 이미지 파생본 서비스 구현
+ * - 크기: thumb는 설정값, represent/main/multi는 게시판 마스터의 권장 너비·높이 (비율 유지, 확대하지 않음)
+ * - 저장: 저장소의 원본 옆 키 {저장파일명}.{파생본}.{너비}x{높이}.{확장자} 로 저장 (크기 설정이 바뀌면 새 파일 생성)
+ *   원본은 로컬 저장소면 파일에서 바로, 그 외 저장소면 스트림으로 읽고, 결과는 임시파일에 기록한 뒤 저장소에 반영한다.
+ * - 실행: 고정 크기 작업 풀 + 제한 큐에서 생성, 같은 파생본 동시 요청은 하나의 작업을 공유
+ *   요청 스레드는 정해진 시간만 기다리고, 초과·거부·실패 시 원본을 응답한다.
+ */
+@Service
+public class BbsImageVariantServiceImpl implements BbsImageVariantService {
+
+    /** 게시글이 없는 파일 그룹(사전 업로드 등)의 게시판ID 캐시 값 */
+    private static final String NO_BBS = "";
+
+    @Autowired
+    private BbsMapper bbsMapper;
+
+    @Autowired
+    private FileMapper fileMapper;
+
+    @Autowired
+    private BbsCacheService bbsCacheService;
+
+    @Autowired
+    private FileStoreLayout fileStoreLayout;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Value("${bbs.image.variant.workers:2}")
+    private int workers;
+
+    @Value("${bbs.image.variant.queue-size:100}")
+    private int queueSize;
+
+    @Value("${bbs.image.variant.wait-ms:3000}")
+    private long waitMs;
+
+    @Value("${bbs.image.variant.thumb-size:320}")
+    private int thumbSize;
+
+    @Value("${bbs.image.variant.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    private ThreadPoolExecutor executor;
+
+    /** 생성 중인 파생본 (대상 키별 1건) */
+    private final Map<String, CompletableFuture<StorageObjectVO>> pending = new ConcurrentHashMap<>();
+
+    /** 첨부파일ID → 게시판ID */
+    private final LocalCache<String, String> bbsIdCache = new LocalCache<>(600_000, 5000);
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bbs-image-variant-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isSupportedVariant(String variant) {
+        return VARIANT_THUMB.equals(variant) || VARIANT_REPRESENT.equals(variant)
+                || VARIANT_MAIN.equals(variant) || VARIANT_MULTI.equals(variant);
+    }
+
+    @Override
+    public StorageObjectVO resolveVariant(FileVO fileInfo, StorageObjectVO original, String variant) throws IOException {
+        String format = outputFormat(fileInfo.getFileExtsn());
+        int[] size = targetSize(fileInfo.getAtchFileId(), variant);
+        if (format == null || size == null) {
+            return original;
+        }
+        String target = variantKey(original.getKey(), variant, size, format);
+        StorageObjectVO existing = fileStorage.stat(target);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<StorageObjectVO> task = submit(original.getKey(), target, size, format);
+        if (task == null) {
+            return original;
+        }
+        try {
+            StorageObjectVO generated = task.get(waitMs, TimeUnit.MILLISECONDS);
+            return generated != null ? generated : original;
+        } catch (TimeoutException e) {
+            // 생성은 계속 진행되며 다음 요청부터 파생본 사용
+            System.out.println("이미지 파생본 생성 대기 시간 초과, 원본 응답: " + target);
+            return original;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return original;
+        } catch (Exception e) {
+            System.err.println("이미지 파생본 생성 실패, 원본 응답: " + target + " - " + e.getMessage());
+            return original;
+        }
+    }
+
+    @Override
+    public StorageObjectVO createVariant(FileVO fileInfo, String variant) throws IOException {
+        String format = outputFormat(fileInfo.getFileExtsn());
+        int[] size = targetSize(fileInfo.getAtchFileId(), variant);
+        if (format == null || size == null) {
+            return null;
+        }
+        StorageObjectVO original = fileStoreLayout.locate(fileStorage, fileInfo);
+        if (original == null) {
+            throw new NoSuchFileException(fileInfo.getStreFileNm());
+        }
+        String target = variantKey(original.getKey(), variant, size, format);
+
+        // 같은 파생본을 생성 중인 작업이 있으면 그 결과를 기다림
+        CompletableFuture<StorageObjectVO> task = new CompletableFuture<>();
+        CompletableFuture<StorageObjectVO> running = pending.putIfAbsent(target, task);
+        if (running != null) {
+            try {
+                return running.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("이미지 파생본 생성 대기 중 중단: " + target);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause()
+                        : new IOException("이미지 파생본 생성 실패: " + target, e.getCause());
+            }
+        }
+        try {
+            StorageObjectVO generated = generate(original.getKey(), target, size[0], size[1], format);
+            task.complete(generated);
+            return generated;
+        } catch (IOException | RuntimeException e) {
+            task.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(target, task);
+        }
+    }
+
+    @Override
+    public int[] readImageSize(StorageObjectVO original) throws IOException {
+        File local = fileStorage.localFile(original.getKey());
+        try (InputStream in = local == null ? fileStorage.get(original.getKey()) : null;
+             ImageInputStream input = ImageIO.createImageInputStream(local != null ? local : in)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    @Override
+    public void warmUp(String atchFileId) {
+        if (atchFileId == null || atchFileId.trim().isEmpty()) {
+            return;
+        }
+        String cleanAtchFileId = atchFileId.trim();
+        // 게시글 연결 직후 호출되므로 "게시글 없음" 캐시 제거
+        bbsIdCache.invalidate(cleanAtchFileId);
+        List<FileVO> files;
+        try {
+            files = fileMapper.selectFileList(cleanAtchFileId);
+        } catch (Exception e) {
+            System.err.println("이미지 파생본 사전 생성 실패: " + cleanAtchFileId + " - " + e.getMessage());
+            return;
+        }
+        for (FileVO fileInfo : files) {
+            String role = fileInfo.getFileCn();
+            String variant = "REPRESENTATIVE".equals(role) ? VARIANT_REPRESENT
+                    : "MAIN_IMAGE".equals(role) ? VARIANT_MAIN
+                    : "MULTI_IMAGE".equals(role) ? VARIANT_MULTI : null;
+            if (variant == null) {
+                continue;
+            }
+            String format = outputFormat(fileInfo.getFileExtsn());
+            if (format == null) {
+                continue;
+            }
+            try {
+                StorageObjectVO original = fileStoreLayout.locate(fileStorage, fileInfo);
+                if (original == null) {
+                    continue;
+                }
+                // 용도별 파생본 + 목록 썸네일
+                for (String name : new String[] {variant, VARIANT_THUMB}) {
+                    int[] size = targetSize(cleanAtchFileId, name);
+                    if (size != null) {
+                        String target = variantKey(original.getKey(), name, size, format);
+                        if (!fileStorage.exists(target)) {
+                            submit(original.getKey(), target, size, format);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("이미지 파생본 사전 생성 실패: " + fileInfo.getStreFileNm() + " - " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void deleteVariants(String originalKey) throws IOException {
+        String prefix = originalKey + ".";
+        List<String> variants = new ArrayList<>();
+        fileStorage.list(prefix, false, object -> {
+            String key = object.getKey();
+            if (!object.isDirectory() && (key.startsWith(prefix + VARIANT_THUMB + ".") || key.startsWith(prefix + VARIANT_REPRESENT + ".")
+                    || key.startsWith(prefix + VARIANT_MAIN + ".") || key.startsWith(prefix + VARIANT_MULTI + "."))) {
+                variants.add(key);
+            }
+            return true;
+        });
+        for (String variant : variants) {
+            try {
+                fileStorage.delete(variant);
+            } catch (IOException e) {
+                System.err.println("이미지 파생본 삭제 실패: " + variant + " - " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 파생본 생성 작업 등록 (같은 대상은 진행 중 작업 공유, 큐가 가득 차면 null)
+     */
+    private CompletableFuture<StorageObjectVO> submit(String originalKey, String target, int[] size, String format) {
+        CompletableFuture<StorageObjectVO> task = new CompletableFuture<>();
+        CompletableFuture<StorageObjectVO> running = pending.putIfAbsent(target, task);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.complete(generate(originalKey, target, size[0], size[1], format));
+                } catch (Throwable t) {
+                    task.completeExceptionally(t);
+                } finally {
+                    pending.remove(target, task);
+                }
+            });
+            return task;
+        } catch (RejectedExecutionException e) {
+            pending.remove(target, task);
+            System.out.println("이미지 파생본 작업 큐 가득 참, 생성 건너뜀: " + target);
+            return null;
+        }
+    }
+
+    /**
+     * 리사이즈 후 임시파일에 기록하고 저장소에 반영 (로컬 저장소는 원자적 이동)
+     * 큰 원본은 디코딩 단계에서 서브샘플링하여 메모리 사용량을 줄인다.
+     */
+    private StorageObjectVO generate(String originalKey, String target, int maxWidth, int maxHeight, String format) throws IOException {
+        StorageObjectVO existing = fileStorage.stat(target);
+        if (existing != null) {
+            return existing;
+        }
+        BufferedImage source;
+        File local = fileStorage.localFile(originalKey);
+        try (InputStream in = local == null ? fileStorage.get(originalKey) : null;
+             ImageInputStream input = ImageIO.createImageInputStream(local != null ? local : in)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다: " + originalKey);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                // 목표 크기의 2배 이상을 유지하는 범위에서 정수배 서브샘플링
+                int subsampling = Math.max(1, Math.min(width / (maxWidth * 2), height / (maxHeight * 2)));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                source = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        double scale = Math.min(1.0, Math.min((double) maxWidth / source.getWidth(), (double) maxHeight / source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        boolean alpha = !"jpg".equals(format) && source.getColorModel().hasAlpha();
+        BufferedImage resized = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = Files.createTempFile(fileStorage.getTempDirectory(), ".variant-", ".tmp");
+        try {
+            write(resized, format, temp.toFile());
+            fileStorage.put(target, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        System.out.println("이미지 파생본 생성: " + target + " (" + width + "x" + height + ")");
+        return fileStorage.stat(target);
+    }
+
+    private void write(BufferedImage image, String format, File output) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("이미지 저장 형식을 지원하지 않습니다: " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(format) && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 파생본 크기 결정 (게시판 설정이 없으면 null → 원본 응답)
+     */
+    private int[] targetSize(String atchFileId, String variant) {
+        if (VARIANT_THUMB.equals(variant)) {
+            return new int[] {thumbSize, thumbSize};
+        }
+        BbsMstVO bbsMst = findBbsMst(atchFileId);
+        if (bbsMst == null) {
+            return null;
+        }
+        Integer width = null;
+        Integer height = null;
+        if (VARIANT_REPRESENT.equals(variant)) {
+            width = bbsMst.getRepresentImageWidth();
+            height = bbsMst.getRepresentImageHeight();
+        } else if (VARIANT_MAIN.equals(variant)) {
+            width = bbsMst.getMainImageWidth();
+            height = bbsMst.getMainImageHeight();
+        } else if (VARIANT_MULTI.equals(variant)) {
+            width = bbsMst.getMultiImageWidth();
+            height = bbsMst.getMultiImageHeight();
+        }
+        if (width == null || height == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        return new int[] {width, height};
+    }
+
+    private BbsMstVO findBbsMst(String atchFileId) {
+        String bbsId = bbsIdCache.get(atchFileId.trim(), key -> {
+            String found = bbsMapper.selectBbsIdByAtchFileId(key);
+            return found != null ? found : NO_BBS;
+        });
+        return NO_BBS.equals(bbsId) ? null : bbsCacheService.selectBbsMst(bbsId);
+    }
+
+    /**
+     * 파생본 저장 형식 (ImageIO로 읽고 쓸 수 있는 형식만, JPEG 계열은 jpg로 통일)
+     */
+    private static String outputFormat(String fileExtsn) {
+        if (fileExtsn == null) {
+            return null;
+        }
+        switch (fileExtsn.toLowerCase()) {
+            case "jpg":
+            case "jpeg":
+                return "jpg";
+            case "png":
+            case "bmp":
+                return "png";
+            default:
+                // gif(애니메이션 유실), webp(ImageIO 미지원) 등은 원본 사용
+                return null;
+        }
+    }
+
+    private static String variantKey(String originalKey, String variant, int[] size, String format) {
+        return originalKey + "." + variant + "." + size[0] + "x" + size[1] + "." + format;
+    }
+}
@@ -1,9 +1,12 @@
 package egovframework.survey.service.impl;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,10 +14,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import egovframework.survey.mapper.BbsMapper;
 import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsCountService;
 import egovframework.survey.service.BbsService;
+import egovframework.survey.service.BbsViewCountService;
+import egovframework.survey.util.BbsCursor;
 import egovframework.survey.vo.BbsMstVO;
 import egovframework.survey.vo.BbsVO;
 import egovframework.survey.vo.BbsMstSearchVO;
+import egovframework.survey.vo.BbsSearchTermVO;
 import egovframework.survey.vo.BbsSearchVO;
 import egovframework.survey.vo.CommentVO;
 import egovframework.survey.vo.FileVO;
@@ -23,11 +31,25 @@ import egovframework.survey.vo.PaginationInfo;
 @Service
 public class BbsServiceImpl implements BbsService {
 
+    /** 목록 정렬 순서(NTCE_AT DESC)에 따른 공지여부 구간 */
+    private static final String[] NTCE_AT_SEGMENTS = {"Y", "N"};
+
+    /** 전문검색 대신 트라이그램 검색을 사용할 한글 검색어 최대 길이 */
+
     @Autowired
     private BbsMapper bbsMapper;
     
     @Autowired
     private FileMapper fileMapper;
+    
+    @Autowired
+    private BbsCountService bbsCountService;
+    
+    @Autowired
+    private BbsViewCountService bbsViewCountService;
+    
+    @Autowired
+    private BbsCacheService bbsCacheService;
 
     // 게시판 마스터 관련
     @Override
@@ -43,9 +65,8 @@ public class BbsServiceImpl implements BbsService {
             // 실제 DB에서 데이터 조회
             List<BbsMstVO> list = bbsMapper.selectBbsMstList(searchVO);
 
-            // 총 개수 조회
-            int totalCount = bbsMapper.selectBbsMstListTotCnt(searchVO);
-            paginationInfo.setTotalRecordCount(totalCount);
+            // 총 개수 조회 (단기 캐시)
+            bbsCountService.applyBbsMstListCount(searchVO, paginationInfo);
 
             Map<String, Object> result = new HashMap<>();
             result.put("resultList", list);
@@ -60,31 +81,44 @@ public class BbsServiceImpl implements BbsService {
     @Override
     @Transactional(readOnly = true)
     public BbsMstVO selectBbsMst(String bbsId) {
-        return bbsMapper.selectBbsMst(bbsId);
+        return bbsCacheService.selectBbsMst(bbsId);
     }
 
     @Override
     @Transactional
     public int insertBbsMst(BbsMstVO bbsMstVO) {
-        return bbsMapper.insertBbsMst(bbsMstVO);
+        int result = bbsMapper.insertBbsMst(bbsMstVO);
+        bbsCountService.onBbsMstChanged();
+        bbsCacheService.evictBbsMst(bbsMstVO.getBbsId());
+        return result;
     }
 
     @Override
     @Transactional
     public int updateBbsMst(BbsMstVO bbsMstVO) {
-        return bbsMapper.updateBbsMst(bbsMstVO);
+        int result = bbsMapper.updateBbsMst(bbsMstVO);
+        bbsCountService.onBbsMstChanged();
+        bbsCacheService.evictBbsMst(bbsMstVO.getBbsId());
+        return result;
     }
 
     @Override
     @Transactional
     public int deleteBbsMst(String bbsId) {
-        return bbsMapper.deleteBbsMst(bbsId);
+        int result = bbsMapper.deleteBbsMst(bbsId);
+        bbsCountService.onBbsMstChanged();
+        bbsCacheService.evictBbsMst(bbsId);
+        return result;
     }
 
     // 게시글 관련
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> selectBbsList(BbsSearchVO searchVO) {
+        resolveSearchMode(searchVO);
+        if (searchVO.isCursorPagination()) {
+            return selectBbsListByCursor(searchVO);
+        }
         try {
             // 페이징 정보 설정 (전자정부 프레임워크 표준)
             PaginationInfo paginationInfo = new PaginationInfo();
@@ -92,20 +126,146 @@ public class BbsServiceImpl implements BbsService {
             paginationInfo.setRecordCountPerPage(searchVO.getPageSize());
             paginationInfo.setPageSize(searchVO.getPageSize());
 
-            // 실제 DB에서 데이터 조회
-            List<BbsVO> list = bbsMapper.selectBbsList(searchVO);
+            // 실제 DB에서 데이터 조회 (전문검색은 관련도순 + 강조 요약 포함)
+            boolean fullTextSearch = "FULLTEXT".equals(searchVO.getSearchMode())
+                    && searchVO.getSearchKeyword() != null && !searchVO.getSearchKeyword().isEmpty();
+            List<BbsVO> list = fullTextSearch ? bbsMapper.selectBbsListFullText(searchVO) : bbsMapper.selectBbsList(searchVO);
+
+            // 각 게시글에 첨부파일 정보 설정 (페이지 단위 일괄 조회)
+            attachFileLists(list);
+            list.forEach(this::applyPendingViewCount);
+
+            // 총 개수 조회 (게시판별 카운터 또는 검색 조건별 단기 캐시)
+            bbsCountService.applyBbsListCount(searchVO, paginationInfo);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("resultList", list);
+            result.put("paginationInfo", paginationInfo);
+
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("게시글 목록 조회 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 키워드 검색 방식 결정 (LIKE, FULLTEXT, TRIGRAM, BIGRAM)
+     * - 'simple' 전문검색은 공백 단위 어절로 색인되어 조사가 붙은 한글(게시판 → 게시판에서)을 찾지 못하고,
+     *   트라이그램은 1~2글자 한글에서 인덱스를 쓰지 못한다.
+     *   → FULLTEXT·TRIGRAM 요청에 한글 검색어가 있으면 BIGRAM: 한글 2-gram 색인으로 후보를 좁히고 검색어별 ILIKE로 확인
+     * - TRIGRAM·BIGRAM은 검색어마다 부분일치를 확인하여 모두 포함하는 글을 찾는다 (기존 LIKE와 같은 부분일치 의미)
+     */
+    void resolveSearchMode(BbsSearchVO searchVO) {
+        String searchMode = searchVO.getSearchMode() != null ? searchVO.getSearchMode().toUpperCase() : "LIKE";
+        if (!"FULLTEXT".equals(searchMode) && !"TRIGRAM".equals(searchMode)) {
+            searchMode = "LIKE";
+        }
+        List<BbsSearchTermVO> terms = parseSearchTerms(searchVO.getSearchKeyword());
+        if (!"LIKE".equals(searchMode) && terms.stream().anyMatch(term -> !term.isExclude() && term.getBigramQuery() != null)) {
+            searchMode = "BIGRAM";
+        } else if ("TRIGRAM".equals(searchMode) && terms.isEmpty()) {
+            searchMode = "LIKE";
+        }
+        searchVO.setSearchMode(searchMode);
+        searchVO.setSearchTerms(terms);
+    }
+
+    /**
+     * 검색어를 공백으로 나눔 (websearch_to_tsquery 구문 중 따옴표는 제거하고, -검색어는 제외 조건으로)
+     */
+    static List<BbsSearchTermVO> parseSearchTerms(String keyword) {
+        List<BbsSearchTermVO> terms = new ArrayList<>();
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return terms;
+        }
+        for (String token : keyword.trim().split("\\s+")) {
+            boolean exclude = token.length() > 1 && token.startsWith("-");
+            String word = (exclude ? token.substring(1) : token).replace("\"", "");
+            if (!word.isEmpty()) {
+                terms.add(new BbsSearchTermVO(word, toBigramQuery(word), exclude));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 검색어의 한글 구간을 2-gram AND 조건(tsquery)으로 변환
+     * 색인(BBS_HANGUL_BIGRAMS)은 한글 구간마다 2-gram과 마지막 글자를 담으므로 한 글자 구간은 접두 일치로 찾는다.
+     */
+    static String toBigramQuery(String word) {
+        List<String> grams = new ArrayList<>();
+        for (String run : word.split("[^\uAC00-\uD7A3]+")) {
+            if (run.length() == 1) {
+                grams.add("'" + run + "':*");
+            }
+            for (int i = 0; i + 2 <= run.length(); i++) {
+                grams.add("'" + run.substring(i, i + 2) + "'");
+            }
+        }
+        return grams.isEmpty() ? null : String.join(" & ", grams);
+    }
+
+    /**
+     * 게시글 목록 조회 (커서/Keyset 페이징)
+     * 공지여부 구간(Y → N) 순서로 커서 위치부터 pageSize + 1건을 조회하여 다음 페이지 존재 여부를 판단한다.
+     * OFFSET 없이 인덱스를 탐색하므로 페이지 깊이와 무관하게 비용이 일정하며, 총건수 조회도 생략한다.
+     * 정렬 필드(FRST_REGIST_PNTTM, NTT_ID)와 정렬 방향은 컨트롤러에서 검증된 값을 사용한다.
+     */
+    private Map<String, Object> selectBbsListByCursor(BbsSearchVO searchVO) {
+        int pageSize = searchVO.getPageSize() > 0 ? searchVO.getPageSize() : 10;
+        BbsCursor cursor = null;
+        if (searchVO.getCursor() != null && !searchVO.getCursor().trim().isEmpty()) {
+            cursor = BbsCursor.decode(searchVO.getCursor().trim());
+            if (!cursor.getSortField().equals(searchVO.getSortField()) || !cursor.getSortOrder().equals(searchVO.getSortOrder())) {
+                throw new IllegalArgumentException("커서의 정렬 조건이 요청과 일치하지 않습니다.");
+            }
+        }
+
+        try {
+            List<BbsVO> list = new ArrayList<>();
+            for (String ntceAt : NTCE_AT_SEGMENTS) {
+                // 이미 지나간 공지여부 구간 또는 검색 조건에서 제외된 구간은 건너뜀
+                if (cursor != null && ntceAt.compareTo(cursor.getNtceAt()) > 0) {
+                    continue;
+                }
+                String searchNtceAt = searchVO.getSearchNtceAt();
+                if (searchNtceAt != null && !searchNtceAt.isEmpty() && !"ALL".equals(searchNtceAt) && !ntceAt.equals(searchNtceAt)) {
+                    continue;
+                }
 
-            // 각 게시글에 첨부파일 정보 설정
-            for (BbsVO bbs : list) {
-                if (bbs.getAtchFileId() != null && !bbs.getAtchFileId().isEmpty()) {
-                    List<FileVO> fileList = fileMapper.selectFileList(bbs.getAtchFileId());
-                    bbs.setFileList(fileList);
+                searchVO.setSeekNtceAt(ntceAt);
+                if (cursor != null && ntceAt.equals(cursor.getNtceAt())) {
+                    searchVO.setSeekRegistPnttm(cursor.getFrstRegistPnttm());
+                    searchVO.setSeekNttId(cursor.getNttId());
+                } else {
+                    searchVO.setSeekRegistPnttm(null);
+                    searchVO.setSeekNttId(null);
                 }
+                searchVO.setSeekLimit(pageSize + 1 - list.size());
+                list.addAll(bbsMapper.selectBbsListByCursor(searchVO));
+
+                if (list.size() > pageSize) {
+                    break;
+                }
+            }
+
+            boolean hasNextPage = list.size() > pageSize;
+            if (hasNextPage) {
+                list = new ArrayList<>(list.subList(0, pageSize));
             }
 
-            // 총 개수 조회
-            int totalCount = bbsMapper.selectBbsListTotCnt(searchVO);
-            paginationInfo.setTotalRecordCount(totalCount);
+            attachFileLists(list);
+            list.forEach(this::applyPendingViewCount);
+
+            PaginationInfo paginationInfo = new PaginationInfo();
+            paginationInfo.setPaginationType("CURSOR");
+            paginationInfo.setRecordCountPerPage(pageSize);
+            paginationInfo.setPageSize(pageSize);
+            paginationInfo.setHasNextPage(hasNextPage);
+            if (hasNextPage) {
+                BbsVO last = list.get(list.size() - 1);
+                paginationInfo.setNextCursor(BbsCursor.from(last, searchVO.getSortField(), searchVO.getSortOrder()).encode());
+            }
 
             Map<String, Object> result = new HashMap<>();
             result.put("resultList", list);
@@ -117,61 +277,133 @@ public class BbsServiceImpl implements BbsService {
         }
     }
 
+    /**
+     * 조회수에 아직 DB에 반영되지 않은 버퍼 증가분을 더함
+     */
+    private void applyPendingViewCount(BbsVO bbs) {
+        if (bbs.getNttId() == null) {
+            return;
+        }
+        long pending = bbsViewCountService.getPendingCount(bbs.getBbsId(), bbs.getNttId());
+        if (pending > 0) {
+            bbs.setRdcnt((int) ((bbs.getRdcnt() != null ? bbs.getRdcnt() : 0) + pending));
+        }
+    }
+
+    /**
+     * 목록의 첨부파일을 한 번의 쿼리로 조회하여 각 게시글에 설정
+     * ATCH_FILE_ID는 CHAR(20) 컬럼이므로 공백을 제거한 값으로 그룹핑한다.
+     */
+    private void attachFileLists(List<BbsVO> list) {
+        Set<String> atchFileIds = new LinkedHashSet<>();
+        for (BbsVO bbs : list) {
+            if (bbs.getAtchFileId() != null && !bbs.getAtchFileId().trim().isEmpty()) {
+                atchFileIds.add(bbs.getAtchFileId().trim());
+            }
+        }
+        if (atchFileIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<FileVO>> filesByAtchFileId = new HashMap<>();
+        for (FileVO file : fileMapper.selectFileListByAtchFileIds(new ArrayList<>(atchFileIds))) {
+            filesByAtchFileId.computeIfAbsent(file.getAtchFileId().trim(), k -> new ArrayList<>()).add(file);
+        }
+
+        for (BbsVO bbs : list) {
+            if (bbs.getAtchFileId() != null && !bbs.getAtchFileId().trim().isEmpty()) {
+                bbs.setFileList(filesByAtchFileId.getOrDefault(bbs.getAtchFileId().trim(), new ArrayList<>()));
+            }
+        }
+    }
+
+    /**
+     * 게시글 상세 조회 (게시글 + 파일 구성은 상세 캐시 경유)
+     * 캐시 대기 중 커넥션을 점유하지 않도록 트랜잭션 없이 조회한다.
+     */
     @Override
-    @Transactional(readOnly = true)
     public BbsVO selectBbs(String bbsId, int nttId) {
-        // 게시물 조회
-        
+        BbsVO bbs = bbsCacheService.selectBbs(bbsId, nttId, () -> loadBbsDetail(bbsId, nttId));
+        if (bbs != null) {
+            // 아직 DB에 반영되지 않은 조회수 증가분 보정
+            applyPendingViewCount(bbs);
+        }
+        return bbs;
+    }
+
+    /**
+     * 게시글과 첨부파일 구성을 DB에서 조회 (상세 캐시 미적중 시)
+     */
+    private BbsVO loadBbsDetail(String bbsId, int nttId) {
         BbsVO bbs = bbsMapper.selectBbs(bbsId, nttId);
         
-        if (bbs != null) {
-            
-            // 첨부파일 정보 설정
-            if (bbs.getAtchFileId() != null && !bbs.getAtchFileId().isEmpty()) {
-                
-                // 1. 대표이미지 별도 조회
-                FileVO representativeImage = fileMapper.selectRepresentativeImage(bbs.getAtchFileId());
-                if (representativeImage != null) {
-                    bbs.setRepresentImageId(representativeImage.getStreFileNm());
-                    bbs.setRepresentImageName(representativeImage.getOrignlFileNm());
-                    if (bbs.getAtchFileId() != null && !bbs.getAtchFileId().trim().isEmpty()) {
-                        bbs.setRepresentImageUrl("/api/sym/bbs/images/" + bbs.getAtchFileId().trim() + "/" + representativeImage.getFileSn());
-                    } else {
-                        bbs.setRepresentImageUrl(null);
+        // 첨부파일 정보 설정 (파일 그룹 1회 조회 후 용도별 분류)
+        if (bbs != null && bbs.getAtchFileId() != null && !bbs.getAtchFileId().trim().isEmpty()) {
+            applyFileRoles(bbs, fileMapper.selectFileList(bbs.getAtchFileId().trim()));
+        }
+        return bbs;
+    }
+
+    /**
+     * 파일 그룹의 전체 파일을 용도(FILE_CN)별로 분류하여 게시글에 설정
+     * 목록은 FILE_ORDER, FILE_SN 순으로 정렬되어 있으므로 대표/메인 이미지는 첫 번째 항목을 사용한다.
+     * - REPRESENTATIVE: 대표이미지, MAIN_IMAGE: 메인화면이미지, MULTI_IMAGE: 다중이미지
+     * - 그 외(CONTENT_IMAGE 제외): 첨부파일
+     */
+    private void applyFileRoles(BbsVO bbs, List<FileVO> files) {
+        String atchFileId = bbs.getAtchFileId().trim();
+        FileVO representativeImage = null;
+        FileVO mainImage = null;
+        List<FileVO> multiImages = new ArrayList<>();
+        List<FileVO> attachments = new ArrayList<>();
+
+        for (FileVO file : files) {
+            String fileCn = file.getFileCn();
+            if (fileCn == null) {
+                continue;
+            }
+            switch (fileCn) {
+                case "REPRESENTATIVE":
+                    if (representativeImage == null) {
+                        representativeImage = file;
                     }
-                    bbs.setRepresentImageSize(representativeImage.getFileSize());
-                }
-                
-                // 2. 메인화면이미지 별도 조회
-                FileVO mainImage = fileMapper.selectMainImage(bbs.getAtchFileId());
-                if (mainImage != null) {
-                    bbs.setMainImageId(mainImage.getStreFileNm());
-                    bbs.setMainImageName(mainImage.getOrignlFileNm());
-                    if (bbs.getAtchFileId() != null && !bbs.getAtchFileId().trim().isEmpty()) {
-                        bbs.setMainImageUrl("/api/sym/bbs/images/" + bbs.getAtchFileId().trim() + "/" + mainImage.getFileSn());
-                    } else {
-                        bbs.setMainImageUrl(null);
+                    break;
+                case "MAIN_IMAGE":
+                    if (mainImage == null) {
+                        mainImage = file;
                     }
-                    bbs.setMainImageSize(mainImage.getFileSize());
-                }
+                    break;
+                case "MULTI_IMAGE":
+                    file.setFileUrl("/api/sym/bbs/images/" + atchFileId + "/" + file.getFileSn());
+                    multiImages.add(file);
+                    break;
+                case "CONTENT_IMAGE":
+                    break;
+                default:
+                    attachments.add(file);
+                    break;
+            }
+        }
 
-                // 3. 다중이미지 목록 조회
-                List<FileVO> multiImages = fileMapper.selectMultiImages(bbs.getAtchFileId());
-                if (multiImages != null) {
-                    for (FileVO img : multiImages) {
-                        if (bbs.getAtchFileId() != null && !bbs.getAtchFileId().trim().isEmpty()) {
-                            img.setFileUrl("/api/sym/bbs/images/" + bbs.getAtchFileId().trim() + "/" + img.getFileSn());
-                        }
-                    }
-                }
-                bbs.setMultiImageList(multiImages);
+        // 1. 대표이미지
+        if (representativeImage != null) {
+            bbs.setRepresentImageId(representativeImage.getStreFileNm());
+            bbs.setRepresentImageName(representativeImage.getOrignlFileNm());
+            bbs.setRepresentImageUrl("/api/sym/bbs/images/" + atchFileId + "/" + representativeImage.getFileSn());
+            bbs.setRepresentImageSize(representativeImage.getFileSize());
+        }
 
-                // 4. 첨부파일만 조회 (대표/메인/다중이미지 제외 필터는 SQL에서 처리)
-                List<FileVO> fileList = fileMapper.selectAttachmentFiles(bbs.getAtchFileId());
-                bbs.setFileList(fileList);
-            }
+        // 2. 메인화면이미지
+        if (mainImage != null) {
+            bbs.setMainImageId(mainImage.getStreFileNm());
+            bbs.setMainImageName(mainImage.getOrignlFileNm());
+            bbs.setMainImageUrl("/api/sym/bbs/images/" + atchFileId + "/" + mainImage.getFileSn());
+            bbs.setMainImageSize(mainImage.getFileSize());
         }
-        return bbs;
+
+        // 3. 다중이미지, 4. 첨부파일
+        bbs.setMultiImageList(multiImages);
+        bbs.setFileList(attachments);
     }
 
     @Override
@@ -191,7 +423,11 @@ public class BbsServiceImpl implements BbsService {
             bbsVO.setNttLikeCount(0); // 좋아요수 초기화
         }
         
-        return bbsMapper.insertBbs(bbsVO);
+        int result = bbsMapper.insertBbs(bbsVO);
+        if (result > 0) {
+            bbsCountService.onBbsInserted(bbsVO.getBbsId());
+        }
+        return result;
     }
 
     @Override
@@ -200,25 +436,42 @@ public class BbsServiceImpl implements BbsService {
         // 게시판별 특화 처리 로직 실행
         processBoardTypeSpecificLogic(bbsVO, bbsVO.getBbsId());
         
-        return bbsMapper.updateBbs(bbsVO);
+        int result = bbsMapper.updateBbs(bbsVO);
+        if (result > 0) {
+            bbsCountService.onBbsUpdated(bbsVO.getBbsId());
+            bbsCacheService.evictBbs(bbsVO.getBbsId(), bbsVO.getNttId());
+        }
+        return result;
     }
 
     @Override
     @Transactional
     public int deleteBbs(String bbsId, Long nttId) {
-        return bbsMapper.deleteBbs(bbsId, nttId);
+        int result = bbsMapper.deleteBbs(bbsId, nttId);
+        if (result > 0) {
+            bbsCountService.onBbsDeleted(bbsId);
+            bbsCacheService.evictBbs(bbsId, nttId);
+        }
+        return result;
     }
 
     @Override
     @Transactional
     public int updateBbsAtchFileId(int nttId, String atchFileId) {
-        return bbsMapper.updateBbsAtchFileId(nttId, atchFileId);
+        int result = bbsMapper.updateBbsAtchFileId(nttId, atchFileId);
+        if (result > 0) {
+            bbsCacheService.evictBbsByNttId(nttId);
+        }
+        return result;
     }
 
+    /**
+     * 조회수 증가 (조회수 버퍼에 누적 후 주기적으로 일괄 반영)
+     */
     @Override
-    @Transactional
     public int updateRdcnt(String bbsId, int nttId) {
-        return bbsMapper.updateRdcnt(bbsId, nttId);
+        bbsViewCountService.increment(bbsId, nttId);
+        return 1;
     }
 
     /**
@@ -227,8 +480,8 @@ public class BbsServiceImpl implements BbsService {
      */
     private void processBoardTypeSpecificLogic(BbsVO bbsVO, String bbsId) {
         try {
-            // 1. 게시판 마스터 정보 조회
-            BbsMstVO bbsMst = bbsMapper.selectBbsMst(bbsId);
+            // 1. 게시판 마스터 정보 조회 (캐시)
+            BbsMstVO bbsMst = bbsCacheService.selectBbsMst(bbsId);
             if (bbsMst == null) {
                 // 게시판 마스터 정보 없음
                 return;
@@ -0,0 +1,256 @@
+package egovframework.survey.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.service.BbsViewCountListener;
+import egovframework.survey.service.BbsViewCountService;
+import egovframework.survey.vo.BbsViewCountVO;
+
+/**
+ * 게시글 조회수 버퍼 서비스 구현 (Write-behind)
+ * - 조회 시: (게시판ID, 게시글ID)별 LongAdder에 누적 (행 잠금·WAL 기록 없음)
+ * - 주기 반영: UPDATE ... FROM (VALUES ...) 한 문장으로 여러 게시글을 일괄 반영, 종료 시에도 반영
+ * - 조회수 조회: DB 값에 미반영 증가분(누적 중 + 반영 중)을 더해 단조 증가하도록 보정
+ *   수거한 증가분은 누적값에서 빼기 전에 반영 중으로 옮기고(옮기는 동안 조회는 이동 전후 값만 읽도록 순번으로 확인),
+ *   반영 실패분은 반영 중에 둔 채 다음 주기에 재시도하여 미반영 증가분이 일시적으로 줄거나 이중으로 더해지지 않도록 한다.
+ */
+@Service
+public class BbsViewCountServiceImpl implements BbsViewCountService {
+
+    /** 제거된 LongAdder의 늦은 증가분을 회수하는 기간(ms) */
+    private static final long RETIRED_GRACE_MILLIS = 60_000;
+
+    @Autowired
+    private BbsMapper bbsMapper;
+
+    /** 반영 완료 통지 대상 (게시글 상세 캐시 등) */
+    @Autowired(required = false)
+    private List<BbsViewCountListener> listeners = new ArrayList<>();
+
+    @Value("${bbs.view-count.batch-size:500}")
+    private int batchSize;
+
+    /** 누적 중인 증가분 */
+    private final Map<ViewCountKey, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /** DB 반영 중인 증가분 (반영 완료 전까지 조회수 보정에 포함) */
+    private final Map<ViewCountKey, Long> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 유휴 상태로 맵에서 제거된 LongAdder (제거 시각)
+     * 제거 직전에 가져간 스레드의 늦은 증가분을 유예 시간 동안 매 반영 때 회수한다.
+     * (한 번만 회수하면 두 반영 주기 사이에 늦게 더해진 증가분이 유실될 수 있음)
+     */
+    private final List<RetiredCounter> retired = new ArrayList<>();
+
+    /** 누적 → 반영 중 이동 순번 (이동 중 홀수, 조회는 같은 짝수 순번 사이에 읽은 값만 사용) */
+    private final AtomicLong moveSeq = new AtomicLong();
+
+    /** 반영 실패 후 반영 중 상태로 남겨 둔 증가분 (다음 반영 때 재시도) */
+    private Map<ViewCountKey, Long> failed = new HashMap<>();
+
+    @Override
+    public void increment(String bbsId, long nttId) {
+        counters.computeIfAbsent(new ViewCountKey(bbsId, nttId), k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public long getPendingCount(String bbsId, long nttId) {
+        ViewCountKey key = new ViewCountKey(bbsId, nttId);
+        while (true) {
+            long seq = moveSeq.get();
+            if ((seq & 1) == 0) {
+                LongAdder adder = counters.get(key);
+                long pending = (adder != null ? adder.sum() : 0L) + inFlight.getOrDefault(key, 0L);
+                if (moveSeq.get() == seq) {
+                    return pending;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bbs.view-count.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        System.out.println("종료 전 조회수 버퍼 반영: " + flushed + "건");
+    }
+
+    @Override
+    public synchronized int flush() {
+        // 0. 직전 반영 실패분 (이미 반영 중에 포함)
+        Map<ViewCountKey, Long> deltas = failed;
+        failed = new HashMap<>();
+
+        // 1. 제거된 LongAdder의 늦은 증가분 회수 (유예 시간이 지난 항목은 마지막으로 회수 후 정리)
+        long now = System.currentTimeMillis();
+        for (Iterator<RetiredCounter> it = retired.iterator(); it.hasNext(); ) {
+            RetiredCounter counter = it.next();
+            collect(counter.key, counter.adder, deltas);
+            if (now - counter.retiredAt > RETIRED_GRACE_MILLIS) {
+                it.remove();
+            }
+        }
+
+        // 2. 누적 증가분 수거 (sum 후 같은 값만큼 차감하므로 동시 증가분이 유실되지 않음)
+        for (Map.Entry<ViewCountKey, LongAdder> entry : counters.entrySet()) {
+            LongAdder adder = entry.getValue();
+            if (!collect(entry.getKey(), adder, deltas) && counters.remove(entry.getKey(), adder)) {
+                // 한 주기 동안 조회가 없던 게시글은 맵에서 제거
+                retired.add(new RetiredCounter(entry.getKey(), adder, now));
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        // 3. 게시글ID 순으로 정렬하여 일정한 잠금 순서로 배치 반영
+        List<BbsViewCountVO> items = new ArrayList<>();
+        deltas.forEach((key, delta) -> items.add(new BbsViewCountVO(key.bbsId, key.nttId, delta)));
+        items.sort(Comparator.comparing(BbsViewCountVO::getNttId));
+
+        int flushed = 0;
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<BbsViewCountVO> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            notifyFlushing(chunk);
+            try {
+                bbsMapper.updateRdcntBatch(chunk);
+                flushed += chunk.size();
+            } catch (Exception e) {
+                // 반영 실패분은 반영 중 상태로 두고 다음 주기에 재시도 (조회수 보정값 유지)
+                System.err.println("조회수 일괄 반영 실패 (" + chunk.size() + "건): " + e.getMessage());
+                for (BbsViewCountVO item : chunk) {
+                    failed.merge(new ViewCountKey(item.getBbsId(), item.getNttId()), item.getDelta(), Long::sum);
+                }
+                notifyFlushFailed(chunk);
+                continue;
+            }
+            // 게시글별로 통지(캐시 조회수 보정)와 반영 중 증가분 차감을 한 단계로 처리
+            // (통지 전에 빼면 캐시 값이 낮게, 커밋 후 새로 읽은 값에 반영 중 증가분이 남으면 이중으로 보임)
+            for (BbsViewCountVO item : chunk) {
+                inFlight.compute(new ViewCountKey(item.getBbsId(), item.getNttId()), (k, v) -> {
+                    notifyFlushed(item);
+                    long rest = (v != null ? v : 0L) - item.getDelta();
+                    return rest == 0 ? null : rest;
+                });
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * LongAdder의 증가분을 반영 중으로 옮긴 뒤 같은 값만큼 차감 (옮기는 동안 미반영 증가분이 줄어들지 않음)
+     * @return 증가분이 있었는지
+     */
+    private boolean collect(ViewCountKey key, LongAdder adder, Map<ViewCountKey, Long> deltas) {
+        long delta = adder.sum();
+        if (delta == 0) {
+            return false;
+        }
+        moveSeq.incrementAndGet();
+        try {
+            inFlight.merge(key, delta, Long::sum);
+            adder.add(-delta);
+        } finally {
+            moveSeq.incrementAndGet();
+        }
+        deltas.merge(key, delta, Long::sum);
+        return true;
+    }
+
+    private void notifyFlushing(List<BbsViewCountVO> chunk) {
+        for (BbsViewCountListener listener : listeners) {
+            for (BbsViewCountVO item : chunk) {
+                try {
+                    listener.onViewCountFlushing(item.getBbsId(), item.getNttId());
+                } catch (Exception e) {
+                    System.err.println("조회수 반영 시작 통지 실패: " + item.getBbsId() + "/" + item.getNttId() + " - " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void notifyFlushed(BbsViewCountVO item) {
+        for (BbsViewCountListener listener : listeners) {
+            try {
+                listener.onViewCountFlushed(item.getBbsId(), item.getNttId(), item.getDelta());
+            } catch (Exception e) {
+                System.err.println("조회수 반영 통지 실패: " + item.getBbsId() + "/" + item.getNttId() + " - " + e.getMessage());
+            }
+        }
+    }
+
+    private void notifyFlushFailed(List<BbsViewCountVO> chunk) {
+        for (BbsViewCountListener listener : listeners) {
+            for (BbsViewCountVO item : chunk) {
+                try {
+                    listener.onViewCountFlushFailed(item.getBbsId(), item.getNttId());
+                } catch (Exception e) {
+                    System.err.println("조회수 반영 실패 통지 실패: " + item.getBbsId() + "/" + item.getNttId() + " - " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class RetiredCounter {
+        private final ViewCountKey key;
+        private final LongAdder adder;
+        private final long retiredAt;
+
+        private RetiredCounter(ViewCountKey key, LongAdder adder, long retiredAt) {
+            this.key = key;
+            this.adder = adder;
+            this.retiredAt = retiredAt;
+        }
+    }
+
+    private static final class ViewCountKey {
+        private final String bbsId;
+        private final long nttId;
+
+        private ViewCountKey(String bbsId, long nttId) {
+            this.bbsId = bbsId;
+            this.nttId = nttId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ViewCountKey)) {
+                return false;
+            }
+            ViewCountKey other = (ViewCountKey) o;
+            return nttId == other.nttId && Objects.equals(bbsId, other.bbsId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bbsId, nttId);
+        }
+    }
+}
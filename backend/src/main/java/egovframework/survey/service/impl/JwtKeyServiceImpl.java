@@ -0,0 +1,311 @@
+package egovframework.survey.service.impl;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import egovframework.survey.mapper.JwtKeyMapper;
+import egovframework.survey.service.JwtKeyService;
+import egovframework.survey.vo.JwtKeyVO;
+
+/**
+ * JWT 비대칭 서명 키 서비스 구현 (ES256, P-256)
+ * - 키 목록을 읽을 때 공개키를 모두 파싱하고 현재 서명 키의 개인키만 복호화하여 불변 스냅샷(KeyRing)으로 교체
+ * - 서명 키: 활성화 시각이 지난 키 중 가장 최근 키 (DB·노드 시각 차이로 활성 키가 없으면 가장 오래된 키)
+ * - 이전 키는 다음 키가 활성화된 뒤 (액세스 토큰 유효시간 + 겹침 구간)이 지나면 JWKS·검증에서 빼고 삭제
+ * - 새 키 등록은 advisory lock을 잡은 트랜잭션 안에서 주기 조건을 다시 확인하므로 노드가 여럿이어도 주기당 1건
+ * - 모르는 kid는 다른 노드가 막 만든 키일 수 있으므로 DB를 다시 읽되, 임의 kid로 DB를 두드리지 않도록 간격을 둠
+ */
+@Service
+public class JwtKeyServiceImpl implements JwtKeyService {
+
+    static final String ALGORITHM_ES256 = "ES256";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    @Autowired
+    private JwtKeyMapper jwtKeyMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.signing.algorithm:HS256}")
+    private String algorithm;
+
+    @Value("${jwt.secret:egovframe!@#}")
+    private String secret;
+
+    @Value("${jwt.expiration:86400}")
+    private long tokenTtlSeconds;
+
+    @Value("${jwt.signing.rotation-days:30}")
+    private long rotationDays;
+
+    @Value("${jwt.signing.prepublish-minutes:60}")
+    private long prepublishMinutes;
+
+    @Value("${jwt.signing.overlap-minutes:10}")
+    private long overlapMinutes;
+
+    @Value("${jwt.signing.unknown-kid-reload-ms:10000}")
+    private long unknownKidReloadMs;
+
+    private volatile KeyRing ring = KeyRing.EMPTY;
+
+    private final AtomicLong lastReload = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        try {
+            rotate();
+        } catch (Exception e) {
+            // DB 준비 전이면 첫 서명 또는 다음 주기에 다시 시도
+            System.err.println("JWT 서명 키 초기화 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isAsymmetric() {
+        return ALGORITHM_ES256.equalsIgnoreCase(algorithm);
+    }
+
+    @Override
+    public SigningKey getSigningKey() {
+        SigningKey signing = ring.signing;
+        if (signing == null) {
+            rotate();
+            signing = ring.signing;
+            if (signing == null) {
+                throw new IllegalStateException("JWT 서명 키를 준비할 수 없습니다.");
+            }
+        }
+        return signing;
+    }
+
+    @Override
+    public PublicKey getPublicKey(String kid) {
+        if (kid == null || !isAsymmetric()) {
+            return null;
+        }
+        PublicKey key = ring.publicKeys.get(kid);
+        if (key == null) {
+            long now = System.currentTimeMillis();
+            long last = lastReload.get();
+            if (now - last >= unknownKidReloadMs && lastReload.compareAndSet(last, now)) {
+                try {
+                    reload();
+                } catch (Exception e) {
+                    System.err.println("JWT 서명 키 재조회 실패: " + e.getMessage());
+                }
+                key = ring.publicKeys.get(kid);
+            }
+        }
+        return key;
+    }
+
+    @Override
+    public List<Map<String, Object>> getJwks() {
+        return ring.jwks;
+    }
+
+    /**
+     * 키 목록 동기화, 교체 주기가 되면 새 키 등록, 보관 기간이 지난 키 삭제
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval-ms:300000}", initialDelayString = "${jwt.signing.refresh-interval-ms:300000}")
+    public synchronized void rotate() {
+        if (!isAsymmetric()) {
+            return;
+        }
+        List<String> retired = reload();
+
+        LocalDateTime latest = ring.latestActiveDt;
+        if (latest == null || latest.isBefore(LocalDateTime.now().minusDays(rotationDays))) {
+            JwtKeyVO key = newKey();
+            Integer inserted = transactionTemplate.execute(status -> {
+                jwtKeyMapper.lockJwtKeyRotation();
+                return jwtKeyMapper.insertJwtKeyIfDue(key, rotationDays * 86400, prepublishMinutes * 60);
+            });
+            if (inserted != null && inserted > 0) {
+                System.out.println("JWT 서명 키 생성 (활성화 예정, 먼저 JWKS에 공개)");
+                retired = reload();
+            }
+        }
+
+        for (String kid : retired) {
+            jwtKeyMapper.deleteJwtKey(kid);
+            System.out.println("보관 기간이 지난 JWT 서명 키 삭제: " + kid);
+        }
+    }
+
+    /**
+     * DB 키 목록으로 스냅샷 교체, 보관 기간이 지난 키ID 반환
+     */
+    private synchronized List<String> reload() {
+        List<JwtKeyVO> rows = jwtKeyMapper.selectJwtKeyList(ALGORITHM_ES256);
+        LocalDateTime now = LocalDateTime.now();
+
+        int signingIndex = -1;
+        for (int i = 0; i < rows.size(); i++) {
+            if (!rows.get(i).getActiveDt().isAfter(now)) {
+                signingIndex = i;
+            }
+        }
+        if (signingIndex < 0 && !rows.isEmpty()) {
+            signingIndex = 0;
+        }
+
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        List<String> retired = new ArrayList<>();
+        SigningKey signing = null;
+        LocalDateTime latestActiveDt = null;
+
+        for (int i = 0; i < rows.size(); i++) {
+            JwtKeyVO row = rows.get(i);
+            latestActiveDt = row.getActiveDt();
+            if (i < signingIndex && rows.get(i + 1).getActiveDt()
+                    .plusSeconds(tokenTtlSeconds).plusMinutes(overlapMinutes).isBefore(now)) {
+                retired.add(row.getKid());
+                continue;
+            }
+            try {
+                PublicKey publicKey = KeyFactory.getInstance("EC")
+                        .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(row.getPublicKey())));
+                publicKeys.put(row.getKid(), publicKey);
+                jwks.add(toJwk(row.getKid(), (ECPublicKey) publicKey));
+                if (i == signingIndex) {
+                    PrivateKey privateKey = KeyFactory.getInstance("EC")
+                            .generatePrivate(new PKCS8EncodedKeySpec(decrypt(row.getPrivateKey())));
+                    signing = new SigningKey(row.getKid(), privateKey);
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                // jwt.secret이 바뀌어 복호화할 수 없는 키 등은 건너뜀
+                System.err.println("JWT 서명 키를 읽을 수 없습니다: " + row.getKid() + " - " + e.getMessage());
+            }
+        }
+
+        ring = new KeyRing(signing, publicKeys, jwks, latestActiveDt);
+        lastReload.set(System.currentTimeMillis());
+        return retired;
+    }
+
+    JwtKeyVO newKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), RANDOM);
+            KeyPair pair = generator.generateKeyPair();
+
+            JwtKeyVO key = new JwtKeyVO();
+            key.setKid(UUID.randomUUID().toString().replace("-", ""));
+            key.setAlgorithm(ALGORITHM_ES256);
+            key.setPublicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()));
+            key.setPrivateKey(encrypt(pair.getPrivate().getEncoded()));
+            return key;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명 키를 생성할 수 없습니다.", e);
+        }
+    }
+
+    static Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM_ES256);
+        jwk.put("x", base64Url(publicKey.getW().getAffineX()));
+        jwk.put("y", base64Url(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    // 좌표값을 32바이트 부호 없는 big-endian으로 (RFC 7518)
+    static String base64Url(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private String encrypt(byte[] plain) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, wrappingKey(), new GCMParameterSpec(GCM_TAG_BITS, iv));
+        byte[] encrypted = cipher.doFinal(plain);
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                .put(iv).put(encrypted).array());
+    }
+
+    private byte[] decrypt(String stored) throws GeneralSecurityException {
+        byte[] data = Base64.getDecoder().decode(stored);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, wrappingKey(), new GCMParameterSpec(GCM_TAG_BITS, data, 0, GCM_IV_LENGTH));
+        return cipher.doFinal(data, GCM_IV_LENGTH, data.length - GCM_IV_LENGTH);
+    }
+
+    // 개인키 암호화 키 (jwt.secret에서 유도)
+    private SecretKeySpec wrappingKey() throws GeneralSecurityException {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(("opensurvey-jwt-signing-key:" + secret).getBytes(StandardCharsets.UTF_8));
+        return new SecretKeySpec(digest, "AES");
+    }
+
+    /**
+     * 키 목록 스냅샷 (불변, 요청 스레드는 잠금 없이 읽음)
+     */
+    private static final class KeyRing {
+        static final KeyRing EMPTY = new KeyRing(null, Collections.emptyMap(), Collections.emptyList(), null);
+
+        final SigningKey signing;
+        final Map<String, PublicKey> publicKeys;
+        final List<Map<String, Object>> jwks;
+        final LocalDateTime latestActiveDt;
+
+        KeyRing(SigningKey signing, Map<String, PublicKey> publicKeys, List<Map<String, Object>> jwks,
+                LocalDateTime latestActiveDt) {
+            this.signing = signing;
+            this.publicKeys = Collections.unmodifiableMap(publicKeys);
+            this.jwks = Collections.unmodifiableList(jwks);
+            this.latestActiveDt = latestActiveDt;
+        }
+    }
+}
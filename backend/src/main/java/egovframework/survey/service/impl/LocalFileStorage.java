@@ -0,0 +1,225 @@
+package egovframework.survey.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 로컬 파일시스템 저장소
+ * 키를 업로드 경로 아래 상대 경로로 사용하고, 저장·이동은 같은 파일시스템 안의 원자적 이동으로 처리한다.
+ * 업로드 경로를 벗어나는 키(../ 등)는 거부한다.
+ */
+@Service
+@ConditionalOnProperty(name = "file.storage.type", havingValue = FileStorage.TYPE_LOCAL, matchIfMissing = true)
+public class LocalFileStorage implements FileStorage {
+
+    private static final String TEMP_DIR = ".tmp";
+
+    @Value("${file.upload.path}")
+    private String uploadPath;
+
+    public LocalFileStorage() {}
+
+    public LocalFileStorage(String uploadPath) {
+        this.uploadPath = uploadPath;
+    }
+
+    @Override
+    public String getType() {
+        return TYPE_LOCAL;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        Path target = path(key);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(path(key));
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(path(key), StandardOpenOption.READ);
+        return new RegionInputStream(channel, offset, length);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(path(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(path(key));
+    }
+
+    @Override
+    public StorageObjectVO stat(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path(key), BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+            return new StorageObjectVO(key, attributes.size(), attributes.lastModifiedTime().toMillis(), false);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void move(String sourceKey, String targetKey) throws IOException {
+        Path target = path(targetKey);
+        Files.createDirectories(target.getParent());
+        Files.move(path(sourceKey), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void list(String prefix, boolean recursive, Predicate<StorageObjectVO> visitor) throws IOException {
+        int slash = prefix.lastIndexOf('/');
+        String dirKey = prefix.substring(0, slash + 1);
+        String namePrefix = prefix.substring(slash + 1);
+        Path dir = path(dirKey);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+
+        if (!recursive) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    String name = entry.getFileName().toString();
+                    if (!name.startsWith(namePrefix)) {
+                        continue;
+                    }
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        // 나열 중 이동·삭제됨
+                        continue;
+                    }
+                    StorageObjectVO object = attributes.isDirectory()
+                            ? new StorageObjectVO(dirKey + name + "/", 0, attributes.lastModifiedTime().toMillis(), true)
+                            : new StorageObjectVO(dirKey + name, attributes.size(), attributes.lastModifiedTime().toMillis(), false);
+                    if (!visitor.test(object)) {
+                        return;
+                    }
+                }
+            }
+            return;
+        }
+
+        Path root = root();
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                String key = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (!attributes.isRegularFile() || !key.startsWith(prefix)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                StorageObjectVO object = new StorageObjectVO(key, attributes.size(), attributes.lastModifiedTime().toMillis(), false);
+                return visitor.test(object) ? FileVisitResult.CONTINUE : FileVisitResult.TERMINATE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                // 나열 중 이동·삭제된 항목은 건너뜀
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public File localFile(String key) {
+        return path(key).toFile();
+    }
+
+    @Override
+    public Path getTempDirectory() throws IOException {
+        Path tempDir = root().resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+        return tempDir;
+    }
+
+    private Path root() {
+        return Paths.get(uploadPath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 키의 실제 경로 (업로드 경로를 벗어나면 거부)
+     */
+    private Path path(String key) {
+        Path root = root();
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("저장소 경로를 벗어난 키입니다: " + key);
+        }
+        return path;
+    }
+
+    /**
+     * 파일의 한 구간만 읽는 스트림
+     */
+    private static final class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+
+        private RegionInputStream(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, off, (int) Math.min(len, remaining)), position);
+            if (read <= 0) {
+                return -1;
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
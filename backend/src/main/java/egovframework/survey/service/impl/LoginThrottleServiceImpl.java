@@ -0,0 +1,216 @@
+package egovframework.survey.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.service.LoginRejectedException;
+import egovframework.survey.service.LoginThrottleService;
+
+/**
+ * 로그인 시도 횟수 제한 서비스 구현
+ * - IP별 토큰 버킷: 모든 시도를 비밀번호 검증 전에 차감 (최대 capacity회 연속, 분당 refill-per-minute개씩 회복)
+ * - (사용자ID, IP)별 토큰 버킷: 비밀번호 검증 전에는 남은 토큰만 확인하고, 검증에 실패한 경우에만 차감
+ *   (다른 IP에서 틀린 비밀번호를 보내거나 본인이 로그인에 성공해도 그 사용자의 로그인이 막히지 않음)
+ * - 버킷 생성·차감은 키별로 원자적으로 처리 (동시 첫 시도가 각자 새 버킷을 만들어 차감이 사라지지 않음)
+ * - 마지막 사용 이후 가득 찰 때까지 회복된 버킷만 정리하므로, 정리된 버킷을 새로 만들어도 가득 찬 버킷과 같다.
+ *   (생성 시각 기준 만료나 임의 제거로 차감 중인 버킷이 초기화되지 않음)
+ * - 추적 키가 max-size에 이르면 가득 찬 버킷을 정리하고, 그래도 자리가 없으면 새 키의 시도는 거절
+ * - 단일 노드 기준 (여러 노드에서는 노드 수만큼 한도가 늘어남)
+ */
+@Service
+public class LoginThrottleServiceImpl implements LoginThrottleService {
+
+    // 키로 사용할 사용자ID 최대 길이 (긴 ID를 보내 메모리를 차지하지 않도록)
+    private static final int MAX_KEY_LENGTH = 100;
+
+    // 추적 키가 가득 찼을 때 정리 최소 간격(ms) 및 새 키 거절 시 대기시간(ms)
+    private static final long FULL_SWEEP_INTERVAL_MILLIS = 1000;
+
+    @Value("${auth.login.throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login.throttle.user.capacity:10}")
+    private int userCapacity;
+
+    @Value("${auth.login.throttle.user.refill-per-minute:5}")
+    private double userRefillPerMinute;
+
+    @Value("${auth.login.throttle.ip.capacity:60}")
+    private int ipCapacity;
+
+    @Value("${auth.login.throttle.ip.refill-per-minute:60}")
+    private double ipRefillPerMinute;
+
+    @Value("${auth.login.throttle.max-size:100000}")
+    private int maxSize;
+
+    private final Map<String, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastFullSweep = new AtomicLong();
+
+    @Override
+    public void acquire(String userId, String clientIp) {
+        acquire(userId, clientIp, System.currentTimeMillis());
+    }
+
+    void acquire(String userId, String clientIp, long now) {
+        if (!enabled) {
+            return;
+        }
+        if (clientIp != null) {
+            long waitMillis = consume(ipBuckets, clientIp, ipCapacity, ipRefillPerMinute, now);
+            if (waitMillis > 0) {
+                System.out.println("로그인 시도 제한 (IP): " + clientIp);
+                throw rejected(waitMillis);
+            }
+        }
+        String key = userKey(userId, clientIp);
+        if (key != null) {
+            long waitMillis = peek(userBuckets, key, now);
+            if (waitMillis > 0) {
+                System.out.println("로그인 시도 제한 (사용자): " + key);
+                throw rejected(waitMillis);
+            }
+        }
+    }
+
+    @Override
+    public void onLoginFailed(String userId, String clientIp) {
+        onLoginFailed(userId, clientIp, System.currentTimeMillis());
+    }
+
+    void onLoginFailed(String userId, String clientIp, long now) {
+        if (!enabled) {
+            return;
+        }
+        String key = userKey(userId, clientIp);
+        if (key != null) {
+            consume(userBuckets, key, userCapacity, userRefillPerMinute, now);
+        }
+    }
+
+    /**
+     * 가득 찰 때까지 회복된 버킷 정리 (정리 대상 확인과 제거를 키별로 원자적으로 처리)
+     */
+    @Scheduled(fixedDelayString = "${auth.login.throttle.sweep-interval-ms:60000}", initialDelayString = "${auth.login.throttle.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    void sweep(long now) {
+        sweep(userBuckets, now);
+        sweep(ipBuckets, now);
+    }
+
+    // 추적 중인 키 수 (사용자ID·IP + IP)
+    int size() {
+        return userBuckets.size() + ipBuckets.size();
+    }
+
+    // 키의 버킷에서 토큰 1개 차감 (없으면 생성), 성공하면 0, 부족하면 다음 토큰까지 대기시간(ms)
+    private long consume(Map<String, TokenBucket> buckets, String key, int capacity, double refillPerMinute, long now) {
+        if (buckets.size() >= maxSize && !buckets.containsKey(key)) {
+            long last = lastFullSweep.get();
+            if (now - last >= FULL_SWEEP_INTERVAL_MILLIS && lastFullSweep.compareAndSet(last, now)) {
+                sweep(buckets, now);
+            }
+            if (buckets.size() >= maxSize) {
+                System.err.println("로그인 시도 추적 키 수 초과 (" + maxSize + "), 새 키 거절");
+                return FULL_SWEEP_INTERVAL_MILLIS;
+            }
+        }
+        long[] waitMillis = new long[1];
+        buckets.compute(key, (k, bucket) -> {
+            TokenBucket b = bucket != null ? bucket : new TokenBucket(capacity, refillPerMinute, now);
+            waitMillis[0] = b.tryConsume(now);
+            return b;
+        });
+        return waitMillis[0];
+    }
+
+    // 키의 버킷에 남은 토큰 확인 (차감·생성 없음), 있으면 0, 부족하면 다음 토큰까지 대기시간(ms)
+    private static long peek(Map<String, TokenBucket> buckets, String key, long now) {
+        long[] waitMillis = new long[1];
+        buckets.computeIfPresent(key, (k, bucket) -> {
+            waitMillis[0] = bucket.waitMillis(now);
+            return bucket;
+        });
+        return waitMillis[0];
+    }
+
+    // 사용자 버킷 키 (사용자ID·IP, 긴 ID는 잘라서 사용)
+    private static String userKey(String userId, String clientIp) {
+        if (userId == null || userId.isEmpty()) {
+            return null;
+        }
+        String id = userId.length() > MAX_KEY_LENGTH ? userId.substring(0, MAX_KEY_LENGTH) : userId;
+        return id + "@" + (clientIp != null ? clientIp : "");
+    }
+
+    private static void sweep(Map<String, TokenBucket> buckets, long now) {
+        for (String key : buckets.keySet()) {
+            buckets.computeIfPresent(key, (k, bucket) -> bucket.isFull(now) ? null : bucket);
+        }
+    }
+
+    private static LoginRejectedException rejected(long waitMillis) {
+        return new LoginRejectedException("로그인 시도 횟수를 초과했습니다. 잠시 후 다시 시도해주세요.",
+                (waitMillis + 999) / 1000);
+    }
+
+    /**
+     * 토큰 버킷 (마지막 확인 시각 기준으로 경과 시간만큼 토큰 회복, 키별 compute 안에서만 접근)
+     */
+    static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerMillis;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, double refillPerMinute, long now) {
+            this.capacity = Math.max(1, capacity);
+            this.refillPerMillis = refillPerMinute / 60_000.0;
+            this.tokens = this.capacity;
+            this.lastRefill = now;
+        }
+
+        // 토큰 1개 차감, 성공하면 0, 부족하면 다음 토큰까지 대기시간(ms)
+        long tryConsume(long now) {
+            long waitMillis = waitMillis(now);
+            if (waitMillis == 0) {
+                tokens -= 1;
+            }
+            return waitMillis;
+        }
+
+        // 토큰 1개가 남아 있으면 0, 부족하면 다음 토큰까지 대기시간(ms)
+        long waitMillis(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                return 0;
+            }
+            if (refillPerMillis <= 0) {
+                return 60_000;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerMillis));
+        }
+
+        // 마지막 사용 이후 가득 찰 때까지 회복되었는지 (정리해도 새 버킷과 같음)
+        boolean isFull(long now) {
+            return tokens + Math.max(0, now - lastRefill) * refillPerMillis >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerMillis);
+                lastRefill = now;
+            }
+        }
+    }
+}
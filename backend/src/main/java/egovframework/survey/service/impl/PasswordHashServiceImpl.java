@@ -0,0 +1,98 @@
+package egovframework.survey.service.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.service.LoginRejectedException;
+import egovframework.survey.service.PasswordHashService;
+
+/**
+ * 비밀번호 해시 검증 서비스 구현
+ * - 작업 스레드 수(기본: CPU 코어 수의 절반)만큼만 BCrypt를 동시에 계산
+ * - 대기 큐가 가득 차면 큐에 넣지 않고 바로 거절 (요청 스레드가 대기열에 쌓이지 않음)
+ * - 요청 스레드는 wait-ms까지만 결과를 기다리고, 시간이 지나면 작업을 취소하여 아직 시작 전이면 계산하지 않음
+ */
+@Service
+public class PasswordHashServiceImpl implements PasswordHashService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${auth.login.hash.workers:0}")
+    private int workers;
+
+    @Value("${auth.login.hash.queue-size:64}")
+    private int queueSize;
+
+    @Value("${auth.login.hash.wait-ms:3000}")
+    private long waitMs;
+
+    @Value("${auth.login.hash.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        Future<Boolean> task;
+        try {
+            task = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            System.out.println("로그인 비밀번호 검증 대기 큐 포화, 요청 거절 (대기 " + executor.getQueue().size() + "건)");
+            throw overloaded();
+        }
+        try {
+            return task.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(false);
+            System.out.println("로그인 비밀번호 검증 대기시간 초과, 요청 거절");
+            throw overloaded();
+        } catch (InterruptedException e) {
+            task.cancel(false);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("비밀번호 검증 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    private LoginRejectedException overloaded() {
+        return new LoginRejectedException("로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,180 @@
+package egovframework.survey.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import egovframework.survey.mapper.TokenMapper;
+import egovframework.survey.service.RefreshTokenService;
+import egovframework.survey.service.TokenRevocationService;
+import egovframework.survey.vo.RefreshTokenVO;
+
+/**
+ * 리프레시 토큰 서비스 구현
+ * - 토큰 형식: 토큰ID(32자) + "." + 비밀값(32바이트 Base64URL), DB에는 비밀값의 SHA-256만 저장
+ * - 교체는 토큰 행을 잠근 상태에서 처리하므로 같은 토큰의 동시 교체는 한 건만 성공
+ * - 이미 교체된 토큰의 재사용은 세션 전체를 폐기하되, 교체 후 유예 시간 안의 재사용은
+ *   여러 탭이 같은 토큰으로 동시에 갱신한 경우로 보고 같은 세션의 새 토큰을 발급 (폐기된 세션은 제외)
+ */
+@Service
+@Transactional
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private TokenMapper tokenMapper;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${auth.refresh-token.ttl-seconds:1209600}")
+    private long ttlSeconds;
+
+    @Value("${auth.refresh-token.retention-days:7}")
+    private long retentionDays;
+
+    @Value("${auth.refresh-token.reuse-grace-seconds:30}")
+    private long reuseGraceSeconds;
+
+    @Override
+    public IssuedToken issue(String emplyrId) {
+        return create(newId(), emplyrId);
+    }
+
+    @Override
+    public IssuedToken rotate(String refreshToken) {
+        RefreshTokenVO current = findValid(refreshToken);
+        if (current == null) {
+            return null;
+        }
+        if (current.getRevokeDt() == null && isWithinReuseGrace(current)) {
+            // 교체 직후 다른 탭의 동시 갱신: 세션을 유지하고 같은 세션의 토큰 발급
+            System.out.println("리프레시 토큰 유예 시간 내 재사용, 같은 세션으로 발급: " + current.getFamilyId());
+            return create(current.getFamilyId(), current.getEmplyrId());
+        }
+        if (current.getRevokeDt() != null || current.getReplacedBy() != null) {
+            // 이미 사용된 토큰 재사용: 탈취 가능성이 있으므로 세션 전체 폐기
+            System.out.println("리프레시 토큰 재사용 감지, 세션 폐기: " + current.getFamilyId());
+            revokeFamily(current.getFamilyId());
+            return null;
+        }
+        if (current.getExpireDt().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+
+        IssuedToken next = create(current.getFamilyId(), current.getEmplyrId());
+        tokenMapper.updateRefreshTokenReplaced(current.getTokenId(), tokenId(next.getRefreshToken()), LocalDateTime.now());
+        return next;
+    }
+
+    @Override
+    public boolean revokeSession(String refreshToken) {
+        RefreshTokenVO current = findValid(refreshToken);
+        if (current == null) {
+            return false;
+        }
+        revokeFamily(current.getFamilyId());
+        return true;
+    }
+
+    @Override
+    public void revokeUserSessions(String esntlId) {
+        for (String familyId : new LinkedHashSet<>(tokenMapper.revokeRefreshTokensByEsntlId(esntlId))) {
+            tokenRevocationService.revoke(familyId);
+        }
+    }
+
+    /**
+     * 만료 후 보관 기간이 지난 리프레시 토큰 삭제
+     */
+    @Scheduled(fixedDelayString = "${auth.token.maintenance-interval-ms:3600000}", initialDelayString = "${auth.token.maintenance-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = tokenMapper.deleteExpiredRefreshTokens(retentionDays);
+        if (deleted > 0) {
+            System.out.println("만료 리프레시 토큰 삭제: " + deleted + "건");
+        }
+    }
+
+    private IssuedToken create(String familyId, String emplyrId) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String secretText = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        RefreshTokenVO row = new RefreshTokenVO();
+        row.setTokenId(newId());
+        row.setFamilyId(familyId);
+        row.setEmplyrId(emplyrId);
+        row.setTokenHash(sha256Hex(secretText));
+        row.setExpireDt(LocalDateTime.now().plusSeconds(ttlSeconds));
+        tokenMapper.insertRefreshToken(row);
+
+        return new IssuedToken(row.getTokenId() + "." + secretText, familyId, emplyrId, ttlSeconds);
+    }
+
+    // 형식·비밀값이 맞는 토큰 행 (잠금), 아니면 null
+    private RefreshTokenVO findValid(String refreshToken) {
+        String tokenId = tokenId(refreshToken);
+        if (tokenId == null) {
+            return null;
+        }
+        RefreshTokenVO row = tokenMapper.selectRefreshTokenForUpdate(tokenId);
+        if (row == null) {
+            return null;
+        }
+        String secretText = refreshToken.substring(tokenId.length() + 1);
+        byte[] expected = row.getTokenHash().trim().getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = sha256Hex(secretText).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) ? row : null;
+    }
+
+    // 교체된 지 유예 시간이 지나지 않은 토큰인지 (만료된 토큰은 제외)
+    private boolean isWithinReuseGrace(RefreshTokenVO token) {
+        if (token.getReplacedBy() == null || token.getReplacedDt() == null || reuseGraceSeconds <= 0) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return token.getExpireDt().isAfter(now) && token.getReplacedDt().plusSeconds(reuseGraceSeconds).isAfter(now);
+    }
+
+    private void revokeFamily(String familyId) {
+        tokenMapper.revokeRefreshTokenFamily(familyId);
+        tokenRevocationService.revoke(familyId);
+    }
+
+    private static String tokenId(String refreshToken) {
+        if (refreshToken == null) {
+            return null;
+        }
+        int dot = refreshToken.indexOf('.');
+        return dot == 32 && refreshToken.length() > dot + 1 ? refreshToken.substring(0, dot) : null;
+    }
+
+    private static String newId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.US_ASCII));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
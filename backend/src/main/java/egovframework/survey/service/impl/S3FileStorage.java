@@ -0,0 +1,416 @@
+package egovframework.survey.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.vo.StorageObjectVO;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * S3 호환 객체 저장소 (AWS S3, MinIO 등)
+ * - 연결: Apache HTTP 클라이언트 연결 풀 (노드별 최대 연결 수 제한)
+ * - 저장: multipart-threshold 미만은 단일 PUT, 이상은 멀티파트 업로드로 파트를 업로드 스레드 풀에서 병렬 전송
+ *   파트는 임시파일의 구간을 매번 새로 열어 읽으므로 재시도 시에도 메모리에 올리지 않는다.
+ *   실패하면 멀티파트 업로드를 중단하여 불완전한 파트가 남지 않게 한다.
+ * - 키: key-prefix + 저장소 키 (여러 환경이 한 버킷을 나눠 쓸 수 있음)
+ * - MinIO 등은 endpoint와 path-style-access=true로 연결한다.
+ */
+@Service
+@ConditionalOnProperty(name = "file.storage.type", havingValue = FileStorage.TYPE_S3)
+public class S3FileStorage implements FileStorage {
+
+    /** S3 멀티파트 최소 파트 크기 (마지막 파트 제외) */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    @Value("${file.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${file.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${file.storage.s3.bucket:opensurvey}")
+    private String bucket;
+
+    @Value("${file.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${file.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${file.storage.s3.path-style-access:true}")
+    private boolean pathStyleAccess;
+
+    @Value("${file.storage.s3.key-prefix:}")
+    private String keyPrefix;
+
+    @Value("${file.storage.s3.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${file.storage.s3.connection-timeout-ms:5000}")
+    private long connectionTimeoutMs;
+
+    @Value("${file.storage.s3.socket-timeout-ms:30000}")
+    private long socketTimeoutMs;
+
+    @Value("${file.storage.s3.multipart-threshold:16777216}")
+    private long multipartThreshold;
+
+    @Value("${file.storage.s3.part-size:8388608}")
+    private long partSize;
+
+    @Value("${file.storage.s3.upload-threads:4}")
+    private int uploadThreads;
+
+    @Value("${file.storage.temp-path:${java.io.tmpdir}/opensurvey-upload}")
+    private String tempPath;
+
+    private S3Client s3;
+    private ExecutorService partExecutor;
+
+    @PostConstruct
+    public void init() {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build())
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                        .socketTimeout(Duration.ofMillis(socketTimeoutMs)));
+        if (endpoint != null && !endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        s3 = builder.build();
+
+        AtomicInteger sequence = new AtomicInteger();
+        partExecutor = Executors.newFixedThreadPool(Math.max(1, uploadThreads), runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        System.out.println("S3 저장소 연결: " + (endpoint != null && !endpoint.isEmpty() ? endpoint : region) + "/" + bucket
+                + (keyPrefix.isEmpty() ? "" : "/" + keyPrefix));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdownNow();
+        s3.close();
+    }
+
+    @Override
+    public String getType() {
+        return TYPE_S3;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        long size = Files.size(source);
+        try {
+            if (size < Math.max(multipartThreshold, MIN_PART_SIZE)) {
+                s3.putObject(PutObjectRequest.builder().bucket(bucket).key(objectKey(key)).contentLength(size).build(),
+                        RequestBody.fromFile(source));
+                return;
+            }
+            putMultipart(objectKey(key), source, size);
+        } catch (SdkException e) {
+            throw new IOException("S3 저장 실패: " + key + " - " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return getObject(key, GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) throws IOException {
+        String range = "bytes=" + offset + "-" + (offset + length - 1);
+        return getObject(key, GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).range(range).build());
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+        } catch (SdkException e) {
+            throw new IOException("S3 삭제 실패: " + key + " - " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return stat(key) != null;
+    }
+
+    @Override
+    public StorageObjectVO stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+            return new StorageObjectVO(key, head.contentLength(),
+                    head.lastModified() != null ? head.lastModified().toEpochMilli() : 0, false);
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw new IOException("S3 조회 실패: " + key + " - " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new IOException("S3 조회 실패: " + key + " - " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void move(String sourceKey, String targetKey) throws IOException {
+        try {
+            s3.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucket).sourceKey(objectKey(sourceKey))
+                    .destinationBucket(bucket).destinationKey(objectKey(targetKey))
+                    .build());
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(sourceKey)).build());
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(sourceKey);
+        } catch (SdkException e) {
+            throw new IOException("S3 이동 실패: " + sourceKey + " → " + targetKey + " - " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void list(String prefix, boolean recursive, Predicate<StorageObjectVO> visitor) throws IOException {
+        ListObjectsV2Request.Builder request = ListObjectsV2Request.builder().bucket(bucket).prefix(objectKey(prefix));
+        if (!recursive) {
+            request.delimiter("/");
+        }
+        try {
+            for (ListObjectsV2Response page : s3.listObjectsV2Paginator(request.build())) {
+                for (CommonPrefix common : page.commonPrefixes()) {
+                    if (!visitor.test(new StorageObjectVO(storageKey(common.prefix()), 0, 0, true))) {
+                        return;
+                    }
+                }
+                for (S3Object object : page.contents()) {
+                    StorageObjectVO item = new StorageObjectVO(storageKey(object.key()), object.size(),
+                            object.lastModified() != null ? object.lastModified().toEpochMilli() : 0, false);
+                    if (!visitor.test(item)) {
+                        return;
+                    }
+                }
+            }
+        } catch (SdkException e) {
+            throw new IOException("S3 목록 조회 실패: " + prefix + " - " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public File localFile(String key) {
+        return null;
+    }
+
+    @Override
+    public Path getTempDirectory() throws IOException {
+        Path tempDir = Paths.get(tempPath);
+        Files.createDirectories(tempDir);
+        return tempDir;
+    }
+
+    /**
+     * 멀티파트 병렬 업로드 (파트 번호순으로 완료 요청, 하나라도 실패하면 업로드 중단)
+     */
+    private void putMultipart(String objectKey, Path source, long size) throws IOException {
+        String uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder().bucket(bucket).key(objectKey).build())
+                .uploadId();
+        long effectivePartSize = Math.max(partSize, MIN_PART_SIZE);
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += effectivePartSize, partNumber++) {
+                long partOffset = offset;
+                long partLength = Math.min(effectivePartSize, size - offset);
+                int number = partNumber;
+                futures.add(partExecutor.submit(() -> uploadPart(objectKey, uploadId, number, source, partOffset, partLength)));
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(futures.size());
+            for (Future<CompletedPart> future : futures) {
+                parts.add(future.get());
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket).key(objectKey).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(objectKey, uploadId, futures);
+            throw new InterruptedIOException("S3 멀티파트 업로드 중단: " + objectKey);
+        } catch (ExecutionException e) {
+            abort(objectKey, uploadId, futures);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IOException("S3 멀티파트 업로드 실패: " + objectKey + " - " + cause.getMessage(), cause);
+        } catch (RuntimeException e) {
+            abort(objectKey, uploadId, futures);
+            throw e;
+        }
+    }
+
+    private CompletedPart uploadPart(String objectKey, String uploadId, int partNumber, Path source, long offset, long length) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket).key(objectKey).uploadId(uploadId)
+                .partNumber(partNumber).contentLength(length)
+                .build();
+        // 재시도마다 구간을 새로 열어 읽음
+        RequestBody body = RequestBody.fromContentProvider(() -> openRegion(source, offset, length), length,
+                "application/octet-stream");
+        String eTag = s3.uploadPart(request, body).eTag();
+        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+    }
+
+    private void abort(String objectKey, String uploadId, List<Future<CompletedPart>> futures) {
+        for (Future<CompletedPart> future : futures) {
+            future.cancel(true);
+        }
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(objectKey).uploadId(uploadId).build());
+        } catch (SdkException e) {
+            System.err.println("S3 멀티파트 업로드 중단 요청 실패: " + objectKey + " - " + e.getMessage());
+        }
+    }
+
+    private static InputStream openRegion(Path source, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+            channel.position(offset);
+            return new LimitedInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException e) {
+            throw new IllegalStateException("업로드 파트를 읽을 수 없습니다: " + source + " - " + e.getMessage(), e);
+        }
+    }
+
+    private InputStream getObject(String key, GetObjectRequest request) throws IOException {
+        try {
+            return s3.getObject(request);
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (SdkException e) {
+            throw new IOException("S3 읽기 실패: " + key + " - " + e.getMessage(), e);
+        }
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
+        if (accessKey != null && !accessKey.isEmpty()) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+        // 키를 설정하지 않으면 환경변수·인스턴스 프로파일 등 기본 순서로 확인
+        return DefaultCredentialsProvider.create();
+    }
+
+    private String objectKey(String key) {
+        return keyPrefix.isEmpty() ? key : keyPrefix + "/" + key;
+    }
+
+    private String storageKey(String objectKey) {
+        return keyPrefix.isEmpty() ? objectKey : objectKey.substring(keyPrefix.length() + 1);
+    }
+
+    /**
+     * 정해진 길이까지만 읽는 스트림
+     */
+    private static final class LimitedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long length) {
+            this.in = in;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package egovframework.survey.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import egovframework.survey.mapper.TokenMapper;
+import egovframework.survey.service.TokenRevocationService;
+import egovframework.survey.util.BloomFilter;
+import egovframework.survey.util.JwtUtil;
+import egovframework.survey.util.TransactionUtil;
+import egovframework.survey.vo.RevokedTokenVO;
+
+/**
+ * 토큰(세션) 폐기 목록 서비스 구현
+ * - 정확한 집합: 세션ID → 메모리 보관 만료 시각 (폐기 후 액세스 토큰 유효시간이 지나면 더 확인할 필요 없음)
+ * - Bloom 필터: 폐기되지 않은 세션(대부분의 요청)은 정확한 집합을 보지 않고 비트 확인만으로 통과
+ * - 증분 동기화: 마지막으로 본 폐기일시 이후 행만 조회 (늦게 커밋된 행을 놓치지 않도록 겹침 구간을 두고 재조회)
+ * - 만료 항목을 정리하면 Bloom 필터를 남은 항목으로 다시 만들어 교체 (필터는 삭제를 지원하지 않음)
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final LocalDateTime INITIAL_SINCE = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired
+    private TokenMapper tokenMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${auth.token.revocation.expected-size:100000}")
+    private int expectedSize;
+
+    @Value("${auth.token.revocation.fpp:0.01}")
+    private double fpp;
+
+    @Value("${auth.token.revocation.sync-overlap-seconds:60}")
+    private long syncOverlapSeconds;
+
+    /** 폐기된 세션ID → 메모리 보관 만료 시각(ms) */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    /** 마지막으로 동기화한 폐기일시 (DB 시각) */
+    private LocalDateTime lastRevokeDt = INITIAL_SINCE;
+
+    @PostConstruct
+    public void init() {
+        filter = new BloomFilter(expectedSize, fpp);
+        try {
+            sync();
+        } catch (Exception e) {
+            // DB 준비 전이면 다음 동기화 주기에 전체 적재
+            System.err.println("폐기 토큰 초기 적재 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void revoke(String tokenId) {
+        long ttlMillis = jwtUtil.getExpirationTime() * 1000;
+        tokenMapper.insertRevokedToken(tokenId, LocalDateTime.now().plusSeconds(jwtUtil.getExpirationTime()));
+        TransactionUtil.runAfterCommit(() -> add(tokenId, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * 다른 노드의 폐기 반영 (증분) 및 만료 항목 정리
+     */
+    @Scheduled(fixedDelayString = "${auth.token.revocation.sync-interval-ms:5000}", initialDelayString = "${auth.token.revocation.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        LocalDateTime since = INITIAL_SINCE.equals(lastRevokeDt)
+                ? lastRevokeDt : lastRevokeDt.minusSeconds(syncOverlapSeconds);
+        List<RevokedTokenVO> rows = tokenMapper.selectRevokedTokensSince(since);
+        long expiresAt = System.currentTimeMillis() + jwtUtil.getExpirationTime() * 1000;
+        for (RevokedTokenVO row : rows) {
+            add(row.getTokenId(), expiresAt);
+            if (row.getRevokeDt() != null && row.getRevokeDt().isAfter(lastRevokeDt)) {
+                lastRevokeDt = row.getRevokeDt();
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        boolean pruned = revoked.values().removeIf(exp -> exp <= now);
+        if (pruned || revoked.size() > expectedSize) {
+            rebuildFilter();
+        }
+    }
+
+    /**
+     * 보관만료된 폐기 세션 삭제 (DB)
+     */
+    @Scheduled(fixedDelayString = "${auth.token.maintenance-interval-ms:3600000}", initialDelayString = "${auth.token.maintenance-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = tokenMapper.deleteExpiredRevokedTokens();
+        if (deleted > 0) {
+            System.out.println("보관만료 폐기 토큰 삭제: " + deleted + "건");
+        }
+    }
+
+    // 정확한 집합에 먼저 넣고 필터에 추가 (필터 교체와 겹치지 않도록 동기화)
+    private synchronized void add(String tokenId, long expiresAt) {
+        revoked.merge(tokenId, expiresAt, Math::max);
+        filter.put(tokenId);
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, revoked.size() * 2), fpp);
+        for (String tokenId : revoked.keySet()) {
+            rebuilt.put(tokenId);
+        }
+        filter = rebuilt;
+    }
+}
@@ -4,15 +4,24 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import egovframework.survey.mapper.UserMapper;
+import egovframework.survey.service.PasswordHashService;
+import egovframework.survey.service.RefreshTokenService;
+import egovframework.survey.service.TokenRevocationService;
 import egovframework.survey.service.UserService;
 import egovframework.survey.vo.EmplyrInfoVO;
 import egovframework.survey.util.JwtUtil;
+import egovframework.survey.util.LocalCache;
+import egovframework.survey.util.TransactionUtil;
 
 @Service
 @Transactional
@@ -26,33 +35,63 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     private JwtUtil jwtUtil;
+    
+    @Autowired
+    private PasswordHashService passwordHashService;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Value("${user.profile-cache.ttl-seconds:60}")
+    private long profileCacheTtlSeconds;
+    
+    @Value("${user.profile-cache.max-size:5000}")
+    private int profileCacheMaxSize;
+    
+    /** 업무사용자ID → 사용자 정보 (비밀번호 제외) */
+    private LocalCache<String, EmplyrInfoVO> profileCache;
+    
+    @PostConstruct
+    public void init() {
+        profileCache = new LocalCache<>(profileCacheTtlSeconds * 1000, profileCacheMaxSize);
+    }
 
     /**
      * 업무사용자 ID로 사용자 정보 조회
+     * 짧은 기간 캐시하며, 캐시된 값은 여러 요청이 공유하므로 비밀번호 해시는 지운 뒤 보관한다.
+     * 사용자 정보·상태·권한 변경 시 무효화 (다른 노드는 TTL 이내 반영)
+     * 조회 도중 무효화되면 조회 결과는 캐시하지 않으므로, 사용 중지 전 상태가 TTL 동안 남지 않는다.
      */
     @Override
     @Transactional(readOnly = true)
     public EmplyrInfoVO getUserById(String emplyrId) {
-        return userMapper.selectUserById(emplyrId);
+        if (emplyrId == null) {
+            return null;
+        }
+        return profileCache.get(emplyrId, id -> {
+            EmplyrInfoVO user = userMapper.selectUserById(id);
+            if (user != null) {
+                user.setPassword(null);
+            }
+            return user;
+        });
     }
 
     /**
      * 업무사용자 ID와 비밀번호로 사용자 정보 조회 (로그인용)
+     * 사용자 조회 1회 (권한 정보 포함) 후 비밀번호 검증 작업 풀에서 해시 비교.
+     * 검증을 기다리는 동안 DB 연결을 잡고 있지 않도록 트랜잭션 없이 실행한다.
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EmplyrInfoVO getUserByIdAndPassword(String emplyrId, String password) {
-        // 로그인 처리
-        
         EmplyrInfoVO user = userMapper.selectUserById(emplyrId);
         
-        if (user != null) {
-            boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
-            
-            if (passwordMatches) {
-                // 비밀번호가 일치하면 권한 정보까지 포함하여 반환
-                return userMapper.selectUserByIdAndPassword(emplyrId, user.getPassword());
-            }
+        if (user != null && passwordHashService.matches(password, user.getPassword())) {
+            return user;
         }
         
         return null;
@@ -72,7 +111,24 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public String generateToken(EmplyrInfoVO emplyrInfo) {
-        return jwtUtil.generateToken(emplyrInfo.getEmplyrId(), emplyrInfo.getAuthorCode());
+        return generateToken(emplyrInfo, null);
+    }
+    
+    /**
+     * 세션ID를 포함한 JWT 토큰 생성
+     */
+    @Override
+    public String generateToken(EmplyrInfoVO emplyrInfo, String sessionId) {
+        return jwtUtil.generateToken(emplyrInfo.getEmplyrId(), emplyrInfo.getAuthorCode(),
+                emplyrInfo.getUserNm(), emplyrInfo.getEsntlId(), sessionId);
+    }
+    
+    /**
+     * 액세스 토큰 유효시간(초)
+     */
+    @Override
+    public long getAccessTokenExpiresIn() {
+        return jwtUtil.getExpirationTime();
     }
     
     /**
@@ -80,7 +136,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public String getEmplyrIdFromToken(String token) {
-        return jwtUtil.getUserIdFromToken(token);
+        JwtUtil.VerifiedToken verified = verifyActive(token);
+        return verified != null ? verified.getUserId() : null;
     }
     
     /**
@@ -88,7 +145,18 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public boolean validateToken(String token) {
-        return jwtUtil.validateToken(token);
+        return verifyActive(token) != null;
+    }
+    
+    /**
+     * 서명·만료 검증 후 세션 폐기 여부까지 확인 (폐기된 세션이면 null)
+     */
+    private JwtUtil.VerifiedToken verifyActive(String token) {
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+        if (verified == null || tokenRevocationService.isRevoked(verified.getSessionId())) {
+            return null;
+        }
+        return verified;
     }
     
     /**
@@ -133,6 +201,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public EmplyrInfoVO updateEmplyrInfo(EmplyrInfoVO emplyrInfoVO) {
         userMapper.updateEmplyrInfo(emplyrInfoVO);
+        evictProfile(emplyrInfoVO.getEsntlId());
         return getUserById(emplyrInfoVO.getEmplyrId());
     }
     
@@ -148,7 +217,12 @@ public class UserServiceImpl implements UserService {
         params.put("password", encodedPassword);
         params.put("lastUpdusrId", lastUpdusrId);
         
-        return userMapper.updateEmplyrPassword(params) > 0;
+        boolean updated = userMapper.updateEmplyrPassword(params) > 0;
+        if (updated) {
+            // 비밀번호 변경 시 기존 로그인 세션 모두 폐기
+            refreshTokenService.revokeUserSessions(esntlId);
+        }
+        return updated;
     }
     
     /**
@@ -161,7 +235,13 @@ public class UserServiceImpl implements UserService {
         params.put("emplyrSttusCode", emplyrSttusCode);
         params.put("lastUpdusrId", lastUpdusrId);
         
-        return userMapper.updateEmplyrStatus(params) > 0;
+        boolean updated = userMapper.updateEmplyrStatus(params) > 0;
+        evictProfile(esntlId);
+        if (updated && !"A".equals(emplyrSttusCode)) {
+            // 사용 중지 등 로그인 불가 상태가 되면 기존 로그인 세션 모두 폐기
+            refreshTokenService.revokeUserSessions(esntlId);
+        }
+        return updated;
     }
     
     /**
@@ -174,7 +254,9 @@ public class UserServiceImpl implements UserService {
         params.put("authorCode", authorCode);
         params.put("mberTyCode", mberTyCode);
         
-        return userMapper.insertEmplyrAuthority(params) > 0;
+        boolean inserted = userMapper.insertEmplyrAuthority(params) > 0;
+        evictProfile(esntlId);
+        return inserted;
     }
     
     /**
@@ -186,7 +268,9 @@ public class UserServiceImpl implements UserService {
         params.put("esntlId", esntlId);
         params.put("authorCode", authorCode);
         
-        return userMapper.deleteEmplyrAuthority(params) > 0;
+        boolean deleted = userMapper.deleteEmplyrAuthority(params) > 0;
+        evictProfile(esntlId);
+        return deleted;
     }
     
     /**
@@ -224,4 +308,20 @@ public class UserServiceImpl implements UserService {
         
         return userMapper.selectEmplyrInfoListTotCnt(params);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 사용자 정보 캐시 무효화 (고유ID 기준, 캐시 키는 업무사용자ID이므로 값으로 찾음)
+     * 커밋 전 다른 요청이 이전 값을 다시 적재할 수 있으므로 커밋 후 한 번 더 무효화한다.
+     */
+    private void evictProfile(String esntlId) {
+        Runnable evict = () -> {
+            if (esntlId == null) {
+                profileCache.clear();
+            } else {
+                profileCache.invalidateEntriesIf((emplyrId, user) -> esntlId.equals(user.getEsntlId()));
+            }
+        };
+        evict.run();
+        TransactionUtil.runAfterCommit(evict);
+    }
+}
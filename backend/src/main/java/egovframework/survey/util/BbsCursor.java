@@ -0,0 +1,74 @@
+package egovframework.survey.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import egovframework.survey.vo.BbsVO;
+
+/**
+ * 게시글 목록 커서(Keyset) 페이징용 커서
+ * 마지막 행의 (NTCE_AT, 정렬키, NTT_ID)와 정렬 조건을 불투명한 문자열로 인코딩한다.
+ * 형식: v1|NTCE_AT|정렬필드|정렬방향|등록일시|NTT_ID 를 URL-safe Base64로 인코딩
+ */
+public class BbsCursor {
+
+    private static final String VERSION = "v1";
+    private static final String DELIMITER = "|";
+
+    private final String ntceAt;
+    private final String sortField;
+    private final String sortOrder;
+    private final LocalDateTime frstRegistPnttm;
+    private final Long nttId;
+
+    public BbsCursor(String ntceAt, String sortField, String sortOrder, LocalDateTime frstRegistPnttm, Long nttId) {
+        this.ntceAt = ntceAt;
+        this.sortField = sortField;
+        this.sortOrder = sortOrder;
+        this.frstRegistPnttm = frstRegistPnttm;
+        this.nttId = nttId;
+    }
+
+    /**
+     * 페이지의 마지막 게시글로부터 다음 페이지 커서 생성
+     */
+    public static BbsCursor from(BbsVO last, String sortField, String sortOrder) {
+        return new BbsCursor(last.getNtceAt(), sortField, sortOrder, last.getFrstRegistPnttm(), last.getNttId());
+    }
+
+    public String encode() {
+        String raw = VERSION + DELIMITER + ntceAt + DELIMITER + sortField + DELIMITER + sortOrder + DELIMITER
+                + (frstRegistPnttm != null ? frstRegistPnttm.toString() : "") + DELIMITER + nttId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 디코딩
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static BbsCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+            if (!"Y".equals(parts[1]) && !"N".equals(parts[1])) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+            LocalDateTime frstRegistPnttm = parts[4].isEmpty() ? null : LocalDateTime.parse(parts[4]);
+            return new BbsCursor(parts[1], parts[2], parts[3], frstRegistPnttm, Long.valueOf(parts[5]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException 포함
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+
+    public String getNtceAt() { return ntceAt; }
+    public String getSortField() { return sortField; }
+    public String getSortOrder() { return sortOrder; }
+    public LocalDateTime getFrstRegistPnttm() { return frstRegistPnttm; }
+    public Long getNttId() { return nttId; }
+}
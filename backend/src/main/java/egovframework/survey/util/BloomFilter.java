@@ -0,0 +1,84 @@
+package egovframework.survey.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 Bloom 필터 (추가만 가능, 스레드 안전)
+ * mightContain이 false면 확실히 없는 값이고, true면 오탐 확률(fpp) 이내로 있을 수 있는 값이다.
+ * 정확한 집합 앞단에서 대부분의 "없음" 조회를 해시 계산과 비트 확인만으로 끝내는 용도로 사용한다.
+ * 삭제는 지원하지 않으므로 항목이 줄면 새로 만들어 교체한다.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 예상 항목 수
+     * @param fpp 예상 항목 수일 때 목표 오탐 확률 (0~1)
+     */
+    public BloomFilter(int expectedInsertions, double fpp) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(fpp, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 비트 수 (메모리 사용량 확인용)
+    public long bitSize() {
+        return bitSize;
+    }
+
+    // FNV-1a 64비트
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // 64비트 혼합 (비트 분산 개선)
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,154 @@
+package egovframework.survey.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import egovframework.survey.service.FileStorage;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 업로드 파일 저장 디렉토리 배치 전략
+ * - flat: 업로드 경로 한 곳에 저장 (기존 방식)
+ * - sharded: 저장파일명 해시의 앞 2+2자리로 2단계 하위 디렉토리에 분산 (예: {업로드경로}/ab/cd/{저장파일명})
+ *   내용 주소 저장소 파일은 파일명 자체가 SHA-256이므로 그대로 사용하고, 기존 파일명은 이름의 SHA-256으로 분산한다.
+ * FILE_STRE_COURS에는 샤드 디렉토리까지 기록하며, 이전 중인 파일은 기록된 경로 → 샤드 경로 → 평면 경로 순으로 찾는다.
+ * 저장소 키는 FILE_STRE_COURS의 업로드 경로 기준 상대 경로 + 저장파일명이다. (예: ab/cd/{저장파일명})
+ */
+@Component
+public class FileStoreLayout {
+
+    public static final String LAYOUT_FLAT = "flat";
+    public static final String LAYOUT_SHARDED = "sharded";
+
+    private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${file.upload.path}")
+    private String uploadPath;
+
+    @Value("${file.upload.layout:sharded}")
+    private String layout;
+
+    public FileStoreLayout() {}
+
+    public FileStoreLayout(String uploadPath, String layout) {
+        this.uploadPath = uploadPath;
+        this.layout = layout;
+    }
+
+    public String getRootPath() {
+        return uploadPath;
+    }
+
+    public boolean isSharded() {
+        return LAYOUT_SHARDED.equalsIgnoreCase(layout);
+    }
+
+    /**
+     * 내용 주소 저장소 파일명(SHA-256 16진수)인지 확인
+     */
+    public static boolean isBlobName(String streFileNm) {
+        return streFileNm != null && BLOB_NAME.matcher(streFileNm).matches();
+    }
+
+    /**
+     * 저장파일명의 샤드 경로 (ab/cd)
+     */
+    public static String shardOf(String streFileNm) {
+        String hash = isBlobName(streFileNm) ? streFileNm : sha256Hex(streFileNm);
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4);
+    }
+
+    /**
+     * 저장파일명을 둘 디렉토리 (FILE_STRE_COURS 값)
+     */
+    public String directoryFor(String streFileNm) {
+        if (!isSharded()) {
+            return uploadPath;
+        }
+        return Paths.get(uploadPath, shardOf(streFileNm)).toString();
+    }
+
+    /**
+     * 레이아웃에 따른 저장파일명의 저장소 키
+     */
+    public String keyFor(String streFileNm) {
+        return isSharded() ? shardOf(streFileNm) + "/" + streFileNm : streFileNm;
+    }
+
+    /**
+     * 기록된 디렉토리(FILE_STRE_COURS)의 저장소 키 (업로드 경로 밖이면 평면 키)
+     */
+    public String keyOf(String directory, String streFileNm) {
+        if (directory == null) {
+            return streFileNm;
+        }
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Path dir = Paths.get(directory).toAbsolutePath().normalize();
+        if (!dir.startsWith(root) || dir.equals(root)) {
+            return streFileNm;
+        }
+        return root.relativize(dir).toString().replace(File.separatorChar, '/') + "/" + streFileNm;
+    }
+
+    /**
+     * 저장소 키의 디렉토리 (FILE_STRE_COURS 값)
+     */
+    public String directoryOfKey(String key) {
+        int slash = key.lastIndexOf('/');
+        return slash < 0 ? uploadPath : Paths.get(uploadPath, key.substring(0, slash)).toString();
+    }
+
+    /**
+     * 파일 상세가 가리킬 수 있는 저장소 키 후보 (기록된 경로 → 샤드 → 평면)
+     */
+    public Set<String> candidateKeys(FileVO fileVO) {
+        String streFileNm = fileVO.getStreFileNm();
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(keyOf(fileVO.getFileStreCours(), streFileNm));
+        keys.add(shardOf(streFileNm) + "/" + streFileNm);
+        keys.add(streFileNm);
+        return keys;
+    }
+
+    /**
+     * 실제 저장 위치 확인 (레이아웃 이전 중에도 조회가 끊기지 않도록 후보 키를 차례로 확인)
+     * @return 저장소 객체, 어디에도 없으면 null
+     */
+    public StorageObjectVO locate(FileStorage storage, FileVO fileVO) throws IOException {
+        if (fileVO.getStreFileNm() == null) {
+            return null;
+        }
+        for (String key : candidateKeys(fileVO)) {
+            StorageObjectVO object = storage.stat(key);
+            if (object != null) {
+                return object;
+            }
+        }
+        return null;
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(4);
+            for (int i = 0; i < 2; i++) {
+                sb.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -1,17 +1,44 @@
 package egovframework.survey.util;
 
+import egovframework.survey.service.JwtKeyService;
+import egovframework.survey.vo.LoginUserVO;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * JWT 발급·검증 유틸리티
+ * - 서명 키와 파서는 기동 시 한 번만 만들어 재사용 (JwtParser는 불변·스레드 안전)
+ * - verify: 요청당 한 번 서명 검증 후 필요한 클레임만 담은 불변 객체 반환
+ * - 검증된 토큰은 토큰 다이제스트(SHA-256) 키로 최대 건수 제한 캐시에 보관하고, 토큰 만료 시각(exp)까지만 유지
+ *   → 같은 토큰의 반복 요청은 HMAC 계산과 JSON 파싱 없이 처리 (원문 토큰은 메모리에 보관하지 않음)
+ * - jwt.signing.algorithm=ES256이면 kid 헤더와 함께 비대칭 키로 서명하고, 검증은 kid별로 미리 파싱된 공개키 사용
+ *   (kid 없는 토큰은 HS256으로 검증하여 전환 중 발급된 토큰도 만료 시까지 유효,
+ *    jwt.signing.hs256-accept-until이 지나면 kid 없는 토큰은 거절하고 그 시각 이후로는 검증 캐시에도 남기지 않음)
+ */
 @Component
 public class JwtUtil {
 
@@ -21,15 +48,83 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400}")
     private Long expiration; // 24시간 (초)
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.verified-cache.ttl-seconds:300}")
+    private long verifiedCacheTtlSeconds;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Value("${jwt.signing.hs256-accept-until:}")
+    private String hs256AcceptUntil;
+
+    @Autowired
+    private JwtKeyService jwtKeyService;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    /** ES256 전환 후 kid 없는 HS256 토큰을 받는 마지막 시각 (ms, 설정이 없으면 제한 없음) */
+    private long hs256AcceptUntilMillis = Long.MAX_VALUE;
+
+    /** 토큰 다이제스트 → 검증된 토큰 정보 */
+    private LocalCache<String, VerifiedToken> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    });
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        if (hs256AcceptUntil != null && !hs256AcceptUntil.trim().isEmpty()) {
+            hs256AcceptUntilMillis = LocalDateTime.parse(hs256AcceptUntil.trim())
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        verifiedTokens = new LocalCache<>(verifiedCacheTtlSeconds * 1000, verifiedCacheMaxSize);
     }
 
     public String generateToken(String userId, String authorityCode) {
+        return generateToken(userId, authorityCode, null, null);
+    }
+
+    /**
+     * 표시용 사용자 정보(사용자명, 고유ID)를 포함한 토큰 발급
+     * 작성자명 설정 등에서 사용자 조회 없이 인증 주체(LoginUserVO)로 사용한다.
+     */
+    public String generateToken(String userId, String authorityCode, String userNm, String esntlId) {
+        return generateToken(userId, authorityCode, userNm, esntlId, null);
+    }
+
+    /**
+     * 세션ID(sid)를 포함한 토큰 발급
+     * 세션이 폐기되면(로그아웃, 리프레시 토큰 재사용 감지 등) 만료 전이라도 필터에서 거절된다.
+     */
+    public String generateToken(String userId, String authorityCode, String userNm, String esntlId, String sessionId) {
         Map<String, Object> claims = new HashMap<>();
+        if (sessionId != null) {
+            claims.put("sid", sessionId);
+        }
         claims.put("userId", userId);
         claims.put("authorityCode", authorityCode);
-        
+        if (userNm != null) {
+            claims.put("userNm", userNm);
+        }
+        if (esntlId != null) {
+            claims.put("esntlId", esntlId);
+        }
+
         return createToken(claims, userId);
     }
 
@@ -37,23 +132,98 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration * 1000);
 
+        if (isAsymmetric()) {
+            JwtKeyService.SigningKey key = jwtKeyService.getSigningKey();
+            return Jwts.builder()
+                    .setHeaderParam(JwsHeader.KEY_ID, key.getKid())
+                    .setClaims(claims)
+                    .setSubject(subject)
+                    .setIssuedAt(now)
+                    .setExpiration(expiryDate)
+                    .signWith(key.getPrivateKey(), SignatureAlgorithm.ES256)
+                    .compact();
+        }
+
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String getUserIdFromToken(String token) {
+    private boolean isAsymmetric() {
+        return jwtKeyService != null && jwtKeyService.isAsymmetric();
+    }
+
+    // ES256 전환 기한 경과 여부 (HS256 모드에서는 kid 없는 토큰이 정상 토큰이므로 항상 false)
+    private boolean isHs256Expired() {
+        return isAsymmetric() && System.currentTimeMillis() > hs256AcceptUntilMillis;
+    }
+
+    /**
+     * 검증 키 선택: kid가 있으면 해당 공개키, 없으면 HMAC 키
+     * (알고리즘은 jjwt가 키 종류와 헤더 alg를 대조하므로 HS256 토큰에 공개키가 쓰이지 않음)
+     * ES256 사용 중 전환 기한이 지났으면 kid 없는 토큰은 거절
+     */
+    private Key resolveVerificationKey(String kid) {
+        if (kid == null) {
+            if (isHs256Expired()) {
+                throw new JwtException("HS256 토큰 허용 기한이 지났습니다.");
+            }
+            return signingKey;
+        }
+        PublicKey publicKey = jwtKeyService != null ? jwtKeyService.getPublicKey(kid) : null;
+        if (publicKey == null) {
+            throw new JwtException("알 수 없는 서명 키입니다: " + kid);
+        }
+        return publicKey;
+    }
+
+    /**
+     * 토큰 검증 (캐시에 있으면 서명 검증 생략)
+     * 캐시 적중 시에도 서명 키(kid)가 아직 키 목록에 있는지 확인하여, 폐기된 키로 서명한 토큰은 캐시 TTL 안이라도 거절한다.
+     * @return 검증된 토큰 정보, 서명 불일치·만료·형식 오류·폐기된 키면 null
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.getKid() != null && (jwtKeyService == null || jwtKeyService.getPublicKey(cached.getKid()) == null)) {
+                verifiedTokens.invalidate(key);
+                return null;
+            }
+            return cached;
+        }
+        Jws<Claims> jws;
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            String userId = claims.get("userId", String.class);
-            return userId;
+            jws = jwtParser.parseClaimsJws(token);
         } catch (Exception e) {
-            throw e;
+            return null;
         }
+        Claims claims = jws.getBody();
+        Date exp = claims.getExpiration();
+        LoginUserVO principal = new LoginUserVO(claims.get("userId", String.class), claims.get("userNm", String.class),
+                claims.get("esntlId", String.class), claims.get("authorityCode", String.class));
+        String kid = jws.getHeader().getKeyId();
+        VerifiedToken verified = new VerifiedToken(principal, claims.get("sid", String.class),
+                exp != null ? exp.getTime() : Long.MAX_VALUE, kid);
+        long cacheUntil = verified.getExpiresAt();
+        if (kid == null && isAsymmetric()) {
+            // 전환 기한이 지나면 캐시된 HS256 토큰도 더 이상 통과하지 않도록
+            cacheUntil = Math.min(cacheUntil, hs256AcceptUntilMillis);
+        }
+        verifiedTokens.put(key, verified, cacheUntil);
+        return verified;
+    }
+
+    public String getUserIdFromToken(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        return claims.get("userId", String.class);
     }
 
     public String getAuthorityCodeFromToken(String token) {
@@ -67,23 +237,11 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token) != null;
     }
 
     public boolean isTokenExpired(String token) {
@@ -94,4 +252,62 @@ public class JwtUtil {
     public Long getExpirationTime() {
         return expiration;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 검증 토큰 캐시 통계
+     */
+    public Map<String, Object> getVerifiedCacheStats() {
+        return verifiedTokens.getStats();
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * 검증된 토큰 정보 (불변, 캐시된 값을 여러 요청이 공유)
+     */
+    public static final class VerifiedToken {
+        private final LoginUserVO principal;
+        private final String sessionId;
+        private final long expiresAt;
+        private final String kid;
+
+        public VerifiedToken(LoginUserVO principal, String sessionId, long expiresAt, String kid) {
+            this.principal = principal;
+            this.sessionId = sessionId;
+            this.expiresAt = expiresAt;
+            this.kid = kid;
+        }
+
+        // 인증 주체 (SecurityContext의 principal로 사용)
+        public LoginUserVO getPrincipal() {
+            return principal;
+        }
+
+        public String getUserId() {
+            return principal.getUserId();
+        }
+
+        public String getAuthorityCode() {
+            return principal.getAuthorCode();
+        }
+
+        // 세션ID (sid 클레임, 이전 형식 토큰이면 null)
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        // 만료 시각 (ms)
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        // 서명 키ID (kid 헤더, HS256 토큰이면 null)
+        public String getKid() {
+            return kid;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package egovframework.survey.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * 단일 노드용 경량 TTL 캐시
+ * 항목별 만료시간을 두고, 최대 건수를 넘으면 만료 항목부터 정리한 뒤 남는 만큼 임의 항목을 제거한다.
+ * 카운트·마스터 정보처럼 짧은 기간 동안 재사용되는 조회 결과를 보관하는 용도로 사용한다.
+ * loader 조회 도중 그 키가 무효화되면 조회 결과는 반환만 하고 저장하지 않는다 (무효화 전 DB 값일 수 있음).
+ */
+public class LocalCache<K, V> {
+
+    private final Map<K, Entry<V>> store = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    // 적중/미적중 통계
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** 진행 중인 loader 조회 (키 → 조회 건수) */
+    private final Map<K, Integer> loading = new ConcurrentHashMap<>();
+
+    /** 조회 중에 무효화된 키 → 무효화 순번 (그 키의 조회가 모두 끝나면 정리) */
+    private final Map<K, Long> loadInvalidations = new ConcurrentHashMap<>();
+
+    private final AtomicLong invalidationSeq = new AtomicLong();
+
+    /** 키를 특정할 수 없는 일괄 무효화(clear, 값 기준)의 마지막 순번 */
+    private final AtomicLong bulkInvalidationSeq = new AtomicLong();
+
+    public LocalCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 캐시 조회 (만료된 항목은 제거 후 null 반환)
+     */
+    public V get(K key) {
+        Entry<V> entry = store.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired()) {
+            store.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * 캐시에 없으면 loader로 조회하여 저장 (null 결과는 저장하지 않음)
+     * 조회 시작 후 그 키가 무효화되었으면 결과를 저장하지 않는다.
+     * 저장 여부 판단과 저장은 키별로 무효화 표시와 원자적으로 처리되므로, 판단 직후의 무효화도 저장된 값을 지운다.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        // 등록 후 순번을 읽어야 등록 전 무효화(이후 조회는 새 값을 읽음)를 조회 중 무효화로 오인하지 않음
+        loading.merge(key, 1, Integer::sum);
+        long startSeq = invalidationSeq.get();
+        V loaded = null;
+        try {
+            loaded = loader.apply(key);
+            return loaded;
+        } finally {
+            V result = loaded;
+            loading.compute(key, (k, count) -> {
+                if (result != null && isCurrentLoad(k, startSeq)) {
+                    put(k, result);
+                }
+                if (count == null || count <= 1) {
+                    loadInvalidations.remove(k);
+                    return null;
+                }
+                return count - 1;
+            });
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    /**
+     * 만료 시각을 지정하여 저장 (TTL보다 늦으면 TTL 적용, 이미 지난 시각이면 저장하지 않음)
+     * 토큰처럼 값 자체에 유효기간이 있는 항목을 그 이후까지 보관하지 않을 때 사용한다.
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(expiresAtMillis, now + ttlMillis);
+        if (expiresAt <= now) {
+            return;
+        }
+        if (store.size() >= maxSize) {
+            evict();
+        }
+        store.put(key, new Entry<>(value, expiresAt));
+    }
+
+    /**
+     * 기존 항목의 값만 교체 (만료시간 유지, 항목이 없거나 만료된 경우 무시)
+     * 무효화와 원자적으로 처리되므로 교체 도중 제거된 항목이 되살아나지 않는다.
+     */
+    public void replace(K key, UnaryOperator<V> updater) {
+        store.computeIfPresent(key, (k, entry) -> entry.isExpired()
+                ? null : new Entry<>(updater.apply(entry.value), entry.expiresAt));
+    }
+
+    /**
+     * 키 무효화 (진행 중 조회 표시 → 항목 제거 순으로 처리해야 이전 조회 결과가 다시 저장되지 않음)
+     */
+    public void invalidate(K key) {
+        markLoadInvalidated(key);
+        store.remove(key);
+    }
+
+    /**
+     * 조건에 맞는 키 일괄 무효화
+     */
+    public void invalidateIf(Predicate<K> predicate) {
+        loading.keySet().stream().filter(predicate).forEach(this::markLoadInvalidated);
+        store.keySet().removeIf(predicate);
+    }
+
+    /**
+     * 조건에 맞는 항목(키, 값 기준) 일괄 무효화
+     * 진행 중 조회는 값을 아직 알 수 없으므로 모두 저장하지 않는다.
+     */
+    public void invalidateEntriesIf(BiPredicate<K, V> predicate) {
+        markBulkInvalidated();
+        store.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+    }
+
+    public void clear() {
+        markBulkInvalidated();
+        store.clear();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 캐시 통계 (건수, 적중, 미적중, 적중률)
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", store.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hitCount", hitCount);
+        stats.put("missCount", missCount);
+        stats.put("hitRate", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        return stats;
+    }
+
+    private void markLoadInvalidated(K key) {
+        loading.computeIfPresent(key, (k, count) -> {
+            loadInvalidations.put(k, invalidationSeq.incrementAndGet());
+            return count;
+        });
+    }
+
+    private void markBulkInvalidated() {
+        bulkInvalidationSeq.accumulateAndGet(invalidationSeq.incrementAndGet(), Math::max);
+    }
+
+    // 조회 시작 후 그 키 또는 전체가 무효화되지 않았는지
+    private boolean isCurrentLoad(K key, long startSeq) {
+        if (bulkInvalidationSeq.get() > startSeq) {
+            return false;
+        }
+        Long seq = loadInvalidations.get(key);
+        return seq == null || seq <= startSeq;
+    }
+
+    private void evict() {
+        store.values().removeIf(Entry::isExpired);
+        Iterator<K> it = store.keySet().iterator();
+        while (store.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
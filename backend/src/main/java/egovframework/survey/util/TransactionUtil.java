@@ -0,0 +1,46 @@
+package egovframework.survey.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 후처리 유틸리티
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {}
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 실행 (트랜잭션이 없으면 즉시 실행)
+     * 롤백된 변경이 캐시·카운터에 반영되지 않도록 할 때 사용한다.
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 끝난 뒤 커밋·롤백과 관계없이 실행 (afterCommit 작업 이후, 트랜잭션이 없으면 즉시 실행)
+     * 트랜잭션 진행 중에 남긴 표시를 정리할 때 사용한다.
+     */
+    public static void runAfterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
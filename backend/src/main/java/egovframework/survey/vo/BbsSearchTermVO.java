@@ -0,0 +1,35 @@
+package egovframework.survey.vo;
+
+/**
+ * 게시글 키워드 검색어 VO (공백으로 나눈 검색어 1개)
+ * TRIGRAM·BIGRAM 검색에서 검색어마다 부분일치 조건을 만들 때 사용한다.
+ */
+public class BbsSearchTermVO {
+
+    private final String keyword;       // 검색어 (따옴표·제외 연산자 제거)
+    private final String bigramQuery;   // 한글 2-gram 색인 조건 (tsquery, 한글이 없으면 null)
+    private final boolean exclude;      // 제외 검색어 여부 (-검색어)
+
+    public BbsSearchTermVO(String keyword, String bigramQuery, boolean exclude) {
+        this.keyword = keyword;
+        this.bigramQuery = bigramQuery;
+        this.exclude = exclude;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public String getBigramQuery() {
+        return bigramQuery;
+    }
+
+    public boolean isExclude() {
+        return exclude;
+    }
+
+    @Override
+    public String toString() {
+        return (exclude ? "-" : "") + keyword;
+    }
+}
@@ -1,5 +1,8 @@
 package egovframework.survey.vo;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "게시물 검색 VO")
@@ -18,6 +21,33 @@ public class BbsSearchVO extends BaseSearchVO {
     @Schema(description = "구분 코드", type = "string", defaultValue = "ALL")
     private String searchCategory = "ALL";
     
+    @Schema(description = "키워드 검색 방식 (LIKE: 부분일치, FULLTEXT: 전문검색, TRIGRAM: 검색어별 트라이그램 부분일치, 한글 검색어는 BIGRAM으로 대체)", type = "string", allowableValues = {"LIKE", "FULLTEXT", "TRIGRAM"}, defaultValue = "LIKE")
+    private String searchMode = "LIKE";
+    
+    // 공백으로 나눈 검색어 (TRIGRAM·BIGRAM 검색, 서비스 내부용)
+    @Schema(hidden = true)
+    private List<BbsSearchTermVO> searchTerms;
+    
+    // 커서(Keyset) 페이징
+    @Schema(description = "페이징 방식 (OFFSET: 페이지번호, CURSOR: 커서)", type = "string", allowableValues = {"OFFSET", "CURSOR"}, defaultValue = "OFFSET")
+    private String paginationType = "OFFSET";
+    
+    @Schema(description = "다음 페이지 커서 (이전 응답의 paginationInfo.nextCursor)", type = "string")
+    private String cursor;
+    
+    // 커서 디코딩 결과 (서비스 내부용)
+    @Schema(hidden = true)
+    private String seekNtceAt;
+    
+    @Schema(hidden = true)
+    private LocalDateTime seekRegistPnttm;
+    
+    @Schema(hidden = true)
+    private Long seekNttId;
+    
+    @Schema(hidden = true)
+    private int seekLimit;
+    
     // 기본값 설정 (생성자에서)
     public BbsSearchVO() {
         super();
@@ -39,6 +69,32 @@ public class BbsSearchVO extends BaseSearchVO {
     public String getSearchCategory() { return searchCategory; }
     public void setSearchCategory(String searchCategory) { this.searchCategory = searchCategory; }
     
+    public String getSearchMode() { return searchMode; }
+    public void setSearchMode(String searchMode) { this.searchMode = searchMode; }
+    
+    public List<BbsSearchTermVO> getSearchTerms() { return searchTerms; }
+    public void setSearchTerms(List<BbsSearchTermVO> searchTerms) { this.searchTerms = searchTerms; }
+    
+    public String getPaginationType() { return paginationType; }
+    public void setPaginationType(String paginationType) { this.paginationType = paginationType; }
+    
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    
+    public String getSeekNtceAt() { return seekNtceAt; }
+    public void setSeekNtceAt(String seekNtceAt) { this.seekNtceAt = seekNtceAt; }
+    
+    public LocalDateTime getSeekRegistPnttm() { return seekRegistPnttm; }
+    public void setSeekRegistPnttm(LocalDateTime seekRegistPnttm) { this.seekRegistPnttm = seekRegistPnttm; }
+    
+    public Long getSeekNttId() { return seekNttId; }
+    public void setSeekNttId(Long seekNttId) { this.seekNttId = seekNttId; }
+    
+    public int getSeekLimit() { return seekLimit; }
+    public void setSeekLimit(int seekLimit) { this.seekLimit = seekLimit; }
+    
+    public boolean isCursorPagination() { return "CURSOR".equalsIgnoreCase(paginationType); }
+    
     @Override
     public String toString() {
         return "BbsSearchVO{" +
@@ -46,6 +102,9 @@ public class BbsSearchVO extends BaseSearchVO {
                 ", searchNtceAt='" + searchNtceAt + '\'' +
                 ", searchExposureYn='" + searchExposureYn + '\'' +
                 ", searchCategory='" + searchCategory + '\'' +
+                ", searchMode='" + searchMode + '\'' +
+                ", paginationType='" + paginationType + '\'' +
+                ", cursor='" + cursor + '\'' +
                 ", " + super.toString().substring(12) + // BaseSearchVO의 toString 결과에서 "BaseSearchVO{" 부분 제거
                 '}';
     }
@@ -11,7 +11,7 @@ import javax.validation.constraints.Size;
  * 게시글 정보 VO
  * COMTNBBS 테이블과 매핑
  */
-public class BbsVO {
+public class BbsVO implements Cloneable {
     
     // 기본 정보
     private Long nttId;                // 게시글ID
@@ -51,6 +51,10 @@ public class BbsVO {
     private String bbsNm;              // 게시판명
     private String bbsTyCode;          // 게시판유형코드
     
+    // 전문검색 결과 (searchMode=FULLTEXT 목록 조회 시)
+    private Double searchRank;         // 검색 순위 점수 (ts_rank)
+    private String searchHeadline;     // 검색어 강조 본문 요약 (<mark> 태그 포함)
+    
     // 게시판별 추가 속성 (전자정부 프레임워크 표준)
     private String nttTag;             // 게시글태그 (블로그게시판용)
     private String nttCategory;        // 게시글카테고리 (FAQ, QNA게시판용)
@@ -432,4 +436,31 @@ public class BbsVO {
     public void setMultiImageOrder(List<Integer> multiImageOrder) {
         this.multiImageOrder = multiImageOrder;
     }
+
+    public Double getSearchRank() {
+        return searchRank;
+    }
+
+    public void setSearchRank(Double searchRank) {
+        this.searchRank = searchRank;
+    }
+
+    public String getSearchHeadline() {
+        return searchHeadline;
+    }
+
+    public void setSearchHeadline(String searchHeadline) {
+        this.searchHeadline = searchHeadline;
+    }
+
+    /**
+     * 얕은 복사본 생성 (캐시 공유 객체를 호출자별로 분리할 때 사용, 목록 필드는 원본과 공유)
+     */
+    public BbsVO copy() {
+        try {
+            return (BbsVO) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package egovframework.survey.vo;
+
+/**
+ * 게시글 조회수 증가분 VO
+ * 조회수 버퍼를 COMTNBBS.RDCNT에 일괄 반영할 때 사용
+ */
+public class BbsViewCountVO {
+    
+    private String bbsId;              // 게시판ID
+    private Long nttId;                // 게시글ID
+    private Long delta;                // 조회수 증가분
+    
+    // 생성자
+    public BbsViewCountVO() {}
+    
+    public BbsViewCountVO(String bbsId, Long nttId, Long delta) {
+        this.bbsId = bbsId;
+        this.nttId = nttId;
+        this.delta = delta;
+    }
+    
+    // Getter & Setter
+    public String getBbsId() {
+        return bbsId;
+    }
+    
+    public void setBbsId(String bbsId) {
+        this.bbsId = bbsId;
+    }
+    
+    public Long getNttId() {
+        return nttId;
+    }
+    
+    public void setNttId(Long nttId) {
+        this.nttId = nttId;
+    }
+    
+    public Long getDelta() {
+        return delta;
+    }
+    
+    public void setDelta(Long delta) {
+        this.delta = delta;
+    }
+}
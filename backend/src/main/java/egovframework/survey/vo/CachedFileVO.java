@@ -0,0 +1,75 @@
+package egovframework.survey.vo;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 전송할 파일의 확인된 정보 VO
+ * 파일 상세 조회·저장소 위치 확인·크기/수정시각 확인 결과를 한 번에 담아
+ * 이미지 캐시 적중 시 DB 조회와 파일시스템 확인 없이 응답 헤더를 만들 수 있게 한다.
+ */
+public class CachedFileVO {
+
+    private final FileVO fileInfo;     // 파일 상세 정보
+    private final String storageKey;   // 실제 전송할 저장소 키 (파생본이면 파생본 키)
+    private final File localFile;      // 로컬 저장소 파일 (그 외 저장소는 null)
+    private final String contentType;  // Content-Type
+    private final long length;         // 파일 크기
+    private final long lastModified;   // 수정시각 (초 단위로 절삭)
+    private final String etag;         // 강한 ETag
+    private boolean cacheable = true;  // 캐시 가능 여부 (파생본 대신 원본으로 대체된 경우 false)
+
+    // 조회 빈도 (이미지 바이트 캐시 적재·제거 판단용)
+    private final AtomicInteger hitCount = new AtomicInteger();
+
+    public CachedFileVO(FileVO fileInfo, String storageKey, File localFile, String contentType, long length,
+            long lastModified, String etag) {
+        this.fileInfo = fileInfo;
+        this.storageKey = storageKey;
+        this.localFile = localFile;
+        this.contentType = contentType;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.etag = etag;
+    }
+
+    public FileVO getFileInfo() {
+        return fileInfo;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public File getLocalFile() {
+        return localFile;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public void setCacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+    }
+
+    public AtomicInteger getHitCount() {
+        return hitCount;
+    }
+}
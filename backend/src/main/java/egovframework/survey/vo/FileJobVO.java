@@ -0,0 +1,133 @@
+package egovframework.survey.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 첨부파일 후처리 작업 VO
+ * COMTNFILEJOB 테이블과 매핑 (파일 상세 1건 × 작업 유형 1건)
+ */
+public class FileJobVO {
+
+    private Long jobId;                // 작업ID
+    private String atchFileId;         // 첨부파일ID
+    private Long fileSn;               // 파일순번
+    private String jobTy;              // 작업유형 (CHECKSUM, METADATA, THUMBNAIL)
+    private String jobSttus;           // 작업상태 (PENDING, RUNNING, DONE, FAILED)
+    private String bbsId;              // 게시판ID (업로드 시 알 수 있는 경우)
+    private Integer attemptCnt;        // 시도횟수
+    private String resultCn;           // 처리결과 (오류 또는 확인 내용)
+    private LocalDateTime nextRunDt;   // 다음실행일시
+    private LocalDateTime creatDt;     // 생성일시
+    private LocalDateTime lastUpdtDt;  // 최종갱신일시
+
+    // 생성자
+    public FileJobVO() {}
+
+    public FileJobVO(String atchFileId, Long fileSn, String jobTy, String bbsId) {
+        this.atchFileId = atchFileId;
+        this.fileSn = fileSn;
+        this.jobTy = jobTy;
+        this.bbsId = bbsId;
+    }
+
+    // Getter & Setter
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getAtchFileId() {
+        return atchFileId;
+    }
+
+    public void setAtchFileId(String atchFileId) {
+        this.atchFileId = atchFileId;
+    }
+
+    public Long getFileSn() {
+        return fileSn;
+    }
+
+    public void setFileSn(Long fileSn) {
+        this.fileSn = fileSn;
+    }
+
+    public String getJobTy() {
+        return jobTy;
+    }
+
+    public void setJobTy(String jobTy) {
+        this.jobTy = jobTy;
+    }
+
+    public String getJobSttus() {
+        return jobSttus;
+    }
+
+    public void setJobSttus(String jobSttus) {
+        this.jobSttus = jobSttus;
+    }
+
+    public String getBbsId() {
+        return bbsId;
+    }
+
+    public void setBbsId(String bbsId) {
+        this.bbsId = bbsId;
+    }
+
+    public Integer getAttemptCnt() {
+        return attemptCnt;
+    }
+
+    public void setAttemptCnt(Integer attemptCnt) {
+        this.attemptCnt = attemptCnt;
+    }
+
+    public String getResultCn() {
+        return resultCn;
+    }
+
+    public void setResultCn(String resultCn) {
+        this.resultCn = resultCn;
+    }
+
+    public LocalDateTime getNextRunDt() {
+        return nextRunDt;
+    }
+
+    public void setNextRunDt(LocalDateTime nextRunDt) {
+        this.nextRunDt = nextRunDt;
+    }
+
+    public LocalDateTime getCreatDt() {
+        return creatDt;
+    }
+
+    public void setCreatDt(LocalDateTime creatDt) {
+        this.creatDt = creatDt;
+    }
+
+    public LocalDateTime getLastUpdtDt() {
+        return lastUpdtDt;
+    }
+
+    public void setLastUpdtDt(LocalDateTime lastUpdtDt) {
+        this.lastUpdtDt = lastUpdtDt;
+    }
+
+    @Override
+    public String toString() {
+        return "FileJobVO{" +
+                "jobId=" + jobId +
+                ", atchFileId='" + atchFileId + '\'' +
+                ", fileSn=" + fileSn +
+                ", jobTy='" + jobTy + '\'' +
+                ", jobSttus='" + jobSttus + '\'' +
+                ", attemptCnt=" + attemptCnt +
+                '}';
+    }
+}
@@ -18,6 +18,10 @@ public class FileVO {
     private String fileCn;             // 파일내용
     private Long fileSize;             // 파일크기
     private Long fileOrder;            // 파일정렬순서
+    private String fileHash;           // 파일내용해시 (SHA-256, 내용 주소 저장소 파일만)
+    private String processSttus;       // 후처리상태 (PROCESSING, READY, FAILED, 처리 대상이 아니면 null)
+    private Integer imageWidth;        // 이미지너비 (후처리 메타데이터 추출 후)
+    private Integer imageHeight;       // 이미지높이 (후처리 메타데이터 추출 후)
     
     // 마스터 정보 (COMTNFILE 테이블)
     private LocalDateTime creatDt;     // 생성일시
@@ -125,4 +129,70 @@ public class FileVO {
     public void setFileOrder(Long fileOrder) {
         this.fileOrder = fileOrder;
     }
+    
+    public String getFileHash() {
+        return fileHash;
+    }
+    
+    public void setFileHash(String fileHash) {
+        this.fileHash = fileHash;
+    }
+
+    public String getProcessSttus() {
+        return processSttus;
+    }
+
+    public void setProcessSttus(String processSttus) {
+        this.processSttus = processSttus;
+    }
+
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public void setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
+    public void setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+
+    /**
+     * 업로드 토큰 (첨부파일ID_파일순번)
+     * 사전 업로드한 파일을 게시글 등록 시 키 조회로 찾기 위한 식별자
+     */
+    public String getUploadToken() {
+        if (atchFileId == null || fileSn == null) {
+            return null;
+        }
+        return atchFileId.trim() + "_" + fileSn;
+    }
+
+    /**
+     * 업로드 토큰을 (첨부파일ID, 파일순번) 키로 변환
+     * 첨부파일ID에도 '_'가 포함되므로 마지막 '_' 기준으로 분리한다.
+     * @return 형식이 맞지 않으면 null
+     */
+    public static FileVO fromUploadToken(String uploadToken) {
+        if (uploadToken == null) {
+            return null;
+        }
+        int idx = uploadToken.lastIndexOf('_');
+        if (idx <= 0 || idx == uploadToken.length() - 1) {
+            return null;
+        }
+        try {
+            FileVO key = new FileVO();
+            key.setAtchFileId(uploadToken.substring(0, idx).trim());
+            key.setFileSn(Long.valueOf(uploadToken.substring(idx + 1)));
+            return key;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package egovframework.survey.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * JWT 서명 키 VO
+ * COMTNJWTKEY 테이블과 매핑 (개인키는 암호화된 값)
+ */
+public class JwtKeyVO {
+
+    private String kid;                // 키ID
+    private String algorithm;          // 서명알고리즘 (ES256)
+    private String publicKey;          // 공개키 (X.509 DER, Base64)
+    private String privateKey;         // 개인키 (PKCS#8 DER, AES-GCM 암호화 후 Base64)
+    private LocalDateTime activeDt;    // 서명 시작일시
+    private LocalDateTime creatDt;     // 생성일시
+
+    // Getter & Setter
+    public String getKid() {
+        return kid;
+    }
+
+    public void setKid(String kid) {
+        this.kid = kid;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public LocalDateTime getActiveDt() {
+        return activeDt;
+    }
+
+    public void setActiveDt(LocalDateTime activeDt) {
+        this.activeDt = activeDt;
+    }
+
+    public LocalDateTime getCreatDt() {
+        return creatDt;
+    }
+
+    public void setCreatDt(LocalDateTime creatDt) {
+        this.creatDt = creatDt;
+    }
+}
@@ -32,6 +32,12 @@ public class LoginResponseVO {
     @Schema(description = "토큰 만료 시간(초)")
     private long expiresIn;
     
+    @Schema(description = "리프레시 토큰 (POST /auth/refresh 에서 한 번만 사용 가능, 사용 시 새 토큰으로 교체)")
+    private String refreshToken;
+    
+    @Schema(description = "리프레시 토큰 만료 시간(초)")
+    private long refreshExpiresIn;
+    
     // Getter/Setter
     public String getAccessToken() {
         return accessToken;
@@ -104,4 +110,20 @@ public class LoginResponseVO {
     public void setExpiresIn(long expiresIn) {
         this.expiresIn = expiresIn;
     }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public long getRefreshExpiresIn() {
+        return refreshExpiresIn;
+    }
+    
+    public void setRefreshExpiresIn(long refreshExpiresIn) {
+        this.refreshExpiresIn = refreshExpiresIn;
+    }
 } 
\ No newline at end of file
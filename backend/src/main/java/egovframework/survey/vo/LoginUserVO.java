@@ -0,0 +1,55 @@
+package egovframework.survey.vo;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * 인증된 사용자 (JWT 클레임에서 만든 인증 주체)
+ * 작성자명 등 화면 표시용 정보를 토큰에 담아 두어 요청마다 사용자 테이블을 조회하지 않는다.
+ * 검증 토큰 캐시에 보관되어 여러 요청이 공유하므로 불변 객체로 둔다.
+ * getName()은 업무사용자ID를 반환하므로 Authentication.getName()으로 사용자ID를 얻는 기존 코드는 그대로 동작한다.
+ */
+public final class LoginUserVO implements Principal, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String userId;
+    private final String userNm;
+    private final String esntlId;
+    private final String authorCode;
+
+    public LoginUserVO(String userId, String userNm, String esntlId, String authorCode) {
+        this.userId = userId;
+        this.userNm = userNm;
+        this.esntlId = esntlId;
+        this.authorCode = authorCode;
+    }
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    // 사용자명 (이전 형식 토큰이면 null)
+    public String getUserNm() {
+        return userNm;
+    }
+
+    // 고유ID (이전 형식 토큰이면 null)
+    public String getEsntlId() {
+        return esntlId;
+    }
+
+    public String getAuthorCode() {
+        return authorCode;
+    }
+
+    @Override
+    public String toString() {
+        return userId;
+    }
+}
@@ -35,6 +35,18 @@ public class PaginationInfo {
     @Schema(description = "마지막 레코드 인덱스", example = "9")
     private int lastRecordIndex = 0;
     
+    @Schema(description = "전체 레코드 수 추정값 여부 (true면 플래너 예상 행수)", example = "false")
+    private boolean totalRecordCountEstimated;
+    
+    @Schema(description = "페이징 방식 (OFFSET, CURSOR)", example = "OFFSET")
+    private String paginationType = "OFFSET";
+    
+    @Schema(description = "다음 페이지 커서 (CURSOR 방식, 마지막 페이지면 null)")
+    private String nextCursor;
+    
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private boolean hasNextPage;
+    
     // 생성자
     public PaginationInfo() {}
     
@@ -100,6 +112,14 @@ public class PaginationInfo {
         return totalRecordCount;
     }
     
+    public boolean isTotalRecordCountEstimated() {
+        return totalRecordCountEstimated;
+    }
+    
+    public void setTotalRecordCountEstimated(boolean totalRecordCountEstimated) {
+        this.totalRecordCountEstimated = totalRecordCountEstimated;
+    }
+    
     public int getTotalPageCount() {
         return totalPageCount;
     }
@@ -139,4 +159,28 @@ public class PaginationInfo {
     public void setLastRecordIndex(int lastRecordIndex) {
         this.lastRecordIndex = lastRecordIndex;
     }
-} 
\ No newline at end of file
+    
+    public String getPaginationType() {
+        return paginationType;
+    }
+    
+    public void setPaginationType(String paginationType) {
+        this.paginationType = paginationType;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasNextPage() {
+        return hasNextPage;
+    }
+    
+    public void setHasNextPage(boolean hasNextPage) {
+        this.hasNextPage = hasNextPage;
+    }
+}
@@ -0,0 +1,19 @@
+package egovframework.survey.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "토큰 갱신·로그아웃 요청 VO")
+public class RefreshTokenRequestVO {
+
+    @Schema(description = "리프레시 토큰")
+    private String refreshToken;
+
+    // Getter/Setter
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
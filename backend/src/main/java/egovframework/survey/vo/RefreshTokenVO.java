@@ -0,0 +1,93 @@
+package egovframework.survey.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리프레시 토큰 VO
+ * COMTNREFRESHTOKEN 테이블과 매핑 (토큰 원문 대신 비밀값 해시만 보관)
+ */
+public class RefreshTokenVO {
+
+    private String tokenId;            // 토큰ID
+    private String familyId;           // 세션ID (회전된 토큰 계열)
+    private String emplyrId;           // 업무사용자ID
+    private String tokenHash;          // 토큰 비밀값 SHA-256 (16진수)
+    private LocalDateTime expireDt;    // 만료일시
+    private String replacedBy;         // 교체된 새 토큰ID
+    private LocalDateTime replacedDt;  // 교체일시
+    private LocalDateTime revokeDt;    // 폐기일시
+    private LocalDateTime creatDt;     // 생성일시
+
+    // Getter & Setter
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+
+    public String getEmplyrId() {
+        return emplyrId;
+    }
+
+    public void setEmplyrId(String emplyrId) {
+        this.emplyrId = emplyrId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public LocalDateTime getExpireDt() {
+        return expireDt;
+    }
+
+    public void setExpireDt(LocalDateTime expireDt) {
+        this.expireDt = expireDt;
+    }
+
+    public String getReplacedBy() {
+        return replacedBy;
+    }
+
+    public void setReplacedBy(String replacedBy) {
+        this.replacedBy = replacedBy;
+    }
+
+    public LocalDateTime getReplacedDt() {
+        return replacedDt;
+    }
+
+    public void setReplacedDt(LocalDateTime replacedDt) {
+        this.replacedDt = replacedDt;
+    }
+
+    public LocalDateTime getRevokeDt() {
+        return revokeDt;
+    }
+
+    public void setRevokeDt(LocalDateTime revokeDt) {
+        this.revokeDt = revokeDt;
+    }
+
+    public LocalDateTime getCreatDt() {
+        return creatDt;
+    }
+
+    public void setCreatDt(LocalDateTime creatDt) {
+        this.creatDt = creatDt;
+    }
+}
@@ -0,0 +1,39 @@
+package egovframework.survey.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 폐기 토큰 VO
+ * COMTNREVOKEDTOKEN 테이블과 매핑 (폐기된 세션ID, 노드 증분 동기화용)
+ */
+public class RevokedTokenVO {
+
+    private String tokenId;            // 폐기된 세션ID
+    private LocalDateTime expireDt;    // 보관만료일시
+    private LocalDateTime revokeDt;    // 폐기일시
+
+    // Getter & Setter
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public LocalDateTime getExpireDt() {
+        return expireDt;
+    }
+
+    public void setExpireDt(LocalDateTime expireDt) {
+        this.expireDt = expireDt;
+    }
+
+    public LocalDateTime getRevokeDt() {
+        return revokeDt;
+    }
+
+    public void setRevokeDt(LocalDateTime revokeDt) {
+        this.revokeDt = revokeDt;
+    }
+}
@@ -0,0 +1,52 @@
+package egovframework.survey.vo;
+
+/**
+ * 파일 저장소 객체 정보 VO
+ * 저장소 키(업로드 경로 기준 상대 경로, 예: ab/cd/{저장파일명})와 크기·수정시각을 담는다.
+ * 하위 항목 나열 시 디렉토리(공통 접두어)는 키가 "/"로 끝나고 directory가 true이다.
+ */
+public class StorageObjectVO {
+
+    private final String key;           // 저장소 키
+    private final long length;          // 크기 (디렉토리는 0)
+    private final long lastModified;    // 수정시각 (ms, 알 수 없으면 0)
+    private final boolean directory;    // 디렉토리 여부
+
+    public StorageObjectVO(String key, long length, long lastModified, boolean directory) {
+        this.key = key;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.directory = directory;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 키의 마지막 이름 (디렉토리는 끝의 "/" 제외)
+     */
+    public String getName() {
+        String path = directory && key.endsWith("/") ? key.substring(0, key.length() - 1) : key;
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * 같은 디렉토리의 다른 이름 키
+     */
+    public String siblingKey(String name) {
+        return key.substring(0, key.lastIndexOf('/') + 1) + name;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isDirectory() {
+        return directory;
+    }
+}
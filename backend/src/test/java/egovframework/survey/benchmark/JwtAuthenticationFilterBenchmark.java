@@ -0,0 +1,134 @@
+package egovframework.survey.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.config.JwtAuthenticationFilter;
+import egovframework.survey.service.impl.TokenRevocationServiceImpl;
+import egovframework.survey.util.BloomFilter;
+import egovframework.survey.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWT 인증 필터 요청당 비용 비교
+ * - legacyThreeParses: 변경 전 방식 (검증·사용자ID·권한 조회마다 키 생성 + 파서 생성 + 서명 검증, 요청당 3회)
+ * - filterCacheMiss: 키·파서 재사용, 요청당 서명 검증 1회 (검증 토큰 캐시 비활성)
+ * - filterCacheHit: 검증 토큰 캐시 적중 (다이제스트 계산 + 캐시 조회만)
+ * 필터 측정에는 세션 폐기 확인(Bloom 필터)이 포함된다.
+ *
+ * 실행: mvn -B test-compile 후 테스트 클래스패스로 이 클래스의 main 실행
+ *   (예: mvn -B exec:java -Dexec.classpathScope=test -Dexec.mainClass=egovframework.survey.benchmark.JwtAuthenticationFilterBenchmark)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "egovframe!@#OpenSurveyJWTSecretKey2024";
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private MockHttpServletRequest request;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        cachedFilter = newFilter(newJwtUtil(300));
+        JwtUtil uncached = newJwtUtil(0);
+        uncachedFilter = newFilter(uncached);
+
+        token = uncached.generateToken("admin", "ADMIN", "관리자", "USRCNFRM_00000000000", "0123456789abcdef0123456789abcdef");
+        request = new MockHttpServletRequest("GET", "/api/sym/bbs/bbsmst");
+        request.addHeader("Authorization", "Bearer " + token);
+        // 캐시 적중 측정을 위해 한 번 검증해 둠
+        cachedFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    @Benchmark
+    public Object legacyThreeParses() {
+        String authHeader = request.getHeader("Authorization");
+        String bearer = authHeader.substring(7);
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(bearer);
+        Claims userClaims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(bearer).getBody();
+        Claims authorityClaims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(bearer).getBody();
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                userClaims.get("userId", String.class), null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + authorityClaims.get("authorityCode", String.class))));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Object filterCacheMiss() throws Exception {
+        return runFilter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object filterCacheHit() throws Exception {
+        return runFilter(cachedFilter);
+    }
+
+    private Object runFilter(JwtAuthenticationFilter filter) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static JwtUtil newJwtUtil(long cacheTtlSeconds) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheTtlSeconds", cacheTtlSeconds);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10000);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static JwtAuthenticationFilter newFilter(JwtUtil jwtUtil) {
+        // 폐기 목록은 비어 있는 Bloom 필터 (DB 동기화 없이 요청 경로 확인 비용만 포함)
+        TokenRevocationServiceImpl revocation = new TokenRevocationServiceImpl();
+        ReflectionTestUtils.setField(revocation, "filter", new BloomFilter(100000, 0.01));
+
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", revocation);
+        return filter;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,202 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsImageCacheService;
+import egovframework.survey.vo.BbsMstVO;
+import egovframework.survey.vo.BbsVO;
+
+/**
+ * 게시판 캐시 검증 (마스터 조회 중 무효화, 상세 single-flight, 키별 무효화, 조회수 반영 보정, 복사본 분리)
+ */
+@ExtendWith(MockitoExtension.class)
+class BbsCacheServiceImplTest {
+
+    private static final String BBS_ID = "BBSMSTR_000000000001";
+
+    @Mock
+    private BbsMapper bbsMapper;
+
+    @Mock
+    private BbsImageCacheService bbsImageCacheService;
+
+    @InjectMocks
+    private BbsCacheServiceImpl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cacheService, "bbsMstTtlSeconds", 600L);
+        ReflectionTestUtils.setField(cacheService, "bbsMstMaxSize", 100);
+        ReflectionTestUtils.setField(cacheService, "bbsDetailTtlSeconds", 60L);
+        ReflectionTestUtils.setField(cacheService, "bbsDetailMaxSize", 100);
+        ReflectionTestUtils.setField(cacheService, "bbsDetailLoadWaitMs", 5000L);
+        cacheService.init();
+    }
+
+    @Test
+    void selectBbsMst_evictionDuringLoadIsNotCached() {
+        // 수정 커밋 전에 시작된 조회가 커밋 후 무효화보다 늦게 끝남 → 이전 값은 반환만 하고 캐시하지 않음
+        when(bbsMapper.selectBbsMst(BBS_ID)).thenAnswer(invocation -> {
+            cacheService.evictBbsMst(BBS_ID);
+            return mst("이전 게시판명");
+        }).thenReturn(mst("새 게시판명"));
+
+        assertEquals("이전 게시판명", cacheService.selectBbsMst(BBS_ID).getBbsNm());
+        assertEquals("새 게시판명", cacheService.selectBbsMst(BBS_ID).getBbsNm());
+        assertEquals("새 게시판명", cacheService.selectBbsMst(BBS_ID).getBbsNm());
+        verify(bbsMapper, times(2)).selectBbsMst(BBS_ID);
+    }
+
+    @Test
+    void selectBbs_concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<BbsVO> loader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return post(1L, 10, null);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BbsVO> first = executor.submit(() -> cacheService.selectBbs(BBS_ID, 1L, loader));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<BbsVO> second = executor.submit(() -> cacheService.selectBbs(BBS_ID, 1L, loader));
+            // 두 번째 요청이 진행 중 조회에 합류할 시간
+            Thread.sleep(100);
+            release.countDown();
+
+            BbsVO a = first.get(5, TimeUnit.SECONDS);
+            BbsVO b = second.get(5, TimeUnit.SECONDS);
+            assertEquals(1, loads.get());
+            assertNotSame(a, b);
+            assertEquals(a.getNttId(), b.getNttId());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void selectBbs_keyInvalidatedDuringLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        cacheService.selectBbs(BBS_ID, 1L, () -> {
+            loads.incrementAndGet();
+            cacheService.onRemoteInvalidation(BbsCacheService.BBS_DETAIL_CACHE, BBS_ID + ":1");
+            return post(1L, 10, null);
+        });
+
+        cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 10, null)));
+        cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 10, null)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void viewCountFlush_updatesCachedRdcntAndOnlySkipsOverlappingLoadOfSamePost() {
+        AtomicInteger loads = new AtomicInteger();
+        cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 10, null)));
+
+        // 다른 게시글 조회 도중 1번 게시글 조회수 반영 → 2번 게시글은 그대로 캐시
+        cacheService.selectBbs(BBS_ID, 2L, () -> {
+            loads.incrementAndGet();
+            cacheService.onViewCountFlushing(BBS_ID, 1L);
+            cacheService.onViewCountFlushed(BBS_ID, 1L, 5);
+            return post(2L, 3, null);
+        });
+        assertEquals(15, cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 0, null))).getRdcnt());
+        assertEquals(3, cacheService.selectBbs(BBS_ID, 2L, counting(loads, post(2L, 0, null))).getRdcnt());
+        assertEquals(2, loads.get());
+
+        // 반영 중에 시작된 같은 게시글 조회는 반영 전후 값을 알 수 없으므로 캐시하지 않음
+        cacheService.onRemoteInvalidation(BbsCacheService.BBS_DETAIL_CACHE, BBS_ID + ":1");
+        cacheService.onViewCountFlushing(BBS_ID, 1L);
+        cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 20, null)));
+        cacheService.onViewCountFlushed(BBS_ID, 1L, 5);
+        assertEquals(25, cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 25, null))).getRdcnt());
+        cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 25, null)));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void fileInvalidation_skipsOnlyLoadsOfThatFile() {
+        AtomicInteger loads = new AtomicInteger();
+        cacheService.selectBbs(BBS_ID, 1L, () -> {
+            loads.incrementAndGet();
+            cacheService.onRemoteInvalidation(BbsCacheService.BBS_DETAIL_FILE_CACHE, "FILE_OTHER");
+            return post(1L, 10, "FILE_1  ");
+        });
+        cacheService.selectBbs(BBS_ID, 1L, counting(loads, post(1L, 10, "FILE_1  ")));
+        assertEquals(1, loads.get());
+
+        cacheService.selectBbs(BBS_ID, 2L, () -> {
+            loads.incrementAndGet();
+            cacheService.onRemoteInvalidation(BbsCacheService.BBS_DETAIL_FILE_CACHE, "FILE_2");
+            return post(2L, 10, "FILE_2  ");
+        });
+        cacheService.selectBbs(BBS_ID, 2L, counting(loads, post(2L, 10, "FILE_2  ")));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void selectBbs_returnsCopiesThatDoNotChangeCachedValue() {
+        BbsVO first = cacheService.selectBbs(BBS_ID, 1L, () -> post(1L, 10, null));
+        first.setRdcnt(99);
+        first.setNttSj("수정");
+
+        BbsVO second = cacheService.selectBbs(BBS_ID, 1L, () -> post(1L, 0, null));
+        assertEquals(10, second.getRdcnt());
+        assertEquals("제목", second.getNttSj());
+    }
+
+    private static Supplier<BbsVO> counting(AtomicInteger loads, BbsVO result) {
+        return () -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+
+    private static BbsMstVO mst(String bbsNm) {
+        BbsMstVO mst = new BbsMstVO();
+        mst.setBbsId(BBS_ID);
+        mst.setBbsNm(bbsNm);
+        return mst;
+    }
+
+    private static BbsVO post(long nttId, int rdcnt, String atchFileId) {
+        BbsVO bbs = new BbsVO();
+        bbs.setBbsId(BBS_ID);
+        bbs.setNttId(nttId);
+        bbs.setNttSj("제목");
+        bbs.setRdcnt(rdcnt);
+        bbs.setAtchFileId(atchFileId);
+        return bbs;
+    }
+}
@@ -0,0 +1,115 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.service.BbsCountService;
+import egovframework.survey.service.CacheInvalidationHook;
+import egovframework.survey.vo.BbsSearchVO;
+import egovframework.survey.vo.PaginationInfo;
+
+/**
+ * 게시판별 정확 카운터 검증 (적재 중 등록/삭제가 중복·누락되지 않음, 다른 노드 변경 반영)
+ */
+@ExtendWith(MockitoExtension.class)
+class BbsCountServiceImplTest {
+
+    private static final String BBS_ID = "BBSMSTR_000000000001";
+
+    @Mock
+    private BbsMapper bbsMapper;
+
+    @Mock
+    private CacheInvalidationHook cacheInvalidationHook;
+
+    @InjectMocks
+    private BbsCountServiceImpl countService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(countService, "cacheTtlSeconds", 30L);
+        ReflectionTestUtils.setField(countService, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(countService, "exactResyncSeconds", 300L);
+        countService.init();
+    }
+
+    @Test
+    void exactCount_insertCommittedDuringLoadIsNotCountedTwice() {
+        // 적재 쿼리가 이미 새 글을 포함한 뒤 커밋 후 증가가 실행됨
+        when(bbsMapper.selectBbsListTotCnt(any(BbsSearchVO.class))).thenAnswer(invocation -> {
+            countService.onBbsInserted(BBS_ID);
+            return 6;
+        }).thenReturn(6);
+
+        assertEquals(6, count());
+        assertEquals(6, count());
+        assertEquals(6, count());
+        verify(bbsMapper, times(2)).selectBbsListTotCnt(any(BbsSearchVO.class));
+
+        countService.onBbsInserted(BBS_ID);
+        assertEquals(7, count());
+        verify(bbsMapper, times(2)).selectBbsListTotCnt(any(BbsSearchVO.class));
+    }
+
+    @Test
+    void exactCount_loadDuringUncompletedTransactionIsNotPublished() {
+        when(bbsMapper.selectBbsListTotCnt(any(BbsSearchVO.class))).thenReturn(5, 4, 4);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            countService.onBbsDeleted(BBS_ID);
+            // 커밋 전 또는 커밋 후 증감 전에 적재한 값은 삭제 포함 여부를 알 수 없음
+            assertEquals(5, count());
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            assertEquals(4, count());
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(4, count());
+        assertEquals(4, count());
+        verify(bbsMapper, times(3)).selectBbsListTotCnt(any(BbsSearchVO.class));
+    }
+
+    @Test
+    void exactCount_publishesLocalChangesAndReloadsOnRemoteChange() {
+        when(bbsMapper.selectBbsListTotCnt(any(BbsSearchVO.class))).thenReturn(5, 7);
+
+        assertEquals(5, count());
+        countService.onBbsInserted(BBS_ID);
+        assertEquals(6, count());
+        verify(cacheInvalidationHook).publish(BbsCountService.BBS_COUNT_CACHE, BBS_ID);
+
+        // 다른 노드에서 등록 → 증감값을 모르므로 카운터를 버리고 DB에서 다시 적재
+        countService.onRemoteInvalidation(BBS_ID);
+        assertEquals(7, count());
+        assertEquals(7, count());
+        verify(bbsMapper, times(2)).selectBbsListTotCnt(any(BbsSearchVO.class));
+    }
+
+    private int count() {
+        BbsSearchVO searchVO = new BbsSearchVO();
+        searchVO.setBbsId(BBS_ID);
+        PaginationInfo paginationInfo = new PaginationInfo();
+        countService.applyBbsListCount(searchVO, paginationInfo);
+        return paginationInfo.getTotalRecordCount();
+    }
+}
@@ -0,0 +1,189 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.util.FileStoreLayout;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.StorageObjectVO;
+
+/**
+ * 파일 전송 서비스의 조건부 요청 및 Range 요청 처리 검증
+ */
+class BbsFileDownloadServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BbsFileDownloadServiceImpl downloadService;
+    private FileVO fileInfo;
+    private StorageObjectVO file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        downloadService = new BbsFileDownloadServiceImpl();
+        ReflectionTestUtils.setField(downloadService, "maxRanges", 16);
+        LocalFileStorage fileStorage = new LocalFileStorage(tempDir.toString());
+        ReflectionTestUtils.setField(downloadService, "fileStorage", fileStorage);
+
+        fileInfo = new FileVO();
+        fileInfo.setAtchFileId("FILE_0000000000001   ");
+        fileInfo.setFileSn(1L);
+
+        Files.write(tempDir.resolve("sample.txt"), "0123456789".getBytes(StandardCharsets.US_ASCII));
+        file = fileStorage.stat("sample.txt");
+    }
+
+    @Test
+    void sendFile_fullContentAdvertisesRangesAndValidators() throws Exception {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals(downloadService.createETag(fileInfo, file), response.getHeader("ETag"));
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void sendFile_ifNoneMatchReturnsNotModified() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", downloadService.createETag(fileInfo, file));
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void sendFile_singleRangeSendsOnlyRequestedBytes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=7-");
+        request.addHeader("If-Range", downloadService.createETag(fileInfo, file));
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 7-9/10", response.getHeader("Content-Range"));
+        assertEquals("789", response.getContentAsString());
+    }
+
+    @Test
+    void sendFile_staleIfRangeFallsBackToFullContent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=7-");
+        request.addHeader("If-Range", "\"stale\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void sendFile_multipleRangesUseByteranges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=0-1,-2");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+        String body = response.getContentAsString();
+        assertTrue(body.contains("Content-Range: bytes 0-1/10\r\n\r\n01"));
+        assertTrue(body.contains("Content-Range: bytes 8-9/10\r\n\r\n89"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLengthLong());
+    }
+
+    @Test
+    void sendFile_unsatisfiableRangeReturns416() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=20-30");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void parseRanges_mergesOverlapsAndIgnoresInvalidSyntax() {
+        List<long[]> ranges = BbsFileDownloadServiceImpl.parseRanges("bytes=5-7,0-2,6-9", 10, 16);
+        assertEquals(2, ranges.size());
+        assertArrayEquals(new long[] {0, 2}, ranges.get(0));
+        assertArrayEquals(new long[] {5, 9}, ranges.get(1));
+
+        assertNull(BbsFileDownloadServiceImpl.parseRanges("items=0-1", 10, 16));
+        assertNull(BbsFileDownloadServiceImpl.parseRanges("bytes=5-2", 10, 16));
+        assertNull(BbsFileDownloadServiceImpl.parseRanges("bytes=0-0,1-1,2-2", 10, 2));
+    }
+
+    @Test
+    void sendZip_storesCompressedFormatsAndRenamesDuplicates() throws Exception {
+        Files.write(tempDir.resolve("photo.bin"), new byte[] {1, 2, 3, 4});
+        ReflectionTestUtils.setField(downloadService, "fileStoreLayout", new FileStoreLayout(tempDir.toString(), FileStoreLayout.LAYOUT_FLAT));
+        ReflectionTestUtils.setField(downloadService, "zipLevel", -1);
+        ReflectionTestUtils.setField(downloadService, "storedExtensions", "jpg,png");
+        downloadService.init();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        downloadService.sendZip(Arrays.asList(
+                zipFile(1L, "sample.txt", "readme.txt", "txt"),
+                zipFile(2L, "photo.bin", "photo.png", "png"),
+                zipFile(3L, "sample.txt", "readme.txt", "txt"),
+                zipFile(4L, "missing.bin", "missing.txt", "txt")), "FILE_0000000000001.zip", response);
+
+        assertEquals("application/zip", response.getContentType());
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertEquals("readme.txt", entry.getName());
+            assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+            assertEquals("0123456789", new String(zip.readAllBytes(), StandardCharsets.US_ASCII));
+
+            entry = zip.getNextEntry();
+            assertEquals("photo.png", entry.getName());
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertArrayEquals(new byte[] {1, 2, 3, 4}, zip.readAllBytes());
+
+            entry = zip.getNextEntry();
+            assertEquals("readme (2).txt", entry.getName());
+
+            assertNull(zip.getNextEntry());
+        }
+    }
+
+    private FileVO zipFile(long fileSn, String streFileNm, String orignlFileNm, String fileExtsn) {
+        FileVO zipFile = new FileVO();
+        zipFile.setAtchFileId("FILE_0000000000001");
+        zipFile.setFileSn(fileSn);
+        zipFile.setFileStreCours(tempDir.toString());
+        zipFile.setStreFileNm(streFileNm);
+        zipFile.setOrignlFileNm(orignlFileNm);
+        zipFile.setFileExtsn(fileExtsn);
+        return zipFile;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        downloadService.sendFile(fileInfo, file, "text/plain", null, request, response);
+        return response;
+    }
+}
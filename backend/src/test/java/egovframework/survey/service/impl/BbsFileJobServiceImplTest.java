@@ -0,0 +1,142 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import egovframework.survey.mapper.FileJobMapper;
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsFileJobService;
+import egovframework.survey.service.BbsFileStoreService;
+import egovframework.survey.vo.FileJobVO;
+import egovframework.survey.vo.FileVO;
+
+/**
+ * 업로드 후처리 작업 등록 및 실패 처리 검증
+ */
+@ExtendWith(MockitoExtension.class)
+class BbsFileJobServiceImplTest {
+
+    @Mock
+    private FileJobMapper fileJobMapper;
+
+    @Mock
+    private FileMapper fileMapper;
+
+    @Mock
+    private BbsCacheService bbsCacheService;
+
+    @Mock
+    private BbsFileStoreService bbsFileStoreService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BbsFileJobServiceImpl fileJobService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileJobService, "enabled", false);
+        ReflectionTestUtils.setField(fileJobService, "workers", 2);
+        ReflectionTestUtils.setField(fileJobService, "concurrency", "CHECKSUM:1,METADATA:2,THUMBNAIL:0");
+        ReflectionTestUtils.setField(fileJobService, "maxAttempts", 3);
+        // 작업자 스레드 없이 등록·처리만 검증
+        fileJobService.init();
+        ReflectionTestUtils.setField(fileJobService, "enabled", true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_addsJobsPerFileTypeAndMarksProcessing() {
+        FileVO image = file(1L, "png", "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+        FileVO legacyText = file(2L, "txt", null);
+        when(fileJobMapper.insertFileJobs(any())).thenAnswer(invocation -> ((List<FileJobVO>) invocation.getArgument(0)).size());
+
+        fileJobService.enqueue(Arrays.asList(image, legacyText), "BBSMSTR_000000000001");
+
+        ArgumentCaptor<List<FileJobVO>> jobs = ArgumentCaptor.forClass(List.class);
+        verify(fileJobMapper).insertFileJobs(jobs.capture());
+        // 동시 실행 수가 0인 THUMBNAIL은 등록하지 않음
+        assertEquals(2, jobs.getValue().size());
+        assertEquals(BbsFileJobService.JOB_CHECKSUM, jobs.getValue().get(0).getJobTy());
+        assertEquals(BbsFileJobService.JOB_METADATA, jobs.getValue().get(1).getJobTy());
+        assertEquals("BBSMSTR_000000000001", jobs.getValue().get(1).getBbsId());
+        assertEquals(BbsFileJobService.STTUS_PROCESSING, image.getProcessSttus());
+        assertNull(legacyText.getProcessSttus());
+    }
+
+    @Test
+    void execute_checksumMismatchFailsWithoutRetry() throws Exception {
+        FileVO stored = file(1L, "pdf", "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
+        when(fileMapper.selectFileDetail("FILE_0000000000001", 1L)).thenReturn(stored);
+        when(bbsFileStoreService.verify(stored)).thenReturn(false);
+        runTransactionsInline();
+        when(fileJobMapper.failFileJob(eq(10L), anyString(), anyString(), eq(0), anyLong())).thenReturn(1);
+
+        fileJobService.execute(job(10L, BbsFileJobService.JOB_CHECKSUM, 1));
+
+        verify(fileJobMapper).failFileJob(eq(10L), anyString(), anyString(), eq(0), anyLong());
+        verify(fileJobMapper).updateFileProcessSttus("FILE_0000000000001", 1L);
+        verify(fileJobMapper, never()).completeFileJob(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void execute_transientErrorIsRetriedUpToMaxAttempts() throws Exception {
+        when(fileMapper.selectFileDetail("FILE_0000000000001", 1L)).thenThrow(new IllegalStateException("connection reset"));
+        runTransactionsInline();
+        when(fileJobMapper.failFileJob(eq(11L), anyString(), anyString(), eq(3), anyLong())).thenReturn(1);
+
+        fileJobService.execute(job(11L, BbsFileJobService.JOB_METADATA, 1));
+
+        verify(fileJobMapper).failFileJob(eq(11L), anyString(), anyString(), eq(3), anyLong());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static FileVO file(long fileSn, String fileExtsn, String fileHash) {
+        FileVO file = new FileVO();
+        file.setAtchFileId("FILE_0000000000001");
+        file.setFileSn(fileSn);
+        file.setStreFileNm(fileHash != null ? fileHash : "1700000000000_" + fileSn + "." + fileExtsn);
+        file.setFileExtsn(fileExtsn);
+        file.setFileHash(fileHash);
+        return file;
+    }
+
+    private static FileJobVO job(long jobId, String jobTy, int attemptCnt) {
+        FileJobVO job = new FileJobVO("FILE_0000000000001  ", 1L, jobTy, null);
+        job.setJobId(jobId);
+        job.setAttemptCnt(attemptCnt);
+        return job;
+    }
+}
@@ -0,0 +1,128 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsFileStoreService;
+import egovframework.survey.vo.FileVO;
+
+/**
+ * 사전 업로드 그룹 점검 검증 (기본은 보고만, 삭제 모드에서도 본문 이미지 그룹은 보존)
+ */
+@ExtendWith(MockitoExtension.class)
+class BbsFileReconcileServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private FileMapper fileMapper;
+
+    @Mock
+    private BbsFileStoreService bbsFileStoreService;
+
+    @Mock
+    private BbsCacheService bbsCacheService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BbsFileReconcileServiceImpl reconcileService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reconcileService, "fileStorage", new LocalFileStorage(uploadDir.toString()));
+        ReflectionTestUtils.setField(reconcileService, "orphanAction", BbsFileReconcileServiceImpl.ACTION_QUARANTINE);
+        ReflectionTestUtils.setField(reconcileService, "missingRowAction", BbsFileReconcileServiceImpl.ACTION_REPORT);
+        ReflectionTestUtils.setField(reconcileService, "stagedAction", BbsFileReconcileServiceImpl.ACTION_REPORT);
+        ReflectionTestUtils.setField(reconcileService, "batchSize", 500);
+        ReflectionTestUtils.setField(reconcileService, "orphanGraceHours", 24L);
+        ReflectionTestUtils.setField(reconcileService, "stagedGraceHours", 24L);
+        ReflectionTestUtils.setField(reconcileService, "deletedPostGraceDays", 30L);
+        ReflectionTestUtils.setField(reconcileService, "quarantineRetentionDays", 7L);
+    }
+
+    @Test
+    void stagedGroups_reportOnlyByDefault() {
+        when(fileMapper.selectStagedAtchFileIds(isNull(), anyLong(), anyLong(), anyInt()))
+                .thenReturn(List.of("FILE_000000000001  "));
+        when(fileMapper.selectFileList("FILE_000000000001")).thenReturn(List.of(file("FILE_000000000001", "ATTACHMENT")));
+
+        reconcileService.run();
+
+        assertEquals(1L, lastRun().get("stagedGroups"));
+        assertEquals(0L, lastRun().get("stagedGroupsDeleted"));
+        verify(fileMapper, never()).deleteFileAll(anyString());
+        verify(bbsFileStoreService, never()).release(any(FileVO.class));
+    }
+
+    @Test
+    void stagedGroups_deleteKeepsContentImageGroups() {
+        ReflectionTestUtils.setField(reconcileService, "stagedAction", BbsFileReconcileServiceImpl.ACTION_DELETE);
+        runTransactionsInline();
+        FileVO attachment = file("FILE_000000000001", "ATTACHMENT");
+        when(fileMapper.selectStagedAtchFileIds(isNull(), anyLong(), anyLong(), anyInt()))
+                .thenReturn(List.of("FILE_000000000001", "FILE_000000000002"));
+        when(fileMapper.selectFileList("FILE_000000000001")).thenReturn(List.of(attachment));
+        // 조회 후 본문 이미지가 추가된 그룹 (본문 URL로만 참조됨)
+        when(fileMapper.selectFileList("FILE_000000000002")).thenReturn(List.of(file("FILE_000000000002", "CONTENT_IMAGE")));
+
+        reconcileService.run();
+
+        assertEquals(1L, lastRun().get("stagedGroupsDeleted"));
+        verify(fileMapper).deleteFileAll("FILE_000000000001");
+        verify(fileMapper).deleteFileMaster("FILE_000000000001");
+        verify(bbsFileStoreService).release(attachment);
+        verify(fileMapper, never()).deleteFileAll("FILE_000000000002");
+        verify(fileMapper, never()).deleteFileMaster("FILE_000000000002");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> lastRun() {
+        return (Map<String, Object>) reconcileService.getStats().get("lastRun");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static FileVO file(String atchFileId, String fileCn) {
+        FileVO file = new FileVO();
+        file.setAtchFileId(atchFileId);
+        file.setFileSn(1L);
+        file.setFileCn(fileCn);
+        file.setFileSize(100L);
+        return file;
+    }
+}
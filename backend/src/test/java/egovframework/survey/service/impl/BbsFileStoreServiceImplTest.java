@@ -0,0 +1,122 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.apache.commons.fileupload.FileUploadBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsImageVariantService;
+import egovframework.survey.util.FileStoreLayout;
+import egovframework.survey.vo.FileVO;
+
+/**
+ * 내용 주소 저장소의 중복 제거 및 참조 파일 보존 검증
+ */
+@ExtendWith(MockitoExtension.class)
+class BbsFileStoreServiceImplTest {
+
+    private static final byte[] CONTENT = "same pdf bytes".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private FileMapper fileMapper;
+
+    @Mock
+    private BbsImageVariantService bbsImageVariantService;
+
+    @InjectMocks
+    private BbsFileStoreServiceImpl fileStoreService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileStoreService, "fileStoreLayout",
+                new FileStoreLayout(uploadDir.toString(), FileStoreLayout.LAYOUT_SHARDED));
+        ReflectionTestUtils.setField(fileStoreService, "fileStorage", new LocalFileStorage(uploadDir.toString()));
+        ReflectionTestUtils.setField(fileStoreService, "transferChunkSize", 4L);
+    }
+
+    @Test
+    void store_sameContentIsStoredOnceUnderItsHash() throws Exception {
+        FileVO first = fileStoreService.store(new ByteArrayInputStream(CONTENT), "a.pdf", 1024);
+        FileVO second = fileStoreService.store(new ByteArrayInputStream(CONTENT), "b.pdf", 1024);
+
+        assertEquals(64, first.getFileHash().length());
+        assertEquals(first.getFileHash(), second.getFileHash());
+        assertEquals(first.getFileHash(), first.getStreFileNm());
+        assertEquals("pdf", second.getFileExtsn());
+        assertEquals((long) CONTENT.length, second.getFileSize().longValue());
+        verify(fileMapper, times(2)).upsertFileBlob(any(FileVO.class));
+
+        // 해시 앞 2+2자리 샤드 디렉토리에 저장소 파일 1개만 남고 임시파일은 정리됨
+        Path shard = uploadDir.resolve(first.getFileHash().substring(0, 2)).resolve(first.getFileHash().substring(2, 4));
+        assertEquals(shard.toString(), first.getFileStreCours());
+        try (Stream<Path> files = Files.list(shard)) {
+            assertEquals(1, files.count());
+        }
+        try (Stream<Path> temps = Files.list(uploadDir.resolve(".tmp"))) {
+            assertEquals(0, temps.count());
+        }
+    }
+
+    @Test
+    void store_oversizedStreamIsRejectedWithoutLeavingFiles() throws Exception {
+        assertThrows(FileUploadBase.FileSizeLimitExceededException.class,
+                () -> fileStoreService.store(new ByteArrayInputStream(CONTENT), "big.pdf", 5));
+
+        verify(fileMapper, never()).upsertFileBlob(any(FileVO.class));
+        try (Stream<Path> temps = Files.list(uploadDir.resolve(".tmp"))) {
+            assertEquals(0, temps.count());
+        }
+    }
+
+    @Test
+    void release_keepsContentAddressedFileForGarbageCollection() throws Exception {
+        FileVO stored = fileStoreService.store(new ByteArrayInputStream(CONTENT), "a.pdf", 1024);
+
+        fileStoreService.release(stored);
+
+        assertTrue(Files.exists(Paths.get(stored.getFileStreCours(), stored.getStreFileNm())));
+        verify(fileMapper, never()).selectLegacyFileRefCount(anyString());
+    }
+
+    @Test
+    void linkStoredFile_recordsHashOnlyForContentAddressedNames() {
+        String hash = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+        FileVO blobRef = new FileVO();
+        FileVO legacyRef = new FileVO();
+
+        fileStoreService.linkStoredFile(blobRef, hash);
+        fileStoreService.linkStoredFile(legacyRef, "1700000000000_0.png");
+
+        assertEquals(hash, blobRef.getFileHash());
+        assertEquals(uploadDir.resolve("01").resolve("23").toString(), blobRef.getFileStreCours());
+        // 아직 이전되지 않은 기존 파일은 업로드 경로 그대로
+        assertNull(legacyRef.getFileHash());
+        assertEquals(uploadDir.toString(), legacyRef.getFileStreCours());
+    }
+}
@@ -0,0 +1,266 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.mapper.FileMapper;
+import egovframework.survey.service.BbsCacheService;
+import egovframework.survey.service.BbsCountService;
+import egovframework.survey.service.BbsViewCountService;
+import egovframework.survey.util.BbsCursor;
+import egovframework.survey.vo.BbsSearchVO;
+import egovframework.survey.vo.BbsVO;
+import egovframework.survey.vo.FileVO;
+import egovframework.survey.vo.PaginationInfo;
+
+/**
+ * 게시글 서비스 조회 경로의 쿼리 실행 횟수 검증
+ */
+@ExtendWith(MockitoExtension.class)
+class BbsServiceImplTest {
+
+    @Mock
+    private BbsMapper bbsMapper;
+
+    @Mock
+    private FileMapper fileMapper;
+
+    @Mock
+    private BbsCountService bbsCountService;
+
+    @Mock
+    private BbsViewCountService bbsViewCountService;
+
+    @Mock
+    private BbsCacheService bbsCacheService;
+
+    @InjectMocks
+    private BbsServiceImpl bbsService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void selectBbsList_runsFixedNumberOfQueriesRegardlessOfPageSize() {
+        BbsSearchVO searchVO = new BbsSearchVO();
+        searchVO.setBbsId("BBSMSTR_000000000001");
+        searchVO.setPageSize(50);
+
+        // CHAR(20) 컬럼 특성상 공백이 채워진 ATCH_FILE_ID
+        List<BbsVO> page = new ArrayList<>();
+        List<FileVO> files = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            BbsVO bbs = new BbsVO();
+            bbs.setNttId((long) i);
+            if (i % 5 != 0) {
+                String atchFileId = String.format("FILE_%013d", i);
+                bbs.setAtchFileId(atchFileId + "  ");
+                FileVO file = new FileVO();
+                file.setAtchFileId(atchFileId + "  ");
+                file.setFileSn(1L);
+                files.add(file);
+            }
+            page.add(bbs);
+        }
+
+        when(bbsMapper.selectBbsList(any(BbsSearchVO.class))).thenReturn(page);
+        when(fileMapper.selectFileListByAtchFileIds(anyList())).thenReturn(files);
+
+        Map<String, Object> result = bbsService.selectBbsList(searchVO);
+
+        // 목록 1회 + 첨부파일 일괄 1회 (총건수는 카운트 서비스 캐시 경유)
+        verify(bbsMapper, times(1)).selectBbsList(any(BbsSearchVO.class));
+        verify(bbsCountService, times(1)).applyBbsListCount(any(BbsSearchVO.class), any(PaginationInfo.class));
+        verify(fileMapper, times(1)).selectFileListByAtchFileIds(anyList());
+        verify(fileMapper, never()).selectFileList(anyString());
+
+        List<BbsVO> resultList = (List<BbsVO>) result.get("resultList");
+        assertEquals(50, resultList.size());
+        assertNull(resultList.get(0).getFileList());
+        assertEquals(1, resultList.get(1).getFileList().size());
+        assertEquals(1L, resultList.get(1).getFileList().get(0).getFileSn());
+    }
+
+    @Test
+    void selectBbsList_skipsAttachmentQueryWhenPageHasNoFiles() {
+        BbsSearchVO searchVO = new BbsSearchVO();
+        searchVO.setPageSize(10);
+
+        List<BbsVO> page = new ArrayList<>();
+        page.add(new BbsVO());
+
+        when(bbsMapper.selectBbsList(any(BbsSearchVO.class))).thenReturn(page);
+
+        bbsService.selectBbsList(searchVO);
+
+        verify(fileMapper, never()).selectFileListByAtchFileIds(anyList());
+        verify(fileMapper, never()).selectFileList(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void selectBbsList_cursorModeSeeksPerNoticeSegmentWithoutCount() {
+        BbsSearchVO searchVO = new BbsSearchVO();
+        searchVO.setBbsId("BBSMSTR_000000000001");
+        searchVO.setPaginationType("CURSOR");
+        searchVO.setPageSize(2);
+
+        // 공지 1건, 일반 게시글 2건 (pageSize + 1 = 3건 조회)
+        when(bbsMapper.selectBbsListByCursor(any(BbsSearchVO.class))).thenAnswer(invocation -> {
+            BbsSearchVO vo = invocation.getArgument(0);
+            List<BbsVO> rows = new ArrayList<>();
+            if ("Y".equals(vo.getSeekNtceAt())) {
+                assertEquals(3, vo.getSeekLimit());
+                rows.add(newBbs(100L, "Y", LocalDateTime.of(2025, 1, 3, 9, 0)));
+            } else {
+                assertEquals(2, vo.getSeekLimit());
+                rows.add(newBbs(99L, "N", LocalDateTime.of(2025, 1, 2, 9, 0)));
+                rows.add(newBbs(98L, "N", LocalDateTime.of(2025, 1, 1, 9, 0)));
+            }
+            return rows;
+        });
+
+        Map<String, Object> result = bbsService.selectBbsList(searchVO);
+
+        verify(bbsMapper, times(2)).selectBbsListByCursor(any(BbsSearchVO.class));
+        verify(bbsMapper, never()).selectBbsList(any(BbsSearchVO.class));
+        verify(bbsMapper, never()).selectBbsListTotCnt(any(BbsSearchVO.class));
+        verify(bbsCountService, never()).applyBbsListCount(any(BbsSearchVO.class), any(PaginationInfo.class));
+
+        List<BbsVO> resultList = (List<BbsVO>) result.get("resultList");
+        PaginationInfo paginationInfo = (PaginationInfo) result.get("paginationInfo");
+        assertEquals(2, resultList.size());
+        assertTrue(paginationInfo.isHasNextPage());
+
+        BbsCursor next = BbsCursor.decode(paginationInfo.getNextCursor());
+        assertEquals("N", next.getNtceAt());
+        assertEquals(99L, next.getNttId());
+        assertEquals(LocalDateTime.of(2025, 1, 2, 9, 0), next.getFrstRegistPnttm());
+        assertEquals("FRST_REGIST_PNTTM", next.getSortField());
+        assertEquals("DESC", next.getSortOrder());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void selectBbs_loadsFileGroupOnceAndPartitionsByRole() {
+        BbsVO bbs = newBbs(10L, "N", LocalDateTime.of(2025, 1, 1, 9, 0));
+        bbs.setBbsId("BBSMSTR_000000000001");
+        bbs.setAtchFileId("FILE_0000000000001   ");
+
+        List<FileVO> files = new ArrayList<>();
+        files.add(newFile(1L, "REPRESENTATIVE"));
+        files.add(newFile(2L, "MAIN_IMAGE"));
+        files.add(newFile(3L, "MULTI_IMAGE"));
+        files.add(newFile(4L, "MULTI_IMAGE"));
+        files.add(newFile(5L, "CONTENT_IMAGE"));
+        files.add(newFile(6L, "ATTACHMENT"));
+
+        when(bbsMapper.selectBbs("BBSMSTR_000000000001", 10)).thenReturn(bbs);
+        when(fileMapper.selectFileList("FILE_0000000000001")).thenReturn(files);
+        // 상세 캐시 미적중: 전달된 loader로 조회
+        when(bbsCacheService.selectBbs(anyString(), anyLong(), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<BbsVO>) invocation.getArgument(2)).get());
+
+        BbsVO result = bbsService.selectBbs("BBSMSTR_000000000001", 10);
+
+        // 게시글 1회 + 파일 그룹 1회
+        verify(bbsMapper, times(1)).selectBbs("BBSMSTR_000000000001", 10);
+        verify(fileMapper, times(1)).selectFileList("FILE_0000000000001");
+        verify(fileMapper, never()).selectRepresentativeImage(anyString());
+        verify(fileMapper, never()).selectMainImage(anyString());
+        verify(fileMapper, never()).selectMultiImages(anyString());
+        verify(fileMapper, never()).selectAttachmentFiles(anyString());
+
+        assertEquals("/api/sym/bbs/images/FILE_0000000000001/1", result.getRepresentImageUrl());
+        assertEquals("/api/sym/bbs/images/FILE_0000000000001/2", result.getMainImageUrl());
+        assertEquals(2, result.getMultiImageList().size());
+        assertEquals("/api/sym/bbs/images/FILE_0000000000001/3", result.getMultiImageList().get(0).getFileUrl());
+        assertEquals(1, result.getFileList().size());
+        assertEquals(6L, result.getFileList().get(0).getFileSn());
+    }
+
+    @Test
+    void resolveSearchMode_hangulTermsUseBigramIndexWithPerTermMatch() {
+        // 짧은 한글(트라이그램 불가)과 조사가 붙을 수 있는 3글자 이상 한글 모두 2-gram 색인 + 검색어별 부분일치
+        BbsSearchVO searchVO = searchVO("FULLTEXT", "공지 게시판");
+        bbsService.resolveSearchMode(searchVO);
+
+        assertEquals("BIGRAM", searchVO.getSearchMode());
+        assertEquals(2, searchVO.getSearchTerms().size());
+        assertEquals("공지", searchVO.getSearchTerms().get(0).getKeyword());
+        assertEquals("'공지'", searchVO.getSearchTerms().get(0).getBigramQuery());
+        assertEquals("'게시' & '시판'", searchVO.getSearchTerms().get(1).getBigramQuery());
+
+        searchVO = searchVO("trigram", "글 -\"광고\"");
+        bbsService.resolveSearchMode(searchVO);
+        assertEquals("BIGRAM", searchVO.getSearchMode());
+        assertEquals("'글':*", searchVO.getSearchTerms().get(0).getBigramQuery());
+        assertTrue(searchVO.getSearchTerms().get(1).isExclude());
+        assertEquals("광고", searchVO.getSearchTerms().get(1).getKeyword());
+    }
+
+    @Test
+    void resolveSearchMode_keepsRequestedModeWithoutHangul() {
+        BbsSearchVO fullText = searchVO("FULLTEXT", "postgres index");
+        bbsService.resolveSearchMode(fullText);
+        assertEquals("FULLTEXT", fullText.getSearchMode());
+
+        BbsSearchVO trigram = searchVO("TRIGRAM", "postgres index");
+        bbsService.resolveSearchMode(trigram);
+        assertEquals("TRIGRAM", trigram.getSearchMode());
+        assertEquals(2, trigram.getSearchTerms().size());
+        assertNull(trigram.getSearchTerms().get(0).getBigramQuery());
+
+        // 기본(LIKE)과 알 수 없는 값은 기존 전체 문구 부분일치 유지
+        BbsSearchVO like = searchVO(null, "공지");
+        bbsService.resolveSearchMode(like);
+        assertEquals("LIKE", like.getSearchMode());
+        BbsSearchVO unknown = searchVO("REGEX", "공지");
+        bbsService.resolveSearchMode(unknown);
+        assertEquals("LIKE", unknown.getSearchMode());
+    }
+
+    private static BbsSearchVO searchVO(String searchMode, String searchKeyword) {
+        BbsSearchVO searchVO = new BbsSearchVO();
+        searchVO.setSearchMode(searchMode);
+        searchVO.setSearchKeyword(searchKeyword);
+        return searchVO;
+    }
+
+    private static FileVO newFile(Long fileSn, String fileCn) {
+        FileVO file = new FileVO();
+        file.setAtchFileId("FILE_0000000000001   ");
+        file.setFileSn(fileSn);
+        file.setFileCn(fileCn);
+        file.setStreFileNm("stored_" + fileSn + ".png");
+        return file;
+    }
+
+    private static BbsVO newBbs(Long nttId, String ntceAt, LocalDateTime frstRegistPnttm) {
+        BbsVO bbs = new BbsVO();
+        bbs.setNttId(nttId);
+        bbs.setNtceAt(ntceAt);
+        bbs.setFrstRegistPnttm(frstRegistPnttm);
+        return bbs;
+    }
+}
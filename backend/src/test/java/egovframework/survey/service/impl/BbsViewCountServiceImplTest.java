@@ -0,0 +1,176 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.mapper.BbsMapper;
+import egovframework.survey.service.BbsViewCountListener;
+import egovframework.survey.vo.BbsViewCountVO;
+
+/**
+ * 조회수 버퍼 반영 검증 (동시 증가 유실 없음, 반영 실패 재시도, 미반영 증가분 단조성)
+ */
+@ExtendWith(MockitoExtension.class)
+class BbsViewCountServiceImplTest {
+
+    private static final String BBS_ID = "BBSMSTR_000000000001";
+
+    @Mock
+    private BbsMapper bbsMapper;
+
+    @InjectMocks
+    private BbsViewCountServiceImpl viewCountService;
+
+    /** DB에 반영된 조회수 합계 */
+    private final AtomicLong applied = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(viewCountService, "batchSize", 500);
+    }
+
+    @Test
+    void flush_concurrentIncrementsAreNeitherLostNorDoubled() throws Exception {
+        recordAppliedDeltas();
+        int threads = 4;
+        int perThread = 20_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    viewCountService.increment(BBS_ID, i % 10);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        while (workers.stream().anyMatch(Thread::isAlive)) {
+            viewCountService.flush();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        viewCountService.flush();
+
+        assertEquals((long) threads * perThread, applied.get());
+        for (long nttId = 0; nttId < 10; nttId++) {
+            assertEquals(0L, viewCountService.getPendingCount(BBS_ID, nttId));
+        }
+    }
+
+    @Test
+    void flush_failedBatchStaysPendingAndIsRetried() {
+        for (int i = 0; i < 3; i++) {
+            viewCountService.increment(BBS_ID, 7L);
+        }
+        doThrow(new RuntimeException("DB 오류")).doAnswer(invocation -> {
+            // 재시도 중에도 보정값 유지
+            assertEquals(4L, viewCountService.getPendingCount(BBS_ID, 7L));
+            List<BbsViewCountVO> chunk = invocation.getArgument(0);
+            assertEquals(4L, chunk.get(0).getDelta());
+            return chunk.size();
+        }).when(bbsMapper).updateRdcntBatch(anyList());
+
+        assertEquals(0, viewCountService.flush());
+        assertEquals(3L, viewCountService.getPendingCount(BBS_ID, 7L));
+
+        viewCountService.increment(BBS_ID, 7L);
+        assertEquals(1, viewCountService.flush());
+        assertEquals(0L, viewCountService.getPendingCount(BBS_ID, 7L));
+        verify(bbsMapper, times(2)).updateRdcntBatch(anyList());
+    }
+
+    @Test
+    void flush_pendingCountNeverDipsBeforeItIsApplied() throws Exception {
+        int posts = 5_000;
+        for (long nttId = 0; nttId < posts; nttId++) {
+            viewCountService.increment(BBS_ID, nttId);
+        }
+        AtomicBoolean updating = new AtomicBoolean();
+        doAnswer(invocation -> {
+            updating.set(true);
+            return ((List<?>) invocation.getArgument(0)).size();
+        }).when(bbsMapper).updateRdcntBatch(anyList());
+
+        // 반영(UPDATE) 전까지 미반영 증가분 합계는 게시글 수 그대로여야 함
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong minBeforeUpdate = new AtomicLong(Long.MAX_VALUE);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                long sum = 0;
+                for (long nttId = 0; nttId < posts; nttId++) {
+                    sum += viewCountService.getPendingCount(BBS_ID, nttId);
+                }
+                if (!updating.get()) {
+                    minBeforeUpdate.accumulateAndGet(sum, Math::min);
+                }
+            }
+        });
+        sampler.start();
+        for (int i = 0; i < 20 && minBeforeUpdate.get() == Long.MAX_VALUE; i++) {
+            Thread.sleep(5);
+        }
+        viewCountService.flush();
+        running.set(false);
+        sampler.join();
+
+        assertTrue(minBeforeUpdate.get() == Long.MAX_VALUE || minBeforeUpdate.get() == posts,
+                "반영 전 미반영 증가분 감소: " + minBeforeUpdate.get());
+        assertEquals(0L, viewCountService.getPendingCount(BBS_ID, 0L));
+    }
+
+    @Test
+    void flush_notifiesListenerBeforeInFlightDeltaIsRemoved() {
+        List<String> events = new ArrayList<>();
+        BbsViewCountListener listener = new BbsViewCountListener() {
+            @Override
+            public void onViewCountFlushing(String bbsId, long nttId) {
+                events.add("flushing");
+            }
+
+            @Override
+            public void onViewCountFlushed(String bbsId, long nttId, long delta) {
+                // 캐시 보정 시점에는 반영 중 증가분이 아직 남아 있어야 조회수가 낮아 보이지 않음
+                events.add("flushed:" + delta + ":" + viewCountService.getPendingCount(bbsId, nttId));
+            }
+        };
+        ReflectionTestUtils.setField(viewCountService, "listeners", List.of(listener));
+        doAnswer(invocation -> {
+            events.add("update");
+            return 1;
+        }).when(bbsMapper).updateRdcntBatch(anyList());
+
+        viewCountService.increment(BBS_ID, 1L);
+        viewCountService.increment(BBS_ID, 1L);
+        viewCountService.flush();
+
+        assertEquals(List.of("flushing", "update", "flushed:2:2"), events);
+        assertEquals(0L, viewCountService.getPendingCount(BBS_ID, 1L));
+    }
+
+    private void recordAppliedDeltas() {
+        doAnswer(invocation -> {
+            List<BbsViewCountVO> chunk = invocation.getArgument(0);
+            chunk.forEach(item -> applied.addAndGet(item.getDelta()));
+            return chunk.size();
+        }).when(bbsMapper).updateRdcntBatch(anyList());
+    }
+}
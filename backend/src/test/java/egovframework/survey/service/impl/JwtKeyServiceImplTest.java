@@ -0,0 +1,152 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.mapper.JwtKeyMapper;
+import egovframework.survey.vo.JwtKeyVO;
+
+/**
+ * JWT 서명 키 검증 (JWK 좌표 인코딩, 선공개·활성·폐기 구간, 모르는 kid 재조회)
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtKeyServiceImplTest {
+
+    @Mock
+    private JwtKeyMapper jwtKeyMapper;
+
+    @InjectMocks
+    private JwtKeyServiceImpl jwtKeyService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtKeyService, "algorithm", "ES256");
+        ReflectionTestUtils.setField(jwtKeyService, "secret", "test-secret");
+        ReflectionTestUtils.setField(jwtKeyService, "tokenTtlSeconds", 900L);
+        ReflectionTestUtils.setField(jwtKeyService, "rotationDays", 30L);
+        ReflectionTestUtils.setField(jwtKeyService, "prepublishMinutes", 60L);
+        ReflectionTestUtils.setField(jwtKeyService, "overlapMinutes", 10L);
+        ReflectionTestUtils.setField(jwtKeyService, "unknownKidReloadMs", 10_000L);
+    }
+
+    @Test
+    void toJwk_encodesCoordinatesAsFixedLengthUnsignedBase64Url() throws Exception {
+        // 부호 비트가 선 값(toByteArray 33바이트)과 앞자리가 0인 값(32바이트 미만)도 32바이트로 고정
+        assertEquals(32, Base64.getUrlDecoder().decode(JwtKeyServiceImpl.base64Url(BigInteger.ONE)).length);
+        assertEquals(32, Base64.getUrlDecoder().decode(
+                JwtKeyServiceImpl.base64Url(BigInteger.ONE.shiftLeft(255))).length);
+
+        for (int i = 0; i < 50; i++) {
+            JwtKeyVO key = jwtKeyService.newKey();
+            ECPublicKey publicKey = (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+            Map<String, Object> jwk = JwtKeyServiceImpl.toJwk(key.getKid(), publicKey);
+
+            assertEquals("EC", jwk.get("kty"));
+            assertEquals("P-256", jwk.get("crv"));
+            assertEquals(key.getKid(), jwk.get("kid"));
+            assertCoordinate(publicKey.getW().getAffineX(), (String) jwk.get("x"));
+            assertCoordinate(publicKey.getW().getAffineY(), (String) jwk.get("y"));
+        }
+    }
+
+    @Test
+    void rotate_signsWithActiveKeyPublishesNextKeyAndRetiresOldKeyAfterOverlap() {
+        LocalDateTime now = LocalDateTime.now();
+        JwtKeyVO retired = key(now.minusDays(40));
+        JwtKeyVO active = key(now.minusDays(10));
+        JwtKeyVO prepublished = key(now.plusMinutes(30));
+        when(jwtKeyMapper.selectJwtKeyList(JwtKeyServiceImpl.ALGORITHM_ES256))
+                .thenReturn(List.of(retired, active, prepublished));
+
+        jwtKeyService.rotate();
+
+        // 선공개 키는 JWKS·검증에만 쓰고 서명은 활성화된 키로
+        assertEquals(active.getKid(), jwtKeyService.getSigningKey().getKid());
+        assertEquals(List.of(active.getKid(), prepublished.getKid()), kids(jwtKeyService.getJwks()));
+        assertNotNull(jwtKeyService.getPublicKey(prepublished.getKid()));
+        assertNull(jwtKeyService.getPublicKey(retired.getKid()));
+        verify(jwtKeyMapper).deleteJwtKey(retired.getKid());
+        verify(jwtKeyMapper, never()).insertJwtKeyIfDue(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void rotate_keepsPreviousKeyUntilTokenTtlAndOverlapHavePassed() {
+        LocalDateTime now = LocalDateTime.now();
+        JwtKeyVO previous = key(now.minusDays(30));
+        // 다음 키 활성화 후 (15분 + 10분)이 지나지 않음
+        JwtKeyVO active = key(now.minusMinutes(20));
+        when(jwtKeyMapper.selectJwtKeyList(JwtKeyServiceImpl.ALGORITHM_ES256))
+                .thenReturn(List.of(previous, active));
+
+        jwtKeyService.rotate();
+
+        assertEquals(active.getKid(), jwtKeyService.getSigningKey().getKid());
+        assertEquals(List.of(previous.getKid(), active.getKid()), kids(jwtKeyService.getJwks()));
+        verify(jwtKeyMapper, never()).deleteJwtKey(anyString());
+    }
+
+    @Test
+    void getPublicKey_reloadsOnceForUnknownKidWithinReloadInterval() {
+        LocalDateTime now = LocalDateTime.now();
+        JwtKeyVO active = key(now.minusDays(1));
+        JwtKeyVO created = key(now.plusMinutes(60));
+        when(jwtKeyMapper.selectJwtKeyList(JwtKeyServiceImpl.ALGORITHM_ES256))
+                .thenReturn(List.of(active), List.of(active, created));
+        jwtKeyService.rotate();
+
+        // 다른 노드가 막 등록한 키 → 재조회 간격이 지났으면 DB를 다시 읽어 검증
+        ((AtomicLong) ReflectionTestUtils.getField(jwtKeyService, "lastReload")).set(0L);
+        assertNotNull(jwtKeyService.getPublicKey(created.getKid()));
+
+        // 간격 안의 다른 모르는 kid는 DB를 다시 읽지 않음
+        assertNull(jwtKeyService.getPublicKey("unknown"));
+        verify(jwtKeyMapper, times(2)).selectJwtKeyList(JwtKeyServiceImpl.ALGORITHM_ES256);
+    }
+
+    private JwtKeyVO key(LocalDateTime activeDt) {
+        JwtKeyVO key = jwtKeyService.newKey();
+        key.setActiveDt(activeDt);
+        return key;
+    }
+
+    private static List<Object> kids(List<Map<String, Object>> jwks) {
+        List<Object> kids = new ArrayList<>();
+        jwks.forEach(jwk -> kids.add(jwk.get("kid")));
+        return kids;
+    }
+
+    private static void assertCoordinate(BigInteger expected, String encoded) {
+        assertEquals(43, encoded.length());
+        byte[] decoded = Base64.getUrlDecoder().decode(encoded);
+        assertEquals(32, decoded.length);
+        assertEquals(expected, new BigInteger(1, decoded));
+    }
+}
@@ -0,0 +1,94 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.service.LoginRejectedException;
+
+/**
+ * 로그인 시도 횟수 제한 (IP 토큰 버킷, 실패한 시도만 차감하는 사용자ID·IP 토큰 버킷) 검증
+ */
+class LoginThrottleServiceImplTest {
+
+    private LoginThrottleServiceImpl throttleService;
+
+    @BeforeEach
+    void setUp() {
+        throttleService = new LoginThrottleServiceImpl();
+        ReflectionTestUtils.setField(throttleService, "enabled", true);
+        ReflectionTestUtils.setField(throttleService, "userCapacity", 3);
+        ReflectionTestUtils.setField(throttleService, "userRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(throttleService, "ipCapacity", 5);
+        ReflectionTestUtils.setField(throttleService, "ipRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(throttleService, "maxSize", 1000);
+    }
+
+    @Test
+    void acquire_rejectsUserFromIpAfterFailedAttemptsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            throttleService.acquire("admin", "10.0.0.1");
+            throttleService.onLoginFailed("admin", "10.0.0.1");
+        }
+
+        LoginRejectedException e = assertThrows(LoginRejectedException.class,
+                () -> throttleService.acquire("admin", "10.0.0.1"));
+        // 분당 1개 회복 → 다음 시도까지 최대 60초
+        assertTrue(e.getRetryAfterSeconds() > 0 && e.getRetryAfterSeconds() <= 60);
+        // 다른 IP의 같은 사용자, 같은 IP의 다른 사용자는 영향 없음 (다른 사람이 계정을 잠그지 못함)
+        assertDoesNotThrow(() -> throttleService.acquire("admin", "10.0.0.9"));
+        assertDoesNotThrow(() -> throttleService.acquire("user01", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_chargesOnlyIpBucketBeforeVerification() {
+        // 검증 전 시도는 IP 버킷만 차감 (성공한 로그인은 사용자 한도를 쓰지 않음)
+        for (int i = 0; i < 5; i++) {
+            throttleService.acquire("admin", "10.0.0.1");
+        }
+        assertThrows(LoginRejectedException.class, () -> throttleService.acquire("admin", "10.0.0.1"));
+        assertThrows(LoginRejectedException.class, () -> throttleService.acquire("user01", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttleService.acquire("admin", "10.0.1.1"));
+    }
+
+    @Test
+    void sweep_keepsDrainedBucketUntilRefilledToFull() {
+        long t0 = 1_000_000L;
+        for (int i = 0; i < 3; i++) {
+            throttleService.onLoginFailed("admin", null, t0);
+        }
+
+        // 생성 후 오래 지나도 가득 차지 않은 버킷은 정리되지 않음 (분당 1개 → 1분 뒤 1개만 회복)
+        throttleService.sweep(t0 + 60_000);
+        assertEquals(1, throttleService.size());
+        throttleService.acquire("admin", null, t0 + 60_000);
+        throttleService.onLoginFailed("admin", null, t0 + 60_000);
+        assertThrows(LoginRejectedException.class, () -> throttleService.acquire("admin", null, t0 + 60_000));
+
+        // 마지막 사용 이후 가득 찰 때까지(3분) 회복된 뒤에만 정리
+        long tLast = t0 + 60_000;
+        throttleService.sweep(tLast + 179_999);
+        assertEquals(1, throttleService.size());
+        throttleService.sweep(tLast + 3 * 60_000);
+        assertEquals(0, throttleService.size());
+    }
+
+    @Test
+    void acquire_rejectsNewKeysWhenTrackedKeysAreFullButKeepsDrainedBuckets() {
+        ReflectionTestUtils.setField(throttleService, "maxSize", 1);
+        long now = 1_000_000L;
+        for (int i = 0; i < 3; i++) {
+            throttleService.acquire("admin", "10.0.0.1", now);
+            throttleService.onLoginFailed("admin", "10.0.0.1", now);
+        }
+
+        // 자리가 없고 가득 찬 버킷도 없으면 새 키는 거절, 기존 버킷은 유지
+        assertThrows(LoginRejectedException.class, () -> throttleService.acquire("attacker", "10.0.0.2", now));
+        assertThrows(LoginRejectedException.class, () -> throttleService.acquire("admin", "10.0.0.1", now));
+    }
+}
@@ -0,0 +1,122 @@
+package egovframework.survey.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import egovframework.survey.mapper.TokenMapper;
+import egovframework.survey.service.RefreshTokenService;
+import egovframework.survey.service.TokenRevocationService;
+import egovframework.survey.vo.RefreshTokenVO;
+
+/**
+ * 리프레시 토큰 교체 및 재사용 감지 검증
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private TokenMapper tokenMapper;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    private RefreshTokenService.IssuedToken lastIssued;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(refreshTokenService, "reuseGraceSeconds", 30L);
+    }
+
+    @Test
+    void rotate_issuesNewTokenInSameSession() {
+        RefreshTokenVO stored = issueAndCapture();
+        String refreshToken = lastIssued.getRefreshToken();
+        when(tokenMapper.selectRefreshTokenForUpdate(stored.getTokenId())).thenReturn(stored);
+
+        RefreshTokenService.IssuedToken next = refreshTokenService.rotate(refreshToken);
+
+        assertNotNull(next);
+        assertEquals(stored.getFamilyId(), next.getSessionId());
+        assertNotEquals(refreshToken, next.getRefreshToken());
+        verify(tokenMapper).updateRefreshTokenReplaced(eq(stored.getTokenId()), eq(next.getRefreshToken().substring(0, 32)),
+                any(LocalDateTime.class));
+        verify(tokenRevocationService, never()).revoke(anyString());
+    }
+
+    @Test
+    void rotate_reusedTokenRevokesWholeSession() {
+        RefreshTokenVO stored = issueAndCapture();
+        stored.setReplacedBy("ffffffffffffffffffffffffffffffff");
+        stored.setReplacedDt(LocalDateTime.now().minusMinutes(5));
+        when(tokenMapper.selectRefreshTokenForUpdate(stored.getTokenId())).thenReturn(stored);
+
+        assertNull(refreshTokenService.rotate(lastIssued.getRefreshToken()));
+
+        verify(tokenMapper).revokeRefreshTokenFamily(stored.getFamilyId());
+        verify(tokenRevocationService).revoke(stored.getFamilyId());
+    }
+
+    @Test
+    void rotate_reuseWithinGraceKeepsSessionForConcurrentTabs() {
+        RefreshTokenVO stored = issueAndCapture();
+        // 다른 탭이 방금 같은 토큰으로 갱신함
+        stored.setReplacedBy("ffffffffffffffffffffffffffffffff");
+        stored.setReplacedDt(LocalDateTime.now().minusSeconds(5));
+        when(tokenMapper.selectRefreshTokenForUpdate(stored.getTokenId())).thenReturn(stored);
+
+        RefreshTokenService.IssuedToken next = refreshTokenService.rotate(lastIssued.getRefreshToken());
+
+        assertNotNull(next);
+        assertEquals(stored.getFamilyId(), next.getSessionId());
+        verify(tokenMapper, never()).revokeRefreshTokenFamily(anyString());
+        verify(tokenRevocationService, never()).revoke(anyString());
+
+        // 폐기된 세션은 유예 시간 안이어도 발급하지 않음
+        stored.setRevokeDt(LocalDateTime.now());
+        assertNull(refreshTokenService.rotate(lastIssued.getRefreshToken()));
+    }
+
+    @Test
+    void rotate_wrongSecretIsRejectedWithoutRevoking() {
+        RefreshTokenVO stored = issueAndCapture();
+        when(tokenMapper.selectRefreshTokenForUpdate(stored.getTokenId())).thenReturn(stored);
+
+        assertNull(refreshTokenService.rotate(stored.getTokenId() + ".forged-secret"));
+
+        verify(tokenMapper, never()).revokeRefreshTokenFamily(anyString());
+        verify(tokenMapper, never()).updateRefreshTokenReplaced(anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    private RefreshTokenVO issueAndCapture() {
+        lastIssued = refreshTokenService.issue("admin");
+        ArgumentCaptor<RefreshTokenVO> row = ArgumentCaptor.forClass(RefreshTokenVO.class);
+        verify(tokenMapper).insertRefreshToken(row.capture());
+        RefreshTokenVO stored = row.getValue();
+        assertTrue(stored.getExpireDt().isAfter(LocalDateTime.now()));
+        return stored;
+    }
+}
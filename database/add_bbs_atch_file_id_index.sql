@@ -0,0 +1,13 @@
+-- =====================================================
+-- 게시글 첨부파일ID 조회 인덱스
+-- 이미지 파생본 생성 시 첨부파일ID → 게시판ID 조회
+-- OpenSurvey Project
+-- =====================================================
+
+-- 첨부파일이 있는 게시글만 대상으로 하는 부분 인덱스
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_ATCH_FILE_ID
+    ON COMTNBBS (ATCH_FILE_ID)
+    WHERE ATCH_FILE_ID IS NOT NULL AND USE_AT = 'Y';
+
+-- 통계 갱신
+ANALYZE COMTNBBS;
@@ -0,0 +1,60 @@
+-- =====================================================
+-- 게시글 키워드 검색 인덱스 (전문검색 + 트라이그램)
+-- GET /sym/bbs/{bbsId}/boards?searchMode=FULLTEXT
+-- OpenSurvey Project
+-- =====================================================
+
+-- 1. 트라이그램 확장 (짧은 한글 검색어의 부분일치 검색용)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 2. 검색 벡터 컬럼 추가 (저장 생성 컬럼으로 등록/수정 시 자동 유지)
+--    'korean' 텍스트검색 설정은 기본 PostgreSQL에 없으므로 'simple' 설정을 사용한다.
+--    본문(NTT_CN)은 에디터 HTML이므로 태그를 제거한 뒤 색인한다.
+--    가중치: 제목(A) > 본문(B) > 게시자명(C)
+ALTER TABLE COMTNBBS
+ADD COLUMN IF NOT EXISTS NTT_SEARCH_VECTOR TSVECTOR
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple'::regconfig, COALESCE(NTT_SJ, '')), 'A') ||
+        setweight(to_tsvector('simple'::regconfig, regexp_replace(COALESCE(NTT_CN, ''), '<[^>]+>', ' ', 'g')), 'B') ||
+        setweight(to_tsvector('simple'::regconfig, COALESCE(NTCRN_NM, '')), 'C')
+    ) STORED;
+
+COMMENT ON COLUMN COMTNBBS.NTT_SEARCH_VECTOR IS '게시글검색벡터';
+
+-- 3. 전문검색 인덱스
+--    기존 IDX_COMTNBBS_SEARCH는 'korean' 설정 기반이며 조회 쿼리에서 사용되지 않으므로 대체한다.
+DROP INDEX IF EXISTS IDX_COMTNBBS_SEARCH;
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_SEARCH_VECTOR ON COMTNBBS USING gin(NTT_SEARCH_VECTOR);
+
+-- 4. 트라이그램 인덱스 (searchMode=TRIGRAM 검색어별 ILIKE 검색, 3글자 이상 검색어)
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_NTT_SJ_TRGM ON COMTNBBS USING gin(NTT_SJ gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_NTT_CN_TRGM ON COMTNBBS USING gin(NTT_CN gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_NTCRN_NM_TRGM ON COMTNBBS USING gin(NTCRN_NM gin_trgm_ops);
+
+-- 5. 한글 2-gram 검색 벡터 (FULLTEXT·TRIGRAM 요청의 한글 검색어 → searchMode BIGRAM)
+--    어절 단위 전문검색은 조사가 붙은 한글(게시판에서)을 찾지 못하고, 트라이그램은 1~2글자 검색어를 색인하지 못하므로
+--    한글 구간마다 연속 2글자와 마지막 글자를 색인어로 저장한다 (예: 게시판에서 → 게시, 시판, 판에, 에서, 서).
+--    검색어의 2-gram이 모두 있는 글로 후보를 좁힌 뒤 검색어별 ILIKE로 부분일치를 확인한다.
+--    텍스트검색 파서(로캘에 따라 한글을 단어로 인식하지 않을 수 있음)를 거치지 않도록 array_to_tsvector로 만든다.
+CREATE OR REPLACE FUNCTION BBS_HANGUL_BIGRAMS(src TEXT) RETURNS TSVECTOR
+LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT array_to_tsvector(COALESCE(array_agg(DISTINCT substr(w, i, 2)), '{}'::TEXT[]))
+    FROM regexp_split_to_table(COALESCE(src, ''), '[^가-힣]+') AS w,
+         generate_series(1, char_length(w)) AS i
+    WHERE w <> ''
+$$;
+
+ALTER TABLE COMTNBBS
+ADD COLUMN IF NOT EXISTS NTT_BIGRAM_VECTOR TSVECTOR
+    GENERATED ALWAYS AS (
+        BBS_HANGUL_BIGRAMS(COALESCE(NTT_SJ, '') || ' ' ||
+                           regexp_replace(COALESCE(NTT_CN, ''), '<[^>]+>', ' ', 'g') || ' ' ||
+                           COALESCE(NTCRN_NM, ''))
+    ) STORED;
+
+COMMENT ON COLUMN COMTNBBS.NTT_BIGRAM_VECTOR IS '게시글한글2gram검색벡터';
+
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_BIGRAM_VECTOR ON COMTNBBS USING gin(NTT_BIGRAM_VECTOR);
+
+-- 6. 통계 갱신
+ANALYZE COMTNBBS;
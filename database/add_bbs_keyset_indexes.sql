@@ -0,0 +1,23 @@
+-- =====================================================
+-- 게시글 목록 커서(Keyset) 페이징용 인덱스
+-- GET /sym/bbs/{bbsId}/boards?paginationType=CURSOR
+-- OpenSurvey Project
+-- =====================================================
+
+-- 커서 페이징은 공지여부(NTCE_AT) 구간별로 등가 조건을 걸고
+-- (정렬키, NTT_ID) 행 비교로 이어서 조회하므로
+-- BBS_ID, NTCE_AT 뒤에 정렬키와 NTT_ID가 오는 복합 인덱스가 필요하다.
+-- 삭제되지 않은 게시글(USE_AT = 'Y')만 대상으로 하는 부분 인덱스로 생성한다.
+
+-- 1. 등록일시 정렬 (기본 정렬)
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_KEYSET_REGIST
+    ON COMTNBBS (BBS_ID, NTCE_AT, FRST_REGIST_PNTTM DESC, NTT_ID DESC)
+    WHERE USE_AT = 'Y';
+
+-- 2. 게시글ID 정렬
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_KEYSET_NTT_ID
+    ON COMTNBBS (BBS_ID, NTCE_AT, NTT_ID DESC)
+    WHERE USE_AT = 'Y';
+
+-- 3. 통계 갱신
+ANALYZE COMTNBBS;
@@ -0,0 +1,91 @@
+-- =====================================================
+-- 첨부파일 내용 주소 저장소 (중복 제거 + 참조수)
+-- 같은 내용의 파일은 SHA-256 해시 이름으로 한 번만 저장하고,
+-- 참조하는 COMTNFILEDETAIL 행 수를 REF_CNT로 유지한다.
+-- 참조수가 0이 된 뒤 유예 기간이 지난 파일은 백그라운드 GC가 삭제한다.
+-- OpenSurvey Project
+-- =====================================================
+
+-- 1. 저장소 파일 테이블
+CREATE TABLE IF NOT EXISTS COMTNFILEBLOB (
+    FILE_HASH       VARCHAR(64)     NOT NULL,
+    FILE_STRE_COURS VARCHAR(2000)   NOT NULL,
+    STRE_FILE_NM    VARCHAR(255)    NOT NULL,
+    FILE_SIZE       BIGINT          NOT NULL,
+    REF_CNT         INTEGER         NOT NULL DEFAULT 0,
+    CREAT_DT        TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    LAST_UPDT_DT    TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT PK_COMTNFILEBLOB PRIMARY KEY (FILE_HASH)
+);
+
+COMMENT ON TABLE COMTNFILEBLOB IS '첨부파일저장소';
+COMMENT ON COLUMN COMTNFILEBLOB.FILE_HASH IS '파일내용해시(SHA-256)';
+COMMENT ON COLUMN COMTNFILEBLOB.FILE_STRE_COURS IS '파일저장경로';
+COMMENT ON COLUMN COMTNFILEBLOB.STRE_FILE_NM IS '저장파일명';
+COMMENT ON COLUMN COMTNFILEBLOB.FILE_SIZE IS '파일크기';
+COMMENT ON COLUMN COMTNFILEBLOB.REF_CNT IS '참조수';
+COMMENT ON COLUMN COMTNFILEBLOB.CREAT_DT IS '생성일시';
+COMMENT ON COLUMN COMTNFILEBLOB.LAST_UPDT_DT IS '최종갱신일시';
+
+-- GC 대상 조회용 부분 인덱스
+CREATE INDEX IF NOT EXISTS IDX_COMTNFILEBLOB_UNREFERENCED
+    ON COMTNFILEBLOB (LAST_UPDT_DT)
+    WHERE REF_CNT <= 0;
+
+-- 2. 파일 상세에 내용 해시 컬럼 추가 (기존 행은 NULL = 기존 방식 파일)
+ALTER TABLE COMTNFILEDETAIL
+ADD COLUMN IF NOT EXISTS FILE_HASH VARCHAR(64);
+
+COMMENT ON COLUMN COMTNFILEDETAIL.FILE_HASH IS '파일내용해시';
+
+-- 기존 방식 파일 삭제 시 같은 물리 파일을 가리키는 행 확인용
+CREATE INDEX IF NOT EXISTS IDX_COMTNFILEDETAIL_LEGACY_STRE_FILE_NM
+    ON COMTNFILEDETAIL (STRE_FILE_NM)
+    WHERE FILE_HASH IS NULL;
+
+-- 3. 참조수 유지 함수 (파일 상세 등록/해시 변경/삭제와 같은 트랜잭션에서 반영)
+CREATE OR REPLACE FUNCTION update_file_blob_ref_cnt()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.FILE_HASH IS NOT NULL THEN
+            UPDATE COMTNFILEBLOB
+            SET REF_CNT = REF_CNT + 1, LAST_UPDT_DT = CURRENT_TIMESTAMP
+            WHERE FILE_HASH = NEW.FILE_HASH;
+        END IF;
+        RETURN NEW;
+    ELSIF TG_OP = 'UPDATE' THEN
+        IF NEW.FILE_HASH IS DISTINCT FROM OLD.FILE_HASH THEN
+            IF OLD.FILE_HASH IS NOT NULL THEN
+                UPDATE COMTNFILEBLOB
+                SET REF_CNT = REF_CNT - 1, LAST_UPDT_DT = CURRENT_TIMESTAMP
+                WHERE FILE_HASH = OLD.FILE_HASH;
+            END IF;
+            IF NEW.FILE_HASH IS NOT NULL THEN
+                UPDATE COMTNFILEBLOB
+                SET REF_CNT = REF_CNT + 1, LAST_UPDT_DT = CURRENT_TIMESTAMP
+                WHERE FILE_HASH = NEW.FILE_HASH;
+            END IF;
+        END IF;
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        IF OLD.FILE_HASH IS NOT NULL THEN
+            UPDATE COMTNFILEBLOB
+            SET REF_CNT = REF_CNT - 1, LAST_UPDT_DT = CURRENT_TIMESTAMP
+            WHERE FILE_HASH = OLD.FILE_HASH;
+        END IF;
+        RETURN OLD;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4. 참조수 유지 트리거
+DROP TRIGGER IF EXISTS tr_file_blob_ref_cnt ON COMTNFILEDETAIL;
+CREATE TRIGGER tr_file_blob_ref_cnt
+    AFTER INSERT OR UPDATE OF FILE_HASH OR DELETE ON COMTNFILEDETAIL
+    FOR EACH ROW EXECUTE FUNCTION update_file_blob_ref_cnt();
+
+-- 5. 통계 갱신
+ANALYZE COMTNFILEBLOB;
+ANALYZE COMTNFILEDETAIL;
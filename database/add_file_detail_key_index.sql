@@ -0,0 +1,23 @@
+-- =====================================================
+-- 첨부파일 상세 (ATCH_FILE_ID, FILE_SN) 키 조회 인덱스
+-- 게시글 등록 시 업로드 토큰(첨부파일ID_파일순번)으로 다중이미지 일괄 조회
+-- OpenSurvey Project
+-- =====================================================
+
+-- 전자정부 표준 스키마는 COMTNFILEDETAIL(ATCH_FILE_ID, FILE_SN)에 PK가 있으므로
+-- PK/유니크 제약이 없는 환경에서만 같은 컬럼의 유니크 인덱스를 생성한다.
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM pg_constraint
+        WHERE conrelid = 'comtnfiledetail'::regclass
+        AND contype IN ('p', 'u')
+    ) THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS IDX_COMTNFILEDETAIL_KEY
+            ON COMTNFILEDETAIL (ATCH_FILE_ID, FILE_SN);
+    END IF;
+END $$;
+
+-- 통계 갱신
+ANALYZE COMTNFILEDETAIL;
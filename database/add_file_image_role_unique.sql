@@ -0,0 +1,22 @@
+-- =====================================================
+-- 첨부파일 그룹별 대표/메인 이미지 유니크 인덱스
+-- 대표/메인 이미지 교체를 FILE_CN 기준 upsert(ON CONFLICT) 한 문장으로 처리
+-- OpenSurvey Project
+-- =====================================================
+
+-- 1. 그룹당 같은 용도 이미지가 여러 건이면 가장 최근(최대 FILE_SN) 1건만 남김
+--    (삭제된 행의 저장소 파일은 참조수 트리거와 GC, 기존 방식 파일은 고아 점검으로 정리)
+DELETE FROM COMTNFILEDETAIL fd
+USING COMTNFILEDETAIL newer
+WHERE newer.ATCH_FILE_ID = fd.ATCH_FILE_ID
+AND newer.FILE_CN = fd.FILE_CN
+AND newer.FILE_SN > fd.FILE_SN
+AND fd.FILE_CN IN ('REPRESENTATIVE', 'MAIN_IMAGE');
+
+-- 2. 용도별 부분 유니크 인덱스 (다중이미지·첨부파일은 제외)
+CREATE UNIQUE INDEX IF NOT EXISTS IDX_COMTNFILEDETAIL_IMAGE_ROLE
+    ON COMTNFILEDETAIL (ATCH_FILE_ID, FILE_CN)
+    WHERE FILE_CN IN ('REPRESENTATIVE', 'MAIN_IMAGE');
+
+-- 통계 갱신
+ANALYZE COMTNFILEDETAIL;
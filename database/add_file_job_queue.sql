@@ -0,0 +1,71 @@
+-- =====================================================
+-- 첨부파일 업로드 후처리 작업 큐
+-- 업로드 요청은 파일 저장과 상세 등록만 하고, 썸네일 생성·메타데이터 추출(이미지 크기,
+-- 게시판 권장 크기 확인)·저장본 해시 검증은 작업 행으로 등록하여 백그라운드 작업자가 처리한다.
+-- 작업 행은 파일 상세 등록과 같은 트랜잭션에서 등록되므로 재시작 후에도 유지된다.
+-- OpenSurvey Project
+-- =====================================================
+
+-- 1. 작업 테이블
+CREATE TABLE IF NOT EXISTS COMTNFILEJOB (
+    JOB_ID          BIGSERIAL       NOT NULL,
+    ATCH_FILE_ID    CHAR(20)        NOT NULL,
+    FILE_SN         NUMERIC(10)     NOT NULL,
+    JOB_TY          VARCHAR(20)     NOT NULL,
+    JOB_STTUS       VARCHAR(10)     NOT NULL DEFAULT 'PENDING',
+    BBS_ID          VARCHAR(20),
+    ATTEMPT_CNT     INTEGER         NOT NULL DEFAULT 0,
+    LOCK_OWNER      VARCHAR(100),
+    LOCK_DT         TIMESTAMP,
+    NEXT_RUN_DT     TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    RESULT_CN       VARCHAR(1000),
+    CREAT_DT        TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    LAST_UPDT_DT    TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT PK_COMTNFILEJOB PRIMARY KEY (JOB_ID)
+);
+
+COMMENT ON TABLE COMTNFILEJOB IS '첨부파일후처리작업';
+COMMENT ON COLUMN COMTNFILEJOB.JOB_ID IS '작업ID';
+COMMENT ON COLUMN COMTNFILEJOB.ATCH_FILE_ID IS '첨부파일ID';
+COMMENT ON COLUMN COMTNFILEJOB.FILE_SN IS '파일순번';
+COMMENT ON COLUMN COMTNFILEJOB.JOB_TY IS '작업유형(CHECKSUM, METADATA, THUMBNAIL)';
+COMMENT ON COLUMN COMTNFILEJOB.JOB_STTUS IS '작업상태(PENDING, RUNNING, DONE, FAILED)';
+COMMENT ON COLUMN COMTNFILEJOB.BBS_ID IS '게시판ID(업로드 시 알 수 있는 경우)';
+COMMENT ON COLUMN COMTNFILEJOB.ATTEMPT_CNT IS '시도횟수';
+COMMENT ON COLUMN COMTNFILEJOB.LOCK_OWNER IS '처리중인작업자';
+COMMENT ON COLUMN COMTNFILEJOB.LOCK_DT IS '처리시작일시';
+COMMENT ON COLUMN COMTNFILEJOB.NEXT_RUN_DT IS '다음실행일시';
+COMMENT ON COLUMN COMTNFILEJOB.RESULT_CN IS '처리결과(오류 또는 확인 내용)';
+COMMENT ON COLUMN COMTNFILEJOB.CREAT_DT IS '생성일시';
+COMMENT ON COLUMN COMTNFILEJOB.LAST_UPDT_DT IS '최종갱신일시';
+
+-- 유형별 대기 작업 조회용 부분 인덱스
+CREATE INDEX IF NOT EXISTS IDX_COMTNFILEJOB_PENDING
+    ON COMTNFILEJOB (JOB_TY, NEXT_RUN_DT, JOB_ID)
+    WHERE JOB_STTUS = 'PENDING';
+
+-- 처리 시간 초과 작업 회수용 부분 인덱스
+CREATE INDEX IF NOT EXISTS IDX_COMTNFILEJOB_RUNNING
+    ON COMTNFILEJOB (LOCK_DT)
+    WHERE JOB_STTUS = 'RUNNING';
+
+-- 파일별 작업 상태 집계용
+CREATE INDEX IF NOT EXISTS IDX_COMTNFILEJOB_FILE
+    ON COMTNFILEJOB (ATCH_FILE_ID, FILE_SN);
+
+-- 2. 파일 상세에 처리 상태와 이미지 크기 컬럼 추가 (기존 행은 NULL = 처리 대상 아님)
+ALTER TABLE COMTNFILEDETAIL
+ADD COLUMN IF NOT EXISTS PROCESS_STTUS VARCHAR(10);
+
+ALTER TABLE COMTNFILEDETAIL
+ADD COLUMN IF NOT EXISTS IMAGE_WIDTH INTEGER;
+
+ALTER TABLE COMTNFILEDETAIL
+ADD COLUMN IF NOT EXISTS IMAGE_HEIGHT INTEGER;
+
+COMMENT ON COLUMN COMTNFILEDETAIL.PROCESS_STTUS IS '후처리상태(PROCESSING, READY, FAILED)';
+COMMENT ON COLUMN COMTNFILEDETAIL.IMAGE_WIDTH IS '이미지너비';
+COMMENT ON COLUMN COMTNFILEDETAIL.IMAGE_HEIGHT IS '이미지높이';
+
+-- 3. 통계 갱신
+ANALYZE COMTNFILEJOB;
@@ -0,0 +1,13 @@
+-- =====================================================
+-- 첨부파일 고아 점검 인덱스
+-- 파일 그룹별 게시글 연결 여부 확인 (삭제된 게시글 포함)
+-- OpenSurvey Project
+-- =====================================================
+
+-- 삭제된 게시글(USE_AT = 'N')도 포함하는 첨부파일ID 인덱스
+CREATE INDEX IF NOT EXISTS IDX_COMTNBBS_ATCH_FILE_ID_ALL
+    ON COMTNBBS (ATCH_FILE_ID)
+    WHERE ATCH_FILE_ID IS NOT NULL;
+
+-- 통계 갱신
+ANALYZE COMTNBBS;
@@ -0,0 +1,12 @@
+-- =====================================================
+-- 첨부파일 상세 저장파일명 인덱스
+-- 업로드 저장 레이아웃 이전 시 저장파일명별 FILE_STRE_COURS 갱신
+-- OpenSurvey Project
+-- =====================================================
+
+-- 해시가 있는 행까지 포함한 전체 인덱스 (기존 부분 인덱스는 삭제 시 참조 확인용으로 유지)
+CREATE INDEX IF NOT EXISTS IDX_COMTNFILEDETAIL_STRE_FILE_NM
+    ON COMTNFILEDETAIL (STRE_FILE_NM);
+
+-- 통계 갱신
+ANALYZE COMTNFILEDETAIL;
@@ -0,0 +1,29 @@
+-- =====================================================
+-- JWT 비대칭 서명 키 (jwt.signing.algorithm=ES256 일 때 사용)
+-- 모든 노드가 같은 키 목록을 공유하며, 가장 최근에 활성화된 키로 서명하고 kid 헤더에 키ID를 넣는다.
+-- 새 키는 활성화 전에 JWKS(GET /api/auth/.well-known/jwks.json)에 먼저 공개되고,
+-- 교체된 키는 그 키로 서명된 액세스 토큰이 모두 만료될 때까지 검증용으로 남는다.
+-- 개인키는 jwt.secret에서 유도한 키로 암호화(AES-GCM)하여 저장한다.
+-- OpenSurvey Project
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS COMTNJWTKEY (
+    KID             VARCHAR(32)     NOT NULL,
+    ALGORITHM       VARCHAR(10)     NOT NULL,
+    PUBLIC_KEY      TEXT            NOT NULL,
+    PRIVATE_KEY     TEXT            NOT NULL,
+    ACTIVE_DT       TIMESTAMP       NOT NULL,
+    CREAT_DT        TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT PK_COMTNJWTKEY PRIMARY KEY (KID)
+);
+
+COMMENT ON TABLE COMTNJWTKEY IS 'JWT서명키';
+COMMENT ON COLUMN COMTNJWTKEY.KID IS '키ID(JWT kid 헤더)';
+COMMENT ON COLUMN COMTNJWTKEY.ALGORITHM IS '서명알고리즘(ES256)';
+COMMENT ON COLUMN COMTNJWTKEY.PUBLIC_KEY IS '공개키(X.509 DER, Base64)';
+COMMENT ON COLUMN COMTNJWTKEY.PRIVATE_KEY IS '개인키(PKCS#8 DER, AES-GCM 암호화 후 Base64)';
+COMMENT ON COLUMN COMTNJWTKEY.ACTIVE_DT IS '서명 시작일시(이전까지는 JWKS에만 공개)';
+COMMENT ON COLUMN COMTNJWTKEY.CREAT_DT IS '생성일시';
+
+CREATE INDEX IF NOT EXISTS IDX_COMTNJWTKEY_ACTIVE
+    ON COMTNJWTKEY (ALGORITHM, ACTIVE_DT);
@@ -0,0 +1,69 @@
+-- =====================================================
+-- 리프레시 토큰 저장소 및 세션 폐기 목록
+-- 액세스 토큰은 짧게 발급하고(jwt.expiration), 로그인 세션은 회전식 리프레시 토큰으로 유지한다.
+-- 리프레시 토큰은 사용할 때마다 새 토큰으로 교체되며, 이미 교체·폐기된 토큰이 다시 사용되면
+-- 탈취로 보고 같은 세션(계열)의 토큰을 모두 폐기한다.
+-- 단, 교체 직후 짧은 유예 시간(auth.refresh-token.reuse-grace-seconds) 안의 재사용은 여러 탭의 동시 갱신으로 보고
+-- 같은 세션의 새 토큰을 발급한다.
+-- 폐기된 세션ID는 COMTNREVOKEDTOKEN에 기록되고, 각 노드가 주기적으로 증분 동기화하여
+-- 요청 처리 중에는 DB 조회 없이 메모리에서 확인한다.
+-- OpenSurvey Project
+-- =====================================================
+
+-- 1. 리프레시 토큰
+CREATE TABLE IF NOT EXISTS COMTNREFRESHTOKEN (
+    TOKEN_ID        VARCHAR(32)     NOT NULL,
+    FAMILY_ID       VARCHAR(32)     NOT NULL,
+    EMPLYR_ID       VARCHAR(20)     NOT NULL,
+    TOKEN_HASH      CHAR(64)        NOT NULL,
+    EXPIRE_DT       TIMESTAMP       NOT NULL,
+    REPLACED_BY     VARCHAR(32),
+    REPLACED_DT     TIMESTAMP,
+    REVOKE_DT       TIMESTAMP,
+    CREAT_DT        TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT PK_COMTNREFRESHTOKEN PRIMARY KEY (TOKEN_ID)
+);
+
+COMMENT ON TABLE COMTNREFRESHTOKEN IS '리프레시토큰';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.TOKEN_ID IS '토큰ID';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.FAMILY_ID IS '세션ID(로그인 1회에서 회전된 토큰 계열, 액세스 토큰 sid 클레임)';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.EMPLYR_ID IS '업무사용자ID';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.TOKEN_HASH IS '토큰 비밀값 SHA-256(16진수, 원문은 저장하지 않음)';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.EXPIRE_DT IS '만료일시';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.REPLACED_BY IS '교체된 새 토큰ID';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.REPLACED_DT IS '교체일시(재사용 유예 시간 기준)';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.REVOKE_DT IS '폐기일시';
+COMMENT ON COLUMN COMTNREFRESHTOKEN.CREAT_DT IS '생성일시';
+
+-- 교체일시 컬럼이 없던 테이블에 추가
+ALTER TABLE COMTNREFRESHTOKEN ADD COLUMN IF NOT EXISTS REPLACED_DT TIMESTAMP;
+
+-- 세션 단위 폐기용
+CREATE INDEX IF NOT EXISTS IDX_COMTNREFRESHTOKEN_FAMILY
+    ON COMTNREFRESHTOKEN (FAMILY_ID);
+
+-- 사용자 단위 폐기용 (사용 중지·비밀번호 변경)
+CREATE INDEX IF NOT EXISTS IDX_COMTNREFRESHTOKEN_EMPLYR
+    ON COMTNREFRESHTOKEN (EMPLYR_ID)
+    WHERE REVOKE_DT IS NULL;
+
+-- 만료 토큰 정리용
+CREATE INDEX IF NOT EXISTS IDX_COMTNREFRESHTOKEN_EXPIRE
+    ON COMTNREFRESHTOKEN (EXPIRE_DT);
+
+-- 2. 폐기된 세션 목록 (액세스 토큰이 모두 만료되는 시각까지만 보관)
+CREATE TABLE IF NOT EXISTS COMTNREVOKEDTOKEN (
+    TOKEN_ID        VARCHAR(32)     NOT NULL,
+    EXPIRE_DT       TIMESTAMP       NOT NULL,
+    REVOKE_DT       TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT PK_COMTNREVOKEDTOKEN PRIMARY KEY (TOKEN_ID)
+);
+
+COMMENT ON TABLE COMTNREVOKEDTOKEN IS '폐기토큰';
+COMMENT ON COLUMN COMTNREVOKEDTOKEN.TOKEN_ID IS '폐기된 세션ID';
+COMMENT ON COLUMN COMTNREVOKEDTOKEN.EXPIRE_DT IS '보관만료일시(이후 발급된 액세스 토큰이 없으므로 삭제 가능)';
+COMMENT ON COLUMN COMTNREVOKEDTOKEN.REVOKE_DT IS '폐기일시(노드 증분 동기화 기준)';
+
+-- 증분 동기화용
+CREATE INDEX IF NOT EXISTS IDX_COMTNREVOKEDTOKEN_REVOKE
+    ON COMTNREVOKEDTOKEN (REVOKE_DT);
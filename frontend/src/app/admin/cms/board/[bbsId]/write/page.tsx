@@ -376,6 +376,10 @@ export default function BoardWritePage() {
       let multiImageOrder: number[] = [];
       let multiImageNames: string[] = [];
       
+      // 업로드 토큰(첨부파일ID_파일순번)으로 게시물 등록 시 이미지를 식별
+      // (setState는 비동기이므로 전송할 목록은 지역 변수로 계산)
+      let resolvedMultiImages = allMultiImages;
+      
       if (selectedMultiImages.length > 0) {
         const imageFormData = new FormData();
         selectedMultiImages.forEach(fileItem => {
@@ -403,7 +407,7 @@ export default function BoardWritePage() {
             });
             
             // allMultiImages에서 신규 이미지들의 정보를 실제 업로드된 정보로 업데이트
-            setAllMultiImages(prev => prev.map(img => {
+            resolvedMultiImages = allMultiImages.map(img => {
               if (img.type === 'new') {
                 const uploadedInfo = uploadedFileMap.get(img.id);
                 if (uploadedInfo) {
@@ -419,7 +423,8 @@ export default function BoardWritePage() {
                 }
               }
               return img;
-            }));
+            });
+            setAllMultiImages(resolvedMultiImages);
           } else {
             toast.error('다중이미지 업로드에 실패했습니다.');
             return;
@@ -430,9 +435,9 @@ export default function BoardWritePage() {
         }
       }
       
-      // 모든 이미지 정보 전송 (기존 + 신규)
-      if (allMultiImages.length > 0) {
-        multiImageIds = allMultiImages.map(img => {
+      // 모든 이미지 정보 전송 (업로드 토큰 기준)
+      if (resolvedMultiImages.length > 0) {
+        multiImageIds = resolvedMultiImages.map(img => {
           if (img.type === 'existing') {
             return `${img.atchFileId}_${img.fileSn}`;
           } else {
@@ -440,8 +445,8 @@ export default function BoardWritePage() {
           }
         });
         
-        multiImageNames = allMultiImages.map(img => img.name);
-        multiImageOrder = allMultiImages.map(img => img.order);
+        multiImageNames = resolvedMultiImages.map(img => img.name);
+        multiImageOrder = resolvedMultiImages.map(img => img.order);
       }
 
       // 5단계: 게시물 생성
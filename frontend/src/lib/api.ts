@@ -28,15 +28,77 @@ api.interceptors.request.use(
   }
 );
 
-// 응답 인터셉터 - 토큰 만료 처리
+// 로그인 정보 삭제 후 로그인 페이지로 이동
+const clearLoginAndRedirect = () => {
+  localStorage.removeItem('accessToken');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('userInfo');
+  localStorage.removeItem('emplyrInfo');
+  window.location.href = '/login';
+};
+
+// 탭 간 토큰 갱신 잠금 이름 (같은 브라우저의 여러 탭이 같은 리프레시 토큰을 동시에 사용하지 않도록)
+const REFRESH_LOCK = 'opensurvey-token-refresh';
+
+// 진행 중인 토큰 갱신 (동시에 여러 요청이 401을 받아도 갱신은 한 번만, 리프레시 토큰은 1회용)
+let refreshing: Promise<string | null> | null = null;
+
+// 리프레시 토큰으로 액세스 토큰 갱신 (잠금을 얻은 뒤 저장소를 다시 읽어, 다른 탭이 이미 갱신했으면 그 토큰 사용)
+const requestRefresh = async (staleAccessToken: string | null): Promise<string | null> => {
+  const currentAccessToken = localStorage.getItem('accessToken');
+  if (currentAccessToken && currentAccessToken !== staleAccessToken) {
+    return currentAccessToken;
+  }
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    return null;
+  }
+  try {
+    const response = await axios.post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken });
+    const data = response.data?.data;
+    if (response.data?.resultCode !== 'SUCCESS' || !data?.accessToken) {
+      return null;
+    }
+    localStorage.setItem('accessToken', data.accessToken);
+    localStorage.setItem('refreshToken', data.refreshToken);
+    return data.accessToken as string;
+  } catch {
+    return null;
+  }
+};
+
+const refreshAccessToken = (staleAccessToken: string | null): Promise<string | null> => {
+  if (!refreshing) {
+    // Web Locks를 지원하지 않는 브라우저는 탭 안에서만 한 번 갱신 (탭 간 동시 갱신은 서버 유예 시간으로 처리)
+    const locks = typeof navigator !== 'undefined' ? navigator.locks : undefined;
+    refreshing = (locks
+      ? locks.request(REFRESH_LOCK, () => requestRefresh(staleAccessToken))
+      : requestRefresh(staleAccessToken)
+    ).finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+};
+
+// 응답 인터셉터 - 토큰 만료 처리 (리프레시 토큰으로 한 번 갱신 후 재시도)
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
-      localStorage.removeItem('accessToken');
-      localStorage.removeItem('userInfo');
-      localStorage.removeItem('emplyrInfo');
-      window.location.href = '/login';
+  async (error) => {
+    const original = error.config;
+    if (error.response?.status === 401 && original && !original._retry) {
+      original._retry = true;
+      // 실패한 요청에 사용한 토큰 (다른 탭이 이미 갱신했는지 비교)
+      const authorization = original.headers?.Authorization;
+      const staleAccessToken = typeof authorization === 'string' ? authorization.replace(/^Bearer /, '') : null;
+      const accessToken = await refreshAccessToken(staleAccessToken);
+      if (accessToken) {
+        original.headers.Authorization = `Bearer ${accessToken}`;
+        return api(original);
+      }
+      clearLoginAndRedirect();
+    } else if (error.response?.status === 401) {
+      clearLoginAndRedirect();
     }
     return Promise.reject(error);
   }
@@ -51,8 +113,10 @@ export const authAPI = {
   validate: () => api.post('/auth/validate'),
   // 내 정보 조회 - 업무사용자 정보
   me: () => api.get('/auth/me'),
-  // 토큰 갱신
-  refresh: () => api.post('/auth/refresh'),
+  // 토큰 갱신 (리프레시 토큰은 1회용, 응답의 새 리프레시 토큰으로 교체)
+  refresh: (refreshToken: string) => api.post('/auth/refresh', { refreshToken }),
+  // 로그아웃 - 세션 폐기
+  logout: (refreshToken: string) => api.post('/auth/logout', { refreshToken }),
 };
 
 // 공통코드 관련 API (전자정부 표준)
@@ -134,6 +198,11 @@ export const bbsAPI = {
     api.post(`/sym/bbs/files/${atchFileId}/add`, files, {
       headers: { 'Content-Type': 'multipart/form-data' }
     }),
+  // 스트리밍 업로드 (게시판별 첨부 제한 적용, usageType/atchFileId 필드는 files보다 먼저 append)
+  uploadFilesStream: (bbsId: string, files: FormData) => 
+    api.post(`/sym/bbs/${bbsId}/files/stream`, files, {
+      headers: { 'Content-Type': 'multipart/form-data' }
+    }),
   
   // 대표이미지 관리
   deleteRepresentativeImage: (atchFileId: string) => 
@@ -1,4 +1,5 @@
 import { LoginResponse, UserInfo, EmplyrInfo } from '@/types';
+import { authAPI } from '@/lib/api';
 
 // 토큰 저장/조회/삭제
 export const setToken = (token: string) => {
@@ -13,6 +14,19 @@ export const removeToken = () => {
   localStorage.removeItem('accessToken');
 };
 
+// 리프레시 토큰 저장/조회/삭제 (갱신할 때마다 새 토큰으로 교체)
+export const setRefreshToken = (token: string) => {
+  localStorage.setItem('refreshToken', token);
+};
+
+export const getRefreshToken = (): string | null => {
+  return localStorage.getItem('refreshToken');
+};
+
+export const removeRefreshToken = () => {
+  localStorage.removeItem('refreshToken');
+};
+
 // 사용자 정보 저장/조회/삭제 (기존 호환성)
 export const setUserInfo = (userInfo: UserInfo) => {
   localStorage.setItem('userInfo', JSON.stringify(userInfo));
@@ -45,6 +59,9 @@ export const removeUserInfo = () => {
 // 로그인 정보 저장 (전자정부 표준)
 export const saveLoginInfo = (loginResponse: LoginResponse, emplyrInfo?: EmplyrInfo) => {
   setToken(loginResponse.accessToken);
+  if (loginResponse.refreshToken) {
+    setRefreshToken(loginResponse.refreshToken);
+  }
   
   if (emplyrInfo) {
     setEmplyrInfo(emplyrInfo);
@@ -63,9 +80,18 @@ export const saveLoginInfo = (loginResponse: LoginResponse, emplyrInfo?: EmplyrI
   setUserInfo(userInfo);
 };
 
-// 로그아웃
-export const logout = () => {
+// 로그아웃 (서버 세션 폐기 후 로컬 정보 삭제)
+export const logout = async () => {
+  const refreshToken = getRefreshToken();
+  if (refreshToken) {
+    try {
+      await authAPI.logout(refreshToken);
+    } catch (error) {
+      console.error('로그아웃 요청 실패:', error);
+    }
+  }
   removeToken();
+  removeRefreshToken();
   removeUserInfo();
   removeEmplyrInfo();
   window.location.href = '/login';
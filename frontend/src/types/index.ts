@@ -33,6 +33,8 @@ export interface LoginResponse {
   emailAdres?: string;      // 이메일주소
   ofcpsNm?: string;         // 직위명
   expiresIn: number;        // 토큰 만료시간(초)
+  refreshToken: string;     // 리프레시 토큰 (갱신 시 교체됨)
+  refreshExpiresIn: number; // 리프레시 토큰 만료시간(초)
 }
 
 export interface EmplyrInfo {